@@ -0,0 +1,56 @@
+package com.technicalchallenge.benchmarks;
+
+import com.technicalchallenge.BackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.UUID;
+
+// Boots the backend as it runs in production, against a private in-memory H2 database migrated and seeded by
+// Flyway. Logging is cut down to errors (the benchmarks' own setup messages aside) and the H2 console and outbox
+// relay are switched off, so none of them show up in the timings
+final class BenchmarkApplication {
+
+    // Seeded trader (Simon King, TRADER_SALES profile with the BOOK_TRADE privilege)
+    static final String TRADER_LOGIN = "simon";
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        // The service layer reads the user from the security context (@PreAuthorize and the BOOK_TRADE check).
+        // A global context makes the sign-in visible to every JMH worker thread; it has to be chosen before
+        // Spring Security picks up the holder strategy during startup.
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        String database = "bench-" + UUID.randomUUID();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.url=jdbc:h2:mem:" + database
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "--spring.h2.console.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "--outbox.relay.enabled=false",
+                        // TradeService warns about every booking without settlement instructions
+                        "--logging.level.root=ERROR",
+                        "--logging.level.com.technicalchallenge=ERROR",
+                        "--logging.level.com.technicalchallenge.benchmarks=INFO",
+                        "--logging.level.org.springframework.web=ERROR",
+                        "--logging.level.org.hibernate.SQL=ERROR",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=ERROR");
+        signIn();
+        return context;
+    }
+
+    private static void signIn() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                TRADER_LOGIN, null, List.of(new SimpleGrantedAuthority("ROLE_TRADER_SALES"))));
+    }
+}
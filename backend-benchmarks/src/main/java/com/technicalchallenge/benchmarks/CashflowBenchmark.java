@@ -0,0 +1,67 @@
+package com.technicalchallenge.benchmarks;
+
+import com.technicalchallenge.cashflow.CashflowEngine;
+import com.technicalchallenge.cashflow.GeneratedCashflow;
+import com.technicalchallenge.cashflow.LegTerms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cashflow generation for one leg, as TradeService runs it for every leg it books or amends.
+// generateCashflows reuses a handful of schedules (the common case: many trades share start and maturity dates);
+// generateCashflowsNewSchedule starts on a different date every call, more dates than the schedule cache holds,
+// so the periods are built and the payment dates rolled each time.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CashflowBenchmark {
+
+    private static final LocalDate FIRST_START = LocalDate.of(2025, 1, 2);
+    private static final int REPEATED_STARTS = 16;
+    private static final int DISTINCT_STARTS = 20_000;
+
+    @Param({"Fixed", "Floating"})
+    public String legType;
+
+    @Param({"5"})
+    public int years;
+
+    private CashflowEngine engine;
+    private LegTerms leg;
+    private int call;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        engine = application.bean(CashflowEngine.class);
+        leg = new LegTerms(legType, new BigDecimal("10000000"), "Fixed".equals(legType) ? 3.5 : null,
+                "Quarterly", "NY", "Modified Following", null);
+    }
+
+    @Benchmark
+    public List<GeneratedCashflow> generateCashflows() {
+        LocalDate start = FIRST_START.plusDays(call++ % REPEATED_STARTS);
+        return engine.generate(leg, start, start.plusYears(years));
+    }
+
+    @Benchmark
+    public List<GeneratedCashflow> generateCashflowsNewSchedule() {
+        LocalDate start = FIRST_START.plusDays(call++ % DISTINCT_STARTS);
+        return engine.generate(leg, start, start.plusYears(years));
+    }
+}
@@ -0,0 +1,42 @@
+package com.technicalchallenge.benchmarks;
+
+import com.technicalchallenge.cashflow.CashflowEngine;
+import com.technicalchallenge.cashflow.DayCount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// The accrual of one quarterly period on 30/360, as TradeService.calculateCashflowValue values a leg. It is a pure
+// function of its arguments, so no Spring context is started
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CashflowValueBenchmark {
+
+    private static final long DAYS = 90;
+
+    @Param({"Fixed", "Floating"})
+    public String legType;
+
+    private final BigDecimal notional = new BigDecimal("10000000");
+    private final Double rate = 3.5;
+    private final int basis = DayCount.THIRTY_360.basis();
+
+    @Benchmark
+    public BigDecimal accrual() {
+        return CashflowEngine.accrual(legType, notional, rate, DAYS, basis);
+    }
+}
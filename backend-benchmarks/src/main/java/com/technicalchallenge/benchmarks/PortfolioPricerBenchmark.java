@@ -0,0 +1,84 @@
+package com.technicalchallenge.benchmarks;
+
+import com.technicalchallenge.pricing.CashflowBook;
+import com.technicalchallenge.pricing.PortfolioPricer;
+import com.technicalchallenge.pricing.PortfolioValuation;
+import com.technicalchallenge.pricing.ZeroCurve;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Full-book PV/DV01 revaluation, as GET /api/risk/summary runs it: `swaps` fixed/floating swaps with ten
+// semi-annual periods a leg, on `threads` pricing threads (0 = one per available processor)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PortfolioPricerBenchmark {
+
+    private static final int PERIODS = 10;
+
+    @Param({"100000"})
+    public int swaps;
+
+    @Param({"1", "0"})
+    public int threads;
+
+    private final Map<String, ZeroCurve> curves = Map.of(
+            "USD", ZeroCurve.parse("USD", "6M:0.052,1Y:0.05,5Y:0.04"),
+            "EUR", ZeroCurve.parse("EUR", "1Y:0.03"));
+    private final Map<String, Double> fxRates = Map.of("USD", 1.0, "EUR", 1.1);
+
+    private ForkJoinPool pool;
+    private PortfolioPricer pricer;
+    private CashflowBook book;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        pricer = new PortfolioPricer(pool);
+        book = swapBook(swaps);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public PortfolioValuation value() {
+        return pricer.value(book, curves, fxRates, 1.0);
+    }
+
+    private static CashflowBook swapBook(int swaps) {
+        Random random = new Random(42);
+        CashflowBook.Builder builder = CashflowBook.builder();
+        for (int swap = 0; swap < swaps; swap++) {
+            String currency = swap % 4 == 0 ? "EUR" : "USD";
+            double notional = 1_000_000 * (1 + random.nextInt(50));
+            double direction = random.nextBoolean() ? 1 : -1;
+            for (int p = 1; p <= PERIODS; p++) {
+                double t = p * 0.5;
+                builder.add(swap, "BOOK-" + (swap % 8), currency, direction * notional * 0.045 * 0.5, t);
+                builder.add(swap, "BOOK-" + (swap % 8), currency, -direction * notional * 0.05 * 0.5, t);
+            }
+        }
+        return builder.build();
+    }
+}
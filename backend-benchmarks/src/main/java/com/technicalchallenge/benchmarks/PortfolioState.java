@@ -0,0 +1,90 @@
+package com.technicalchallenge.benchmarks;
+
+import com.technicalchallenge.cashflow.CashflowEngine;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeRepository;
+import com.technicalchallenge.service.TradeDetailsLoader;
+import com.technicalchallenge.service.TradeService;
+import com.technicalchallenge.service.TradeSummaryAggregateStore;
+import com.technicalchallenge.synthetic.SyntheticDataProperties;
+import com.technicalchallenge.synthetic.SyntheticTradeGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// A running backend whose database holds `legs` legs of synthetic swaps (one version each, without cashflows;
+// see SyntheticTradeGenerator) on top of the Flyway seed, with the summary store rebuilt from them as the
+// startup warmup would. The synthetic history is dated a year or more back, and TODAYS_TRADES swaps are then
+// booked today, so the daily summary reads the same trades at every size
+@State(Scope.Benchmark)
+public class PortfolioState {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioState.class);
+
+    // Trades mapped per TradeMapper.toDto invocation
+    static final int SAMPLE_SIZE = 100;
+
+    // Booked through TradeService after the history, dated today
+    static final int TODAYS_TRADES = 100;
+
+    @Param({"1000", "100000", "1000000"})
+    public int legs;
+
+    ConfigurableApplicationContext context;
+    TradeService tradeService;
+    TradeMapper tradeMapper;
+    TradeSummaryAggregateStore tradeSummaryAggregateStore;
+
+    // Detached trades with legs, cashflows and reference data loaded
+    List<Trade> sample;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        tradeService = context.getBean(TradeService.class);
+        tradeMapper = context.getBean(TradeMapper.class);
+        tradeSummaryAggregateStore = context.getBean(TradeSummaryAggregateStore.class);
+
+        SyntheticDataProperties properties = new SyntheticDataProperties();
+        properties.setTrades(legs / 2);
+        properties.setMaxVersions(1);
+        properties.setCashflows(false);
+        properties.setFirstTradeDate(LocalDate.now().minusYears(2));
+        SyntheticTradeGenerator.Result seeded = new SyntheticTradeGenerator(context.getBean(JdbcTemplate.class),
+                context.getBean(PlatformTransactionManager.class), context.getBean(CashflowEngine.class)).generate(properties);
+        tradeSummaryAggregateStore.rebuild();
+        logger.info("Seeded {} trades / {} legs in {} ms", seeded.trades(), seeded.legs(), seeded.elapsedMillis());
+        for (int i = 0; i < TODAYS_TRADES; i++) {
+            tradeService.createTrade(TradeCaptureBenchmark.swap());
+        }
+
+        sample = new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).execute(status -> {
+            List<Trade> page = context.getBean(TradeRepository.class)
+                    .findAll(PageRequest.of(0, SAMPLE_SIZE, Sort.by("id"))).getContent();
+            context.getBean(TradeDetailsLoader.class).loadLegsAndCashflows(page);
+            // Touch every lazy reference while the session is open so the benchmark only measures the mapping
+            page.forEach(tradeMapper::toDto);
+            return page;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
@@ -0,0 +1,48 @@
+package com.technicalchallenge.benchmarks;
+
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.rsql.RsqlSpecificationBuilder;
+import com.technicalchallenge.rsql.RsqlSpecificationCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+// Parsing an RSQL filter into a Specification, and the same filter served by the RsqlSpecificationCache that
+// searchByRsql now goes through (the blotter repeats a handful of saved filters)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RsqlParseBenchmark {
+
+    @Param({
+            "counterparty.name==BigBank",
+            "counterparty.name==BigBank;tradeDate=ge=2025-01-01;tradeDate=le=2025-12-31",
+            "(book.bookName==FX-BOOK-1,book.bookName==RATES-BOOK-1);tradeStatus.tradeStatus!=CANCELLED;tradeDate=gt=2024-06-01"
+    })
+    public String query;
+
+    private final RsqlSpecificationCache<Trade> cache = new RsqlSpecificationCache<>(500);
+
+    @Benchmark
+    public Specification<Trade> parse() {
+        return new RsqlSpecificationBuilder<Trade>().parse(query);
+    }
+
+    @Benchmark
+    public Specification<Trade> parseCached() {
+        return cache.parse(query);
+    }
+}
@@ -0,0 +1,98 @@
+package com.technicalchallenge.benchmarks;
+
+import com.technicalchallenge.dto.DailySummaryDTO;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeLegDTO;
+import com.technicalchallenge.dto.TradeSummaryDTO;
+import com.technicalchallenge.model.Trade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Service-level hot paths against a populated database: booking a swap, mapping trades to DTOs, the portfolio
+// summary and the daily summary, at 1k, 100k and 1M legs
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TradeCaptureBenchmark {
+
+    // The same booking the UI sends for a new fixed/floating swap, built fresh per call as the controller would
+    @Benchmark
+    public Trade createTrade(PortfolioState state) {
+        return state.tradeService.createTrade(swap());
+    }
+
+    // Per trade, over a sample of fully loaded trades
+    @Benchmark
+    @OperationsPerInvocation(PortfolioState.SAMPLE_SIZE)
+    public void tradeMapperToDto(PortfolioState state, Blackhole blackhole) {
+        for (Trade trade : state.sample) {
+            blackhole.consume(state.tradeMapper.toDto(trade));
+        }
+    }
+
+    // Served from the cached snapshot
+    @Benchmark
+    public TradeSummaryDTO getTradeSummary(PortfolioState state) {
+        return state.tradeService.getTradeSummary();
+    }
+
+    // Re-recording a trade invalidates the snapshot, so every call recomputes the summary over all trades
+    @Benchmark
+    public TradeSummaryDTO getTradeSummaryAfterChange(PortfolioState state) {
+        Trade trade = state.sample.get(state.sample.size() - 1);
+        state.tradeSummaryAggregateStore.recordTrade(trade, trade.getTradeLegs());
+        return state.tradeService.getTradeSummary();
+    }
+
+    // Today's and yesterday's trades only, out of a history that grows with `legs`
+    @Benchmark
+    public DailySummaryDTO getDailySummary(PortfolioState state) {
+        return state.tradeService.getDailySummary();
+    }
+
+    static TradeDTO swap() {
+        LocalDate today = LocalDate.now();
+        TradeDTO trade = new TradeDTO();
+        trade.setTradeDate(today);
+        trade.setTradeStartDate(today.plusDays(2));
+        trade.setTradeMaturityDate(today.plusYears(1));
+        trade.setBookName("FX-BOOK-1");
+        trade.setCounterpartyName("BigBank");
+        trade.setTraderUserName("Simon King");
+        trade.setInputterUserName("Simon King");
+        trade.setTradeType("Swap");
+        trade.setTradeSubType("IR Swap");
+        trade.setTradeLegs(List.of(
+                leg("Fixed", 0.05, null, "Monthly", "Pay"),
+                leg("Floating", null, "LIBOR", "Quarterly", "Receive")));
+        return trade;
+    }
+
+    private static TradeLegDTO leg(String legType, Double rate, String index, String schedule, String payReceive) {
+        TradeLegDTO leg = new TradeLegDTO();
+        leg.setNotional(new BigDecimal("1000000"));
+        leg.setRate(rate);
+        leg.setCurrency("USD");
+        leg.setLegType(legType);
+        leg.setIndexName(index);
+        leg.setCalculationPeriodSchedule(schedule);
+        leg.setPayReceiveFlag(payReceive);
+        leg.setHolidayCalendar("NY");
+        leg.setPaymentBusinessDayConvention("Modified Following");
+        return leg;
+    }
+}
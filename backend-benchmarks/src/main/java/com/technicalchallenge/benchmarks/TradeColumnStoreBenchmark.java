@@ -0,0 +1,78 @@
+package com.technicalchallenge.benchmarks;
+
+import com.technicalchallenge.analytics.TradeColumnStore;
+import com.technicalchallenge.analytics.TradeDimension;
+import com.technicalchallenge.analytics.TradeGroup;
+import com.technicalchallenge.analytics.TradeRow;
+import com.technicalchallenge.analytics.TradeUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Analytics group-bys over the in-memory TradeColumnStore: a trade-level dimension combined with a leg-level one,
+// and the same narrowed by a filter. The column footprint per trade is printed once the trial ends
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TradeColumnStoreBenchmark {
+
+    private static final String[] STATUSES = {"NEW", "LIVE", "AMENDED", "TERMINATED"};
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY"};
+    private static final LocalDate TRADE_DATE = LocalDate.of(2025, 3, 14);
+
+    @Param({"500000"})
+    public int trades;
+
+    private final TradeColumnStore store = new TradeColumnStore();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        TradeUser trader = new TradeUser("simon", "Simon", "King");
+        TradeUser inputter = new TradeUser("ashley", "Ashley", "Lee");
+        for (long tradeId = 0; tradeId < trades; tradeId++) {
+            BigDecimal notional = BigDecimal.valueOf(1 + random.nextInt(100), -6);
+            String currency = CURRENCIES[random.nextInt(CURRENCIES.length)];
+            store.put(new TradeRow(tradeId, STATUSES[random.nextInt(STATUSES.length)], "BOOK-" + random.nextInt(50),
+                    "CPTY-" + random.nextInt(500), "Swap", "IR Swap", trader, inputter,
+                    TRADE_DATE.minusDays(random.nextInt(365)),
+                    List.of(new TradeRow.Leg(currency, "PAY", notional), new TradeRow.Leg(currency, "RECEIVE", notional))));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void reportFootprint() {
+        System.out.printf("%n%d trades / %d legs in %d bytes of columns (%d bytes per trade)%n",
+                store.size(), store.legCount(), store.columnBytes(), store.columnBytes() / store.size());
+    }
+
+    @Benchmark
+    public List<TradeGroup> groupByBookAndCurrency() {
+        return store.groupBy(List.of(TradeDimension.BOOK, TradeDimension.CURRENCY), Map.of(), null, null);
+    }
+
+    @Benchmark
+    public List<TradeGroup> groupByCounterpartyForOneStatus() {
+        return store.groupBy(List.of(TradeDimension.COUNTERPARTY), Map.of(TradeDimension.STATUS, "LIVE"), null, null);
+    }
+}
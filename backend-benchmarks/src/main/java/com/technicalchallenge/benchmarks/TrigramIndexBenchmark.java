@@ -0,0 +1,59 @@
+package com.technicalchallenge.benchmarks;
+
+import com.technicalchallenge.search.TrigramIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Settlement-instruction lookups through the TrigramIndex: a trade reference that matches one instruction, and a
+// bank name that matches a large share of them
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrigramIndexBenchmark {
+
+    private static final String[] BANKS = {"Bank ABC", "HSBC London", "Barclays", "JPMorgan NY", "Deutsche Bank", "BNP Paribas"};
+
+    @Param({"200000"})
+    public int instructions;
+
+    private final TrigramIndex index = new TrigramIndex();
+    private final Random random = new Random(42);
+
+    @Setup
+    public void setUp() {
+        Map<Long, String> content = new HashMap<>();
+        for (long tradeId = 0; tradeId < instructions; tradeId++) {
+            content.put(tradeId, "Pay via " + BANKS[random.nextInt(BANKS.length)]
+                    + ", account " + (10_000_000 + random.nextInt(90_000_000)) + ", ref TRD-" + tradeId);
+        }
+        index.replaceAll(content);
+    }
+
+    @Benchmark
+    public List<Long> searchReference() {
+        return index.search("TRD-" + random.nextInt(instructions) + ",");
+    }
+
+    @Benchmark
+    public List<Long> searchBank() {
+        return index.search("Deutsche");
+    }
+}
@@ -0,0 +1,45 @@
+package com.technicalchallenge.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Append-only mapping between the distinct values of a column and dense int codes 0, 1, 2...
+// null is always code -1. Codes never change, so a column of codes stays valid as values are added.
+final class Dictionary<T> {
+
+    static final int NULL = -1;
+
+    private final Map<T, Integer> codes = new HashMap<>();
+    private final List<T> values = new ArrayList<>();
+
+    int encode(T value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    // Code of value, or -2 when it has never been seen (so it matches no row, not even null ones)
+    int lookup(T value) {
+        if (value == null) {
+            return NULL;
+        }
+        return codes.getOrDefault(value, -2);
+    }
+
+    T decode(int code) {
+        return code == NULL ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
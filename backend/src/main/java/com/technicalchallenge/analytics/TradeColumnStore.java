@@ -0,0 +1,536 @@
+package com.technicalchallenge.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Column-oriented, in-memory table of trades and their legs for aggregations, at a few dozen bytes per trade.
+// Reference data (status, book, counterparty, users, currency...) is dictionary encoded into int columns,
+// notionals are longs in hundredths and trade dates are epoch days. The legs of a trade are the index range
+// [legStart[row], legStart[row] + legCount[row]) of the leg columns.
+//
+// A trade is keyed by its business trade id; putting it again appends a new row and leaves the old one dead,
+// and once dead rows outnumber live ones the columns are compacted in place. Group-bys are a single loop over
+// the columns into a dense array of groups (or a hash map when the dimensions have too many combinations).
+// A group-by over a trade date range only visits the rows of those days, through an index of rows by epoch day,
+// so its cost follows the trades in the window rather than the whole history.
+// Not thread-safe: callers synchronise.
+public class TradeColumnStore {
+
+    static final int NOTIONAL_SCALE = 2;
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int COMPACT_MIN_DEAD_ROWS = 1024;
+    private static final int DENSE_GROUP_LIMIT = 1 << 16;
+
+    private static final TradeDimension[] DIMENSIONS = TradeDimension.values();
+
+    // One dictionary per dimension, TRADER and INPUTTER sharing theirs; none for TRADE_DATE
+    private final Dictionary<?>[] dictionaries = new Dictionary<?>[DIMENSIONS.length];
+    private final Dictionary<TradeUser> users = new Dictionary<>();
+
+    private final Map<Long, Integer> rowByTradeId = new HashMap<>();
+
+    // Rows of each trade date, dead ones included until the next compaction; undated trades are not indexed
+    private final NavigableMap<Integer, DayRows> rowsByDay = new TreeMap<>();
+
+    // Trade columns: codes[dimension.ordinal()][row] for trade-level dimensions, epoch days for TRADE_DATE
+    private final int[][] codes = new int[DIMENSIONS.length][];
+    private long[] tradeIds = new long[256];
+    private boolean[] live = new boolean[256];
+    private long[] tradeNotional = new long[256];
+    private long[] tradeNet = new long[256];
+    private int[] legStart = new int[256];
+    private int[] legCount = new int[256];
+    private int rowCount;
+    private int deadRows;
+    private int minDay = Integer.MAX_VALUE;
+    private int maxDay = Integer.MIN_VALUE;
+    private int maxLegsPerTrade;
+
+    // Leg columns: codes[dimension.ordinal()][leg] for leg-level dimensions
+    private long[] legNotional = new long[512];
+    private long[] legNet = new long[512];
+    private int legRows;
+
+    public TradeColumnStore() {
+        for (TradeDimension dimension : DIMENSIONS) {
+            if (dimension == TradeDimension.TRADER || dimension == TradeDimension.INPUTTER) {
+                dictionaries[dimension.ordinal()] = users;
+            } else if (dimension != TradeDimension.TRADE_DATE) {
+                dictionaries[dimension.ordinal()] = new Dictionary<String>();
+            }
+            codes[dimension.ordinal()] = new int[dimension.isLegLevel() ? legNotional.length : tradeIds.length];
+        }
+    }
+
+    // Adds the trade, replacing any earlier row for the same trade id
+    public void put(TradeRow trade) {
+        kill(trade.tradeId());
+        rowByTradeId.put(trade.tradeId(), append(trade));
+        compactIfNeeded();
+    }
+
+    public void remove(long tradeId) {
+        kill(tradeId);
+        compactIfNeeded();
+    }
+
+    public int size() {
+        return rowByTradeId.size();
+    }
+
+    public int legCount() {
+        int legs = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (live[row]) {
+                legs += legCount[row];
+            }
+        }
+        return legs;
+    }
+
+    // Bytes held by the columns themselves, dictionaries and the trade id map not included (the day index is
+    // counted as one int per row)
+    public long columnBytes() {
+        long perTradeRow = 8 + 1 + 8 + 8 + 4 + 4 + 4;
+        long perLegRow = 8 + 8;
+        for (TradeDimension dimension : DIMENSIONS) {
+            if (dimension.isLegLevel()) {
+                perLegRow += 4;
+            } else {
+                perTradeRow += 4;
+            }
+        }
+        return perTradeRow * tradeIds.length + perLegRow * legNotional.length;
+    }
+
+    /**
+     * Groups the live trades by the given dimensions, in that order, keeping those matching every filter.
+     * filters holds a value per dimension (a login for TRADER and INPUTTER); trade dates are filtered with
+     * fromDate and toDate, both inclusive and either may be null. Grouping or filtering by a leg-level
+     * dimension only counts the matching legs of a trade. Groups come back sorted by key, nulls last.
+     */
+    public List<TradeGroup> groupBy(List<TradeDimension> dimensions, Map<TradeDimension, String> filters,
+                                    LocalDate fromDate, LocalDate toDate) {
+        int n = dimensions.size();
+        long[] radix = new long[n];
+        long[] weight = new long[n];
+        long combinations = 1;
+        for (int i = n - 1; i >= 0; i--) {
+            radix[i] = cardinality(dimensions.get(i));
+            weight[i] = combinations;
+            if (combinations > Long.MAX_VALUE / radix[i]) {
+                throw new IllegalArgumentException("Too many combinations to group by " + dimensions);
+            }
+            combinations *= radix[i];
+        }
+
+        boolean[][] masks = new boolean[DIMENSIONS.length][];
+        filters.forEach((dimension, value) -> masks[dimension.ordinal()] = mask(dimension, value));
+        boolean legMode = dimensions.stream().anyMatch(TradeDimension::isLegLevel)
+                || filters.keySet().stream().anyMatch(TradeDimension::isLegLevel);
+        int fromDay = fromDate != null ? (int) fromDate.toEpochDay() : Integer.MIN_VALUE + 1;
+        int toDay = toDate != null ? (int) toDate.toEpochDay() : Integer.MAX_VALUE;
+        boolean dateFiltered = fromDate != null || toDate != null;
+
+        Groups groups = new Groups(combinations <= DENSE_GROUP_LIMIT ? (int) combinations : -1);
+        int[] tradeSlots = new int[Math.max(1, maxLegsPerTrade)];
+        long[] tradeSlotNet = new long[tradeSlots.length];
+
+        int[] dayRows = dateFiltered ? rowsBetween(fromDay, toDay) : null;
+        int candidates = dayRows != null ? dayRows.length : rowCount;
+        for (int candidate = 0; candidate < candidates; candidate++) {
+            int row = dayRows != null ? dayRows[candidate] : candidate;
+            if (!live[row]) {
+                continue;
+            }
+            int day = codes[TradeDimension.TRADE_DATE.ordinal()][row];
+            if (dateFiltered && (day == NO_DATE || day < fromDay || day > toDay)) {
+                continue;
+            }
+            if (!accepts(masks, row, false)) {
+                continue;
+            }
+            long tradeKey = 0;
+            for (int i = 0; i < n; i++) {
+                if (!dimensions.get(i).isLegLevel()) {
+                    tradeKey += digit(dimensions.get(i), row) * weight[i];
+                }
+            }
+
+            if (!legMode) {
+                int slot = groups.slot(tradeKey);
+                groups.addTrade(slot, Math.abs(tradeNet[row]));
+                groups.addLeg(slot, tradeNotional[row], tradeNet[row]);
+                continue;
+            }
+
+            // Legs of the trade falling into the same group are netted before taking the gross
+            int touched = 0;
+            for (int leg = legStart[row], end = leg + legCount[row]; leg < end; leg++) {
+                if (!accepts(masks, leg, true)) {
+                    continue;
+                }
+                long key = tradeKey;
+                for (int i = 0; i < n; i++) {
+                    if (dimensions.get(i).isLegLevel()) {
+                        key += (codes[dimensions.get(i).ordinal()][leg] + 1) * weight[i];
+                    }
+                }
+                int slot = groups.slot(key);
+                groups.addLeg(slot, legNotional[leg], legNet[leg]);
+
+                int t = 0;
+                while (t < touched && tradeSlots[t] != slot) {
+                    t++;
+                }
+                if (t == touched) {
+                    tradeSlots[touched] = slot;
+                    tradeSlotNet[touched++] = 0;
+                }
+                tradeSlotNet[t] += legNet[leg];
+            }
+            for (int t = 0; t < touched; t++) {
+                groups.addTrade(tradeSlots[t], Math.abs(tradeSlotNet[t]));
+            }
+        }
+
+        List<TradeGroup> result = new ArrayList<>();
+        groups.forEach((key, tradeCount, notional, net, gross) -> {
+            List<Object> values = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                values.add(value(dimensions.get(i), (key / weight[i]) % radix[i]));
+            }
+            result.add(new TradeGroup(values, tradeCount, money(notional), money(net), money(gross)));
+        });
+        result.sort(KEY_ORDER);
+        return result;
+    }
+
+    // Rows indexed under the days fromDay to toDay, in day order
+    private int[] rowsBetween(int fromDay, int toDay) {
+        if (fromDay > toDay) {
+            return new int[0];
+        }
+        Map<Integer, DayRows> days = rowsByDay.subMap(fromDay, true, toDay, true);
+        int total = 0;
+        for (DayRows day : days.values()) {
+            total += day.size;
+        }
+        int[] rows = new int[total];
+        int next = 0;
+        for (DayRows day : days.values()) {
+            System.arraycopy(day.rows, 0, rows, next, day.size);
+            next += day.size;
+        }
+        return rows;
+    }
+
+    private void index(int day, int row) {
+        if (day != NO_DATE) {
+            rowsByDay.computeIfAbsent(day, d -> new DayRows()).add(row);
+        }
+    }
+
+    private int append(TradeRow trade) {
+        if (rowCount == tradeIds.length) {
+            growTrades(rowCount * 2);
+        }
+        int row = rowCount++;
+        tradeIds[row] = trade.tradeId();
+        live[row] = true;
+        codes[TradeDimension.STATUS.ordinal()][row] = encode(TradeDimension.STATUS, trade.status());
+        codes[TradeDimension.BOOK.ordinal()][row] = encode(TradeDimension.BOOK, trade.book());
+        codes[TradeDimension.COUNTERPARTY.ordinal()][row] = encode(TradeDimension.COUNTERPARTY, trade.counterparty());
+        codes[TradeDimension.TRADE_TYPE.ordinal()][row] = encode(TradeDimension.TRADE_TYPE, trade.tradeType());
+        codes[TradeDimension.TRADE_SUB_TYPE.ordinal()][row] = encode(TradeDimension.TRADE_SUB_TYPE, trade.tradeSubType());
+        codes[TradeDimension.TRADER.ordinal()][row] = users.encode(trade.trader());
+        codes[TradeDimension.INPUTTER.ordinal()][row] = users.encode(trade.inputter());
+
+        int day = NO_DATE;
+        if (trade.tradeDate() != null) {
+            day = (int) trade.tradeDate().toEpochDay();
+            minDay = Math.min(minDay, day);
+            maxDay = Math.max(maxDay, day);
+        }
+        codes[TradeDimension.TRADE_DATE.ordinal()][row] = day;
+        index(day, row);
+
+        long notional = 0;
+        long net = 0;
+        int legs = 0;
+        legStart[row] = legRows;
+        for (TradeRow.Leg leg : trade.legs()) {
+            if (leg == null) {
+                continue;
+            }
+            if (legRows == legNotional.length) {
+                growLegs(legRows * 2);
+            }
+            long legAmount = scaled(leg.notional());
+            long legValue = "PAY".equalsIgnoreCase(leg.payReceive()) ? -legAmount : legAmount;
+            codes[TradeDimension.CURRENCY.ordinal()][legRows] = encode(TradeDimension.CURRENCY, leg.currency());
+            codes[TradeDimension.PAY_RECEIVE.ordinal()][legRows] = encode(TradeDimension.PAY_RECEIVE, leg.payReceive());
+            legNotional[legRows] = legAmount;
+            legNet[legRows] = legValue;
+            legRows++;
+            legs++;
+            notional += legAmount;
+            net += legValue;
+        }
+        legCount[row] = legs;
+        tradeNotional[row] = notional;
+        tradeNet[row] = net;
+        maxLegsPerTrade = Math.max(maxLegsPerTrade, legs);
+        return row;
+    }
+
+    private void kill(long tradeId) {
+        Integer row = rowByTradeId.remove(tradeId);
+        if (row != null) {
+            live[row] = false;
+            deadRows++;
+        }
+    }
+
+    // Slides live rows, and their legs, down over the dead ones. Row order, and so leg order, is preserved
+    private void compactIfNeeded() {
+        if (deadRows < COMPACT_MIN_DEAD_ROWS || deadRows < rowByTradeId.size()) {
+            return;
+        }
+        int rows = 0;
+        int legs = 0;
+        rowsByDay.clear();
+        for (int row = 0; row < rowCount; row++) {
+            if (!live[row]) {
+                continue;
+            }
+            for (TradeDimension dimension : DIMENSIONS) {
+                if (!dimension.isLegLevel()) {
+                    codes[dimension.ordinal()][rows] = codes[dimension.ordinal()][row];
+                }
+            }
+            tradeIds[rows] = tradeIds[row];
+            live[rows] = true;
+            tradeNotional[rows] = tradeNotional[row];
+            tradeNet[rows] = tradeNet[row];
+            legCount[rows] = legCount[row];
+            for (int leg = legStart[row], end = leg + legCount[row]; leg < end; leg++, legs++) {
+                for (TradeDimension dimension : DIMENSIONS) {
+                    if (dimension.isLegLevel()) {
+                        codes[dimension.ordinal()][legs] = codes[dimension.ordinal()][leg];
+                    }
+                }
+                legNotional[legs] = legNotional[leg];
+                legNet[legs] = legNet[leg];
+            }
+            legStart[rows] = legs - legCount[rows];
+            rowByTradeId.put(tradeIds[rows], rows);
+            index(codes[TradeDimension.TRADE_DATE.ordinal()][rows], rows);
+            rows++;
+        }
+        Arrays.fill(live, rows, rowCount, false);
+        rowCount = rows;
+        legRows = legs;
+        deadRows = 0;
+        growTrades(Math.max(256, rows * 2));
+        growLegs(Math.max(512, legs * 2));
+    }
+
+    private void growTrades(int capacity) {
+        for (TradeDimension dimension : DIMENSIONS) {
+            if (!dimension.isLegLevel()) {
+                codes[dimension.ordinal()] = Arrays.copyOf(codes[dimension.ordinal()], capacity);
+            }
+        }
+        tradeIds = Arrays.copyOf(tradeIds, capacity);
+        live = Arrays.copyOf(live, capacity);
+        tradeNotional = Arrays.copyOf(tradeNotional, capacity);
+        tradeNet = Arrays.copyOf(tradeNet, capacity);
+        legStart = Arrays.copyOf(legStart, capacity);
+        legCount = Arrays.copyOf(legCount, capacity);
+    }
+
+    private void growLegs(int capacity) {
+        for (TradeDimension dimension : DIMENSIONS) {
+            if (dimension.isLegLevel()) {
+                codes[dimension.ordinal()] = Arrays.copyOf(codes[dimension.ordinal()], capacity);
+            }
+        }
+        legNotional = Arrays.copyOf(legNotional, capacity);
+        legNet = Arrays.copyOf(legNet, capacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int encode(TradeDimension dimension, String value) {
+        return ((Dictionary<String>) dictionaries[dimension.ordinal()]).encode(value);
+    }
+
+    // Number of distinct digits of a dimension in a group key: 0 for null, then one per value
+    private long cardinality(TradeDimension dimension) {
+        if (dimension == TradeDimension.TRADE_DATE) {
+            return minDay > maxDay ? 1 : (long) maxDay - minDay + 2;
+        }
+        return dictionaries[dimension.ordinal()].size() + 1L;
+    }
+
+    private long digit(TradeDimension dimension, int row) {
+        int code = codes[dimension.ordinal()][row];
+        if (dimension == TradeDimension.TRADE_DATE) {
+            return code == NO_DATE ? 0 : code - minDay + 1;
+        }
+        return code + 1;
+    }
+
+    private Object value(TradeDimension dimension, long digit) {
+        if (digit == 0) {
+            return null;
+        }
+        if (dimension == TradeDimension.TRADE_DATE) {
+            return LocalDate.ofEpochDay(minDay + digit - 1);
+        }
+        return dictionaries[dimension.ordinal()].decode((int) digit - 1);
+    }
+
+    // Codes a filter accepts, by code
+    @SuppressWarnings("unchecked")
+    private boolean[] mask(TradeDimension dimension, String value) {
+        if (dimension == TradeDimension.TRADE_DATE) {
+            throw new IllegalArgumentException("Trade dates are filtered with a date range");
+        }
+        boolean[] accepted = new boolean[dictionaries[dimension.ordinal()].size()];
+        if (dimension == TradeDimension.TRADER || dimension == TradeDimension.INPUTTER) {
+            for (int code = 0; code < accepted.length; code++) {
+                accepted[code] = users.decode(code).loginId() != null && users.decode(code).loginId().equals(value);
+            }
+        } else {
+            int code = ((Dictionary<String>) dictionaries[dimension.ordinal()]).lookup(value);
+            if (code >= 0) {
+                accepted[code] = true;
+            }
+        }
+        return accepted;
+    }
+
+    private boolean accepts(boolean[][] masks, int index, boolean legLevel) {
+        for (TradeDimension dimension : DIMENSIONS) {
+            boolean[] mask = masks[dimension.ordinal()];
+            if (mask != null && dimension.isLegLevel() == legLevel) {
+                int code = codes[dimension.ordinal()][index];
+                if (code < 0 || !mask[code]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    static long scaled(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(NOTIONAL_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal money(long scaledAmount) {
+        return BigDecimal.valueOf(scaledAmount, NOTIONAL_SCALE);
+    }
+
+    private static final Comparator<Object> VALUE_ORDER = Comparator.nullsLast((a, b) -> a instanceof LocalDate date
+            ? date.compareTo((LocalDate) b)
+            : a.toString().compareTo(b.toString()));
+
+    private static final Comparator<TradeGroup> KEY_ORDER = (a, b) -> {
+        for (int i = 0; i < a.key().size(); i++) {
+            int order = VALUE_ORDER.compare(a.key().get(i), b.key().get(i));
+            if (order != 0) {
+                return order;
+            }
+        }
+        return 0;
+    };
+
+    // Growable list of the rows of one trade date
+    private static final class DayRows {
+        private int[] rows = new int[8];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+
+    // Running totals per group key, indexed directly by key when the key space is small
+    private static final class Groups {
+        private final Map<Long, Integer> slotByKey;
+        private long[] keys;
+        private long[] tradeCounts;
+        private long[] notional;
+        private long[] net;
+        private long[] gross;
+        private int size;
+
+        Groups(int denseSize) {
+            slotByKey = denseSize < 0 ? new HashMap<>() : null;
+            int capacity = denseSize < 0 ? 64 : denseSize;
+            keys = new long[capacity];
+            tradeCounts = new long[capacity];
+            notional = new long[capacity];
+            net = new long[capacity];
+            gross = new long[capacity];
+            size = denseSize < 0 ? 0 : denseSize;
+        }
+
+        int slot(long key) {
+            if (slotByKey == null) {
+                return (int) key;
+            }
+            Integer slot = slotByKey.get(key);
+            if (slot == null) {
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, size * 2);
+                    tradeCounts = Arrays.copyOf(tradeCounts, size * 2);
+                    notional = Arrays.copyOf(notional, size * 2);
+                    net = Arrays.copyOf(net, size * 2);
+                    gross = Arrays.copyOf(gross, size * 2);
+                }
+                slot = size++;
+                keys[slot] = key;
+                slotByKey.put(key, slot);
+            }
+            return slot;
+        }
+
+        void addTrade(int slot, long grossAmount) {
+            tradeCounts[slot]++;
+            gross[slot] += grossAmount;
+        }
+
+        void addLeg(int slot, long notionalAmount, long netAmount) {
+            notional[slot] += notionalAmount;
+            net[slot] += netAmount;
+        }
+
+        void forEach(GroupConsumer consumer) {
+            for (int slot = 0; slot < size; slot++) {
+                if (tradeCounts[slot] > 0) {
+                    consumer.accept(slotByKey == null ? slot : keys[slot], tradeCounts[slot], notional[slot], net[slot], gross[slot]);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface GroupConsumer {
+        void accept(long key, long tradeCount, long notional, long net, long gross);
+    }
+}
@@ -0,0 +1,40 @@
+package com.technicalchallenge.analytics;
+
+import java.util.Locale;
+
+// Attributes TradeColumnStore can group and filter by. Leg-level dimensions split a trade across the
+// groups its legs fall into.
+public enum TradeDimension {
+    STATUS(false),
+    BOOK(false),
+    COUNTERPARTY(false),
+    TRADE_TYPE(false),
+    TRADE_SUB_TYPE(false),
+    TRADER(false),
+    INPUTTER(false),
+    TRADE_DATE(false),
+    CURRENCY(true),
+    PAY_RECEIVE(true);
+
+    private final boolean legLevel;
+
+    TradeDimension(boolean legLevel) {
+        this.legLevel = legLevel;
+    }
+
+    public boolean isLegLevel() {
+        return legLevel;
+    }
+
+    // Accepts the constant name in any case, with '-' for '_' (e.g. "trade-type")
+    public static TradeDimension fromName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Dimension must not be blank");
+        }
+        try {
+            return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown dimension: " + name);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.technicalchallenge.analytics;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// One row of a TradeColumnStore group-by. key holds a value per grouped dimension, in the order asked for:
+// a String, a LocalDate for TRADE_DATE or a TradeUser for TRADER and INPUTTER, null where the trade has none.
+// Net exposure counts PAY legs negative and RECEIVE legs positive; gross exposure adds up the absolute net
+// of each trade's legs within the group.
+public record TradeGroup(List<Object> key,
+                         long tradeCount,
+                         BigDecimal notional,
+                         BigDecimal netExposure,
+                         BigDecimal grossExposure) {
+}
@@ -0,0 +1,25 @@
+package com.technicalchallenge.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Everything TradeColumnStore keeps about one active trade, detached from the entities it was read from
+public record TradeRow(long tradeId,
+                       String status,
+                       String book,
+                       String counterparty,
+                       String tradeType,
+                       String tradeSubType,
+                       TradeUser trader,
+                       TradeUser inputter,
+                       LocalDate tradeDate,
+                       List<Leg> legs) {
+
+    public TradeRow {
+        legs = legs != null ? List.copyOf(legs) : List.of();
+    }
+
+    public record Leg(String currency, String payReceive, BigDecimal notional) {
+    }
+}
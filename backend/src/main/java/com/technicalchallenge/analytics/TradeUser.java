@@ -0,0 +1,10 @@
+package com.technicalchallenge.analytics;
+
+// A trader or inputter as TradeColumnStore holds them; shown by name, filtered by login
+public record TradeUser(String loginId, String firstName, String lastName) {
+
+    @Override
+    public String toString() {
+        return firstName + " " + lastName;
+    }
+}
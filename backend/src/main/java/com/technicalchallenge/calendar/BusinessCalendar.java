@@ -0,0 +1,184 @@
+package com.technicalchallenge.calendar;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+
+// Non-business days of a holiday calendar as a bitset over epoch days (bit set = weekend or holiday).
+// The bitset spans the whole years that have holidays loaded and starts on a multiple of 64 days, so
+// isBusinessDay is a single word lookup and joint calendars are a word-by-word OR. Outside the loaded
+// years only weekends are non-business days. Instances are immutable and shared between threads.
+public final class BusinessCalendar {
+
+    private final String name;
+    private final long firstDay; // epoch day of bit 0, always a multiple of 64
+    private final long[] words;
+    private final int hash;
+
+    private BusinessCalendar(String name, long firstDay, long[] words) {
+        this.name = name;
+        this.firstDay = firstDay;
+        this.words = words;
+        this.hash = 31 * Long.hashCode(firstDay) + Arrays.hashCode(words);
+    }
+
+    public static BusinessCalendar weekendsOnly(String name) {
+        return new BusinessCalendar(name, 0, new long[0]);
+    }
+
+    public static BusinessCalendar of(String name, Collection<LocalDate> holidays) {
+        if (holidays.isEmpty()) {
+            return weekendsOnly(name);
+        }
+        int firstYear = Integer.MAX_VALUE;
+        int lastYear = Integer.MIN_VALUE;
+        for (LocalDate holiday : holidays) {
+            firstYear = Math.min(firstYear, holiday.getYear());
+            lastYear = Math.max(lastYear, holiday.getYear());
+        }
+        long firstDay = Math.floorDiv(LocalDate.of(firstYear, 1, 1).toEpochDay(), 64) * 64;
+        long endDay = LocalDate.of(lastYear + 1, 1, 1).toEpochDay();
+        long[] words = new long[(int) ((endDay - firstDay + 63) / 64)];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = weekendWord(firstDay + 64L * i);
+        }
+        for (LocalDate holiday : holidays) {
+            long offset = holiday.toEpochDay() - firstDay;
+            words[(int) (offset >>> 6)] |= 1L << offset;
+        }
+        return new BusinessCalendar(name, firstDay, words);
+    }
+
+    // A day is a business day in the joint calendar only if it is one in both, e.g. LON+NY
+    public BusinessCalendar join(BusinessCalendar other) {
+        String jointName = name + "+" + other.name;
+        if (other.words.length == 0) {
+            return new BusinessCalendar(jointName, firstDay, words);
+        }
+        if (words.length == 0) {
+            return new BusinessCalendar(jointName, other.firstDay, other.words);
+        }
+        long jointFirstDay = Math.min(firstDay, other.firstDay);
+        long jointEndDay = Math.max(endDay(), other.endDay());
+        long[] jointWords = new long[(int) ((jointEndDay - jointFirstDay) / 64)];
+        for (int i = 0; i < jointWords.length; i++) {
+            long wordDay = jointFirstDay + 64L * i;
+            jointWords[i] = wordAt(wordDay) | other.wordAt(wordDay);
+        }
+        return new BusinessCalendar(jointName, jointFirstDay, jointWords);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        return isBusinessDay(date.toEpochDay());
+    }
+
+    public boolean isBusinessDay(long epochDay) {
+        long offset = epochDay - firstDay;
+        if (offset >= 0 && offset < (long) words.length << 6) {
+            return (words[(int) (offset >>> 6)] & (1L << offset)) == 0;
+        }
+        return !isWeekend(epochDay);
+    }
+
+    public LocalDate adjust(LocalDate date, RollConvention convention) {
+        long day = date.toEpochDay();
+        if (isBusinessDay(day)) {
+            return date;
+        }
+        return switch (convention) {
+            case UNADJUSTED -> date;
+            case FOLLOWING -> LocalDate.ofEpochDay(following(day));
+            case PRECEDING -> LocalDate.ofEpochDay(preceding(day));
+            case MODIFIED_FOLLOWING -> {
+                LocalDate rolled = LocalDate.ofEpochDay(following(day));
+                yield rolled.getMonthValue() == date.getMonthValue() ? rolled : LocalDate.ofEpochDay(preceding(day));
+            }
+            case MODIFIED_PRECEDING -> {
+                LocalDate rolled = LocalDate.ofEpochDay(preceding(day));
+                yield rolled.getMonthValue() == date.getMonthValue() ? rolled : LocalDate.ofEpochDay(following(day));
+            }
+        };
+    }
+
+    // Moves forward (or back, for a negative count) by business days; a non-business start date counts
+    // from the day itself, so T+0 on a Saturday stays on the Saturday and T+1 is the Monday
+    public LocalDate addBusinessDays(LocalDate date, int businessDays) {
+        long day = date.toEpochDay();
+        int step = businessDays < 0 ? -1 : 1;
+        for (int remaining = Math.abs(businessDays); remaining > 0; ) {
+            day += step;
+            if (isBusinessDay(day)) {
+                remaining--;
+            }
+        }
+        return LocalDate.ofEpochDay(day);
+    }
+
+    private long following(long day) {
+        while (!isBusinessDay(day)) {
+            day++;
+        }
+        return day;
+    }
+
+    private long preceding(long day) {
+        while (!isBusinessDay(day)) {
+            day--;
+        }
+        return day;
+    }
+
+    private long endDay() {
+        return firstDay + ((long) words.length << 6);
+    }
+
+    // The 64 days starting at wordDay (a multiple of 64), falling back to weekends outside the loaded years
+    private long wordAt(long wordDay) {
+        long offset = wordDay - firstDay;
+        if (offset >= 0 && offset < (long) words.length << 6) {
+            return words[(int) (offset >>> 6)];
+        }
+        return weekendWord(wordDay);
+    }
+
+    private static long weekendWord(long wordDay) {
+        long word = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (isWeekend(wordDay + bit)) {
+                word |= 1L << bit;
+            }
+        }
+        return word;
+    }
+
+    // 1970-01-01 was a Thursday, so Monday is 0 and Saturday/Sunday are 5 and 6
+    private static boolean isWeekend(long epochDay) {
+        return Math.floorMod(epochDay + 3, 7) >= 5;
+    }
+
+    // Calendars with the same non-business days are equal whatever they are called, so they can key caches
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BusinessCalendar other)) {
+            return false;
+        }
+        return hash == other.hash && firstDay == other.firstDay && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
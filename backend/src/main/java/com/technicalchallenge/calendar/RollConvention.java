@@ -0,0 +1,27 @@
+package com.technicalchallenge.calendar;
+
+import java.util.Locale;
+
+// How a date that falls on a non-business day is moved, as named in the business_day_convention table
+public enum RollConvention {
+    UNADJUSTED,
+    FOLLOWING,
+    MODIFIED_FOLLOWING,
+    PRECEDING,
+    MODIFIED_PRECEDING;
+
+    // "Modified Following", "modified-following" and "MODIFIED_FOLLOWING" are all accepted.
+    // Legs booked without a convention roll Modified Following, the market default for swap payments.
+    public static RollConvention fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return MODIFIED_FOLLOWING;
+        }
+        String key = name.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+        for (RollConvention convention : values()) {
+            if (convention.name().equals(key)) {
+                return convention;
+            }
+        }
+        throw new IllegalArgumentException("Unknown business day convention: " + name);
+    }
+}
@@ -0,0 +1,161 @@
+package com.technicalchallenge.cashflow;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.technicalchallenge.calendar.BusinessCalendar;
+import com.technicalchallenge.calendar.RollConvention;
+import com.technicalchallenge.service.BusinessCalendarService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// The one cashflow generator, used when booking a trade (TradeService) and for the preview behind
+// POST /api/cashflows/generate, so both produce the same dates and amounts.
+// Periods are rolled forward from the start date in whole months off the start (so month ends don't drift),
+// the last one always ends on maturity, and a final stub shorter than MIN_STUB_DAYS is folded into the
+// period before it. Period dates only depend on (start, maturity, frequency, calendar, convention), so they
+// are memoized: most trades share a handful of standard tenors. Amounts are computed per leg from the periods.
+@Component
+public class CashflowEngine {
+
+    static final int MIN_STUB_DAYS = 7;
+    public static final int FIXING_LAG_DAYS = 2;
+    private static final int SCHEDULE_CACHE_SIZE = 10_000;
+    private static final Pattern TENOR = Pattern.compile("(\\d+)\\s*([MY])");
+
+    private final BusinessCalendarService businessCalendarService;
+    private final Cache<ScheduleKey, List<CashflowPeriod>> schedules = Caffeine.newBuilder()
+            .maximumSize(SCHEDULE_CACHE_SIZE)
+            .recordStats()
+            .build();
+
+    @Autowired
+    public CashflowEngine(BusinessCalendarService businessCalendarService) {
+        this.businessCalendarService = businessCalendarService;
+    }
+
+    public List<GeneratedCashflow> generate(LegTerms leg, LocalDate startDate, LocalDate maturityDate) {
+        List<CashflowPeriod> periods = schedule(startDate, maturityDate, leg.schedule(),
+                leg.holidayCalendar(), leg.paymentBusinessDayConvention());
+        DayCount dayCount = DayCount.fromName(leg.dayCount());
+
+        List<GeneratedCashflow> cashflows = new ArrayList<>(periods.size());
+        for (CashflowPeriod period : periods) {
+            long days = dayCount.days(period.accrualStart(), period.accrualEnd());
+            cashflows.add(new GeneratedCashflow(period,
+                    accrual(leg.legType(), leg.notional(), leg.rate(), days, dayCount.basis())));
+        }
+        return cashflows;
+    }
+
+    // Shared (immutable) list of periods; empty when maturity is not after the start date
+    public List<CashflowPeriod> schedule(LocalDate startDate, LocalDate maturityDate, String frequency,
+                                         String holidayCalendar, String businessDayConvention) {
+        if (startDate == null || maturityDate == null) {
+            throw new IllegalArgumentException("Start and maturity dates are required to generate cashflows");
+        }
+        ScheduleKey key = new ScheduleKey(startDate, maturityDate, frequencyInMonths(frequency),
+                businessCalendarService.getCalendar(holidayCalendar), RollConvention.fromName(businessDayConvention));
+        return schedules.get(key, CashflowEngine::buildSchedule);
+    }
+
+    public CacheStats scheduleCacheStats() {
+        return schedules.stats();
+    }
+
+    // Fixed legs accrue notional * rate% * days / basis; floating legs are zero until their index fixes
+    public static BigDecimal accrual(String legType, BigDecimal notional, Double rate, long days, int basis) {
+        if (!isFixed(legType) || notional == null || rate == null) {
+            return BigDecimal.ZERO;
+        }
+        return interest(notional, rate, days, basis);
+    }
+
+    public static BigDecimal interest(BigDecimal notional, double ratePercent, long days, int basis) {
+        return notional.multiply(BigDecimal.valueOf(ratePercent))
+                .multiply(BigDecimal.valueOf(days))
+                .divide(BigDecimal.valueOf(100L * basis), 2, RoundingMode.HALF_UP);
+    }
+
+    public static boolean isFixed(String legType) {
+        return "Fixed".equalsIgnoreCase(legType);
+    }
+
+    public static boolean isFloating(String legType) {
+        return "Floating".equalsIgnoreCase(legType);
+    }
+
+    // Monthly, Quarterly, Semi-annually, Annually, or a tenor such as 1M, 3M, 6M, 1Y. Quarterly when not set.
+    public static int frequencyInMonths(String schedule) {
+        if (schedule == null || schedule.isBlank()) {
+            return 3;
+        }
+        String key = schedule.trim().toUpperCase(Locale.ROOT);
+        switch (key) {
+            case "MONTHLY":
+                return 1;
+            case "QUARTERLY":
+                return 3;
+            case "SEMI-ANNUALLY", "SEMIANNUALLY", "SEMI-ANNUAL", "HALF-YEARLY":
+                return 6;
+            case "ANNUALLY", "ANNUAL", "YEARLY":
+                return 12;
+            default:
+                Matcher tenor = TENOR.matcher(key);
+                if (tenor.matches()) {
+                    int count = Integer.parseInt(tenor.group(1));
+                    int months = "Y".equals(tenor.group(2)) ? count * 12 : count;
+                    if (months > 0) {
+                        return months;
+                    }
+                }
+                throw new IllegalArgumentException("Invalid schedule format: " + schedule
+                        + ". Supported formats: Monthly, Quarterly, Semi-annually, Annually, or 1M, 3M, 6M, 12M, 1Y");
+        }
+    }
+
+    private static List<CashflowPeriod> buildSchedule(ScheduleKey key) {
+        if (!key.maturityDate().isAfter(key.startDate())) {
+            return List.of();
+        }
+        List<LocalDate> periodEnds = new ArrayList<>();
+        for (long period = 1; ; period++) {
+            LocalDate end = key.startDate().plusMonths(period * key.months());
+            if (!end.isBefore(key.maturityDate())) {
+                break;
+            }
+            periodEnds.add(end);
+        }
+        int last = periodEnds.size() - 1;
+        if (last >= 0 && ChronoUnit.DAYS.between(periodEnds.get(last), key.maturityDate()) < MIN_STUB_DAYS) {
+            periodEnds.remove(last); // long final stub
+        }
+        periodEnds.add(key.maturityDate());
+
+        List<CashflowPeriod> periods = new ArrayList<>(periodEnds.size());
+        LocalDate accrualStart = key.startDate();
+        for (LocalDate accrualEnd : periodEnds) {
+            periods.add(new CashflowPeriod(accrualStart, accrualEnd,
+                    key.calendar().adjust(accrualEnd, key.convention()),
+                    key.calendar().addBusinessDays(key.calendar().adjust(accrualStart, key.convention()), -FIXING_LAG_DAYS)));
+            accrualStart = accrualEnd;
+        }
+        return List.copyOf(periods);
+    }
+
+    // BusinessCalendar compares by its holidays, so a reloaded but unchanged calendar still hits the cache
+    private record ScheduleKey(LocalDate startDate, LocalDate maturityDate, int months,
+                              BusinessCalendar calendar, RollConvention convention) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.technicalchallenge.cashflow;
+
+import java.time.LocalDate;
+
+// One calculation period: accrual runs on the unadjusted dates, payment on the business-day adjusted end.
+// A floating leg fixes its rate for the period on fixingDate, CashflowEngine.FIXING_LAG_DAYS business days
+// before the (adjusted) accrual start.
+public record CashflowPeriod(LocalDate accrualStart, LocalDate accrualEnd, LocalDate paymentDate, LocalDate fixingDate) {
+}
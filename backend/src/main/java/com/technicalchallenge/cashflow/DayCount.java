@@ -0,0 +1,57 @@
+package com.technicalchallenge.cashflow;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+// Day count conventions for fixed accruals: the accrual is notional * rate * days(start, end) / basis
+public enum DayCount {
+    ACT_360("ACT/360", 360),
+    ACT_365F("ACT/365F", 365),
+    THIRTY_360("30/360", 360);
+
+    private final String label;
+    private final int basis;
+
+    DayCount(String label, int basis) {
+        this.label = label;
+        this.basis = basis;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int basis() {
+        return basis;
+    }
+
+    public long days(LocalDate start, LocalDate end) {
+        if (this != THIRTY_360) {
+            return ChronoUnit.DAYS.between(start, end);
+        }
+        // 30/360 bond basis (ISDA 2006 4.16(f))
+        int d1 = Math.min(start.getDayOfMonth(), 30);
+        int d2 = d1 == 30 ? Math.min(end.getDayOfMonth(), 30) : end.getDayOfMonth();
+        return 360L * (end.getYear() - start.getYear()) + 30L * (end.getMonthValue() - start.getMonthValue()) + (d2 - d1);
+    }
+
+    public double yearFraction(LocalDate start, LocalDate end) {
+        return (double) days(start, end) / basis;
+    }
+
+    // Accepts the label ("ACT/360") or the constant name ("ACT_360"). Legs without a day count accrue
+    // 30/360, which is what whole-month periods were always paid at (months / 12).
+    public static DayCount fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return THIRTY_360;
+        }
+        String key = name.trim().toUpperCase(Locale.ROOT);
+        for (DayCount dayCount : values()) {
+            if (dayCount.label.equals(key) || dayCount.name().equals(key)) {
+                return dayCount;
+            }
+        }
+        throw new IllegalArgumentException("Unknown day count: " + name + ". Supported: ACT/360, ACT/365F, 30/360");
+    }
+}
@@ -0,0 +1,23 @@
+package com.technicalchallenge.cashflow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record GeneratedCashflow(CashflowPeriod period, BigDecimal paymentValue) {
+
+    public LocalDate valueDate() {
+        return period.paymentDate();
+    }
+
+    public LocalDate accrualStart() {
+        return period.accrualStart();
+    }
+
+    public LocalDate accrualEnd() {
+        return period.accrualEnd();
+    }
+
+    public LocalDate fixingDate() {
+        return period.fixingDate();
+    }
+}
@@ -0,0 +1,13 @@
+package com.technicalchallenge.cashflow;
+
+import java.math.BigDecimal;
+
+// What CashflowEngine needs to know about a leg, by reference data name. rate is a percentage (3.5 = 3.5%).
+public record LegTerms(String legType,
+                       BigDecimal notional,
+                       Double rate,
+                       String schedule,
+                       String holidayCalendar,
+                       String paymentBusinessDayConvention,
+                       String dayCount) {
+}
@@ -0,0 +1,63 @@
+package com.technicalchallenge.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+// Read-through caches for static reference data used when booking trades and legs.
+// Every entity has a name-keyed cache (the lookups done by TradeService when populating a trade from a
+// DTO) and an id-keyed cache. The repositories declare @Cacheable and the matching services evict both
+// caches on save/delete. All caches record statistics, so hit/miss counts show up under
+// /actuator/metrics/cache.gets and the caches can be inspected or cleared via /actuator/caches.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CURRENCY_BY_NAME = "currencyByName";
+    public static final String CURRENCY_BY_ID = "currencyById";
+    public static final String LEG_TYPE_BY_NAME = "legTypeByName";
+    public static final String LEG_TYPE_BY_ID = "legTypeById";
+    public static final String INDEX_BY_NAME = "indexByName";
+    public static final String INDEX_BY_ID = "indexById";
+    public static final String HOLIDAY_CALENDAR_BY_NAME = "holidayCalendarByName";
+    public static final String HOLIDAY_CALENDAR_BY_ID = "holidayCalendarById";
+    public static final String SCHEDULE_BY_NAME = "scheduleByName";
+    public static final String SCHEDULE_BY_ID = "scheduleById";
+    public static final String BUSINESS_DAY_CONVENTION_BY_NAME = "businessDayConventionByName";
+    public static final String BUSINESS_DAY_CONVENTION_BY_ID = "businessDayConventionById";
+    public static final String PAY_REC_BY_NAME = "payRecByName";
+    public static final String PAY_REC_BY_ID = "payRecById";
+    public static final String TRADE_STATUS_BY_NAME = "tradeStatusByName";
+    public static final String TRADE_STATUS_BY_ID = "tradeStatusById";
+    public static final String BOOK_BY_NAME = "bookByName";
+    public static final String BOOK_BY_ID = "bookById";
+    public static final String COUNTERPARTY_BY_NAME = "counterpartyByName";
+    public static final String COUNTERPARTY_BY_ID = "counterpartyById";
+
+    static final List<String> REFERENCE_DATA_CACHES = List.of(
+            CURRENCY_BY_NAME, CURRENCY_BY_ID,
+            LEG_TYPE_BY_NAME, LEG_TYPE_BY_ID,
+            INDEX_BY_NAME, INDEX_BY_ID,
+            HOLIDAY_CALENDAR_BY_NAME, HOLIDAY_CALENDAR_BY_ID,
+            SCHEDULE_BY_NAME, SCHEDULE_BY_ID,
+            BUSINESS_DAY_CONVENTION_BY_NAME, BUSINESS_DAY_CONVENTION_BY_ID,
+            PAY_REC_BY_NAME, PAY_REC_BY_ID,
+            TRADE_STATUS_BY_NAME, TRADE_STATUS_BY_ID,
+            BOOK_BY_NAME, BOOK_BY_ID,
+            COUNTERPARTY_BY_NAME, COUNTERPARTY_BY_ID);
+
+    @Bean
+    public CacheManager cacheManager(@Value("${reference-data.cache.spec:maximumSize=2000,expireAfterWrite=12h,recordStats}") String spec) {
+        // Cache names are fixed up front so actuator registers metrics for every cache at startup
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(REFERENCE_DATA_CACHES);
+        return cacheManager;
+    }
+}
@@ -0,0 +1,53 @@
+package com.technicalchallenge.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Builds from before the Flyway migrations let Hibernate create the schema (ddl-auto=create-drop) and reloaded
+// data.sql on every start, so a database they left behind has tables but no schema history. Baselining it would
+// skip V1 and run the seed data against a schema the migrations never created; instead startup stops with a
+// message saying what to do. Such a database holds nothing the old build would not have thrown away itself.
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            checkNotCreatedByHibernate(flyway);
+            flyway.migrate();
+        };
+    }
+
+    static void checkNotCreatedByHibernate(Flyway flyway) {
+        DataSource dataSource = flyway.getConfiguration().getDataSource();
+        String historyTable = flyway.getConfiguration().getTable();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean hasTrades = false;
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), "%", new String[]{"TABLE"})) {
+                while (tables.next()) {
+                    String table = tables.getString("TABLE_NAME");
+                    if (table.equalsIgnoreCase(historyTable)) {
+                        return;
+                    }
+                    hasTrades |= table.equalsIgnoreCase("trade");
+                }
+            }
+            if (hasTrades) {
+                throw new IllegalStateException("The database at " + metaData.getURL() + " was created by an older build "
+                        + "(Hibernate-generated schema, no Flyway history). Delete it (the ./data directory for the default "
+                        + "H2 file database) and restart; the migrations then create the current schema and seed data.");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not inspect the database schema before migrating", e);
+        }
+    }
+}
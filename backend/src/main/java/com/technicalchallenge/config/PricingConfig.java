@@ -0,0 +1,22 @@
+package com.technicalchallenge.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+// Portfolio revaluation runs on its own fork-join pool so a full-book run neither starves nor is starved by
+// other users of the common pool (parallel streams, CompletableFuture defaults)
+@Configuration
+@EnableConfigurationProperties(RiskProperties.class)
+public class PricingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool pricingPool(RiskProperties riskProperties) {
+        int parallelism = riskProperties.getParallelism() > 0
+                ? riskProperties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism);
+    }
+}
@@ -0,0 +1,30 @@
+package com.technicalchallenge.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Market data and settings for the PV/DV01 engine (RiskService), bound from the risk.* properties
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "risk")
+public class RiskProperties {
+
+    // Totals, per-trade and per-book figures are converted into this currency
+    private String reportingCurrency = "USD";
+
+    // Parallel shift of the zero curves used for DV01
+    private double bumpBasisPoints = 1.0;
+
+    // Threads in the pricing fork-join pool; 0 uses one per available processor
+    private int parallelism = 0;
+
+    // Zero curve per currency, e.g. risk.curves.USD=3M:0.0530,1Y:0.0510,10Y:0.0420
+    private Map<String, String> curves = new LinkedHashMap<>();
+
+    // Units of reporting currency per unit of each other currency, e.g. risk.fx-rates.EUR=1.08
+    private Map<String, Double> fxRates = new LinkedHashMap<>();
+}
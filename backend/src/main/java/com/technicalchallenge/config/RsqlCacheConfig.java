@@ -0,0 +1,29 @@
+package com.technicalchallenge.config;
+
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.rsql.RsqlSpecificationCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// RSQL searches parse through a shared RsqlSpecificationCache; its hit/miss counts are published as
+// cache.gets{cache=rsqlSpecifications} next to the reference data caches. The optional result cache is
+// TradeSearchResultCache.
+@Configuration
+@EnableConfigurationProperties(RsqlCacheProperties.class)
+public class RsqlCacheConfig {
+
+    public static final String RSQL_SPECIFICATIONS = "rsqlSpecifications";
+
+    @Bean
+    public RsqlSpecificationCache<Trade> tradeRsqlSpecificationCache(RsqlCacheProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        RsqlSpecificationCache<Trade> cache = new RsqlSpecificationCache<>(properties.getMaxSpecifications());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.getCache(), RSQL_SPECIFICATIONS);
+        return cache;
+    }
+}
@@ -0,0 +1,29 @@
+package com.technicalchallenge.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Parsed-query and result caches for GET /api/trades/rsql (see RsqlCacheConfig), bound from the rsql.cache.* properties
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rsql.cache")
+public class RsqlCacheProperties {
+
+    // Distinct RSQL queries kept parsed as Specifications
+    private long maxSpecifications = 500;
+
+    // Cache the ids of the trades matching each (query, sort) and page through them without re-running the filter
+    private boolean resultsEnabled = false;
+
+    // How long a result is served; bounds staleness from writes this instance does not see (other nodes, SQL)
+    private Duration resultsTtl = Duration.ofSeconds(10);
+
+    // Distinct (query, sort) results kept
+    private long maxResults = 200;
+
+    // Queries matching more trades than this are not cached and run as a normal paged query
+    private int maxResultIds = 10_000;
+}
@@ -0,0 +1,10 @@
+package com.technicalchallenge.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs (e.g. FloatingRateResetJob) are switched on individually through their cron properties
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,45 @@
+package com.technicalchallenge.config;
+
+import com.technicalchallenge.jdbc.MeteredDataSource;
+import com.technicalchallenge.jdbc.SqlBudgetFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+// Per-request SQL statement, row and JDBC time metering (see SqlBudgetFilter). The DataSource is wrapped in a
+// MeteredDataSource, which only proxies connections taken while a request is being served.
+@Configuration
+@ConditionalOnProperty(prefix = "sql.budget", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class SqlBudgetConfig {
+
+    @Bean
+    public static BeanPostProcessor meteredDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof MeteredDataSource)
+                        ? new MeteredDataSource(dataSource) : bean;
+            }
+        };
+    }
+
+    // Ahead of the security filters, so user lookups during authentication count towards the request
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(SqlBudgetProperties properties,
+                                                                   MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlBudgetFilter(properties, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,32 @@
+package com.technicalchallenge.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Per-request SQL metering and statement budget (SqlBudgetFilter), bound from the sql.budget.* properties
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sql.budget")
+public class SqlBudgetProperties {
+
+    // Meters the DataSource and reports per-request statements at all; takes effect on restart
+    private boolean enabled = true;
+
+    // Statements a request may run before it counts as over budget
+    private int maxStatements = 100;
+
+    // Budgets for particular endpoints by request mapping pattern, e.g. sql.budget.endpoints.[/api/trades/{id}]=10
+    private Map<String, Integer> endpoints = new LinkedHashMap<>();
+
+    // LOG a warning for a request over budget, or FAIL it with SqlBudgetExceededException (for tests and CI)
+    private Action action = Action.LOG;
+
+    public enum Action {
+        LOG,
+        FAIL
+    }
+}
@@ -1,5 +1,8 @@
 package com.technicalchallenge.controller;
 
+import com.technicalchallenge.cashflow.CashflowEngine;
+import com.technicalchallenge.cashflow.GeneratedCashflow;
+import com.technicalchallenge.cashflow.LegTerms;
 import com.technicalchallenge.dto.CashflowDTO;
 import com.technicalchallenge.dto.CashflowGenerationRequest;
 import com.technicalchallenge.mapper.CashflowMapper;
@@ -20,13 +23,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import jakarta.validation.Valid;
 
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-import java.math.BigDecimal;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +41,8 @@ public class CashflowController {
     private CashflowService cashflowService;
     @Autowired
     private CashflowMapper cashflowMapper;
+    @Autowired
+    private CashflowEngine cashflowEngine;
 
     @GetMapping
     @Operation(summary = "Get all cashflows",
@@ -132,53 +134,32 @@ public class CashflowController {
         if (request.getLegs() == null || request.getLegs().isEmpty()) {
             return ResponseEntity.badRequest().body(allCashflows);
         }
-        for (CashflowGenerationRequest.TradeLegDTO leg : request.getLegs()) {
-            LocalDate startDate = request.getTradeStartDate();
-            LocalDate maturityDate = request.getTradeMaturityDate();
-            String schedule = leg.getCalculationPeriodSchedule();
-            int months = scheduleToMonths(schedule);
-            if (months <= 0) {
-                continue;
-            }
-            LocalDate valueDate = startDate;
-            while (valueDate.isBefore(maturityDate)) {
-                LocalDate nextValueDate = valueDate.plusMonths(months);
-                if (nextValueDate.isAfter(maturityDate)) {
-                    nextValueDate = maturityDate;
-                }
-                BigDecimal paymentValue = BigDecimal.ZERO;
-                if ("Fixed".equalsIgnoreCase(leg.getLegType())) {
-                    long days = java.time.temporal.ChronoUnit.DAYS.between(valueDate, nextValueDate);
-                    double rate = leg.getRate() != null ? leg.getRate() : 0.0;
-                    paymentValue = leg.getNotional().multiply(BigDecimal.valueOf(rate)).multiply(BigDecimal.valueOf(days)).divide(BigDecimal.valueOf(360), 2, BigDecimal.ROUND_HALF_UP);
+        try {
+            // Same engine as trade booking, so the preview shows exactly the cashflows that will be booked
+            for (CashflowGenerationRequest.TradeLegDTO leg : request.getLegs()) {
+                LegTerms terms = new LegTerms(leg.getLegType(), leg.getNotional(), leg.getRate(),
+                        leg.getCalculationPeriodSchedule(), leg.getHolidayCalendar(),
+                        leg.getPaymentBusinessDayConvention(), leg.getDayCount());
+                for (GeneratedCashflow generated : cashflowEngine.generate(terms, request.getTradeStartDate(), request.getTradeMaturityDate())) {
+                    CashflowDTO cf = new CashflowDTO();
+                    cf.setValueDate(generated.valueDate());
+                    cf.setPaymentValue(generated.paymentValue());
+                    cf.setPayRec(leg.getPayReceiveFlag());
+                    cf.setPaymentType(leg.getLegType());
+                    cf.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
+                    if (CashflowEngine.isFloating(leg.getLegType())) {
+                        cf.setFixingDate(generated.fixingDate());
+                    } else {
+                        cf.setRate(leg.getRate());
+                    }
+                    allCashflows.add(cf);
                 }
-                // For floating, paymentValue remains 0
-                CashflowDTO cf = new CashflowDTO();
-                cf.setValueDate(nextValueDate);
-                cf.setPaymentValue(paymentValue);
-                cf.setPayRec(leg.getPayReceiveFlag());
-                cf.setPaymentType(leg.getLegType());
-                cf.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
-                cf.setRate(leg.getRate());
-                allCashflows.add(cf);
-                valueDate = nextValueDate;
             }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Cannot generate cashflows: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(List.of());
         }
         return ResponseEntity.ok(allCashflows);
     }
 
-    private int scheduleToMonths(String schedule) {
-        if (schedule == null) return 0;
-        schedule = schedule.toLowerCase();
-        if (schedule.contains("month")) {
-            if (schedule.contains("3")) return 3;
-            if (schedule.contains("6")) return 6;
-            if (schedule.contains("12")) return 12;
-            return 1;
-        }
-        if (schedule.contains("quarter")) return 3;
-        if (schedule.contains("annual") || schedule.contains("year")) return 12;
-        return 0;
-    }
-
 }
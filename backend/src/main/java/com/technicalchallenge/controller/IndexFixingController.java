@@ -0,0 +1,93 @@
+package com.technicalchallenge.controller;
+
+import com.technicalchallenge.dto.FixingResetResult;
+import com.technicalchallenge.dto.IndexFixingDTO;
+import com.technicalchallenge.service.FloatingRateResetJob;
+import com.technicalchallenge.service.IndexFixingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/fixings")
+@Tag(name = "Index Fixings", description = "Floating rate index fixings and the floating cashflow reset")
+public class IndexFixingController {
+    private static final Logger logger = LoggerFactory.getLogger(IndexFixingController.class);
+
+    @Autowired
+    private IndexFixingService indexFixingService;
+
+    @Autowired
+    private FloatingRateResetJob floatingRateResetJob;
+
+    @GetMapping("/{index}")
+    @Operation(summary = "Get fixings of an index", description = "Fixings of the index between two dates (inclusive), oldest first")
+    @PreAuthorize("hasAnyRole('TRADER', 'TRADER_SALES', 'SUPERUSER', 'MIDDLE_OFFICE' , 'MO', 'ADMIN', 'SUPPORT' )")
+    public List<IndexFixingDTO> getFixings(
+            @PathVariable(name = "index") String index,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return indexFixingService.getFixings(index, from, to);
+    }
+
+    @PostMapping
+    @Operation(summary = "Load fixings", description = "Adds fixings, replacing the rate of any already loaded for the same index and date")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Fixings saved"),
+        @ApiResponse(responseCode = "400", description = "Unknown index or incomplete fixing")
+    })
+    @PreAuthorize("hasAnyRole('SUPERUSER', 'MIDDLE_OFFICE', 'MO', 'ADMIN')")
+    public ResponseEntity<?> saveFixings(@RequestBody List<IndexFixingDTO> fixings) {
+        try {
+            return ResponseEntity.ok(Map.of("saved", indexFixingService.saveFixings(fixings)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected fixings: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "text/plain"})
+    @Operation(summary = "Import fixings from CSV", description = "Lines of index,fixingDate,rate (ISO date, rate in percent); an optional header line is skipped")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Fixings saved"),
+        @ApiResponse(responseCode = "400", description = "Malformed line or unknown index")
+    })
+    @PreAuthorize("hasAnyRole('SUPERUSER', 'MIDDLE_OFFICE', 'MO', 'ADMIN')")
+    public ResponseEntity<?> importFixings(@RequestBody String csv) {
+        try {
+            return ResponseEntity.ok(Map.of("saved", indexFixingService.importCsv(csv)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected fixings import: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/reset")
+    @Operation(summary = "Reset floating cashflows",
+               description = "Applies the loaded fixings to every floating cashflow that fixes on or before the date and has no rate yet")
+    @PreAuthorize("hasAnyRole('SUPERUSER', 'MIDDLE_OFFICE', 'MO', 'ADMIN')")
+    public FixingResetResult resetFloatingCashflows(
+            @Parameter(description = "Fixing date cut-off, defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return floatingRateResetJob.reset(asOf != null ? asOf : LocalDate.now());
+    }
+}
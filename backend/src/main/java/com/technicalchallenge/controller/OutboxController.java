@@ -0,0 +1,51 @@
+package com.technicalchallenge.controller;
+
+import com.technicalchallenge.dto.OutboxStatusDTO;
+import com.technicalchallenge.outbox.OutboxMessage;
+import com.technicalchallenge.outbox.OutboxRelay;
+import com.technicalchallenge.repository.TradeOutboxRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/outbox")
+@Tag(name = "Trade Outbox", description = "Trade lifecycle event log and its delivery to downstream systems")
+public class OutboxController {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private TradeOutboxRepository tradeOutboxRepository;
+
+    @GetMapping("/events")
+    @Operation(summary = "Event log of a trade", description = "Every lifecycle event of the trade, across its versions, oldest first")
+    @PreAuthorize("hasAnyRole('TRADER', 'TRADER_SALES', 'SUPERUSER', 'MIDDLE_OFFICE' , 'MO', 'ADMIN', 'SUPPORT' )")
+    public List<OutboxMessage> getTradeEvents(@RequestParam Long tradeId) {
+        return tradeOutboxRepository.findByTradeIdOrderByIdAsc(tradeId).stream().map(OutboxMessage::of).toList();
+    }
+
+    @GetMapping("/status")
+    @Operation(summary = "Relay status", description = "Backlog, delivery counts and the last sink error")
+    @PreAuthorize("hasAnyRole('SUPERUSER', 'MIDDLE_OFFICE', 'MO', 'ADMIN', 'SUPPORT')")
+    public OutboxStatusDTO getStatus() {
+        return outboxRelay.getStatus();
+    }
+
+    @PostMapping("/relay")
+    @Operation(summary = "Relay now", description = "Delivers pending events without waiting for the next scheduled run")
+    @PreAuthorize("hasAnyRole('SUPERUSER', 'ADMIN', 'SUPPORT')")
+    public Map<String, Integer> relay() {
+        return Map.of("delivered", outboxRelay.relay());
+    }
+}
@@ -0,0 +1,44 @@
+package com.technicalchallenge.controller;
+
+import com.technicalchallenge.dto.RiskExposureSummary;
+import com.technicalchallenge.service.RiskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/risk")
+@Tag(name = "Risk", description = "Portfolio valuation and interest rate risk")
+public class RiskController {
+
+    @Autowired
+    private RiskService riskService;
+
+    // Revalues every active trade off the configured zero curves and returns PV, NPV and DV01 totals
+    // with breakdowns by currency and book
+    @GetMapping("/summary")
+    @Operation(summary = "Portfolio PV and DV01",
+               description = "Discounts the remaining cashflows of all active trades and bumps the curves by 1bp for DV01")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Portfolio valued successfully"),
+        @ApiResponse(responseCode = "403", description = "Insufficient privileges")
+    })
+    @PreAuthorize("hasAnyRole('TRADER', 'TRADER_SALES', 'SUPERUSER', 'MIDDLE_OFFICE' , 'MO', 'ADMIN', 'SUPPORT' )")
+    public ResponseEntity<RiskExposureSummary> getRiskSummary(
+            @Parameter(description = "Valuation date, defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate valuationDate) {
+        return ResponseEntity.ok(riskService.getRiskSummary(valuationDate != null ? valuationDate : LocalDate.now()));
+    }
+}
@@ -1,7 +1,10 @@
 package com.technicalchallenge.controller;
 
 import com.technicalchallenge.dto.DailySummaryDTO;
+import com.technicalchallenge.dto.ChangesPage;
+import com.technicalchallenge.dto.KeysetPage;
 import com.technicalchallenge.dto.SettlementInstructionsUpdateDTO;
+import com.technicalchallenge.dto.TradeBatchResponseDTO;
 //import com.technicalchallenge.dto.DailySummaryDTO;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.dto.TradeSummaryDTO;
@@ -10,6 +13,11 @@ import com.technicalchallenge.mapper.TradeMapper;
 import com.technicalchallenge.model.Trade;
 import com.technicalchallenge.service.TradeService;
 import com.technicalchallenge.service.AdditionalInfoService;
+import com.technicalchallenge.service.TradeBatchService;
+import com.technicalchallenge.service.TradeExportService;
+import com.technicalchallenge.service.TradeExportService.ExportFormat;
+
+import cz.jirutka.rsql.parser.RSQLParserException;
 import org.springframework.beans.factory.annotation.Autowired;
 //import com.technicalchallenge.validation.ValidationResult;
 
@@ -17,6 +25,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 //import org.springframework.boot.autoconfigure.data.web.SpringDataWebProperties.Pageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -33,12 +42,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 //import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 
 import org.slf4j.Logger;
@@ -56,6 +71,11 @@ public class TradeController {
     private TradeMapper tradeMapper;
     @Autowired
     private AdditionalInfoService additionalInfoService;
+    @Autowired
+    private TradeBatchService tradeBatchService;
+
+    @Autowired
+    private TradeExportService tradeExportService;
   
    
 
@@ -73,13 +93,21 @@ public class TradeController {
         // return tradeService.getAllTrades().stream()
         //         .map(tradeMapper::toDto)
         //         .toList();
-        return tradeService.getAllTrades().stream()
+        List<Trade> trades = tradeService.getAllTrades();
+
+        // Settlement instructions for the whole result in one query instead of one lookup per trade
+        Map<Long, String> settlementInstructions = additionalInfoService.getSettlementInstructions(
+                trades.stream().map(Trade::getTradeId).toList());
+
+        return trades.stream()
         .map(trade -> {
             TradeDTO dto = tradeMapper.toDto(trade);
 
             // Include settlement instructions if present
-            additionalInfoService.getSettlementInstructions(trade.getTradeId())
-                .ifPresent(dto::setSettlementInstructions);
+            String instructions = settlementInstructions.get(trade.getTradeId());
+            if (instructions != null) {
+                dto.setSettlementInstructions(instructions);
+            }
 
             return dto;
         })
@@ -90,7 +118,7 @@ public class TradeController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get trade by ID",
-               description = "Retrieves a specific trade by its unique identifier")
+               description = "Retrieves a specific trade by its unique identifier. With asOf, returns the version that was in force at that time, with the settlement instructions of that time")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Trade found and returned successfully",
                     content = @Content(mediaType = "application/json",
@@ -100,14 +128,19 @@ public class TradeController {
     })
     public ResponseEntity<TradeDTO> getTradeById(
             @Parameter(description = "Unique identifier of the trade", required = true)
-            @PathVariable(name = "id") Long id) {
-        logger.debug("Fetching trade by id: {}", id);
-        return tradeService.getTradeById(id)
+            @PathVariable(name = "id") Long id,
+            @Parameter(description = "Point in time (ISO date-time) to read the trade as of; the current version when omitted")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        logger.debug("Fetching trade by id: {} as of {}", id, asOf);
+        Optional<Trade> tradeOpt = asOf != null ? tradeService.getTradeAsOf(id, asOf) : tradeService.getTradeById(id);
+        return tradeOpt
         .map(trade -> {
             TradeDTO dto = tradeMapper.toDto(trade);
 
             //  Add settlement instructions from AdditionalInfo
-            additionalInfoService.getSettlementInstructions(trade.getTradeId())
+            (asOf != null
+                    ? additionalInfoService.getSettlementInstructionsAsOf(trade.getTradeId(), asOf)
+                    : additionalInfoService.getSettlementInstructions(trade.getTradeId()))
                 .ifPresent(dto::setSettlementInstructions);
 
             return ResponseEntity.ok(dto);
@@ -152,6 +185,26 @@ public class TradeController {
         }
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Book trades in bulk",
+               description = "Books a list of trades in chunked transactions (e.g. end-of-day loads). Each trade goes through the same validation as a single booking and the response reports success or failure per trade.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed; see per-trade results",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = TradeBatchResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Empty batch")
+    })
+    public ResponseEntity<?> createTradesBatch(
+            @Parameter(description = "Trades to book", required = true)
+            @RequestBody List<TradeDTO> tradeDTOs) {
+        if (tradeDTOs == null || tradeDTOs.isEmpty()) {
+            return ResponseEntity.badRequest().body("At least one trade is required");
+        }
+        logger.info("Booking batch of {} trades", tradeDTOs.size());
+        TradeBatchResponseDTO response = tradeBatchService.bookTrades(tradeDTOs);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update existing trade",
                description = "Updates an existing trade with new information. Subject to business rule validation and user privileges.")
@@ -320,9 +373,27 @@ public class TradeController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "tradeDate") String sortBy,
-            @RequestParam(defaultValue = "DESC") String direction
+            @RequestParam(defaultValue = "DESC") String direction,
+            @Parameter(description = "Use keyset (cursor) pagination instead of page numbers; implied when a cursor is given")
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @Parameter(description = "nextCursor from the previous keyset page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Keyset mode only: also count all matching trades")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Only the trade versions in force at this point in time (ISO date-time); every version when omitted")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf
     ) {
-        var tradesPage = tradeService.searchTrades(counterparty, book, trader, status, from, to, page, size, sortBy, direction);
+        if (keyset || cursor != null) {
+            try {
+                KeysetPage<TradeDTO> keysetPage = tradeService.searchTradesKeyset(counterparty, book, trader, status, from, to,
+                        size, sortBy, direction, cursor, includeTotal, asOf).map(tradeMapper::toDto);
+                return ResponseEntity.ok(keysetResponse(keysetPage, sortBy, direction));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+
+        var tradesPage = tradeService.searchTrades(counterparty, book, trader, status, from, to, page, size, sortBy, direction, asOf);
         var tradeDTOs = tradesPage.getContent().stream().map(tradeMapper::toDto).toList();
 
         return ResponseEntity.ok(Map.of(
@@ -338,6 +409,27 @@ public class TradeController {
 
 
 
+    @GetMapping("/changes")
+    @Operation(summary = "Trades changed since a watermark",
+               description = "Active trades created, amended, cancelled, terminated or given new settlement instructions after the "
+                       + "watermark, oldest change first, with the watermark to send next time. Poll again straight away while hasMore is true.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid watermark")
+    })
+    public ResponseEntity<?> getTradeChanges(
+            @Parameter(description = "Watermark from the previous response, or an ISO date-time; omit for a full sync")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of trades to return (at most 1000)")
+            @RequestParam(defaultValue = "500") int limit) {
+        try {
+            ChangesPage<TradeDTO> changes = tradeService.getTradeChanges(since, limit).map(tradeMapper::toDto);
+            return ResponseEntity.ok(changes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
    /* RSQL search endpoint for complex queries
     RSQL stands for RESTful Service Query Language
     It allows clients to construct complex queries using a simple and standardized syntax
@@ -357,8 +449,22 @@ public class TradeController {
     })
     public ResponseEntity<?> searchByRsql(
             @RequestParam String query,
-            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+            @PageableDefault(size = 20, sort = "id") Pageable pageable,
+            @Parameter(description = "Use keyset (cursor) pagination instead of page numbers; implied when a cursor is given")
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @Parameter(description = "nextCursor from the previous keyset page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Keyset mode only: also count all matching trades")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
+            if (keyset || cursor != null) {
+                // Keyset mode sorts by the first sort property only (id breaks ties)
+                Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id"));
+                KeysetPage<TradeDTO> keysetPage = tradeService.searchByRsqlKeyset(query, pageable.getPageSize(),
+                        order.getProperty(), order.getDirection(), cursor, includeTotal).map(tradeMapper::toDto);
+                return ResponseEntity.ok(keysetResponse(keysetPage, order.getProperty(), order.getDirection().name()));
+            }
+
             Page<Trade> results = tradeService.searchByRsql(query, pageable);
             Page<TradeDTO> tradeDTOs = results.map(tradeMapper::toDto);
             return ResponseEntity.ok(tradeDTOs);
@@ -368,6 +474,56 @@ public class TradeController {
         }
     }
 
+    // Streams the whole blotter (or the trades matching an optional RSQL query) straight to the response,
+    // one trade at a time, so middle office reconciliation pulls do not hold every trade in memory
+    @GetMapping("/export")
+    @Operation(summary = "Export trades",
+               description = "Streams trades as newline-delimited JSON (one trade per line) or CSV (one row per trade leg), optionally filtered with an RSQL query")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format or invalid RSQL syntax")
+    })
+    public void exportTrades(
+            @Parameter(description = "ndjson (default) or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Optional RSQL filter, e.g. tradeStatus.tradeStatus==LIVE;tradeDate=ge=2025-01-01")
+            @RequestParam(required = false) String query,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+
+        logger.info("Exporting trades as {} with filter: {}", exportFormat, query);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"trades." + exportFormat.getFileExtension() + "\"");
+        try {
+            tradeExportService.exportTrades(query, exportFormat, response.getOutputStream());
+        } catch (IllegalArgumentException | RSQLParserException e) {
+            // The query is checked before anything is written, so the response can still become a 400
+            logger.error("Error parsing RSQL query for export: {}", e.getMessage());
+            response.reset();
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid RSQL query: " + e.getMessage());
+        }
+    }
+
+    private Map<String, Object> keysetResponse(KeysetPage<TradeDTO> page, String sortBy, String direction) {
+        // LinkedHashMap because nextCursor and totalElements may be null, which Map.of does not allow
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("content", page.content());
+        body.put("size", page.size());
+        body.put("hasNext", page.hasNext());
+        body.put("nextCursor", page.nextCursor());
+        body.put("totalElements", page.totalElements());
+        body.put("sortBy", sortBy);
+        body.put("direction", direction);
+        return body;
+    }
+
     // FOLA ADDED: New endpoint to get trades by trader ID
     // This endpoint retrieves trades belonging to the currently logged-in trader
     @GetMapping("/my-trades")
@@ -412,6 +568,35 @@ public class TradeController {
         return ResponseEntity.ok(tradeService.getDailySummary());
     }
 
+    // Ad-hoc group-by over the active trades, e.g. ?groupBy=book,currency&status=LIVE
+    @GetMapping("/analytics")
+    @Operation(summary = "Trade aggregations",
+            description = "Groups active trades by any of STATUS, BOOK, COUNTERPARTY, TRADE_TYPE, TRADE_SUB_TYPE, TRADER, INPUTTER, "
+                    + "TRADE_DATE, CURRENCY and PAY_RECEIVE, with trade count, notional and net/gross exposure per group. "
+                    + "Grouping or filtering by currency or pay/receive only counts the matching legs.")
+    @PreAuthorize("hasAnyRole('TRADER', 'TRADER_SALES', 'SUPERUSER', 'MIDDLE_OFFICE' , 'MO', 'ADMIN', 'SUPPORT' )")
+    public ResponseEntity<?> aggregateTrades(
+            @Parameter(description = "Comma-separated dimensions to group by, in order") @RequestParam List<String> groupBy,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String book,
+            @RequestParam(required = false) String counterparty,
+            @Parameter(description = "Trader login") @RequestParam(required = false) String trader,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        Map<String, String> filters = new HashMap<>();
+        filters.put("STATUS", status);
+        filters.put("BOOK", book);
+        filters.put("COUNTERPARTY", counterparty);
+        filters.put("TRADER", trader);
+        filters.put("CURRENCY", currency);
+        try {
+            return ResponseEntity.ok(tradeService.aggregateTrades(groupBy, filters, fromDate, toDate));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
 
 
     //FULL STACK SETTLEMEMNT INSTRUCTION IMPLEMENTATION
@@ -421,14 +606,19 @@ public class TradeController {
     // It supports partial text search for operations teams and auditors
     @GetMapping("/search/settlement-instructions")
     @Operation(summary = "Search trades by settlement instructions phrase or text",
-            description = "Returns trades whose settlement instructions contain the provided text (case-insensitive).")
+            description = "Returns trades whose settlement instructions contain the provided text (case-insensitive). With allWords, the words of the text may appear in any order.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Trades found successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid settlement instruction parameter"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<TradeDTO>> searchBySettlementInstructions(@RequestParam String instructions) {
-        List<Trade> trades = tradeService.searchBySettlementInstructions(instructions);
+    public ResponseEntity<List<TradeDTO>> searchBySettlementInstructions(
+            @RequestParam String instructions,
+            @Parameter(description = "Match every whitespace-separated word, in any order, instead of the whole text")
+            @RequestParam(defaultValue = "false") boolean allWords) {
+        List<Trade> trades = allWords
+                ? tradeService.searchBySettlementInstructions(instructions, true)
+                : tradeService.searchBySettlementInstructions(instructions);
         List<TradeDTO> result = trades.stream().map(tradeMapper::toDto).toList();
         return ResponseEntity.ok(result);
 
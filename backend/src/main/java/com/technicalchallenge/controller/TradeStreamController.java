@@ -0,0 +1,37 @@
+package com.technicalchallenge.controller;
+
+import com.technicalchallenge.service.TradeStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/trades")
+@Tag(name = "Trade Stream", description = "Live trade lifecycle events for blotters")
+public class TradeStreamController {
+
+    @Autowired
+    private TradeStreamService tradeStreamService;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to trade events",
+               description = "Server-Sent Events stream of created, amended, cancelled, terminated and settlement instruction "
+                       + "updates as \"trade\" events. A \"resync\" event means the client fell behind and should reload the blotter.")
+    @PreAuthorize("hasAnyRole('TRADER', 'TRADER_SALES', 'SUPERUSER', 'MIDDLE_OFFICE' , 'MO', 'ADMIN', 'SUPPORT' )")
+    public SseEmitter streamTrades(
+            @Parameter(description = "Only trades in these books") @RequestParam(required = false) List<String> book,
+            @Parameter(description = "Only trades of these traders (login id or name)") @RequestParam(required = false) List<String> trader,
+            @Parameter(description = "Only trades with these counterparties") @RequestParam(required = false) List<String> counterparty) {
+        return tradeStreamService.open(TradeStreamService.Filter.of(book, trader, counterparty));
+    }
+}
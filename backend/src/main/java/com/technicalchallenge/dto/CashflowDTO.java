@@ -19,6 +19,7 @@ public class CashflowDTO {
     private BigDecimal paymentValue;
     private LocalDate valueDate;
     private Double rate;
+    private LocalDate fixingDate;
     private String payRec;
     private String paymentType;
     private String paymentBusinessDayConvention;
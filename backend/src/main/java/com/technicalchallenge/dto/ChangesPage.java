@@ -0,0 +1,16 @@
+package com.technicalchallenge.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One batch of a change feed. watermark is an opaque token to pass back as "since" on the next poll; it is
+// returned even when nothing changed. hasMore means more changes are already waiting, so poll again at once.
+public record ChangesPage<T>(List<T> content,
+                             String watermark,
+                             boolean hasMore) {
+
+    public <R> ChangesPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new ChangesPage<>(mapped, watermark, hasMore);
+    }
+}
@@ -0,0 +1,19 @@
+package com.technicalchallenge.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One row of the daily summary aggregation: the number of active trades and their summed leg notional
+// for a single (trade date, status, book, trader, inputter) combination. Produced by
+// TradeSummaryAggregateStore.dailyAggregates so getDailySummary() never materialises individual trades.
+public record DailyTradeAggregate(LocalDate tradeDate,
+                                  String tradeStatus,
+                                  String bookName,
+                                  String traderLoginId,
+                                  String traderFirstName,
+                                  String traderLastName,
+                                  String inputterFirstName,
+                                  String inputterLastName,
+                                  Long tradeCount,
+                                  BigDecimal totalNotional) {
+}
@@ -0,0 +1,22 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// Outcome of one FloatingRateResetJob run
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FixingResetResult {
+    private LocalDate asOf;
+    private long candidates; // floating cashflows due to fix by asOf and not yet reset
+    private long reset;
+    private Map<String, Long> missingFixingsByIndex; // left unset until the fixing is loaded
+    private long elapsedMillis;
+}
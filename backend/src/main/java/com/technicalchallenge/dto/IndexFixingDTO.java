@@ -0,0 +1,18 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexFixingDTO {
+    private String index;
+    private LocalDate fixingDate;
+    private Double rate; // percent, e.g. 5.31
+}
@@ -0,0 +1,18 @@
+package com.technicalchallenge.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset (seek) paginated search. nextCursor is an opaque token for the following page and is
+// null on the last page; totalElements is only filled in when the caller asked for a count.
+public record KeysetPage<T>(List<T> content,
+                            int size,
+                            String nextCursor,
+                            boolean hasNext,
+                            Long totalElements) {
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new KeysetPage<>(mapped, size, nextCursor, hasNext, totalElements);
+    }
+}
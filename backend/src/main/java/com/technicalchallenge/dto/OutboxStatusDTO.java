@@ -0,0 +1,23 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// State of the trade outbox relay. delivered and failedBatches count since the server started.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxStatusDTO {
+    private long backlog; // events not yet accepted by every sink
+    private long delivered;
+    private long failedBatches;
+    private LocalDateTime lastDeliveredAt;
+    private String lastError;
+    private List<String> sinks;
+}
@@ -1,14 +1,38 @@
 package com.technicalchallenge.dto;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
 
+// Portfolio valuation produced by RiskService. Totals and per-book figures are in the reporting currency,
+// per-currency figures in the currency itself. DV01 is the change in value for a +1bp parallel curve shift.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
 public class RiskExposureSummary {
-    private BigDecimal totalRisk;
-    private BigDecimal netRisk;
-    private BigDecimal grossRisk;
+    private LocalDate valuationDate;
+    private String reportingCurrency;
+    private long tradeCount;
+    private long cashflowCount;
+
+    private BigDecimal totalRisk; // sum of the absolute DV01 per currency (netted within, not across currencies)
+    private BigDecimal netRisk; // DV01 netted across the whole portfolio
+    private BigDecimal grossRisk; // sum of the absolute DV01 of every trade
     private BigDecimal dv01; //interest rate risk measure, dollar value of a one basis point move
-    private BigDecimal pv; //present value of the trades
+    private BigDecimal pv; //present value of the trades (every cashflow counted positive)
     private BigDecimal npv; //net present value of the trades
 
-    // Getters and Setters
+    private Map<String, BigDecimal> npvByCurrency;   // e.g. {"USD": 125_000, "EUR": -40_000}
+    private Map<String, BigDecimal> dv01ByCurrency;
+    private Map<String, BigDecimal> npvByBook;
+    private Map<String, BigDecimal> dv01ByBook;
+    private Map<String, Long> unpricedCashflowsByCurrency; // currencies without a curve or FX rate
+
+    private long pricingMillis;
 }
@@ -0,0 +1,20 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TradeBatchResponseDTO {
+    private int totalTrades;
+    private int bookedTrades;
+    private int failedTrades;
+    private long elapsedMillis;
+    private List<TradeBatchResultDTO> results; // one entry per submitted trade, in submission order
+}
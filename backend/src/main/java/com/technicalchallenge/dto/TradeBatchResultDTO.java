@@ -0,0 +1,18 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of booking a single trade submitted through POST /api/trades/batch
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TradeBatchResultDTO {
+    private int index;           // position of the trade in the submitted list
+    private Long tradeId;        // business trade id, set when the trade was booked
+    private boolean success;
+    private String errorMessage; // reason the trade was rejected, null on success
+}
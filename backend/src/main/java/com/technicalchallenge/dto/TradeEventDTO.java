@@ -0,0 +1,64 @@
+package com.technicalchallenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.technicalchallenge.model.Trade;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Compact trade lifecycle event pushed to blotters over /api/trades/stream. Carries just enough for a
+// blotter to update its row (names as in TradeDTO); the full trade is fetched only when a user opens it.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TradeEventDTO {
+
+    public enum Type {
+        CREATED,
+        AMENDED,
+        CANCELLED,
+        TERMINATED,
+        SETTLEMENT_INSTRUCTIONS_UPDATED
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private long sequence; // stream position, increasing in commit order within this server; not in the outbox payload
+    private Type type;
+    private Long tradeId;
+    private Integer version;
+    private String tradeStatus;
+    private String bookName;
+    private String counterpartyName;
+    private String traderUserName;
+    private String traderLoginId;
+    private LocalDate tradeDate;
+    private LocalDateTime occurredAt;
+
+    public static TradeEventDTO of(Type type, Trade trade) {
+        TradeEventDTOBuilder builder = TradeEventDTO.builder()
+                .type(type)
+                .tradeId(trade.getTradeId())
+                .version(trade.getVersion())
+                .tradeDate(trade.getTradeDate())
+                .occurredAt(LocalDateTime.now());
+        if (trade.getTradeStatus() != null) {
+            builder.tradeStatus(trade.getTradeStatus().getTradeStatus());
+        }
+        if (trade.getBook() != null) {
+            builder.bookName(trade.getBook().getBookName());
+        }
+        if (trade.getCounterparty() != null) {
+            builder.counterpartyName(trade.getCounterparty().getName());
+        }
+        if (trade.getTraderUser() != null) {
+            builder.traderUserName(trade.getTraderUser().getFirstName() + " " + trade.getTraderUser().getLastName())
+                    .traderLoginId(trade.getTraderUser().getLoginId());
+        }
+        return builder.build();
+    }
+}
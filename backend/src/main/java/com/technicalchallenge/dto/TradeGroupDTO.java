@@ -0,0 +1,23 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// One group of GET /api/trades/analytics. key maps each grouped dimension to its value (null where trades have
+// none). Net exposure counts PAY legs negative; gross exposure adds up the absolute net of each trade in the group.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TradeGroupDTO {
+    private Map<String, String> key; // e.g. {"BOOK": "FX-BOOK-1", "CURRENCY": "USD"}
+    private long tradeCount;
+    private BigDecimal notional;
+    private BigDecimal netExposure;
+    private BigDecimal grossExposure;
+}
@@ -25,6 +25,8 @@ public class TradeLegDTO {
 
     private Double rate;
 
+    private String dayCount; // ACT/360, ACT/365F or 30/360 (the default)
+
     // Currency reference
     private Long currencyId;
     private String currency;
@@ -0,0 +1,98 @@
+package com.technicalchallenge.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Counts what runs on connections handed out while SqlStatistics is collecting on the calling thread: every
+// statement execution (a JDBC batch counts once) with its time, and every row read from a result set. This sits
+// under Hibernate and JdbcTemplate alike, so it sees the same SQL a database log would. Connections opened with
+// nothing collecting (startup, scheduled jobs, the outbox relay) are returned unwrapped.
+public class MeteredDataSource extends DelegatingDataSource {
+
+    public MeteredDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return meter(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return meter(super.getConnection(username, password));
+    }
+
+    private static Connection meter(Connection connection) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics == null) {
+            return connection;
+        }
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = call(connection, method, args);
+            return switch (method.getName()) {
+                case "prepareCall" -> proxy(CallableStatement.class,
+                        new StatementHandler((Statement) result, statistics, (String) args[0]));
+                case "prepareStatement" -> proxy(PreparedStatement.class,
+                        new StatementHandler((Statement) result, statistics, (String) args[0]));
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, statistics, null));
+                default -> result;
+            };
+        });
+    }
+
+    private record StatementHandler(Statement statement, SqlStatistics statistics, String sql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                Object result = call(statement, method, args);
+                return result instanceof ResultSet resultSet && method.getName().equals("getResultSet")
+                        ? meterRows(resultSet) : result;
+            }
+            long start = System.nanoTime();
+            try {
+                Object result = call(statement, method, args);
+                return result instanceof ResultSet resultSet ? meterRows(resultSet) : result;
+            } finally {
+                // Plain statements carry their SQL in the execute call
+                String executed = sql != null ? sql : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                statistics.statementExecuted(executed, System.nanoTime() - start);
+            }
+        }
+
+        private ResultSet meterRows(ResultSet resultSet) {
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                Object result = call(resultSet, method, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    statistics.rowFetched();
+                }
+                return result;
+            });
+        }
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(MeteredDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,9 @@
+package com.technicalchallenge.jdbc;
+
+// Thrown by SqlBudgetFilter when a request runs more statements than its budget and sql.budget.action=fail
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
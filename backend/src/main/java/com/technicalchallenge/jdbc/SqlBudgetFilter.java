@@ -0,0 +1,146 @@
+package com.technicalchallenge.jdbc;
+
+import com.technicalchallenge.config.SqlBudgetProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Collects SqlStatistics for each HTTP request and reports them three ways:
+//  - a Server-Timing header (sql;dur=...;desc="N statements, M rows"), added just before the body is written,
+//    so it covers everything the handler ran (browser dev tools show it next to the request timings)
+//  - sql.request.statements / sql.request.rows / sql.request.time, tagged by method and URI pattern
+//  - a check against the statement budget (sql.budget.*), which logs the request and its most repeated
+//    statement, or with action=fail throws SqlBudgetExceededException so a test or CI run fails on it
+public class SqlBudgetFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final SqlBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public SqlBudgetFilter(SqlBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.start();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, statistics);
+        try {
+            chain.doFilter(request, timedResponse);
+        } finally {
+            SqlStatistics.stop();
+        }
+        // Nothing was written (e.g. 204), so the header can still go on now
+        timedResponse.addServerTiming();
+        record(request, statistics);
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        DistributionSummary.builder("sql.request.statements")
+                .description("SQL statements executed per HTTP request")
+                .tags(tags).register(meterRegistry).record(statistics.getStatements());
+        DistributionSummary.builder("sql.request.rows")
+                .description("Rows fetched per HTTP request")
+                .tags(tags).register(meterRegistry).record(statistics.getRows());
+        Timer.builder("sql.request.time")
+                .description("JDBC execution time per HTTP request")
+                .tags(tags).register(meterRegistry).record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+
+        int budget = properties.getEndpoints().getOrDefault(uri, properties.getMaxStatements());
+        if (statistics.getStatements() <= budget) {
+            return;
+        }
+        Counter.builder("sql.request.budget.exceeded")
+                .description("HTTP requests that ran more SQL statements than their budget")
+                .tags(tags).register(meterRegistry).increment();
+        Map.Entry<String, Integer> mostRepeated = statistics.getMostRepeated();
+        String message = String.format("%s %s ran %d SQL statements (budget %d, %d rows, %.1f ms); most repeated: %s",
+                request.getMethod(), uri, statistics.getStatements(), budget, statistics.getRows(),
+                statistics.getNanos() / 1_000_000.0,
+                mostRepeated != null ? mostRepeated.getValue() + "x " + mostRepeated.getKey() : "-");
+        if (properties.getAction() == SqlBudgetProperties.Action.FAIL) {
+            throw new SqlBudgetExceededException(message);
+        }
+        logger.warn(message);
+    }
+
+    // Adds the Server-Timing header the first time the body, an error or a redirect is about to be sent
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+        private final SqlStatistics statistics;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void addServerTiming() {
+            if (!added && !isCommitted()) {
+                added = true;
+                addHeader(SERVER_TIMING, statistics.toServerTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.technicalchallenge.jdbc;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Statements, rows fetched and JDBC time of one unit of work (an HTTP request, see SqlBudgetFilter), collected
+// by MeteredDataSource from connections opened on the thread that started it. Not thread-safe: the unit of
+// work and its connections are expected to stay on one thread.
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    // Distinct SQL strings counted per unit of work; further ones are still counted, just not by text
+    static final int MAX_DISTINCT_STATEMENTS = 200;
+
+    private int statements;
+    private long rows;
+    private long nanos;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    // Starts collecting for the current thread, replacing anything collected before
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (sql != null && (executionsBySql.size() < MAX_DISTINCT_STATEMENTS || executionsBySql.containsKey(sql))) {
+            executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    // The SQL executed most often, with its count, or null if nothing ran; an N+1 shows up here
+    public Map.Entry<String, Integer> getMostRepeated() {
+        return executionsBySql.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+
+    // Value of a Server-Timing header entry, e.g. sql;dur=4.213;desc="12 statements, 340 rows"
+    public String toServerTiming() {
+        return String.format(Locale.ROOT, "sql;dur=%.3f;desc=\"%d statements, %d rows\"",
+                nanos / 1_000_000.0, statements, rows);
+    }
+}
@@ -29,6 +29,7 @@ public class CashflowMapper {
         dto.setPaymentValue(entity.getPaymentValue());
         dto.setValueDate(entity.getValueDate());
         dto.setRate(entity.getRate());
+        dto.setFixingDate(entity.getFixingDate());
         dto.setPayRec(entity.getPayRec() != null ? entity.getPayRec().getPayRec() : null);
         dto.setPaymentType(entity.getPaymentType() != null ? entity.getPaymentType().getType() : null);
         dto.setPaymentBusinessDayConvention(entity.getPaymentBusinessDayConvention() != null ? entity.getPaymentBusinessDayConvention().getBdc() : null);
@@ -33,6 +33,7 @@ public class TradeLegMapper {
         dto.setLegId(entity.getLegId());
         dto.setNotional(entity.getNotional());
         dto.setRate(entity.getRate());
+        dto.setDayCount(entity.getDayCount());
         dto.setCurrency(entity.getCurrency() != null ? entity.getCurrency().getCurrency() : null);
         dto.setLegType(entity.getLegRateType() != null ? entity.getLegRateType().getType() : null);
         dto.setIndexName(entity.getIndex() != null ? entity.getIndex().getIndex() : null);
@@ -52,6 +53,7 @@ public class TradeLegMapper {
         entity.setLegId(dto.getLegId());
         entity.setNotional(dto.getNotional());
         entity.setRate(dto.getRate());
+        entity.setDayCount(dto.getDayCount());
         if (dto.getCurrency() != null) {
             entity.setCurrency(currencyRepository.findByCurrency(dto.getCurrency()).orElse(null));
         }
@@ -122,6 +122,7 @@ public class TradeMapper {
         dto.setLegId(leg.getLegId());
         dto.setNotional(leg.getNotional());
         dto.setRate(leg.getRate());
+        dto.setDayCount(leg.getDayCount());
 
         if (leg.getCurrency() != null) {
             dto.setCurrencyId(leg.getCurrency().getId());
@@ -183,6 +184,7 @@ public class TradeMapper {
         leg.setLegId(dto.getLegId());
         leg.setNotional(dto.getNotional());
         leg.setRate(dto.getRate());
+        leg.setDayCount(dto.getDayCount());
 
 
         return leg;
@@ -199,6 +201,7 @@ public class TradeMapper {
         dto.setPaymentValue(cashflow.getPaymentValue());
         dto.setValueDate(cashflow.getValueDate());
         dto.setRate(cashflow.getRate());
+        dto.setFixingDate(cashflow.getFixingDate());
         dto.setPayRec(cashflow.getPayRec() != null ? cashflow.getPayRec().getPayRec() : null);
         dto.setPaymentType(cashflow.getPaymentType() != null ? cashflow.getPaymentType().getType() : null);
         dto.setPaymentBusinessDayConvention(cashflow.getPaymentBusinessDayConvention() != null ?
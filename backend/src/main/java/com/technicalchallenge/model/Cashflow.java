@@ -17,12 +17,18 @@ import lombok.Setter;
 @Table(name = "cashflow")
 public class Cashflow {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids let the many cashflows generated per leg go out as batched inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cashflow_seq")
+    @SequenceGenerator(name = "cashflow_seq", sequenceName = "cashflow_seq", initialValue = 100000, allocationSize = 50)
     private Long id; // Changed from 'id' to match DTO
 
     private BigDecimal paymentValue;
     private LocalDate valueDate;
-    private Double rate;
+    private Double rate; // null on a floating cashflow until its fixing has been applied
+
+    private LocalDate accrualStartDate;
+    private LocalDate accrualEndDate;
+    private LocalDate fixingDate; // floating legs only
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "leg_id", referencedColumnName = "legId")
@@ -0,0 +1,27 @@
+package com.technicalchallenge.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "index_fixing")
+public class IndexFixing {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "index_id", nullable = false)
+    private Index index;
+
+    @Column(name = "fixing_date", nullable = false)
+    private LocalDate fixingDate;
+
+    @Column(nullable = false)
+    private Double rate; // percent, e.g. 5.31
+}
@@ -14,10 +14,13 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+// Indexes live in the Flyway migrations (src/main/resources/db/migration)
 @Table(name = "trade")
 public class Trade {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (rather than IDENTITY) so Hibernate can batch inserts; starts above the seeded ids (V2__seed_reference_data.sql)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_seq")
+    @SequenceGenerator(name = "trade_seq", sequenceName = "trade_seq", initialValue = 100000, allocationSize = 50)
     private Long id;
 
     private Long tradeId;
@@ -17,11 +17,14 @@ import lombok.Setter;
 @Table(name = "trade_leg")
 public class TradeLeg {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Legs share the pooled sequence approach used for Trade so they can be inserted in JDBC batches
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_leg_seq")
+    @SequenceGenerator(name = "trade_leg_seq", sequenceName = "trade_leg_seq", initialValue = 100000, allocationSize = 50)
     private Long legId;
 
     private BigDecimal notional;
     private Double rate;
+    private String dayCount; // ACT/360, ACT/365F or 30/360; 30/360 when not set
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "trade_id", referencedColumnName = "id")
@@ -0,0 +1,36 @@
+package com.technicalchallenge.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// One trade lifecycle event waiting for (or already through) the outbox relay; see V8__trade_outbox.sql
+@Getter
+@Setter
+@Entity
+@Table(name = "trade_outbox")
+public class TradeOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "trade_id", nullable = false)
+    private Long tradeId;
+
+    @Column(name = "trade_version")
+    private Integer tradeVersion;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    @Column(nullable = false, length = 4000)
+    private String payload; // TradeEventDTO as JSON
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt; // null until every sink has accepted it
+}
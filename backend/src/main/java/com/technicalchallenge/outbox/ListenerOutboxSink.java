@@ -0,0 +1,27 @@
+package com.technicalchallenge.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// In-process consumers: each message is published as a Spring application event, so a component only needs an
+// @EventListener method taking an OutboxMessage. Listeners run on the relay thread; an exception thrown by one
+// fails the batch and it is delivered again.
+@Component
+public class ListenerOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public String getName() {
+        return "listener";
+    }
+
+    @Override
+    public void deliver(List<OutboxMessage> batch) {
+        batch.forEach(applicationEventPublisher::publishEvent);
+    }
+}
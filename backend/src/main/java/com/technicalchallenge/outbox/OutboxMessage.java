@@ -0,0 +1,21 @@
+package com.technicalchallenge.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.technicalchallenge.model.TradeOutboxEvent;
+
+import java.time.LocalDateTime;
+
+// What a sink receives: the outbox row, detached from the persistence context. id is unique and increasing,
+// so consumers can drop the duplicates at-least-once delivery may produce. payload is the TradeEventDTO JSON.
+public record OutboxMessage(long id,
+                            long tradeId,
+                            Integer tradeVersion,
+                            String type,
+                            @JsonRawValue String payload,
+                            LocalDateTime createdAt) {
+
+    public static OutboxMessage of(TradeOutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getTradeId(), event.getTradeVersion(), event.getEventType(),
+                event.getPayload(), event.getCreatedAt());
+    }
+}
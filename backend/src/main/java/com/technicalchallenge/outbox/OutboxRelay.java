@@ -0,0 +1,153 @@
+package com.technicalchallenge.outbox;
+
+import com.technicalchallenge.dto.OutboxStatusDTO;
+import com.technicalchallenge.repository.TradeOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Drains the trade outbox to every OutboxSink in the background, so the booking transaction only pays for one
+// insert. Undelivered rows are read in id order in batches; a batch is marked published once all sinks have
+// accepted it. If a sink fails, the run stops there and the same batch is offered again on the next run, which
+// keeps each trade's events in order and gives at-least-once delivery. Run on a single instance: a second relay
+// would only cause duplicates, which consumers must tolerate anyway.
+@Service
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private TradeOutboxRepository tradeOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private List<OutboxSink> sinks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    private Counter deliveredCounter;
+    private Counter failureCounter;
+    private Timer batchTimer;
+    private Timer lagTimer;
+
+    private volatile LocalDateTime lastDeliveredAt;
+    private volatile String lastError;
+
+    @PostConstruct
+    void registerMetrics() {
+        deliveredCounter = Counter.builder("trade.outbox.delivered")
+                .description("Trade events delivered to every sink").register(meterRegistry);
+        failureCounter = Counter.builder("trade.outbox.failures")
+                .description("Batches a sink rejected (retried on the next run)").register(meterRegistry);
+        batchTimer = Timer.builder("trade.outbox.batch")
+                .description("Time to deliver a batch to all sinks and mark it published").register(meterRegistry);
+        lagTimer = Timer.builder("trade.outbox.lag")
+                .description("Time from the trade change to its delivery").register(meterRegistry);
+        logger.info("Outbox relay {} with sinks {}", enabled ? "enabled" : "disabled",
+                sinks.stream().map(OutboxSink::getName).toList());
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void scheduledRelay() {
+        if (enabled) {
+            relay();
+        }
+    }
+
+    // Delivers batches until the outbox is empty, a sink fails or max-batches-per-run is reached.
+    // Returns the number of events delivered.
+    public synchronized int relay() {
+        int delivered = 0;
+        for (int run = 0; run < maxBatchesPerRun; run++) {
+            List<OutboxMessage> batch = nextBatch();
+            if (batch.isEmpty() || !deliver(batch)) {
+                break;
+            }
+            delivered += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    public OutboxStatusDTO getStatus() {
+        return OutboxStatusDTO.builder()
+                .backlog(tradeOutboxRepository.countByPublishedAtIsNull())
+                .delivered((long) deliveredCounter.count())
+                .failedBatches((long) failureCounter.count())
+                .lastDeliveredAt(lastDeliveredAt)
+                .lastError(lastError)
+                .sinks(sinks.stream().map(OutboxSink::getName).toList())
+                .build();
+    }
+
+    private List<OutboxMessage> nextBatch() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> tradeOutboxRepository
+                .findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, Math.max(1, batchSize)))
+                .stream()
+                .map(OutboxMessage::of)
+                .toList());
+    }
+
+    private boolean deliver(List<OutboxMessage> batch) {
+        long start = System.nanoTime();
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.deliver(batch);
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                failureCounter.increment();
+                lastError = sink.getName() + ": " + e.getMessage();
+                logger.warn("Outbox sink {} failed on {} events from id {}, retrying on the next run: {}",
+                        sink.getName(), batch.size(), batch.get(0).id(), e.getMessage());
+                return false;
+            }
+        }
+
+        LocalDateTime publishedAt = LocalDateTime.now();
+        List<Long> ids = batch.stream().map(OutboxMessage::id).toList();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                tradeOutboxRepository.markPublished(ids, publishedAt));
+
+        batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        deliveredCounter.increment(batch.size());
+        for (OutboxMessage message : batch) {
+            lagTimer.record(Duration.between(message.createdAt(), publishedAt));
+        }
+        lastDeliveredAt = publishedAt;
+        logger.debug("Relayed {} trade events up to id {}", batch.size(), ids.get(ids.size() - 1));
+        return true;
+    }
+}
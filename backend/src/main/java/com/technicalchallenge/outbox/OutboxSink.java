@@ -0,0 +1,13 @@
+package com.technicalchallenge.outbox;
+
+import java.util.List;
+
+// A downstream destination for trade lifecycle events. OutboxRelay hands every sink each batch in outbox id
+// order, so the events of a trade arrive in the order they happened. A sink either accepts the whole batch or
+// throws, in which case the batch is offered again later; a sink must therefore tolerate repeats.
+public interface OutboxSink {
+
+    String getName();
+
+    void deliver(List<OutboxMessage> batch) throws Exception;
+}
@@ -0,0 +1,138 @@
+package com.technicalchallenge.pricing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Column-oriented snapshot of the cashflows to value, laid out for the pricer rather than as entities.
+// Cashflows are grouped by trade: the cashflows of trade i are the index range
+// [tradeOffsets[i], tradeOffsets[i + 1]). Each cashflow is a signed amount in its own currency (received
+// positive, paid negative), a time in years from the valuation date and the index of its currency in
+// getCurrencies(). Everything is primitive arrays so valuing millions of cashflows allocates nothing.
+public final class CashflowBook {
+
+    private final long[] tradeIds;
+    private final String[] tradeBooks;
+    private final int[] tradeOffsets;
+    private final double[] amounts;
+    private final double[] times;
+    private final int[] currencyIndexes;
+    private final List<String> currencies;
+
+    private CashflowBook(long[] tradeIds, String[] tradeBooks, int[] tradeOffsets, double[] amounts, double[] times,
+                         int[] currencyIndexes, List<String> currencies) {
+        this.tradeIds = tradeIds;
+        this.tradeBooks = tradeBooks;
+        this.tradeOffsets = tradeOffsets;
+        this.amounts = amounts;
+        this.times = times;
+        this.currencyIndexes = currencyIndexes;
+        this.currencies = currencies;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getTradeCount() {
+        return tradeIds.length;
+    }
+
+    public int getCashflowCount() {
+        return amounts.length;
+    }
+
+    public long getTradeId(int trade) {
+        return tradeIds[trade];
+    }
+
+    public String getBook(int trade) {
+        return tradeBooks[trade];
+    }
+
+    public List<String> getCurrencies() {
+        return currencies;
+    }
+
+    int[] tradeOffsets() {
+        return tradeOffsets;
+    }
+
+    double[] amounts() {
+        return amounts;
+    }
+
+    double[] times() {
+        return times;
+    }
+
+    int[] currencyIndexes() {
+        return currencyIndexes;
+    }
+
+    // Cashflows must be added trade by trade; a new trade id starts a new trade
+    public static final class Builder {
+        private long[] tradeIds = new long[256];
+        private String[] tradeBooks = new String[256];
+        private int[] tradeOffsets = new int[257];
+        private int tradeCount;
+
+        private double[] amounts = new double[1024];
+        private double[] times = new double[1024];
+        private int[] currencyIndexes = new int[1024];
+        private int cashflowCount;
+
+        private final Map<String, Integer> currencyIndex = new HashMap<>();
+        private final List<String> currencies = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder add(long tradeId, String book, String currency, double amount, double time) {
+            if (tradeCount == 0 || tradeIds[tradeCount - 1] != tradeId) {
+                startTrade(tradeId, book);
+            }
+            if (cashflowCount == amounts.length) {
+                int capacity = amounts.length * 2;
+                amounts = Arrays.copyOf(amounts, capacity);
+                times = Arrays.copyOf(times, capacity);
+                currencyIndexes = Arrays.copyOf(currencyIndexes, capacity);
+            }
+            amounts[cashflowCount] = amount;
+            times[cashflowCount] = time;
+            currencyIndexes[cashflowCount] = currencyIndex.computeIfAbsent(currency, c -> {
+                currencies.add(c);
+                return currencies.size() - 1;
+            });
+            cashflowCount++;
+            tradeOffsets[tradeCount] = cashflowCount;
+            return this;
+        }
+
+        private void startTrade(long tradeId, String book) {
+            if (tradeCount == tradeIds.length) {
+                int capacity = tradeIds.length * 2;
+                tradeIds = Arrays.copyOf(tradeIds, capacity);
+                tradeBooks = Arrays.copyOf(tradeBooks, capacity);
+                tradeOffsets = Arrays.copyOf(tradeOffsets, capacity + 1);
+            }
+            tradeIds[tradeCount] = tradeId;
+            tradeBooks[tradeCount] = book;
+            tradeCount++;
+            tradeOffsets[tradeCount] = cashflowCount;
+        }
+
+        public CashflowBook build() {
+            return new CashflowBook(
+                    Arrays.copyOf(tradeIds, tradeCount),
+                    Arrays.copyOf(tradeBooks, tradeCount),
+                    Arrays.copyOf(tradeOffsets, tradeCount + 1),
+                    Arrays.copyOf(amounts, cashflowCount),
+                    Arrays.copyOf(times, cashflowCount),
+                    Arrays.copyOf(currencyIndexes, cashflowCount),
+                    List.copyOf(currencies));
+        }
+    }
+}
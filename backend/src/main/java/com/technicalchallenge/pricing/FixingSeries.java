@@ -0,0 +1,90 @@
+package com.technicalchallenge.pricing;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// Fixings of one index as two parallel primitive arrays sorted by date (epoch days), so a lookup is a
+// binary search with no boxing. Immutable; IndexFixingService swaps in a new series when fixings change.
+public final class FixingSeries {
+
+    private final String index;
+    private final int[] days;
+    private final double[] rates;
+
+    private FixingSeries(String index, int[] days, double[] rates) {
+        this.index = index;
+        this.days = days;
+        this.rates = rates;
+    }
+
+    // days and rates are parallel and need not be sorted; a later entry for the same date wins
+    public static FixingSeries of(String index, int[] days, double[] rates, int count) {
+        // Sort (day, position) pairs packed into longs, so equal days keep their input order
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = ((long) days[i] << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int[] sortedDays = new int[count];
+        double[] sortedRates = new double[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int source = (int) order[i];
+            if (size > 0 && sortedDays[size - 1] == days[source]) {
+                sortedRates[size - 1] = rates[source];
+            } else {
+                sortedDays[size] = days[source];
+                sortedRates[size] = rates[source];
+                size++;
+            }
+        }
+        return new FixingSeries(index, Arrays.copyOf(sortedDays, size), Arrays.copyOf(sortedRates, size));
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public int size() {
+        return days.length;
+    }
+
+    public LocalDate getDate(int i) {
+        return LocalDate.ofEpochDay(days[i]);
+    }
+
+    public double getRate(int i) {
+        return rates[i];
+    }
+
+    // The fixing published on the date, or failing that the latest one up to lookbackDays earlier
+    // (a fixing date that was a holiday for the index). NaN when there is none.
+    public double rateOn(long epochDay, int lookbackDays) {
+        int i = Arrays.binarySearch(days, (int) epochDay);
+        if (i >= 0) {
+            return rates[i];
+        }
+        int previous = -i - 2;
+        if (previous >= 0 && epochDay - days[previous] <= lookbackDays) {
+            return rates[previous];
+        }
+        return Double.NaN;
+    }
+
+    public double rateOn(LocalDate date, int lookbackDays) {
+        return rateOn(date.toEpochDay(), lookbackDays);
+    }
+
+    // Index range [from, to) of the fixings between two dates (inclusive)
+    public int[] range(LocalDate from, LocalDate to) {
+        int start = from == null ? 0 : insertionPoint(from.toEpochDay());
+        int end = to == null ? days.length : insertionPoint(to.toEpochDay() + 1);
+        return new int[] {start, Math.max(start, end)};
+    }
+
+    private int insertionPoint(long epochDay) {
+        int i = Arrays.binarySearch(days, (int) epochDay);
+        return i >= 0 ? i : -i - 1;
+    }
+}
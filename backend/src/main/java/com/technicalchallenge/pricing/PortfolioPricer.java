@@ -0,0 +1,147 @@
+package com.technicalchallenge.pricing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Values a CashflowBook against zero curves on a fork-join pool.
+// Each cashflow is discounted off its currency's curve, PV = amount * exp(-r(t) * t), and revalued on the
+// same curve shifted up in parallel by the bump, so DV01 = PV(bumped curve) - PV(curve) per bump. The book
+// is split into ranges of trades; every leaf writes the results of its own trades and returns per-currency
+// sums that are added up on join, so no two threads ever write the same slot. Cashflows in a currency with no
+// curve or no FX rate to the reporting currency are left out and reported as unpriced.
+@Component
+public class PortfolioPricer {
+
+    // Trades valued by one leaf task; big enough that splitting costs nothing next to the exp() calls
+    static final int TRADES_PER_TASK = 512;
+
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public PortfolioPricer(@Qualifier("pricingPool") ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param curves  zero curve per currency code
+     * @param fxRates units of reporting currency per unit of each currency (the reporting currency itself is 1)
+     * @param bumpBasisPoints parallel shift of the zero rates used for DV01
+     */
+    public PortfolioValuation value(CashflowBook book, Map<String, ZeroCurve> curves, Map<String, Double> fxRates,
+                                    double bumpBasisPoints) {
+        List<String> currencies = book.getCurrencies();
+        int currencyCount = currencies.size();
+        double[][] curveTimes = new double[currencyCount][];
+        double[][] curveRates = new double[currencyCount][];
+        double[] fx = new double[currencyCount];
+        boolean[] priced = new boolean[currencyCount];
+        for (int c = 0; c < currencyCount; c++) {
+            ZeroCurve curve = curves.get(currencies.get(c));
+            Double rate = fxRates.get(currencies.get(c));
+            if (curve != null && rate != null) {
+                curveTimes[c] = curve.times();
+                curveRates[c] = curve.rates();
+                fx[c] = rate;
+                priced[c] = true;
+            }
+        }
+
+        int tradeCount = book.getTradeCount();
+        double[] npv = new double[tradeCount];
+        double[] grossPv = new double[tradeCount];
+        double[] dv01 = new double[tradeCount];
+        Pricing pricing = new Pricing(book, curveTimes, curveRates, fx, priced, bumpBasisPoints / 10_000.0,
+                npv, grossPv, dv01);
+
+        long start = System.nanoTime();
+        double[] byCurrency = pool.invoke(new ValuationTask(pricing, 0, tradeCount));
+        long elapsedNanos = System.nanoTime() - start;
+
+        double[] npvByCurrency = new double[currencyCount];
+        double[] dv01ByCurrency = new double[currencyCount];
+        long[] unpriced = new long[currencyCount];
+        for (int c = 0; c < currencyCount; c++) {
+            npvByCurrency[c] = byCurrency[c];
+            dv01ByCurrency[c] = byCurrency[currencyCount + c];
+            unpriced[c] = (long) byCurrency[2 * currencyCount + c];
+        }
+        return new PortfolioValuation(book, npv, grossPv, dv01, npvByCurrency, dv01ByCurrency, unpriced, elapsedNanos);
+    }
+
+    private record Pricing(CashflowBook book, double[][] curveTimes, double[][] curveRates, double[] fx,
+                           boolean[] priced, double bump, double[] npv, double[] grossPv, double[] dv01) {
+    }
+
+    // Returns [npv by currency..., dv01 by currency..., unpriced cashflow count by currency...] for its trades
+    private static final class ValuationTask extends RecursiveTask<double[]> {
+        private final Pricing pricing;
+        private final int fromTrade;
+        private final int toTrade;
+
+        ValuationTask(Pricing pricing, int fromTrade, int toTrade) {
+            this.pricing = pricing;
+            this.fromTrade = fromTrade;
+            this.toTrade = toTrade;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (toTrade - fromTrade <= TRADES_PER_TASK) {
+                return valueTrades();
+            }
+            int middle = (fromTrade + toTrade) >>> 1;
+            ValuationTask left = new ValuationTask(pricing, fromTrade, middle);
+            left.fork();
+            double[] right = new ValuationTask(pricing, middle, toTrade).compute();
+            double[] sums = left.join();
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += right[i];
+            }
+            return sums;
+        }
+
+        private double[] valueTrades() {
+            int currencyCount = pricing.fx.length;
+            double[] sums = new double[3 * currencyCount];
+            int[] offsets = pricing.book.tradeOffsets();
+            double[] amounts = pricing.book.amounts();
+            double[] times = pricing.book.times();
+            int[] currencyIndexes = pricing.book.currencyIndexes();
+            double bump = pricing.bump;
+
+            for (int trade = fromTrade; trade < toTrade; trade++) {
+                double tradeNpv = 0;
+                double tradeGross = 0;
+                double tradeDv01 = 0;
+                for (int i = offsets[trade], end = offsets[trade + 1]; i < end; i++) {
+                    int c = currencyIndexes[i];
+                    if (!pricing.priced[c]) {
+                        sums[2 * currencyCount + c]++;
+                        continue;
+                    }
+                    double t = times[i];
+                    double rate = ZeroCurve.zeroRate(pricing.curveTimes[c], pricing.curveRates[c], t);
+                    double pv = amounts[i] * Math.exp(-rate * t);
+                    double bumpedPv = amounts[i] * Math.exp(-(rate + bump) * t);
+                    double fx = pricing.fx[c];
+
+                    sums[c] += pv;
+                    sums[currencyCount + c] += bumpedPv - pv;
+                    tradeNpv += pv * fx;
+                    tradeGross += Math.abs(pv) * fx;
+                    tradeDv01 += (bumpedPv - pv) * fx;
+                }
+                pricing.npv[trade] = tradeNpv;
+                pricing.grossPv[trade] = tradeGross;
+                pricing.dv01[trade] = tradeDv01;
+            }
+            return sums;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.technicalchallenge.pricing;
+
+// Result of PortfolioPricer.value. Per-trade figures are in the reporting currency, per-currency figures in
+// that currency. DV01 is the change in value for the configured bump, so a receiver of fixed has a negative DV01.
+public final class PortfolioValuation {
+
+    private final CashflowBook book;
+    private final double[] npv;
+    private final double[] grossPv;
+    private final double[] dv01;
+    private final double[] npvByCurrency;
+    private final double[] dv01ByCurrency;
+    private final long[] unpricedCashflows;
+    private final long elapsedNanos;
+
+    PortfolioValuation(CashflowBook book, double[] npv, double[] grossPv, double[] dv01, double[] npvByCurrency,
+                       double[] dv01ByCurrency, long[] unpricedCashflows, long elapsedNanos) {
+        this.book = book;
+        this.npv = npv;
+        this.grossPv = grossPv;
+        this.dv01 = dv01;
+        this.npvByCurrency = npvByCurrency;
+        this.dv01ByCurrency = dv01ByCurrency;
+        this.unpricedCashflows = unpricedCashflows;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public CashflowBook getBook() {
+        return book;
+    }
+
+    // Net present value of the trade's remaining cashflows
+    public double getNpv(int trade) {
+        return npv[trade];
+    }
+
+    // Present value of the trade's cashflows regardless of direction
+    public double getGrossPv(int trade) {
+        return grossPv[trade];
+    }
+
+    public double getDv01(int trade) {
+        return dv01[trade];
+    }
+
+    public double getNpvByCurrency(int currency) {
+        return npvByCurrency[currency];
+    }
+
+    public double getDv01ByCurrency(int currency) {
+        return dv01ByCurrency[currency];
+    }
+
+    public long getUnpricedCashflows(int currency) {
+        return unpricedCashflows[currency];
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,98 @@
+package com.technicalchallenge.pricing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Zero coupon curve for one currency: continuously compounded zero rates at pillar times (in years, ACT/365F
+// from the valuation date). Rates are interpolated linearly between pillars and held flat beyond the first
+// and last pillar, so the discount factor at time t is exp(-r(t) * t).
+public final class ZeroCurve {
+
+    private final String currency;
+    private final double[] times;
+    private final double[] rates;
+
+    public ZeroCurve(String currency, double[] times, double[] rates) {
+        if (times.length == 0 || times.length != rates.length) {
+            throw new IllegalArgumentException("Curve " + currency + " needs the same, non-zero number of times and rates");
+        }
+        for (int i = 1; i < times.length; i++) {
+            if (times[i] <= times[i - 1]) {
+                throw new IllegalArgumentException("Curve " + currency + " pillars must be in increasing order");
+            }
+        }
+        this.currency = currency;
+        this.times = times.clone();
+        this.rates = rates.clone();
+    }
+
+    // Parses "3M:0.0530,1Y:0.0510,10Y:0.0420" (tenors in D, W, M or Y; rates as decimals)
+    public static ZeroCurve parse(String currency, String definition) {
+        List<double[]> pillars = new ArrayList<>();
+        for (String pillar : definition.split(",")) {
+            String[] parts = pillar.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid pillar '" + pillar + "' in curve " + currency);
+            }
+            pillars.add(new double[] {tenorInYears(parts[0].trim()), Double.parseDouble(parts[1].trim())});
+        }
+        pillars.sort((a, b) -> Double.compare(a[0], b[0]));
+        double[] times = pillars.stream().mapToDouble(p -> p[0]).toArray();
+        double[] rates = pillars.stream().mapToDouble(p -> p[1]).toArray();
+        return new ZeroCurve(currency, times, rates);
+    }
+
+    static double tenorInYears(String tenor) {
+        if (tenor.length() < 2) {
+            throw new IllegalArgumentException("Invalid tenor: " + tenor);
+        }
+        double amount = Double.parseDouble(tenor.substring(0, tenor.length() - 1));
+        return switch (Character.toUpperCase(tenor.charAt(tenor.length() - 1))) {
+            case 'D' -> amount / 365.0;
+            case 'W' -> amount * 7 / 365.0;
+            case 'M' -> amount / 12.0;
+            case 'Y' -> amount;
+            default -> throw new IllegalArgumentException("Invalid tenor: " + tenor);
+        };
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public double zeroRate(double t) {
+        return zeroRate(times, rates, t);
+    }
+
+    public double discountFactor(double t) {
+        return Math.exp(-zeroRate(t) * t);
+    }
+
+    // The pillar arrays are shared with the pricer, which reads them directly in its inner loop
+    double[] times() {
+        return times;
+    }
+
+    double[] rates() {
+        return rates;
+    }
+
+    static double zeroRate(double[] times, double[] rates, double t) {
+        int last = times.length - 1;
+        if (t <= times[0]) {
+            return rates[0];
+        }
+        if (t >= times[last]) {
+            return rates[last];
+        }
+        int i = Arrays.binarySearch(times, t);
+        if (i >= 0) {
+            return rates[i];
+        }
+        int upper = -i - 1;
+        int lower = upper - 1;
+        double weight = (t - times[lower]) / (times[upper] - times[lower]);
+        return rates[lower] + weight * (rates[upper] - rates[lower]);
+    }
+}
@@ -1,13 +1,19 @@
 package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.AdditionalInfo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AdditionalInfoRepository extends JpaRepository<AdditionalInfo, Long> {
@@ -18,10 +24,25 @@ public interface AdditionalInfoRepository extends JpaRepository<AdditionalInfo,
     @Query("SELECT a FROM AdditionalInfo a WHERE a.entityType = :entityType AND a.entityId = :entityId AND a.fieldName = :fieldName AND a.active = true")
     AdditionalInfo findActiveByEntityTypeAndEntityIdAndFieldName(@Param("entityType") String entityType, @Param("entityId") Long entityId, @Param("fieldName") String fieldName);
 
+    // Value of a field as it stood at :asOf; newest version first in case older rows overlap
+    @Query("SELECT a FROM AdditionalInfo a WHERE a.entityType = :entityType AND a.entityId = :entityId AND a.fieldName = :fieldName " +
+            "AND a.createdDate <= :asOf AND (a.deactivatedDate IS NULL OR a.deactivatedDate > :asOf) ORDER BY a.version DESC")
+    List<AdditionalInfo> findByEntityTypeAndEntityIdAndFieldNameAsOf(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                                                     @Param("fieldName") String fieldName, @Param("asOf") LocalDateTime asOf);
+
     List<AdditionalInfo> findByEntityTypeAndEntityIdAndActiveTrue(String entityType, Long entityId);
 
     Optional<AdditionalInfo> findByEntityTypeAndEntityIdAndFieldName(String entityType, Long entityId, String fieldName);
 
-    @Query("SELECT a.entityId FROM AdditionalInfo a WHERE a.entityType = :entityType AND a.fieldName = :fieldName AND LOWER(a.fieldValue) LIKE LOWER(CONCAT('%', :value, '%')) AND a.active = true")
-    List<Long> findEntityIdsByFieldNameAndValueContainingIgnoreCase(@Param("entityType") String entityType, @Param("fieldName") String fieldName, @Param("value") String value);
+    @Query("SELECT a FROM AdditionalInfo a WHERE a.entityType = :entityType AND a.fieldName = :fieldName AND a.entityId IN :entityIds AND a.active = true")
+    List<AdditionalInfo> findActiveByEntityTypeAndFieldNameAndEntityIdIn(@Param("entityType") String entityType, @Param("fieldName") String fieldName, @Param("entityIds") Collection<Long> entityIds);
+
+    // [entity id, value] of every active value of a field, for loading SettlementInstructionIndex. Must be consumed
+    // inside a transaction and closed
+    @Query("SELECT a.entityId, a.fieldValue FROM AdditionalInfo a WHERE a.entityType = :entityType AND a.fieldName = :fieldName AND a.active = true")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamActiveValues(@Param("entityType") String entityType, @Param("fieldName") String fieldName);
 }
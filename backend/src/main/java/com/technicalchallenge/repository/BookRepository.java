@@ -1,6 +1,9 @@
 package com.technicalchallenge.repository;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.Book;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +11,13 @@ import java.util.Optional;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
+    // Cached books are used outside the session that loaded them, so costCenter is fetched up front
+    @Cacheable(cacheNames = CacheConfig.BOOK_BY_NAME, unless = "#result == null")
+    @EntityGraph(attributePaths = "costCenter")
     Optional<Book> findByBookName(String bookName);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BOOK_BY_ID, unless = "#result == null")
+    @EntityGraph(attributePaths = "costCenter")
+    Optional<Book> findById(Long id);
 }
@@ -1,6 +1,8 @@
 package com.technicalchallenge.repository;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.BusinessDayConvention;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +10,10 @@ import java.util.Optional;
 
 @Repository
 public interface BusinessDayConventionRepository extends JpaRepository<BusinessDayConvention, Long> {
+    @Cacheable(cacheNames = CacheConfig.BUSINESS_DAY_CONVENTION_BY_NAME, unless = "#result == null")
     Optional<BusinessDayConvention> findByBdc(String bdc);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BUSINESS_DAY_CONVENTION_BY_ID, unless = "#result == null")
+    Optional<BusinessDayConvention> findById(Long id);
 }
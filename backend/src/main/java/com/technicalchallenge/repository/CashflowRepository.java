@@ -1,10 +1,32 @@
 package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.Cashflow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
 @Repository
 public interface CashflowRepository extends JpaRepository<Cashflow, Long> {
-    // Custom query methods if needed
+
+    // Remaining cashflows of active trades for portfolio valuation, as scalar rows
+    // [trade id, book name, currency, pay/receive, payment value, value date], ordered so each trade's
+    // cashflows are contiguous. The cashflow's own pay/receive flag wins over its leg's.
+    // Must be consumed inside a transaction and closed.
+    @Query("SELECT t.id, b.bookName, ccy.currency, COALESCE(cpr.payRec, lpr.payRec), cf.paymentValue, cf.valueDate " +
+            "FROM Cashflow cf JOIN cf.tradeLeg l JOIN l.trade t " +
+            "LEFT JOIN t.book b LEFT JOIN l.currency ccy LEFT JOIN cf.payRec cpr LEFT JOIN l.payReceiveFlag lpr " +
+            "WHERE t.active = true AND l.active = true AND cf.active = true AND cf.valueDate >= :valuationDate " +
+            "ORDER BY t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamCashflowsForValuation(@Param("valuationDate") LocalDate valuationDate);
 }
@@ -1,6 +1,8 @@
 package com.technicalchallenge.repository;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.Counterparty;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +10,10 @@ import java.util.Optional;
 
 @Repository
 public interface CounterpartyRepository extends JpaRepository<Counterparty, Long> {
+    @Cacheable(cacheNames = CacheConfig.COUNTERPARTY_BY_NAME, unless = "#result == null")
     Optional<Counterparty> findByName(String name);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.COUNTERPARTY_BY_ID, unless = "#result == null")
+    Optional<Counterparty> findById(Long id);
 }
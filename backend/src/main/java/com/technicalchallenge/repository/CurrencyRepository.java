@@ -1,6 +1,8 @@
 package com.technicalchallenge.repository;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.Currency;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +10,10 @@ import java.util.Optional;
 
 @Repository
 public interface CurrencyRepository extends JpaRepository<Currency, Long> {
+    @Cacheable(cacheNames = CacheConfig.CURRENCY_BY_NAME, unless = "#result == null")
     Optional<Currency> findByCurrency(String currency);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CURRENCY_BY_ID, unless = "#result == null")
+    Optional<Currency> findById(Long id);
 }
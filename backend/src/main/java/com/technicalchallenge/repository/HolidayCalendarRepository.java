@@ -1,6 +1,8 @@
 package com.technicalchallenge.repository;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.HolidayCalendar;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +10,10 @@ import java.util.Optional;
 
 @Repository
 public interface HolidayCalendarRepository extends JpaRepository<HolidayCalendar, Long> {
+    @Cacheable(cacheNames = CacheConfig.HOLIDAY_CALENDAR_BY_NAME, unless = "#result == null")
     Optional<HolidayCalendar> findByHolidayCalendar(String holidayCalendar);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.HOLIDAY_CALENDAR_BY_ID, unless = "#result == null")
+    Optional<HolidayCalendar> findById(Long id);
 }
@@ -0,0 +1,16 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.HolidayDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface HolidayDateRepository extends JpaRepository<HolidayDate, Long> {
+
+    // [calendar name, holiday date] for every calendar, read once when the business calendars are built
+    @Query("SELECT c.holidayCalendar, h.holidayDate FROM HolidayDate h JOIN h.holidayCalendar c")
+    List<Object[]> findAllCalendarDates();
+}
@@ -0,0 +1,22 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.Index;
+import com.technicalchallenge.model.IndexFixing;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface IndexFixingRepository extends JpaRepository<IndexFixing, Long> {
+
+    // [index name, fixing date, rate] for every index, read when the fixing cache is (re)built
+    @Query("SELECT i.index, f.fixingDate, f.rate FROM IndexFixing f JOIN f.index i")
+    List<Object[]> findAllIndexFixings();
+
+    @Query("SELECT f FROM IndexFixing f WHERE f.index = :index AND f.fixingDate BETWEEN :from AND :to")
+    List<IndexFixing> findByIndexBetween(@Param("index") Index index, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
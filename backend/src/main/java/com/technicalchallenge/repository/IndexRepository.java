@@ -1,6 +1,8 @@
 package com.technicalchallenge.repository;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.Index;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +10,10 @@ import java.util.Optional;
 
 @Repository
 public interface IndexRepository extends JpaRepository<Index, Long> {
+    @Cacheable(cacheNames = CacheConfig.INDEX_BY_NAME, unless = "#result == null")
     Optional<Index> findByIndex(String index);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.INDEX_BY_ID, unless = "#result == null")
+    Optional<Index> findById(Long id);
 }
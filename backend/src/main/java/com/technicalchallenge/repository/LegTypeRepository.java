@@ -1,6 +1,8 @@
 package com.technicalchallenge.repository;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.LegType;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +10,10 @@ import java.util.Optional;
 
 @Repository
 public interface LegTypeRepository extends JpaRepository<LegType, Long> {
+    @Cacheable(cacheNames = CacheConfig.LEG_TYPE_BY_NAME, unless = "#result == null")
     Optional<LegType> findByType(String type);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.LEG_TYPE_BY_ID, unless = "#result == null")
+    Optional<LegType> findById(Long id);
 }
@@ -1,6 +1,8 @@
 package com.technicalchallenge.repository;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.PayRec;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +10,10 @@ import java.util.Optional;
 
 @Repository
 public interface PayRecRepository extends JpaRepository<PayRec, Long> {
+    @Cacheable(cacheNames = CacheConfig.PAY_REC_BY_NAME, unless = "#result == null")
     Optional<PayRec> findByPayRec(String payRec);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PAY_REC_BY_ID, unless = "#result == null")
+    Optional<PayRec> findById(Long id);
 }
@@ -1,6 +1,8 @@
 package com.technicalchallenge.repository;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.Schedule;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +10,10 @@ import java.util.Optional;
 
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
+    @Cacheable(cacheNames = CacheConfig.SCHEDULE_BY_NAME, unless = "#result == null")
     Optional<Schedule> findBySchedule(String schedule);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.SCHEDULE_BY_ID, unless = "#result == null")
+    Optional<Schedule> findById(Long id);
 }
@@ -2,7 +2,19 @@ package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.TradeLeg;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface TradeLegRepository extends JpaRepository<TradeLeg, Long> {}
+public interface TradeLegRepository extends JpaRepository<TradeLeg, Long> {
+
+    // Initialises the cashflows (and their reference data) of legs already loaded in the persistence context
+    @Query("SELECT DISTINCT l FROM TradeLeg l LEFT JOIN FETCH l.cashflows c " +
+           "LEFT JOIN FETCH c.payRec LEFT JOIN FETCH c.paymentType LEFT JOIN FETCH c.paymentBusinessDayConvention " +
+           "WHERE l.legId IN :legIds")
+    List<TradeLeg> fetchCashflowsWithReferenceData(@Param("legIds") Collection<Long> legIds);
+}
@@ -0,0 +1,29 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.TradeOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TradeOutboxRepository extends JpaRepository<TradeOutboxEvent, Long> {
+
+    // Next batch for the relay, oldest first
+    List<TradeOutboxEvent> findByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    long countByPublishedAtIsNull();
+
+    @Modifying
+    @Query("UPDATE TradeOutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    // Event log of one trade across all its versions
+    List<TradeOutboxEvent> findByTradeIdOrderByIdAsc(Long tradeId);
+}
@@ -1,11 +1,19 @@
 package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.Trade;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -30,6 +38,63 @@ public interface TradeRepository extends JpaRepository<Trade, Long>, JpaSpecific
     @Query("SELECT t FROM Trade t WHERE t.tradeId = :tradeId AND t.active = true ORDER BY t.version DESC")
     Optional<Trade> findLatestActiveVersionByTradeId(@Param("tradeId") Long tradeId);
 
+    // Version of a trade in force at :asOf, i.e. created at or before it and not yet replaced (see V9 migration)
+    @Query("SELECT t FROM Trade t WHERE t.tradeId = :tradeId AND t.createdDate <= :asOf " +
+            "AND (t.deactivatedDate IS NULL OR t.deactivatedDate > :asOf)")
+    Optional<Trade> findVersionAsOf(@Param("tradeId") Long tradeId, @Param("asOf") LocalDateTime asOf);
+
+    List<Trade> findByTradeIdOrderByVersionAsc(Long tradeId);
+
     // Add this method to your TradeRepository.java:
     List<Trade> findByTradeIdInAndActiveTrue(List<Long> tradeIds);
+
+    // Read path for GET /api/trades: every trade with the to-one associations TradeMapper.toDto reads, in one query.
+    // The users' profiles are eager, so they are fetched here too rather than by a follow-up select per user
+    @EntityGraph(attributePaths = {"book", "counterparty", "traderUser", "traderUser.userProfile",
+            "tradeInputterUser", "tradeInputterUser.userProfile", "tradeType", "tradeSubType", "tradeStatus"})
+    @Query("SELECT t FROM Trade t ORDER BY t.id")
+    List<Trade> findAllWithReferenceData();
+
+    // Trades by primary key with their to-one reference data, for a page of ids served by TradeSearchResultCache
+    @EntityGraph(attributePaths = {"book", "counterparty", "traderUser", "traderUser.userProfile",
+            "tradeInputterUser", "tradeInputterUser.userProfile", "tradeType", "tradeSubType", "tradeStatus"})
+    @Query("SELECT t FROM Trade t WHERE t.id IN :ids")
+    List<Trade> findWithReferenceDataByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Initialises tradeLegs, with each leg's reference data, on trades already loaded in the persistence context.
+    // An entity graph rather than JOIN FETCH because "index" is a reserved word in HQL
+    @EntityGraph(attributePaths = {"tradeLegs", "tradeLegs.currency", "tradeLegs.legRateType", "tradeLegs.index",
+            "tradeLegs.holidayCalendar", "tradeLegs.calculationPeriodSchedule", "tradeLegs.paymentBusinessDayConvention",
+            "tradeLegs.fixingBusinessDayConvention", "tradeLegs.payReceiveFlag"})
+    @Query("SELECT DISTINCT t FROM Trade t WHERE t.id IN :ids")
+    List<Trade> fetchLegsWithReferenceData(@Param("ids") Collection<Long> ids);
+
+    // Change feed: active trades touched after the (timestamp, id) watermark and no later than :until, oldest first.
+    // The range on last_touch_timestamp comes first so the (last_touch_timestamp, id) index bounds the scan
+    @EntityGraph(attributePaths = {"book", "counterparty", "traderUser", "traderUser.userProfile",
+            "tradeInputterUser", "tradeInputterUser.userProfile", "tradeType", "tradeSubType", "tradeStatus"})
+    @Query("SELECT t FROM Trade t WHERE t.lastTouchTimestamp >= :since AND t.lastTouchTimestamp <= :until " +
+            "AND (t.lastTouchTimestamp > :since OR t.id > :afterId) AND t.active = true " +
+            "ORDER BY t.lastTouchTimestamp, t.id")
+    List<Trade> findTouchedAfter(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                 @Param("until") LocalDateTime until, Pageable pageable);
+
+    // Loads TradeSummaryAggregateStore: one flat row per leg of every active trade (one with null leg columns for a
+    // trade without legs), ordered by trade. Columns: trade id, status, book, counterparty, type, sub type,
+    // trader login/first/last name, inputter login/first/last name, trade date, leg currency, pay/receive, notional.
+    // Must be consumed inside a transaction and closed
+    @Query("SELECT t.tradeId, s.tradeStatus, b.bookName, c.name, tt.tradeType, tst.tradeSubType, " +
+            "tu.loginId, tu.firstName, tu.lastName, iu.loginId, iu.firstName, iu.lastName, t.tradeDate, " +
+            "cur.currency, pr.payRec, l.notional " +
+            "FROM Trade t " +
+            "LEFT JOIN t.tradeStatus s LEFT JOIN t.book b LEFT JOIN t.counterparty c " +
+            "LEFT JOIN t.tradeType tt LEFT JOIN t.tradeSubType tst " +
+            "LEFT JOIN t.traderUser tu LEFT JOIN t.tradeInputterUser iu " +
+            "LEFT JOIN t.tradeLegs l LEFT JOIN l.currency cur LEFT JOIN l.payReceiveFlag pr " +
+            "WHERE t.active = true ORDER BY t.tradeId, l.legId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamActiveTradeColumns();
 }
@@ -1,6 +1,8 @@
 package com.technicalchallenge.repository;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.TradeStatus;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +10,10 @@ import java.util.Optional;
 
 @Repository
 public interface TradeStatusRepository extends JpaRepository<TradeStatus, Long> {
+    @Cacheable(cacheNames = CacheConfig.TRADE_STATUS_BY_NAME, unless = "#result == null")
     Optional<TradeStatus> findByTradeStatus(String tradeStatus);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TRADE_STATUS_BY_ID, unless = "#result == null")
+    Optional<TradeStatus> findById(Long id);
 }
@@ -0,0 +1,35 @@
+package com.technicalchallenge.rsql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.data.jpa.domain.Specification;
+
+// Bounded cache of RSQL query -> Specification in front of RsqlSpecificationBuilder, so the saved filters the
+// blotter sends over and over are parsed once. A Specification built by RsqlVisitor only holds the immutable AST
+// and creates its joins and predicates per call, so one instance can serve concurrent queries. Queries that do
+// not parse throw as before and are not cached.
+public class RsqlSpecificationCache<T> {
+
+    private final RsqlSpecificationBuilder<T> builder = new RsqlSpecificationBuilder<>();
+    private final Cache<String, Specification<T>> specifications;
+
+    public RsqlSpecificationCache(long maximumSize) {
+        this.specifications = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public Specification<T> parse(String query) {
+        return specifications.get(normalize(query), builder::parse);
+    }
+
+    // Leading and trailing whitespace never changes the meaning of a query; null and blank both match everything
+    public static String normalize(String query) {
+        return query == null ? "" : query.strip();
+    }
+
+    public Cache<String, Specification<T>> getCache() {
+        return specifications;
+    }
+}
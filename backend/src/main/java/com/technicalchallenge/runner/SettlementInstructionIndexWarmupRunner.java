@@ -0,0 +1,23 @@
+package com.technicalchallenge.runner;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import com.technicalchallenge.service.SettlementInstructionIndex;
+
+// Builds the settlement instruction search index on startup, so the first search does not pay for it.
+// AdditionalInfoService keeps it up to date from then on.
+@Component
+public class SettlementInstructionIndexWarmupRunner implements CommandLineRunner {
+
+    private final SettlementInstructionIndex settlementInstructionIndex;
+
+    public SettlementInstructionIndexWarmupRunner(SettlementInstructionIndex settlementInstructionIndex) {
+        this.settlementInstructionIndex = settlementInstructionIndex;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        settlementInstructionIndex.rebuild();
+    }
+}
@@ -0,0 +1,33 @@
+package com.technicalchallenge.runner;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.technicalchallenge.synthetic.SyntheticDataProperties;
+import com.technicalchallenge.synthetic.SyntheticTradeGenerator;
+
+// With the "synthetic" profile, writes synthetic.trades generated trades on startup. Runs before the other
+// runners so the summary store and settlement instruction index are warmed up with them included.
+// Every start adds another batch of trades.
+@Component
+@Profile("synthetic")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SyntheticDataRunner implements CommandLineRunner {
+
+    private final SyntheticTradeGenerator syntheticTradeGenerator;
+    private final SyntheticDataProperties syntheticDataProperties;
+
+    public SyntheticDataRunner(SyntheticTradeGenerator syntheticTradeGenerator,
+                               SyntheticDataProperties syntheticDataProperties) {
+        this.syntheticTradeGenerator = syntheticTradeGenerator;
+        this.syntheticDataProperties = syntheticDataProperties;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        syntheticTradeGenerator.generate(syntheticDataProperties);
+    }
+}
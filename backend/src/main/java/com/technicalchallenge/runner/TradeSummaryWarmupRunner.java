@@ -0,0 +1,23 @@
+package com.technicalchallenge.runner;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import com.technicalchallenge.service.TradeSummaryAggregateStore;
+
+// Loads the trade summary aggregates once on startup. After this the store is maintained
+// incrementally by TradeService whenever a trade is created, amended, cancelled or terminated.
+@Component
+public class TradeSummaryWarmupRunner implements CommandLineRunner {
+
+    private final TradeSummaryAggregateStore tradeSummaryAggregateStore;
+
+    public TradeSummaryWarmupRunner(TradeSummaryAggregateStore tradeSummaryAggregateStore) {
+        this.tradeSummaryAggregateStore = tradeSummaryAggregateStore;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        tradeSummaryAggregateStore.rebuild();
+    }
+}
@@ -0,0 +1,268 @@
+package com.technicalchallenge.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Case-insensitive substring index over short texts keyed by a long id (e.g. settlement instructions by trade id).
+// Every text is broken into the distinct three-character sequences it contains; each trigram keeps a posting list
+// of the documents containing it. A term of three or more characters can only occur in documents that contain
+// all of its trigrams, so a lookup intersects those posting lists, shortest first, and confirms the few remaining
+// candidates with String.contains. Shorter terms fall back to checking every document.
+//
+// Documents get increasing int numbers, so posting lists are sorted int arrays that only ever grow at the end.
+// Replacing or removing a text leaves a tombstone that lookups skip; once tombstones outnumber live documents
+// the whole index is renumbered. Reads share a lock and writes take it exclusively.
+public class TrigramIndex {
+
+    private static final int COMPACT_MIN_TOMBSTONES = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> docByKey = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private long[] keys = new long[16];
+    private String[] texts = new String[16]; // normalised text, null once replaced or removed
+    private int docCount;
+    private int tombstones;
+
+    // Adds or replaces the text of key; a null or blank text removes it
+    public void put(long key, String text) {
+        if (text == null || text.isBlank()) {
+            remove(key);
+            return;
+        }
+        String normalised = normalise(text);
+        lock.writeLock().lock();
+        try {
+            Integer existing = docByKey.get(key);
+            if (existing != null) {
+                if (texts[existing].equals(normalised)) {
+                    return;
+                }
+                tombstone(existing);
+            }
+            addDocument(key, normalised);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long key) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = docByKey.remove(key);
+            if (existing != null) {
+                texts[existing] = null;
+                tombstones++;
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replaces the whole content, e.g. on startup
+    public void replaceAll(Map<Long, String> content) {
+        lock.writeLock().lock();
+        try {
+            clear(Math.max(16, content.size()));
+            content.forEach((key, text) -> {
+                if (text != null && !text.isBlank()) {
+                    addDocument(key, normalise(text));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Keys whose text contains every term, ignoring case, in ascending order. Blank terms are ignored;
+    // with no terms left nothing matches
+    public List<Long> search(List<String> terms) {
+        List<String> normalised = terms.stream()
+                .filter(term -> term != null && !term.isBlank())
+                .map(TrigramIndex::normalise)
+                .distinct()
+                .toList();
+        if (normalised.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(normalised);
+            List<Long> matches = new ArrayList<>();
+            int count = candidates == null ? docCount : candidates.length;
+            for (int i = 0; i < count; i++) {
+                int doc = candidates == null ? i : candidates[i];
+                String text = texts[doc];
+                if (text != null && containsAll(text, normalised)) {
+                    matches.add(keys[doc]);
+                }
+            }
+            matches.sort(null);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> search(String term) {
+        return search(List.of(term));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int trigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documents holding every trigram of every term; null when no term is long enough to have a trigram
+    private int[] candidates(List<String> terms) {
+        List<Postings> lists = new ArrayList<>();
+        for (String term : terms) {
+            for (long trigram : trigrams(term)) {
+                Postings list = postings.get(trigram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return null;
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        int[] result = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+        int size = result.length;
+        for (int l = 1; l < lists.size() && size > 0; l++) {
+            size = intersect(result, size, lists.get(l));
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // Keeps the first size entries of docs that also appear in list, in place; both are sorted
+    private static int intersect(int[] docs, int size, Postings list) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < size && from < list.size; i++) {
+            int found = Arrays.binarySearch(list.docs, from, list.size, docs[i]);
+            if (found >= 0) {
+                docs[kept++] = docs[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    private static boolean containsAll(String text, List<String> terms) {
+        for (String term : terms) {
+            if (!text.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addDocument(long key, String text) {
+        if (docCount == texts.length) {
+            keys = Arrays.copyOf(keys, docCount * 2);
+            texts = Arrays.copyOf(texts, docCount * 2);
+        }
+        int doc = docCount++;
+        keys[doc] = key;
+        texts[doc] = text;
+        docByKey.put(key, doc);
+        for (long trigram : trigrams(text)) {
+            postings.computeIfAbsent(trigram, t -> new Postings()).add(doc);
+        }
+    }
+
+    private void tombstone(int doc) {
+        texts[doc] = null;
+        tombstones++;
+    }
+
+    private void compactIfNeeded() {
+        if (tombstones < COMPACT_MIN_TOMBSTONES || tombstones < docByKey.size()) {
+            return;
+        }
+        long[] oldKeys = keys;
+        String[] oldTexts = texts;
+        int oldCount = docCount;
+        clear(Math.max(16, docByKey.size() * 2));
+        for (int doc = 0; doc < oldCount; doc++) {
+            if (oldTexts[doc] != null) {
+                addDocument(oldKeys[doc], oldTexts[doc]);
+            }
+        }
+    }
+
+    private void clear(int capacity) {
+        docByKey.clear();
+        postings.clear();
+        keys = new long[capacity];
+        texts = new String[capacity];
+        docCount = 0;
+        tombstones = 0;
+    }
+
+    // Distinct trigrams of a normalised text, three 16-bit chars packed into a long
+    static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    static String normalise(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    // Growable sorted int array of document numbers
+    private static final class Postings {
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
@@ -13,7 +13,12 @@ import org.springframework.transaction.annotation.Transactional;
 import com.technicalchallenge.service.AdditionalInfoService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -28,8 +33,13 @@ public class AdditionalInfoService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private SettlementInstructionIndex settlementInstructionIndex;
+
     public static final String SETTLEMENT_INSTRUCTIONS_KEY = "SETTLEMENT_INSTRUCTIONS";
 
+    private static final int IN_LIST_CHUNK_SIZE = 1000;
+
     // Existing methods
     public List<AdditionalInfoDTO> getAdditionalInfoForEntity(String entityType, Long entityId) {
         List<AdditionalInfo> additionalInfoList = additionalInfoRepository.findActiveByEntityTypeAndEntityId(entityType, entityId);
@@ -43,9 +53,11 @@ public class AdditionalInfoService {
         AdditionalInfo existing = additionalInfoRepository.findActiveByEntityTypeAndEntityIdAndFieldName(
                 dto.getEntityType(), dto.getEntityId(), dto.getFieldName());
 
+        // The new version takes over at the instant the old one is deactivated, so as-of lookups always find one
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         if (existing != null) {
             existing.setActive(false);
-            existing.setDeactivatedDate(LocalDateTime.now());
+            existing.setDeactivatedDate(now);
             additionalInfoRepository.save(existing);
         }
 
@@ -53,11 +65,14 @@ public class AdditionalInfoService {
         AdditionalInfo newInfo = modelMapper.map(dto, AdditionalInfo.class);
         newInfo.setId(null); // Ensure new record
         newInfo.setActive(true);
-        newInfo.setCreatedDate(LocalDateTime.now());
-        newInfo.setLastModifiedDate(LocalDateTime.now());
+        newInfo.setCreatedDate(now);
+        newInfo.setLastModifiedDate(now);
         newInfo.setVersion(existing != null ? existing.getVersion() + 1 : 1);
 
         AdditionalInfo saved = additionalInfoRepository.save(newInfo);
+        if (isSettlementInstructions(saved.getEntityType(), saved.getFieldName())) {
+            settlementInstructionIndex.recordInstructions(saved.getEntityId(), saved.getFieldValue());
+        }
         return modelMapper.map(saved, AdditionalInfoDTO.class);
     }
 
@@ -69,6 +84,9 @@ public class AdditionalInfoService {
             existing.setActive(false);
             existing.setDeactivatedDate(LocalDateTime.now());
             additionalInfoRepository.save(existing);
+            if (isSettlementInstructions(entityType, fieldName)) {
+                settlementInstructionIndex.recordInstructions(entityId, null);
+            }
         }
     }
 
@@ -122,9 +140,11 @@ public class AdditionalInfoService {
         AdditionalInfo existing = additionalInfoRepository.findActiveByEntityTypeAndEntityIdAndFieldName(
                 "TRADE", tradeId, SETTLEMENT_INSTRUCTIONS_KEY);
 
+        // The new version takes over at the instant the old one is deactivated, so as-of lookups always find one
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         if (existing != null) {
             existing.setActive(false);
-            existing.setDeactivatedDate(LocalDateTime.now());
+            existing.setDeactivatedDate(now);
             additionalInfoRepository.save(existing);
         }
 
@@ -135,12 +155,13 @@ public class AdditionalInfoService {
         newInfo.setFieldValue(instructions);
         newInfo.setFieldType("STRING"); // Set field type - required field
         newInfo.setActive(true);
-        newInfo.setCreatedDate(LocalDateTime.now());
-        newInfo.setLastModifiedDate(LocalDateTime.now());
+        newInfo.setCreatedDate(now);
+        newInfo.setLastModifiedDate(now);
         newInfo.setVersion(existing != null ? existing.getVersion() + 1 : 1);
 
 
         AdditionalInfo saved = additionalInfoRepository.save(newInfo);
+        settlementInstructionIndex.recordInstructions(tradeId, instructions);
         log.info("Saved settlement instructions for trade ID {} version {} by user {}", tradeId, saved.getVersion(), currentUser);
         return saved;
     }
@@ -152,16 +173,48 @@ public class AdditionalInfoService {
                 .map(AdditionalInfo::getFieldValue);
     }
 
+    // Settlement instructions as they stood at a point in time
+    public Optional<String> getSettlementInstructionsAsOf(Long tradeId, LocalDateTime asOf) {
+        return additionalInfoRepository
+                .findByEntityTypeAndEntityIdAndFieldNameAsOf("TRADE", tradeId, SETTLEMENT_INSTRUCTIONS_KEY, asOf)
+                .stream()
+                .findFirst()
+                .map(AdditionalInfo::getFieldValue);
+    }
+
+    // Current settlement instructions for many trades at once (e.g. a whole GET /api/trades response), keyed by trade id.
+    // Ids are sent in chunks so the IN list stays within database parameter limits
+    public Map<Long, String> getSettlementInstructions(Collection<Long> tradeIds) {
+        Map<Long, String> instructions = new HashMap<>();
+        List<Long> ids = new ArrayList<>(tradeIds.stream().distinct().toList());
+        for (int from = 0; from < ids.size(); from += IN_LIST_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, ids.size()));
+            additionalInfoRepository.findActiveByEntityTypeAndFieldNameAndEntityIdIn("TRADE", SETTLEMENT_INSTRUCTIONS_KEY, chunk)
+                    .forEach(info -> instructions.put(info.getEntityId(), info.getFieldValue()));
+        }
+        return instructions;
+    }
+
     // ===== SEARCH =====
+    // Served from SettlementInstructionIndex rather than a LIKE '%text%' scan of additional_info
     public List<Long> findTradesBySettlementInstructions(String searchText) {
         log.debug("Searching for settlement instructions containing: {}", searchText);
-        List<Long> tradeIds = additionalInfoRepository.findEntityIdsByFieldNameAndValueContainingIgnoreCase(
-                "TRADE", SETTLEMENT_INSTRUCTIONS_KEY, searchText);
+        List<Long> tradeIds = settlementInstructionIndex.findTradeIds(searchText);
         log.debug("Found {} trades with matching settlement instructions: {}", tradeIds.size(), tradeIds);
         return tradeIds;
     }
 
+    // Trades whose settlement instructions contain every word of the search text, in any order
+    public List<Long> findTradesBySettlementInstructionWords(String searchText) {
+        log.debug("Searching for settlement instructions containing all of: {}", searchText);
+        return settlementInstructionIndex.findTradeIdsContainingAllWords(searchText);
+    }
+
     // ===== HELPER =====
+    private static boolean isSettlementInstructions(String entityType, String fieldName) {
+        return "TRADE".equals(entityType) && SETTLEMENT_INSTRUCTIONS_KEY.equals(fieldName);
+    }
+
     private String getCurrentUsername() {
         try {
             return SecurityContextHolder.getContext().getAuthentication().getName();
@@ -23,6 +23,9 @@ public class ApplicationUserService {
     @Autowired
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntitlementCache entitlementCache;
+
     public boolean validateCredentials(String loginId, String password) {
         logger.debug("Validating credentials for user: {}", loginId);
         Optional<ApplicationUser> user = applicationUserRepository.findByLoginId(loginId);
@@ -50,12 +53,16 @@ public class ApplicationUserService {
         logger.info("Saving user: {}", user);
         // Encode password before saving for security and data integrity
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return applicationUserRepository.save(user);
+        ApplicationUser saved = applicationUserRepository.save(user);
+        // Active flag, login id or profile may have changed
+        entitlementCache.invalidate();
+        return saved;
     }
 
     public void deleteUser(Long id) {
         logger.warn("Deleting user with id: {}", id);
         applicationUserRepository.deleteById(id);
+        entitlementCache.invalidate();
     }
 
     public ApplicationUser updateUser(Long id, ApplicationUser user) {
@@ -72,6 +79,8 @@ public class ApplicationUserService {
             existingUser.setPassword(user.getPassword());
         }
         // version and lastModifiedTimestamp handled by entity listeners
-        return applicationUserRepository.save(existingUser);
+        ApplicationUser saved = applicationUserRepository.save(existingUser);
+        entitlementCache.invalidate();
+        return saved;
     }
 }
@@ -1,5 +1,6 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.dto.BookDTO;
 import com.technicalchallenge.mapper.BookMapper;
 import com.technicalchallenge.model.Book;
@@ -7,6 +8,7 @@ import com.technicalchallenge.repository.BookRepository;
 import com.technicalchallenge.repository.CostCenterRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -48,6 +50,7 @@ public class BookService {
         // If costCenterName is null or blank, do not modify the current costCenter
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.BOOK_BY_NAME, CacheConfig.BOOK_BY_ID}, allEntries = true)
     public BookDTO saveBook(BookDTO dto) {
         logger.info("Saving book: {}", dto.toString());
         var entity = bookMapper.toEntity(dto);
@@ -58,6 +61,7 @@ public class BookService {
         return bookMapper.toDto(saved);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.BOOK_BY_NAME, CacheConfig.BOOK_BY_ID}, allEntries = true)
     public void deleteBook(Long id) {
         logger.warn("Deleting book with id: {}", id);
         bookRepository.deleteById(id);
@@ -0,0 +1,81 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.calendar.BusinessCalendar;
+import com.technicalchallenge.repository.HolidayDateRepository;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Holiday calendars as BusinessCalendar bitsets. All holiday dates are read in one query at startup
+// (and on reload), so date adjustment during cashflow generation never goes back to the database.
+@Service
+public class BusinessCalendarService {
+    private static final Logger logger = LoggerFactory.getLogger(BusinessCalendarService.class);
+
+    private static final String JOINT_SEPARATOR = "[+,]";
+
+    @Autowired
+    private HolidayDateRepository holidayDateRepository;
+
+    private volatile Map<String, BusinessCalendar> calendars = Map.of();
+    private final Map<String, BusinessCalendar> jointCalendars = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void reload() {
+        Map<String, List<LocalDate>> holidaysByCalendar = new HashMap<>();
+        for (Object[] row : holidayDateRepository.findAllCalendarDates()) {
+            holidaysByCalendar.computeIfAbsent((String) row[0], k -> new ArrayList<>()).add((LocalDate) row[1]);
+        }
+        Map<String, BusinessCalendar> loaded = new HashMap<>();
+        holidaysByCalendar.forEach((name, holidays) -> loaded.put(name, BusinessCalendar.of(name, holidays)));
+        calendars = Map.copyOf(loaded);
+        jointCalendars.clear();
+        logger.info("Loaded business calendars {}", calendars.keySet());
+    }
+
+    // A single calendar ("NY") or a joint one ("LON+NY"). Calendars without holidays, including a missing
+    // calendar on the leg, only treat weekends as non-business days.
+    public BusinessCalendar getCalendar(String names) {
+        if (names == null || names.isBlank()) {
+            return BusinessCalendar.weekendsOnly("NONE");
+        }
+        String key = names.trim();
+        BusinessCalendar calendar = calendars.get(key);
+        if (calendar != null) {
+            return calendar;
+        }
+        String[] parts = key.split(JOINT_SEPARATOR);
+        if (parts.length == 1) {
+            logger.debug("No holidays loaded for calendar {}, using weekends only", key);
+            return BusinessCalendar.weekendsOnly(key);
+        }
+        // Only joints of known calendars are cached, so arbitrary names from requests cannot grow the map
+        for (String part : parts) {
+            if (!calendars.containsKey(part.trim())) {
+                return combine(parts);
+            }
+        }
+        return jointCalendars.computeIfAbsent(key, k -> combine(parts));
+    }
+
+    private BusinessCalendar combine(String[] parts) {
+        BusinessCalendar joint = null;
+        for (String part : parts) {
+            String name = part.trim();
+            BusinessCalendar calendar = calendars.getOrDefault(name, BusinessCalendar.weekendsOnly(name));
+            joint = joint == null ? calendar : joint.join(calendar);
+        }
+        return joint;
+    }
+}
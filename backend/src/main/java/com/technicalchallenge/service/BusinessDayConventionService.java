@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.BusinessDayConvention;
 import com.technicalchallenge.repository.BusinessDayConventionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -28,11 +30,13 @@ public class BusinessDayConventionService {
         return businessDayConventionRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.BUSINESS_DAY_CONVENTION_BY_NAME, CacheConfig.BUSINESS_DAY_CONVENTION_BY_ID}, allEntries = true)
     public BusinessDayConvention save(BusinessDayConvention businessDayConvention) {
         logger.info("Saving business day convention: {}", businessDayConvention);
         return businessDayConventionRepository.save(businessDayConvention);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.BUSINESS_DAY_CONVENTION_BY_NAME, CacheConfig.BUSINESS_DAY_CONVENTION_BY_ID}, allEntries = true)
     public void deleteById(Long id) {
         logger.warn("Deleting business day convention with id: {}", id);
         businessDayConventionRepository.deleteById(id);
@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.Counterparty;
 import com.technicalchallenge.repository.CounterpartyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -21,10 +23,12 @@ public class CounterpartyService {
         return counterpartyRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.COUNTERPARTY_BY_NAME, CacheConfig.COUNTERPARTY_BY_ID}, allEntries = true)
     public Counterparty saveCounterparty(Counterparty counterparty) {
         return counterpartyRepository.save(counterparty);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.COUNTERPARTY_BY_NAME, CacheConfig.COUNTERPARTY_BY_ID}, allEntries = true)
     public void deleteCounterparty(Long id) {
         counterpartyRepository.deleteById(id);
     }
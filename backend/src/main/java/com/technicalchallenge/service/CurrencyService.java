@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.Currency;
 import com.technicalchallenge.repository.CurrencyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -28,11 +30,13 @@ public class CurrencyService {
         return currencyRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.CURRENCY_BY_NAME, CacheConfig.CURRENCY_BY_ID}, allEntries = true)
     public Currency save(Currency currency) {
         logger.info("Saving currency: {}", currency);
         return currencyRepository.save(currency);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.CURRENCY_BY_NAME, CacheConfig.CURRENCY_BY_ID}, allEntries = true)
     public void deleteById(Long id) {
         logger.warn("Deleting currency with id: {}", id);
         currencyRepository.deleteById(id);
@@ -0,0 +1,124 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Privilege;
+import com.technicalchallenge.model.UserPrivilege;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import com.technicalchallenge.repository.PrivilegeRepository;
+import com.technicalchallenge.repository.UserPrivilegeRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Precomputed privilege matrix used by TradeService.validateUserPrivileges.
+// Privilege names are assigned a bit position and every active user is reduced to one immutable
+// entry: the user type, a superuser flag and a BitSet of granted privileges. The whole matrix is
+// published through a volatile reference, so a privilege check is a map lookup plus a bit test with
+// no locking and no database access. The user, profile, privilege and user privilege services call
+// invalidate() when they change data and the matrix is rebuilt once their transaction has committed.
+@Service
+public class EntitlementCache {
+    private static final Logger logger = LoggerFactory.getLogger(EntitlementCache.class);
+
+    static final String SUPERUSER = "SUPERUSER";
+
+    @Autowired
+    private ApplicationUserRepository applicationUserRepository;
+
+    @Autowired
+    private UserPrivilegeRepository userPrivilegeRepository;
+
+    @Autowired
+    private PrivilegeRepository privilegeRepository;
+
+    // null until the first check (or after a failed rebuild), loaded lazily so startup order does not matter
+    private volatile Matrix matrix;
+
+    public boolean hasPrivilege(String loginId, String privilege) {
+        if (loginId == null || privilege == null) {
+            return false;
+        }
+        Matrix current = matrix;
+        if (current == null) {
+            current = rebuild();
+        }
+
+        Entitlement entitlement = current.users().get(loginId);
+        if (entitlement == null) {
+            logger.warn("User not found, inactive or without a profile: {}", loginId);
+            return false;
+        }
+        if (entitlement.superuser()) {
+            logger.debug("SUPERUSER detected - full access granted for {}", loginId);
+            return true;
+        }
+        Integer bit = current.privilegeBits().get(privilege.toUpperCase());
+        boolean granted = bit != null && entitlement.privileges().get(bit);
+        logger.debug("User {} of type {} requesting operation {} -> {}", loginId, entitlement.userType(), privilege, granted);
+        return granted;
+    }
+
+    /**
+     * Schedules a rebuild after the current transaction commits (or straight away when there is none),
+     * so the matrix never reflects changes that are later rolled back.
+     */
+    public void invalidate() {
+        AfterCommit.run(this::rebuild);
+    }
+
+    // Synchronized so two rebuilds cannot interleave and publish an older matrix over a newer one
+    synchronized Matrix rebuild() {
+        List<Privilege> privileges = privilegeRepository.findAll();
+        List<UserPrivilege> grants = userPrivilegeRepository.findAll();
+        List<ApplicationUser> users = applicationUserRepository.findAll();
+
+        Map<String, Integer> privilegeBits = new HashMap<>();
+        Map<Long, Integer> bitsById = new HashMap<>();
+        privileges.stream()
+                .filter(p -> p.getName() != null)
+                .sorted(Comparator.comparing(Privilege::getId))
+                .forEach(p -> {
+                    Integer bit = privilegeBits.computeIfAbsent(p.getName().toUpperCase(), name -> privilegeBits.size());
+                    bitsById.put(p.getId(), bit);
+                });
+
+        Map<Long, BitSet> grantsByUser = new HashMap<>();
+        for (UserPrivilege grant : grants) {
+            Integer bit = bitsById.get(grant.getPrivilegeId());
+            if (bit != null) {
+                grantsByUser.computeIfAbsent(grant.getUserId(), id -> new BitSet()).set(bit);
+            }
+        }
+
+        Map<String, Entitlement> entitlements = new HashMap<>();
+        for (ApplicationUser user : users) {
+            // Inactive users and users without a profile are simply left out, which denies every operation
+            if (!user.isActive() || user.getUserProfile() == null || user.getUserProfile().getUserType() == null) {
+                continue;
+            }
+            String userType = user.getUserProfile().getUserType().toUpperCase();
+            BitSet granted = grantsByUser.getOrDefault(user.getId(), new BitSet());
+            entitlements.put(user.getLoginId(), new Entitlement(userType, SUPERUSER.equals(userType), granted));
+        }
+
+        Matrix rebuilt = new Matrix(Map.copyOf(privilegeBits), Map.copyOf(entitlements));
+        matrix = rebuilt;
+        logger.info("Entitlement cache rebuilt: {} active users, {} privileges", entitlements.size(), privilegeBits.size());
+        return rebuilt;
+    }
+
+    // The BitSets are never modified once the matrix is published
+    record Entitlement(String userType, boolean superuser, BitSet privileges) {
+    }
+
+    record Matrix(Map<String, Integer> privilegeBits, Map<String, Entitlement> users) {
+    }
+}
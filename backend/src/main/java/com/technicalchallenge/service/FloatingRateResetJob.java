@@ -0,0 +1,203 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.cashflow.CashflowEngine;
+import com.technicalchallenge.cashflow.DayCount;
+import com.technicalchallenge.dto.FixingResetResult;
+import com.technicalchallenge.pricing.FixingSeries;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Applies index fixings to floating cashflows. Every active floating cashflow whose fixing date is on or before
+// the as-of date and that has no rate yet gets rate = fixing and paymentValue = notional * rate * day count
+// fraction of its accrual period. Candidates are read in one pass into primitive arrays, then valued and written
+// in chunks on a small thread pool, each chunk as one JDBC batch in its own transaction. A failed chunk leaves
+// its cashflows unset; only unset cashflows are picked up, so the job can simply be run again.
+@Service
+public class FloatingRateResetJob {
+    private static final Logger logger = LoggerFactory.getLogger(FloatingRateResetJob.class);
+
+    // A fixing date that was a holiday for the index takes the previous published fixing
+    private static final int FIXING_LOOKBACK_DAYS = 7;
+
+    private static final String CANDIDATES_SQL =
+            "SELECT cf.id, ix.index, cf.fixing_date, cf.accrual_start_date, cf.accrual_end_date, tl.notional, tl.day_count "
+            + "FROM cashflow cf "
+            + "JOIN trade_leg tl ON tl.leg_id = cf.leg_id "
+            + "JOIN trade t ON t.id = tl.trade_id "
+            + "JOIN index_table ix ON ix.id = tl.index_id "
+            + "WHERE cf.fixing_date <= ? AND cf.rate IS NULL AND cf.active = TRUE AND tl.active = TRUE AND t.active = TRUE";
+
+    private static final String UPDATE_SQL = "UPDATE cashflow SET rate = ?, payment_value = ? WHERE id = ? AND rate IS NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IndexFixingService indexFixingService;
+
+    @Value("${fixings.reset.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${fixings.reset.parallelism:4}")
+    private int parallelism;
+
+    // Disabled unless fixings.reset.cron is set, e.g. "0 30 18 * * MON-FRI" after the day's fixings are loaded
+    @Scheduled(cron = "${fixings.reset.cron:-}")
+    public void scheduledReset() {
+        reset(LocalDate.now());
+    }
+
+    public FixingResetResult reset(LocalDate asOf) {
+        long start = System.nanoTime();
+        Candidates candidates = loadCandidates(asOf);
+
+        long reset = 0;
+        long[] missing = new long[candidates.indexes.size()];
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            List<Future<long[]>> chunks = new ArrayList<>();
+            for (int from = 0; from < candidates.count; from += chunkSize) {
+                int chunkStart = from;
+                int chunkEnd = Math.min(candidates.count, from + chunkSize);
+                chunks.add(executor.submit(() -> resetChunk(candidates, chunkStart, chunkEnd)));
+            }
+            for (Future<long[]> chunk : chunks) {
+                long[] counts = chunk.get();
+                reset += counts[0];
+                for (int i = 0; i < missing.length; i++) {
+                    missing[i] += counts[i + 1];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Fixing reset interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Fixing reset failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        Map<String, Long> missingByIndex = new TreeMap<>();
+        for (int i = 0; i < missing.length; i++) {
+            if (missing[i] > 0) {
+                missingByIndex.put(candidates.indexes.get(i), missing[i]);
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Reset {} of {} floating cashflows fixing on or before {} in {} ms; missing fixings {}",
+                reset, candidates.count, asOf, elapsedMillis, missingByIndex);
+        return new FixingResetResult(asOf, candidates.count, reset, missingByIndex, elapsedMillis);
+    }
+
+    private Candidates loadCandidates(LocalDate asOf) {
+        Candidates candidates = new Candidates();
+        Map<String, Integer> indexPositions = new HashMap<>();
+        Map<String, DayCount> dayCounts = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(CANDIDATES_SQL);
+            statement.setFetchSize(chunkSize);
+            statement.setDate(1, Date.valueOf(asOf));
+            return statement;
+        }, resultSet -> {
+            Date accrualStart = resultSet.getDate(4);
+            Date accrualEnd = resultSet.getDate(5);
+            BigDecimal notional = resultSet.getBigDecimal(6);
+            if (accrualStart == null || accrualEnd == null || notional == null) {
+                return; // nothing to accrue on
+            }
+            int index = indexPositions.computeIfAbsent(resultSet.getString(2), name -> {
+                candidates.indexes.add(name);
+                return candidates.indexes.size() - 1;
+            });
+            String dayCountName = resultSet.getString(7);
+            DayCount dayCount = dayCounts.computeIfAbsent(dayCountName == null ? "" : dayCountName, DayCount::fromName);
+            candidates.add(resultSet.getLong(1), index, resultSet.getDate(3).toLocalDate().toEpochDay(),
+                    dayCount.days(accrualStart.toLocalDate(), accrualEnd.toLocalDate()), dayCount.basis(), notional);
+        });
+        candidates.series = new FixingSeries[candidates.indexes.size()];
+        for (int i = 0; i < candidates.series.length; i++) {
+            candidates.series[i] = indexFixingService.getSeries(candidates.indexes.get(i));
+        }
+        return candidates;
+    }
+
+    // Returns [cashflows reset, missing fixings per index...]
+    private long[] resetChunk(Candidates candidates, int from, int to) {
+        long[] counts = new long[1 + candidates.series.length];
+        List<Object[]> updates = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            FixingSeries series = candidates.series[candidates.indexPositions[i]];
+            double rate = series == null ? Double.NaN : series.rateOn(candidates.fixingDays[i], FIXING_LOOKBACK_DAYS);
+            if (Double.isNaN(rate)) {
+                counts[1 + candidates.indexPositions[i]]++;
+                continue;
+            }
+            BigDecimal paymentValue = CashflowEngine.interest(candidates.notionals[i], rate,
+                    candidates.accrualDays[i], candidates.bases[i]);
+            updates.add(new Object[] {rate, paymentValue, candidates.ids[i]});
+        }
+        if (!updates.isEmpty()) {
+            Integer updated = new TransactionTemplate(transactionManager).execute(status ->
+                    Arrays.stream(jdbcTemplate.batchUpdate(UPDATE_SQL, updates)).sum());
+            counts[0] = updated == null ? 0 : updated;
+        }
+        return counts;
+    }
+
+    // Column-wise candidate cashflows; indexPositions point into indexes / series
+    private static final class Candidates {
+        private final List<String> indexes = new ArrayList<>();
+        private FixingSeries[] series;
+        private int count;
+        private long[] ids = new long[1024];
+        private int[] indexPositions = new int[1024];
+        private long[] fixingDays = new long[1024];
+        private long[] accrualDays = new long[1024];
+        private int[] bases = new int[1024];
+        private BigDecimal[] notionals = new BigDecimal[1024];
+
+        void add(long id, int indexPosition, long fixingDay, long days, int basis, BigDecimal notional) {
+            if (count == ids.length) {
+                int capacity = count * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                indexPositions = Arrays.copyOf(indexPositions, capacity);
+                fixingDays = Arrays.copyOf(fixingDays, capacity);
+                accrualDays = Arrays.copyOf(accrualDays, capacity);
+                bases = Arrays.copyOf(bases, capacity);
+                notionals = Arrays.copyOf(notionals, capacity);
+            }
+            ids[count] = id;
+            indexPositions[count] = indexPosition;
+            fixingDays[count] = fixingDay;
+            accrualDays[count] = days;
+            bases[count] = basis;
+            notionals[count] = notional;
+            count++;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.HolidayCalendar;
 import com.technicalchallenge.repository.HolidayCalendarRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -28,11 +30,13 @@ public class HolidayCalendarService {
         return holidayCalendarRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.HOLIDAY_CALENDAR_BY_NAME, CacheConfig.HOLIDAY_CALENDAR_BY_ID}, allEntries = true)
     public HolidayCalendar save(HolidayCalendar holidayCalendar) {
         logger.info("Saving holiday calendar: {}", holidayCalendar);
         return holidayCalendarRepository.save(holidayCalendar);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.HOLIDAY_CALENDAR_BY_NAME, CacheConfig.HOLIDAY_CALENDAR_BY_ID}, allEntries = true)
     public void deleteById(Long id) {
         logger.warn("Deleting holiday calendar with id: {}", id);
         holidayCalendarRepository.deleteById(id);
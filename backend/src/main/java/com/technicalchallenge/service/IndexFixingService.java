@@ -0,0 +1,169 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.IndexFixingDTO;
+import com.technicalchallenge.model.Index;
+import com.technicalchallenge.model.IndexFixing;
+import com.technicalchallenge.pricing.FixingSeries;
+import com.technicalchallenge.repository.IndexFixingRepository;
+import com.technicalchallenge.repository.IndexRepository;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Index fixings time series. The index_fixing table is the store of record; every index is also held in
+// memory as a FixingSeries (primitive arrays) so the reset job and pricing can look fixings up without a query.
+// Fixings arrive as JSON or CSV through IndexFixingController and are upserted by (index, date).
+@Service
+public class IndexFixingService {
+    private static final Logger logger = LoggerFactory.getLogger(IndexFixingService.class);
+
+    @Autowired
+    private IndexFixingRepository indexFixingRepository;
+
+    @Autowired
+    private IndexRepository indexRepository;
+
+    private volatile Map<String, FixingSeries> series = Map.of();
+
+    @PostConstruct
+    public void reload() {
+        Map<String, SeriesBuilder> builders = new HashMap<>();
+        for (Object[] row : indexFixingRepository.findAllIndexFixings()) {
+            builders.computeIfAbsent((String) row[0], SeriesBuilder::new)
+                    .add((int) ((LocalDate) row[1]).toEpochDay(), (Double) row[2]);
+        }
+        Map<String, FixingSeries> loaded = new HashMap<>();
+        builders.forEach((index, builder) -> loaded.put(index, builder.build()));
+        series = Map.copyOf(loaded);
+        logger.info("Loaded fixings for {} indexes", loaded.size());
+    }
+
+    // Null when the index has no fixings
+    public FixingSeries getSeries(String index) {
+        return series.get(index);
+    }
+
+    public List<IndexFixingDTO> getFixings(String index, LocalDate from, LocalDate to) {
+        FixingSeries fixings = series.get(index);
+        if (fixings == null) {
+            return List.of();
+        }
+        int[] range = fixings.range(from, to);
+        List<IndexFixingDTO> result = new ArrayList<>(range[1] - range[0]);
+        for (int i = range[0]; i < range[1]; i++) {
+            result.add(new IndexFixingDTO(index, fixings.getDate(i), fixings.getRate(i)));
+        }
+        return result;
+    }
+
+    // Inserts new fixings and overwrites the rate of existing (index, date) pairs. The in-memory series are
+    // rebuilt once the transaction commits.
+    @Transactional
+    public int saveFixings(List<IndexFixingDTO> fixings) {
+        Map<String, List<IndexFixingDTO>> byIndex = new LinkedHashMap<>();
+        for (IndexFixingDTO fixing : fixings) {
+            validate(fixing);
+            byIndex.computeIfAbsent(fixing.getIndex().trim(), k -> new ArrayList<>()).add(fixing);
+        }
+
+        List<IndexFixing> toSave = new ArrayList<>(fixings.size());
+        byIndex.forEach((indexName, indexFixings) -> {
+            Index index = indexRepository.findByIndex(indexName)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown index: " + indexName));
+            LocalDate from = indexFixings.stream().map(IndexFixingDTO::getFixingDate).min(LocalDate::compareTo).orElseThrow();
+            LocalDate to = indexFixings.stream().map(IndexFixingDTO::getFixingDate).max(LocalDate::compareTo).orElseThrow();
+            Map<LocalDate, IndexFixing> existing = new HashMap<>();
+            for (IndexFixing fixing : indexFixingRepository.findByIndexBetween(index, from, to)) {
+                existing.put(fixing.getFixingDate(), fixing);
+            }
+            for (IndexFixingDTO dto : indexFixings) {
+                IndexFixing fixing = existing.computeIfAbsent(dto.getFixingDate(), date -> {
+                    IndexFixing created = new IndexFixing();
+                    created.setIndex(index);
+                    created.setFixingDate(date);
+                    toSave.add(created);
+                    return created;
+                });
+                fixing.setRate(dto.getRate());
+            }
+        });
+        indexFixingRepository.saveAll(toSave);
+        AfterCommit.run(this::reload);
+        logger.info("Saved {} fixings ({} new) for {}", fixings.size(), toSave.size(), byIndex.keySet());
+        return fixings.size();
+    }
+
+    // CSV of index,fixingDate,rate lines (ISO dates, rate in percent); a header line and blank lines are skipped
+    @Transactional
+    public int importCsv(String csv) {
+        List<IndexFixingDTO> fixings = new ArrayList<>();
+        String[] lines = csv.split("\\R");
+        for (int lineNumber = 1; lineNumber <= lines.length; lineNumber++) {
+            String line = lines[lineNumber - 1].trim();
+            if (line.isEmpty() || (lineNumber == 1 && line.toLowerCase().startsWith("index"))) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected index,fixingDate,rate but got '" + line + "'");
+            }
+            try {
+                fixings.add(new IndexFixingDTO(fields[0].trim(), LocalDate.parse(fields[1].trim()), Double.parseDouble(fields[2].trim())));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage());
+            }
+        }
+        return saveFixings(fixings);
+    }
+
+    private void validate(IndexFixingDTO fixing) {
+        if (fixing.getIndex() == null || fixing.getIndex().isBlank()) {
+            throw new IllegalArgumentException("Fixing index is required");
+        }
+        if (fixing.getFixingDate() == null) {
+            throw new IllegalArgumentException("Fixing date is required for " + fixing.getIndex());
+        }
+        if (fixing.getRate() == null || fixing.getRate().isNaN() || fixing.getRate().isInfinite()) {
+            throw new IllegalArgumentException("Fixing rate is required for " + fixing.getIndex() + " on " + fixing.getFixingDate());
+        }
+    }
+
+    private static final class SeriesBuilder {
+        private final String index;
+        private int[] days = new int[256];
+        private double[] rates = new double[256];
+        private int count;
+
+        SeriesBuilder(String index) {
+            this.index = index;
+        }
+
+        void add(int day, double rate) {
+            if (count == days.length) {
+                days = Arrays.copyOf(days, count * 2);
+                rates = Arrays.copyOf(rates, count * 2);
+            }
+            days[count] = day;
+            rates[count] = rate;
+            count++;
+        }
+
+        FixingSeries build() {
+            return FixingSeries.of(index, days, rates, count);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.Index;
 import com.technicalchallenge.repository.IndexRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -28,11 +30,13 @@ public class IndexService {
         return indexRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.INDEX_BY_NAME, CacheConfig.INDEX_BY_ID}, allEntries = true)
     public Index save(Index index) {
         logger.info("Saving index: {}", index);
         return indexRepository.save(index);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.INDEX_BY_NAME, CacheConfig.INDEX_BY_ID}, allEntries = true)
     public void deleteById(Long id) {
         logger.warn("Deleting index with id: {}", id);
         indexRepository.deleteById(id);
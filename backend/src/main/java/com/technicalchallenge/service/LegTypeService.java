@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.LegType;
 import com.technicalchallenge.repository.LegTypeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -28,11 +30,13 @@ public class LegTypeService {
         return legTypeRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.LEG_TYPE_BY_NAME, CacheConfig.LEG_TYPE_BY_ID}, allEntries = true)
     public LegType save(LegType legType) {
         logger.info("Saving leg type: {}", legType);
         return legTypeRepository.save(legType);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.LEG_TYPE_BY_NAME, CacheConfig.LEG_TYPE_BY_ID}, allEntries = true)
     public void deleteById(Long id) {
         logger.warn("Deleting leg type with id: {}", id);
         legTypeRepository.deleteById(id);
@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.PayRec;
 import com.technicalchallenge.repository.PayRecRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -28,11 +30,13 @@ public class PayRecService {
         return payRecRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.PAY_REC_BY_NAME, CacheConfig.PAY_REC_BY_ID}, allEntries = true)
     public PayRec save(PayRec payRec) {
         logger.info("Saving pay rec: {}", payRec);
         return payRecRepository.save(payRec);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.PAY_REC_BY_NAME, CacheConfig.PAY_REC_BY_ID}, allEntries = true)
     public void deleteById(Long id) {
         logger.warn("Deleting pay rec with id: {}", id);
         payRecRepository.deleteById(id);
@@ -0,0 +1,158 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.config.RiskProperties;
+import com.technicalchallenge.dto.RiskExposureSummary;
+import com.technicalchallenge.pricing.CashflowBook;
+import com.technicalchallenge.pricing.PortfolioPricer;
+import com.technicalchallenge.pricing.PortfolioValuation;
+import com.technicalchallenge.pricing.ZeroCurve;
+import com.technicalchallenge.repository.CashflowRepository;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+// Portfolio PV and DV01.
+// Loads the remaining cashflows of every active trade leg into a primitive CashflowBook, values it on the
+// pricing pool against the zero curves configured under risk.curves, and rolls the results up into a
+// RiskExposureSummary. BigDecimal is only used for the final figures.
+@Service
+public class RiskService {
+    private static final Logger logger = LoggerFactory.getLogger(RiskService.class);
+
+    // ACT/365F year fractions from the valuation date
+    private static final double DAYS_PER_YEAR = 365.0;
+
+    @Autowired
+    private CashflowRepository cashflowRepository;
+
+    @Autowired
+    private PortfolioPricer portfolioPricer;
+
+    @Autowired
+    private RiskProperties riskProperties;
+
+    private Map<String, ZeroCurve> curves;
+    private Map<String, Double> fxRates;
+
+    // Curves are parsed once at startup, so a malformed curve fails the boot rather than the first request
+    @PostConstruct
+    void loadMarketData() {
+        Map<String, ZeroCurve> parsedCurves = new HashMap<>();
+        riskProperties.getCurves().forEach((currency, definition) ->
+                parsedCurves.put(currency, ZeroCurve.parse(currency, definition)));
+        Map<String, Double> rates = new HashMap<>(riskProperties.getFxRates());
+        rates.put(riskProperties.getReportingCurrency(), 1.0);
+        this.curves = Map.copyOf(parsedCurves);
+        this.fxRates = Map.copyOf(rates);
+        logger.info("Loaded zero curves for {} (reporting in {})", curves.keySet(), riskProperties.getReportingCurrency());
+    }
+
+    @Transactional(readOnly = true)
+    public RiskExposureSummary getRiskSummary(LocalDate valuationDate) {
+        long start = System.nanoTime();
+        CashflowBook book = loadCashflows(valuationDate);
+        long loaded = System.nanoTime();
+        PortfolioValuation valuation = portfolioPricer.value(book, curves, fxRates, riskProperties.getBumpBasisPoints());
+
+        logger.info("Valued {} trades / {} cashflows as of {}: loaded in {} ms, priced in {} ms",
+                book.getTradeCount(), book.getCashflowCount(), valuationDate,
+                (loaded - start) / 1_000_000, valuation.getElapsedNanos() / 1_000_000);
+        return summarise(valuation, valuationDate);
+    }
+
+    private CashflowBook loadCashflows(LocalDate valuationDate) {
+        CashflowBook.Builder builder = CashflowBook.builder();
+        long valuationDay = valuationDate.toEpochDay();
+        try (Stream<Object[]> rows = cashflowRepository.streamCashflowsForValuation(valuationDate)) {
+            rows.forEach(row -> {
+                BigDecimal paymentValue = (BigDecimal) row[4];
+                if (paymentValue == null || row[2] == null) {
+                    return;
+                }
+                double sign = "Pay".equalsIgnoreCase((String) row[3]) ? -1.0 : 1.0;
+                double years = (((LocalDate) row[5]).toEpochDay() - valuationDay) / DAYS_PER_YEAR;
+                builder.add((Long) row[0], (String) row[1], (String) row[2], sign * paymentValue.doubleValue(), years);
+            });
+        }
+        return builder.build();
+    }
+
+    private RiskExposureSummary summarise(PortfolioValuation valuation, LocalDate valuationDate) {
+        CashflowBook book = valuation.getBook();
+
+        double npv = 0;
+        double grossPv = 0;
+        double dv01 = 0;
+        double grossRisk = 0;
+        Map<String, double[]> byBook = new TreeMap<>();
+        for (int trade = 0; trade < book.getTradeCount(); trade++) {
+            npv += valuation.getNpv(trade);
+            grossPv += valuation.getGrossPv(trade);
+            dv01 += valuation.getDv01(trade);
+            grossRisk += Math.abs(valuation.getDv01(trade));
+            String bookName = book.getBook(trade) != null ? book.getBook(trade) : "UNASSIGNED";
+            double[] bookTotals = byBook.computeIfAbsent(bookName, k -> new double[2]);
+            bookTotals[0] += valuation.getNpv(trade);
+            bookTotals[1] += valuation.getDv01(trade);
+        }
+
+        double totalRisk = 0;
+        Map<String, BigDecimal> npvByCurrency = new TreeMap<>();
+        Map<String, BigDecimal> dv01ByCurrency = new TreeMap<>();
+        Map<String, Long> unpriced = new TreeMap<>();
+        List<String> currencies = book.getCurrencies();
+        for (int c = 0; c < currencies.size(); c++) {
+            if (valuation.getUnpricedCashflows(c) > 0) {
+                unpriced.put(currencies.get(c), valuation.getUnpricedCashflows(c));
+                continue;
+            }
+            npvByCurrency.put(currencies.get(c), money(valuation.getNpvByCurrency(c)));
+            dv01ByCurrency.put(currencies.get(c), money(valuation.getDv01ByCurrency(c)));
+            totalRisk += Math.abs(valuation.getDv01ByCurrency(c) * fxRates.get(currencies.get(c)));
+        }
+
+        Map<String, BigDecimal> npvByBook = new TreeMap<>();
+        Map<String, BigDecimal> dv01ByBook = new TreeMap<>();
+        byBook.forEach((bookName, totals) -> {
+            npvByBook.put(bookName, money(totals[0]));
+            dv01ByBook.put(bookName, money(totals[1]));
+        });
+
+        return RiskExposureSummary.builder()
+                .valuationDate(valuationDate)
+                .reportingCurrency(riskProperties.getReportingCurrency())
+                .tradeCount(book.getTradeCount())
+                .cashflowCount(book.getCashflowCount())
+                .totalRisk(money(totalRisk))
+                .netRisk(money(dv01))
+                .grossRisk(money(grossRisk))
+                .dv01(money(dv01))
+                .pv(money(grossPv))
+                .npv(money(npv))
+                .npvByCurrency(npvByCurrency)
+                .dv01ByCurrency(dv01ByCurrency)
+                .npvByBook(npvByBook)
+                .dv01ByBook(dv01ByBook)
+                .unpricedCashflowsByCurrency(unpriced)
+                .pricingMillis(valuation.getElapsedNanos() / 1_000_000)
+                .build();
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
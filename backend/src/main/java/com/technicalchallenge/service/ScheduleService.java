@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.Schedule;
 import com.technicalchallenge.repository.ScheduleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -28,11 +30,13 @@ public class ScheduleService {
         return scheduleRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.SCHEDULE_BY_NAME, CacheConfig.SCHEDULE_BY_ID}, allEntries = true)
     public Schedule save(Schedule schedule) {
         logger.info("Saving schedule: {}", schedule);
         return scheduleRepository.save(schedule);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.SCHEDULE_BY_NAME, CacheConfig.SCHEDULE_BY_ID}, allEntries = true)
     public void deleteById(Long id) {
         logger.warn("Deleting schedule with id: {}", id);
         scheduleRepository.deleteById(id);
@@ -0,0 +1,92 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.repository.AdditionalInfoRepository;
+import com.technicalchallenge.search.TrigramIndex;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// In-memory trigram index over the active settlement instructions of every trade, so searching them never scans
+// additional_info. Loaded once at startup (or on the first search) and then kept up to date by
+// AdditionalInfoService: a change is captured when it is written and applied once its transaction commits, so a
+// rolled back update never becomes searchable.
+@Service
+public class SettlementInstructionIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SettlementInstructionIndex.class);
+
+    @Autowired
+    private AdditionalInfoRepository additionalInfoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    private volatile boolean loaded;
+
+    // Trade ids whose instructions contain the text, ignoring case
+    public List<Long> findTradeIds(String text) {
+        ensureLoaded();
+        return index.search(text);
+    }
+
+    // Trade ids whose instructions contain every whitespace-separated word of the text, in any order
+    public List<Long> findTradeIdsContainingAllWords(String text) {
+        ensureLoaded();
+        return index.search(Arrays.asList(text.trim().split("\\s+")));
+    }
+
+    // Records the new instructions of a trade (null once they are removed)
+    public void recordInstructions(Long tradeId, String instructions) {
+        if (tradeId != null) {
+            AfterCommit.run(() -> apply(tradeId, instructions));
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // Reloads the index from the database. Updates committed meanwhile wait on the lock and are applied after
+    // the reload, so none is lost whichever side of the read they landed on
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Map<Long, String> instructions = new HashMap<>();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = additionalInfoRepository.streamActiveValues(
+                    "TRADE", AdditionalInfoService.SETTLEMENT_INSTRUCTIONS_KEY)) {
+                rows.forEach(row -> instructions.put((Long) row[0], (String) row[1]));
+            }
+        });
+        index.replaceAll(instructions);
+        loaded = true;
+        logger.info("Indexed settlement instructions of {} trades ({} trigrams) in {} ms",
+                index.size(), index.trigramCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private synchronized void apply(Long tradeId, String instructions) {
+        index.put(tradeId, instructions);
+    }
+}
@@ -0,0 +1,129 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.TradeBatchResponseDTO;
+import com.technicalchallenge.dto.TradeBatchResultDTO;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.model.Trade;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Bulk booking used by POST /api/trades/batch (e.g. end-of-day loads).
+// Trades are booked through TradeService.createTrade so every trade gets the same validation and
+// privilege checks as a single booking, but a whole chunk shares one transaction. With sequence ids and
+// hibernate.jdbc.batch_size the legs and cashflows are flushed as batched inserts, and the persistence
+// context is cleared every few trades so memory stays flat for large submissions.
+// If anything in a chunk fails, the chunk is rolled back and its trades are retried one per transaction,
+// so one bad trade only rejects itself.
+@Service
+public class TradeBatchService {
+    private static final Logger logger = LoggerFactory.getLogger(TradeBatchService.class);
+
+    // Trades written between persistence context flushes inside a chunk
+    private static final int FLUSH_INTERVAL = 20;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${trade.batch.chunk-size:100}")
+    private int chunkSize;
+
+    public TradeBatchResponseDTO bookTrades(List<TradeDTO> tradeDTOs) {
+        long start = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<TradeBatchResultDTO> results = new ArrayList<>(tradeDTOs.size());
+        int size = Math.max(1, chunkSize);
+
+        for (int from = 0; from < tradeDTOs.size(); from += size) {
+            int firstIndex = from;
+            List<TradeDTO> chunk = tradeDTOs.subList(from, Math.min(from + size, tradeDTOs.size()));
+            List<Long> requestedTradeIds = chunk.stream().map(TradeDTO::getTradeId).toList();
+
+            try {
+                List<TradeBatchResultDTO> chunkResults = transactionTemplate.execute(status -> bookChunk(chunk, firstIndex));
+                results.addAll(chunkResults);
+            } catch (RuntimeException e) {
+                logger.warn("Batch chunk starting at index {} failed ({}), retrying its {} trades individually",
+                        firstIndex, e.getMessage(), chunk.size());
+                // createTrade assigns generated trade ids onto the DTOs; those belonged to the rolled back chunk
+                for (int i = 0; i < chunk.size(); i++) {
+                    chunk.get(i).setTradeId(requestedTradeIds.get(i));
+                }
+                results.addAll(bookIndividually(chunk, firstIndex, transactionTemplate));
+            }
+        }
+
+        int booked = (int) results.stream().filter(TradeBatchResultDTO::isSuccess).count();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Batch booking finished: {} of {} trades booked in {} ms", booked, tradeDTOs.size(), elapsedMillis);
+
+        return TradeBatchResponseDTO.builder()
+                .totalTrades(tradeDTOs.size())
+                .bookedTrades(booked)
+                .failedTrades(tradeDTOs.size() - booked)
+                .elapsedMillis(elapsedMillis)
+                .results(results)
+                .build();
+    }
+
+    private List<TradeBatchResultDTO> bookChunk(List<TradeDTO> chunk, int firstIndex) {
+        List<TradeBatchResultDTO> chunkResults = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Trade trade = tradeService.createTrade(chunk.get(i));
+            chunkResults.add(success(firstIndex + i, trade));
+
+            // Push the batched inserts out and detach what has been written so the persistence context stays small
+            if ((i + 1) % FLUSH_INTERVAL == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return chunkResults;
+    }
+
+    private List<TradeBatchResultDTO> bookIndividually(List<TradeDTO> chunk, int firstIndex, TransactionTemplate transactionTemplate) {
+        List<TradeBatchResultDTO> chunkResults = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            TradeDTO tradeDTO = chunk.get(i);
+            int index = firstIndex + i;
+            try {
+                Trade trade = transactionTemplate.execute(status -> tradeService.createTrade(tradeDTO));
+                chunkResults.add(success(index, trade));
+            } catch (RuntimeException e) {
+                logger.warn("Batch trade at index {} rejected: {}", index, e.getMessage());
+                chunkResults.add(TradeBatchResultDTO.builder()
+                        .index(index)
+                        .tradeId(tradeDTO.getTradeId())
+                        .success(false)
+                        .errorMessage(e.getMessage())
+                        .build());
+            }
+        }
+        return chunkResults;
+    }
+
+    private TradeBatchResultDTO success(int index, Trade trade) {
+        return TradeBatchResultDTO.builder()
+                .index(index)
+                .tradeId(trade.getTradeId())
+                .success(true)
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.ChangesPage;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+// Incremental sync for GET /api/trades/changes, driven by Trade.lastTouchTimestamp.
+// Returns the active trades touched after a watermark in (lastTouchTimestamp, id) order, plus the watermark of
+// the last one returned. The id makes the order total, so trades touched in the same instant are neither
+// skipped nor repeated across batches. Trades touched within the last trades.changes.settle-millis are held
+// back until the next poll: lastTouchTimestamp is set before the transaction commits, and a write still in
+// flight must not end up behind a watermark the client has already moved past.
+@Service
+public class TradeChangeFeed {
+
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String WATERMARK_VERSION = "w1";
+
+    // Before any stored lastTouchTimestamp, for a full initial sync
+    private static final Watermark BEGINNING = new Watermark(LocalDateTime.of(1970, 1, 1, 0, 0), Long.MIN_VALUE);
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private TradeDetailsLoader tradeDetailsLoader;
+
+    @Value("${trades.changes.settle-millis:2000}")
+    private long settleMillis;
+
+    // since is a watermark token from a previous call, an ISO date-time (changes strictly after it), or null
+    @Transactional(readOnly = true)
+    public ChangesPage<Trade> changesSince(String since, int limit) {
+        Watermark after = Watermark.parse(since);
+        int batchSize = Math.min(Math.max(1, limit), MAX_BATCH_SIZE);
+        LocalDateTime until = LocalDateTime.now().minusNanos(settleMillis * 1_000_000);
+
+        // One extra row tells us whether more changes are waiting
+        List<Trade> rows = tradeRepository.findTouchedAfter(after.timestamp(), after.id(), until,
+                PageRequest.of(0, batchSize + 1));
+        boolean hasMore = rows.size() > batchSize;
+        List<Trade> content = hasMore ? new ArrayList<>(rows.subList(0, batchSize)) : rows;
+        tradeDetailsLoader.loadLegsAndCashflows(content);
+
+        Watermark next = after;
+        if (!content.isEmpty()) {
+            Trade last = content.get(content.size() - 1);
+            next = new Watermark(last.getLastTouchTimestamp(), last.getId());
+        }
+        return new ChangesPage<>(content, next.encode(), hasMore);
+    }
+
+    // Encoded as URL-safe base64 so the client treats it as opaque and can pass it back as a query parameter
+    record Watermark(LocalDateTime timestamp, long id) {
+
+        String encode() {
+            String raw = String.join("\n", WATERMARK_VERSION, timestamp.toString(), Long.toString(id));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Watermark parse(String since) {
+            if (since == null || since.isBlank()) {
+                return BEGINNING;
+            }
+            try {
+                // A plain timestamp: only trades touched strictly after it
+                return new Watermark(LocalDateTime.parse(since.trim()), Long.MAX_VALUE);
+            } catch (DateTimeParseException notATimestamp) {
+                try {
+                    String[] parts = new String(Base64.getUrlDecoder().decode(since.trim()), StandardCharsets.UTF_8).split("\n", -1);
+                    if (parts.length != 3 || !WATERMARK_VERSION.equals(parts[0])) {
+                        throw new IllegalArgumentException("Invalid watermark");
+                    }
+                    return new Watermark(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    throw new IllegalArgumentException("since must be a watermark from a previous response or an ISO date-time", e);
+                }
+            }
+        }
+    }
+}
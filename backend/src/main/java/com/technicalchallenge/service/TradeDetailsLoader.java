@@ -0,0 +1,58 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.repository.TradeLegRepository;
+import com.technicalchallenge.repository.TradeRepository;
+
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Initialises the legs and cashflows (with their reference data) of trades that are already loaded, so that
+// TradeMapper.toDto can map them without lazy loading. Costs one query for legs and one for cashflows per
+// chunk of IN_LIST_CHUNK_SIZE trades. Must run inside the transaction / persistence context the trades belong to.
+@Component
+public class TradeDetailsLoader {
+
+    // Upper bound on ids per IN list
+    static final int IN_LIST_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private TradeLegRepository tradeLegRepository;
+
+    // Adds fetch joins for the to-one reference data of a criteria query over trades, so it comes back on the
+    // same row instead of as a select per trade
+    public static void fetchReferenceData(Root<Trade> root) {
+        root.fetch("book", JoinType.LEFT);
+        root.fetch("counterparty", JoinType.LEFT);
+        root.fetch("traderUser", JoinType.LEFT).fetch("userProfile", JoinType.LEFT);
+        root.fetch("tradeInputterUser", JoinType.LEFT).fetch("userProfile", JoinType.LEFT);
+        root.fetch("tradeType", JoinType.LEFT);
+        root.fetch("tradeSubType", JoinType.LEFT);
+        root.fetch("tradeStatus", JoinType.LEFT);
+    }
+
+    public void loadLegsAndCashflows(List<Trade> trades) {
+        for (int from = 0; from < trades.size(); from += IN_LIST_CHUNK_SIZE) {
+            List<Trade> chunk = trades.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, trades.size()));
+            tradeRepository.fetchLegsWithReferenceData(chunk.stream().map(Trade::getId).toList());
+
+            List<Long> legIds = chunk.stream()
+                    .filter(trade -> trade.getTradeLegs() != null)
+                    .flatMap(trade -> trade.getTradeLegs().stream())
+                    .map(TradeLeg::getLegId)
+                    .toList();
+            if (!legIds.isEmpty()) {
+                tradeLegRepository.fetchCashflowsWithReferenceData(legIds);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.technicalchallenge.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technicalchallenge.dto.TradeEventDTO;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeOutboxEvent;
+import com.technicalchallenge.repository.TradeOutboxRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Called by the TradeService lifecycle methods. The event is captured straight away, while the trade and its
+// references are still attached, and written to the trade outbox in the caller's transaction for OutboxRelay
+// to deliver downstream. Open blotters get it only once the transaction commits, so a rolled back change is
+// never pushed or relayed.
+@Service
+public class TradeEventPublisher {
+
+    @Autowired
+    private TradeStreamService tradeStreamService;
+
+    @Autowired
+    private TradeOutboxRepository tradeOutboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    public void publish(TradeEventDTO.Type type, Trade trade) {
+        if (trade == null || trade.getTradeId() == null) {
+            return;
+        }
+        TradeEventDTO event = TradeEventDTO.of(type, trade);
+        tradeOutboxRepository.save(outboxEvent(event));
+        AfterCommit.run(() -> {
+            event.setSequence(sequence.incrementAndGet());
+            tradeStreamService.broadcast(event);
+        });
+    }
+
+    private TradeOutboxEvent outboxEvent(TradeEventDTO event) {
+        TradeOutboxEvent outboxEvent = new TradeOutboxEvent();
+        outboxEvent.setTradeId(event.getTradeId());
+        outboxEvent.setTradeVersion(event.getVersion());
+        outboxEvent.setEventType(event.getType().name());
+        outboxEvent.setCreatedAt(event.getOccurredAt());
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialise trade event for trade " + event.getTradeId(), e);
+        }
+        return outboxEvent;
+    }
+}
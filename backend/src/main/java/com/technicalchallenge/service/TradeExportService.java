@@ -0,0 +1,286 @@
+package com.technicalchallenge.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeLegDTO;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.rsql.RsqlSpecificationBuilder;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Streaming export of the trade blotter for GET /api/trades/export.
+// Trades are read through a forward-only cursor with a bounded JDBC fetch size and written to the response
+// as they arrive. Every chunk of trades gets its legs, cashflows and settlement instructions in one query
+// each, is mapped to TradeDTOs and written out, and then the persistence context is cleared, so memory use
+// depends on the chunk size and not on how many trades are exported.
+@Service
+public class TradeExportService {
+    private static final Logger logger = LoggerFactory.getLogger(TradeExportService.class);
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String fileExtension;
+
+        ExportFormat(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+
+        public static ExportFormat fromParameter(String format) {
+            for (ExportFormat value : values()) {
+                if (value.name().equalsIgnoreCase(format)) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + format + " (expected ndjson or csv)");
+        }
+    }
+
+    // One CSV row per trade leg; trade level columns are repeated on each leg of the trade
+    static final String[] CSV_HEADER = {
+            "id", "tradeId", "version", "tradeDate", "startDate", "maturityDate", "executionDate", "utiCode",
+            "active", "tradeStatus", "bookName", "counterpartyName", "traderUserName", "inputterUserName",
+            "tradeType", "tradeSubType", "settlementInstructions",
+            "legId", "payReceiveFlag", "legType", "notional", "currency", "rate", "indexName",
+            "calculationPeriodSchedule", "holidayCalendar", "paymentBusinessDayConvention", "cashflowCount"
+    };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TradeDetailsLoader tradeDetailsLoader;
+
+    @Autowired
+    private AdditionalInfoService additionalInfoService;
+
+    @Autowired
+    private TradeMapper tradeMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${trade.export.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Writes every trade matching the optional RSQL query to the output stream and returns the number of
+     * trades written. An invalid query fails with an IllegalArgumentException (or the RSQL parser's
+     * exception) before anything is written.
+     */
+    @Transactional(readOnly = true)
+    public long exportTrades(String rsqlQuery, ExportFormat format, OutputStream outputStream) throws IOException {
+        int size = Math.max(1, chunkSize);
+        TypedQuery<Trade> query = buildQuery(rsqlQuery, size);
+
+        long start = System.nanoTime();
+        long exported = 0;
+        TradeWriter writer = format == ExportFormat.CSV ? new CsvTradeWriter(outputStream) : new NdjsonTradeWriter(outputStream);
+
+        List<Trade> chunk = new ArrayList<>(size);
+        try (Stream<Trade> trades = query.getResultStream()) {
+            var iterator = trades.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == size) {
+                    exported += writeChunk(chunk, writer);
+                }
+            }
+            exported += writeChunk(chunk, writer);
+        }
+        writer.finish();
+
+        logger.info("Exported {} trades as {} in {} ms", exported, format, (System.nanoTime() - start) / 1_000_000);
+        return exported;
+    }
+
+    // Builds the cursor query up front so a bad RSQL selector fails before the response is started
+    private TypedQuery<Trade> buildQuery(String rsqlQuery, int fetchSize) {
+        Specification<Trade> specification = new RsqlSpecificationBuilder<Trade>().parse(rsqlQuery);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Trade> criteriaQuery = cb.createQuery(Trade.class);
+        Root<Trade> root = criteriaQuery.from(Trade.class);
+        // To-one reference data comes back on the same row, so the cursor never triggers per-trade selects
+        TradeDetailsLoader.fetchReferenceData(root);
+
+        Predicate predicate = specification != null ? specification.toPredicate(root, criteriaQuery, cb) : null;
+        if (predicate != null) {
+            criteriaQuery.where(predicate);
+        }
+        criteriaQuery.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(criteriaQuery)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private int writeChunk(List<Trade> chunk, TradeWriter writer) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        tradeDetailsLoader.loadLegsAndCashflows(chunk);
+        Map<Long, String> settlementInstructions = additionalInfoService.getSettlementInstructions(
+                chunk.stream().map(Trade::getTradeId).toList());
+
+        for (Trade trade : chunk) {
+            TradeDTO dto = tradeMapper.toDto(trade);
+            dto.setSettlementInstructions(settlementInstructions.get(trade.getTradeId()));
+            writer.write(dto);
+        }
+        writer.flush();
+
+        int written = chunk.size();
+        chunk.clear();
+        // Everything in this chunk has been written; detach it so the persistence context does not grow
+        entityManager.clear();
+        return written;
+    }
+
+    private interface TradeWriter {
+        void write(TradeDTO trade) throws IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    // One JSON document per line; the servlet output stream is left open for the container to close
+    private class NdjsonTradeWriter implements TradeWriter {
+        private final JsonGenerator generator;
+
+        NdjsonTradeWriter(OutputStream outputStream) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(outputStream);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(TradeDTO trade) throws IOException {
+            objectMapper.writeValue(generator, trade);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static class CsvTradeWriter implements TradeWriter {
+        private final Writer out;
+
+        CsvTradeWriter(OutputStream outputStream) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writeRow(CSV_HEADER);
+        }
+
+        @Override
+        public void write(TradeDTO trade) throws IOException {
+            List<TradeLegDTO> legs = trade.getTradeLegs();
+            if (legs == null || legs.isEmpty()) {
+                writeRow(row(trade, null));
+                return;
+            }
+            for (TradeLegDTO leg : legs) {
+                writeRow(row(trade, leg));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private Object[] row(TradeDTO trade, TradeLegDTO leg) {
+            return new Object[] {
+                    trade.getId(), trade.getTradeId(), trade.getVersion(), trade.getTradeDate(),
+                    trade.getTradeStartDate(), trade.getTradeMaturityDate(), trade.getTradeExecutionDate(),
+                    trade.getUtiCode(), trade.getActive(), trade.getTradeStatus(), trade.getBookName(),
+                    trade.getCounterpartyName(), trade.getTraderUserName(), trade.getInputterUserName(),
+                    trade.getTradeType(), trade.getTradeSubType(), trade.getSettlementInstructions(),
+                    leg != null ? leg.getLegId() : null,
+                    leg != null ? leg.getPayReceiveFlag() : null,
+                    leg != null ? leg.getLegType() : null,
+                    leg != null && leg.getNotional() != null ? leg.getNotional().toPlainString() : null,
+                    leg != null ? leg.getCurrency() : null,
+                    leg != null ? leg.getRate() : null,
+                    leg != null ? leg.getIndexName() : null,
+                    leg != null ? leg.getCalculationPeriodSchedule() : null,
+                    leg != null ? leg.getHolidayCalendar() : null,
+                    leg != null ? leg.getPaymentBusinessDayConvention() : null,
+                    leg != null && leg.getCashflows() != null ? leg.getCashflows().size() : null
+            };
+        }
+
+        private void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(escape(values[i]));
+            }
+            out.write("\r\n");
+        }
+
+        // RFC 4180: quote fields containing a separator, quote or line break and double embedded quotes
+        static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+}
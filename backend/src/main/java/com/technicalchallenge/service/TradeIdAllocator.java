@@ -0,0 +1,80 @@
+package com.technicalchallenge.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Hands out business trade ids for new bookings.
+// Ids are reserved from the database sequence trade_id_seq (created by migration V10) in blocks of the
+// sequence's own increment: each nextval returns the start of a block the calling node owns exclusively,
+// so several application instances can book at the same time without producing duplicates. The increment
+// is read with every reservation rather than configured per node, so nodes can never disagree on it. Within a node the ids of the
+// current block are handed out with a single atomic increment; only the thread that exhausts a block
+// goes back to the database. Ids are unique and increasing per node, but not gap-free across restarts.
+@Service
+public class TradeIdAllocator {
+    private static final Logger logger = LoggerFactory.getLogger(TradeIdAllocator.class);
+
+    static final String SEQUENCE_NAME = "trade_id_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reservationTransaction;
+
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>(new Block(0, 0));
+
+    public TradeIdAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Reserve blocks outside the caller's booking transaction so a rollback never hands a block out twice
+        this.reservationTransaction = new TransactionTemplate(transactionManager);
+        this.reservationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public long nextTradeId() {
+        while (true) {
+            Block block = currentBlock.get();
+            long id = block.cursor.getAndIncrement();
+            if (id < block.end) {
+                return id;
+            }
+            refill(block);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        // Another thread may already have replaced the block while we were waiting
+        if (currentBlock.get() != exhausted) {
+            return;
+        }
+        Block block = reservationTransaction.execute(status -> reserveBlock());
+        currentBlock.set(block);
+        logger.debug("Reserved trade id block [{}, {})", block.cursor.get(), block.end);
+    }
+
+    private Block reserveBlock() {
+        Long start = jdbcTemplate.queryForObject("SELECT nextval('" + SEQUENCE_NAME + "')", Long.class);
+        Long increment = jdbcTemplate.queryForObject(
+                "SELECT increment FROM information_schema.sequences WHERE sequence_name = ?", Long.class, SEQUENCE_NAME);
+        if (start == null || increment == null || increment < 1) {
+            throw new IllegalStateException("Sequence " + SEQUENCE_NAME + " must have a positive increment, got " + increment);
+        }
+        return new Block(start, start + increment);
+    }
+
+    // Ids in [cursor, end) belong to this node
+    private static final class Block {
+        private final AtomicLong cursor;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
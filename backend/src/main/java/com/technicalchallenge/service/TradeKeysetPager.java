@@ -0,0 +1,183 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.KeysetPage;
+import com.technicalchallenge.model.Trade;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+// Keyset (seek) pagination for the trade search endpoints.
+// Instead of OFFSET, each page continues from the (sort value, id) of the last row of the previous page,
+// which the client gets back as an opaque cursor. The database seeks straight to that position, so a deep
+// page costs the same as the first one. Rows are ordered by the sort field (nulls last) and then by id, which
+// makes the order total even when sort values repeat. The COUNT(*) only runs when the caller asks for it.
+@Service
+public class TradeKeysetPager {
+
+    // Simple, indexed-or-indexable trade attributes that can be used as a seek key
+    static final Set<String> SORTABLE_FIELDS = Set.of("id", "tradeId", "version", "tradeDate", "tradeStartDate",
+            "tradeMaturityDate", "tradeExecutionDate", "createdDate", "lastTouchTimestamp");
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String CURSOR_VERSION = "k1";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TradeDetailsLoader tradeDetailsLoader;
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Trade> findPage(Specification<Trade> specification, String sortBy, Sort.Direction direction,
+                                      int size, String cursor, boolean includeTotal) {
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Keyset pagination can only sort by one of " + SORTABLE_FIELDS);
+        }
+        int pageSize = Math.min(Math.max(1, size), MAX_PAGE_SIZE);
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+        if (after != null && (!after.sortBy().equals(sortBy) || after.direction() != direction)) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<Trade> query = cb.createQuery(Trade.class);
+        Root<Trade> root = query.from(Trade.class);
+        TradeDetailsLoader.fetchReferenceData(root);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (after != null) {
+            predicates.add(seekPredicate(cb, root, sortBy, direction, after));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        boolean ascending = direction.isAscending();
+        Path<?> sortPath = root.get(sortBy);
+        if (sortBy.equals("id")) {
+            query.orderBy(ascending ? cb.asc(sortPath) : cb.desc(sortPath));
+        } else {
+            query.orderBy(ascending ? cb.asc(sortPath, false) : cb.desc(sortPath, false),
+                    ascending ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+        }
+
+        // One extra row tells us whether there is a next page without a count
+        List<Trade> rows = entityManager.createQuery(query).setMaxResults(pageSize + 1).getResultList();
+        boolean hasNext = rows.size() > pageSize;
+        List<Trade> content = hasNext ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        tradeDetailsLoader.loadLegsAndCashflows(content);
+
+        String nextCursor = null;
+        if (hasNext) {
+            Trade last = content.get(content.size() - 1);
+            BeanWrapper lastRow = PropertyAccessorFactory.forBeanPropertyAccess(last);
+            Object sortValue = sortBy.equals("id") ? null : lastRow.getPropertyValue(sortBy);
+            nextCursor = new Cursor(sortBy, direction, sortValue != null ? sortValue.toString() : null, last.getId()).encode();
+        }
+
+        Long total = includeTotal ? count(specification) : null;
+        return new KeysetPage<>(content, pageSize, nextCursor, hasNext, total);
+    }
+
+    private long count(Specification<Trade> specification) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Trade> root = query.from(Trade.class);
+        Predicate filter = specification != null ? specification.toPredicate(root, query, cb) : null;
+        query.select(cb.count(root));
+        if (filter != null) {
+            query.where(filter);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Rows strictly after the cursor in (sort value nulls last, id) order
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seekPredicate(HibernateCriteriaBuilder cb, Root<Trade> root, String sortBy,
+                                    Sort.Direction direction, Cursor after) {
+        boolean ascending = direction.isAscending();
+        Expression<Long> id = root.get("id");
+        Predicate idAfter = ascending ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id());
+        if (sortBy.equals("id")) {
+            return idAfter;
+        }
+
+        Path<Comparable> key = root.get(sortBy);
+        if (after.sortValue() == null) {
+            // Already into the trailing null block: only other nulls further along by id remain
+            return cb.and(cb.isNull(key), idAfter);
+        }
+        Comparable value = convert(after.sortValue(), key.getJavaType());
+        Predicate keyAfter = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+        return cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter), cb.isNull(key));
+    }
+
+    private static Comparable<?> convert(String value, Class<?> type) {
+        try {
+            if (type.equals(Long.class)) {
+                return Long.valueOf(value);
+            }
+            if (type.equals(Integer.class)) {
+                return Integer.valueOf(value);
+            }
+            if (type.equals(LocalDate.class)) {
+                return LocalDate.parse(value);
+            }
+            if (type.equals(LocalDateTime.class)) {
+                return LocalDateTime.parse(value);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        throw new IllegalArgumentException("Unsupported sort field type: " + type.getSimpleName());
+    }
+
+    // Encoded as URL-safe base64 so the client treats it as opaque and can pass it back as a query parameter
+    record Cursor(String sortBy, Sort.Direction direction, String sortValue, Long id) {
+
+        String encode() {
+            String raw = String.join("\n", CURSOR_VERSION, sortBy, direction.name(),
+                    sortValue == null ? "" : "=" + sortValue, String.valueOf(id));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\n", -1);
+                if (parts.length != 5 || !CURSOR_VERSION.equals(parts[0])) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                String sortValue = parts[3].isEmpty() ? null : parts[3].substring(1);
+                return new Cursor(parts[1], Sort.Direction.valueOf(parts[2]), sortValue, Long.valueOf(parts[4]));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.Trade;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Timings of the trade lifecycle operations in TradeService, published as
+//   trade.lifecycle            whole create/amend/cancel/terminate calls, by outcome
+//   trade.lifecycle.stage      time spent in each stage of those calls (privileges, validation, legs, cashflows, ...)
+//   trade.lifecycle.cashflows  cashflows generated per booking
+//   trade.validation.failures  rejected bookings, by the rule that rejected them
+// all tagged with the operation, trade type and book. Timers carry percentile histograms for Prometheus.
+// The type and book tags come from the trade as resolved against the reference data, never from the request,
+// so unknown names cannot add tag values; a booking rejected before that is tagged "unknown".
+@Component
+public class TradeLifecycleMetrics {
+
+    static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    public TradeLifecycleMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Starts timing one call of operation; close the returned booking when the call ends
+    public Booking begin(String operation) {
+        return new Booking(operation);
+    }
+
+    public final class Booking implements AutoCloseable {
+        private final String operation;
+        private final long start = System.nanoTime();
+        // Stages in the order they first ran; a stage entered several times (once per leg, say) adds up
+        private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+        private final List<String> rejectedRules = new ArrayList<>();
+        private String tradeType = UNKNOWN;
+        private String book = UNKNOWN;
+        private int cashflows;
+        private boolean succeeded;
+
+        private Booking(String operation) {
+            this.operation = operation;
+        }
+
+        public void stage(String stage, Runnable action) {
+            stage(stage, () -> {
+                action.run();
+                return null;
+            });
+        }
+
+        public <T> T stage(String stage, Supplier<T> action) {
+            long stageStart = System.nanoTime();
+            try {
+                return action.get();
+            } finally {
+                stageNanos.merge(stage, System.nanoTime() - stageStart, Long::sum);
+            }
+        }
+
+        // Takes the trade type and book tags from the trade once its reference data is populated
+        public void trade(Trade trade) {
+            if (trade.getTradeType() != null && trade.getTradeType().getTradeType() != null) {
+                tradeType = trade.getTradeType().getTradeType();
+            }
+            if (trade.getBook() != null && trade.getBook().getBookName() != null) {
+                book = trade.getBook().getBookName();
+            }
+        }
+
+        // Counts the rule against the booking and returns the exception to reject it with
+        public RuntimeException rejected(String rule, String message) {
+            rejected(rule);
+            return new RuntimeException(message);
+        }
+
+        public void rejected(String rule) {
+            rejectedRules.add(rule);
+        }
+
+        public void cashflowsGenerated(int count) {
+            cashflows += count;
+        }
+
+        public void succeeded() {
+            succeeded = true;
+        }
+
+        @Override
+        public void close() {
+            Tags tags = Tags.of("operation", operation, "trade_type", tradeType, "book", book);
+            Timer.builder("trade.lifecycle")
+                    .description("Trade lifecycle operations in TradeService")
+                    .tags(tags).tag("outcome", succeeded ? "success" : "failure")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            stageNanos.forEach((stage, nanos) -> Timer.builder("trade.lifecycle.stage")
+                    .description("Time spent in each stage of a trade lifecycle operation")
+                    .tags(tags).tag("stage", stage)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS));
+            for (String rule : rejectedRules) {
+                Counter.builder("trade.validation.failures")
+                        .description("Trade bookings rejected, by validation rule")
+                        .tags(tags).tag("rule", rule)
+                        .register(meterRegistry)
+                        .increment();
+            }
+            if (succeeded && stageNanos.containsKey("cashflows")) {
+                DistributionSummary.builder("trade.lifecycle.cashflows")
+                        .description("Cashflows generated per booking")
+                        .baseUnit("cashflows")
+                        .tags(tags)
+                        .register(meterRegistry)
+                        .record(cashflows);
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.technicalchallenge.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.technicalchallenge.config.RsqlCacheProperties;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeRepository;
+import com.technicalchallenge.rsql.RsqlSpecificationCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Optional short-lived cache of the ids of the trades matching an RSQL search, per (query, sort).
+// A hit pages through the cached ids and only loads the trades on the requested page, so the filter and the
+// count query are not run again. Every entry is keyed by the trade mutation epoch it was computed under; the
+// TradeService lifecycle methods bump the epoch once their transaction commits, after which earlier entries
+// are never served again and age out. Writes this instance does not see are bounded by rsql.cache.results-ttl.
+@Service
+public class TradeSearchResultCache {
+
+    public static final String RSQL_RESULTS = "rsqlResults";
+
+    private final RsqlCacheProperties properties;
+    private final Cache<Key, List<Long>> results;
+    private final AtomicLong epoch = new AtomicLong();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    public TradeSearchResultCache(RsqlCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxResults())
+                .expireAfterWrite(properties.getResultsTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, RSQL_RESULTS);
+    }
+
+    public boolean isEnabled() {
+        return properties.isResultsEnabled();
+    }
+
+    public long getEpoch() {
+        return epoch.get();
+    }
+
+    // Deferred to after commit, so a search running alongside the write cannot cache what it read before the
+    // commit under the new epoch
+    public void tradesChanged() {
+        AfterCommit.run(epoch::incrementAndGet);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Trade> findPage(String query, Specification<Trade> specification, Pageable pageable) {
+        Sort sort = pageable.getSort().getOrderFor("id") != null
+                ? pageable.getSort() : pageable.getSort().and(Sort.by("id"));
+        long current = epoch.get();
+        Key key = new Key(RsqlSpecificationCache.normalize(query), sort, current);
+
+        List<Long> ids = results.getIfPresent(key);
+        if (ids == null) {
+            ids = matchingIds(specification, sort);
+            if (ids == null) {
+                // Too many matches to hold: page in the database as without the cache
+                return tradeRepository.findAll(specification, pageable);
+            }
+            // A change committed while the ids were read has moved the epoch on, and the result may predate it
+            if (epoch.get() == current) {
+                results.put(key, ids);
+            }
+        }
+        return page(ids, pageable);
+    }
+
+    // Ids of all matching trades in page order, or null when there are more than rsql.cache.max-result-ids
+    private List<Long> matchingIds(Specification<Trade> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Trade> root = query.from(Trade.class);
+        Predicate filter = specification != null ? specification.toPredicate(root, query, cb) : null;
+        query.select(root.get("id"));
+        if (filter != null) {
+            query.where(filter);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        int limit = properties.getMaxResultIds();
+        List<Long> rows = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+        if (rows.size() > limit) {
+            return null;
+        }
+        // A filter on a to-many path (tradeLegs.*) returns a trade once per matching leg
+        return List.copyOf(new LinkedHashSet<>(rows));
+    }
+
+    private Page<Trade> page(List<Long> ids, Pageable pageable) {
+        List<Long> pageIds = ids;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            pageIds = ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+        }
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.size());
+        }
+        Map<Long, Trade> trades = tradeRepository.findWithReferenceDataByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Trade::getId, Function.identity()));
+        List<Trade> content = pageIds.stream().map(trades::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    record Key(String query, Sort sort, long epoch) {
+    }
+}
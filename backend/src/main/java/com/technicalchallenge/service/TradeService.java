@@ -1,12 +1,22 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.analytics.TradeDimension;
+import com.technicalchallenge.cashflow.CashflowEngine;
+import com.technicalchallenge.cashflow.DayCount;
+import com.technicalchallenge.cashflow.GeneratedCashflow;
+import com.technicalchallenge.cashflow.LegTerms;
+import com.technicalchallenge.dto.ChangesPage;
 import com.technicalchallenge.dto.DailySummaryDTO;
+import com.technicalchallenge.dto.DailyTradeAggregate;
+import com.technicalchallenge.dto.KeysetPage;
 import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeEventDTO;
+import com.technicalchallenge.dto.TradeGroupDTO;
 import com.technicalchallenge.dto.TradeLegDTO;
 import com.technicalchallenge.dto.TradeSummaryDTO;
 import com.technicalchallenge.model.*;
 import com.technicalchallenge.repository.*;
-import com.technicalchallenge.rsql.RsqlSpecificationBuilder;
+import com.technicalchallenge.rsql.RsqlSpecificationCache;
 import com.technicalchallenge.specifications.TradeSpecifications;
 
 import com.technicalchallenge.validation.ValidationResult;
@@ -35,8 +45,10 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.AbstractMap;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -86,11 +98,27 @@ public class TradeService {
     @Autowired
     private AdditionalInfoService additionalInfoService;
     @Autowired
-    private UserPrivilegeRepository userPrivilegeRepository;
+    private EntitlementCache entitlementCache;
     @Autowired
-    private UserProfileRepository userProfileRepository;
+    private TradeSummaryAggregateStore tradeSummaryAggregateStore;
     @Autowired
-    private PrivilegeRepository privilegeRepository;
+    private TradeIdAllocator tradeIdAllocator;
+    @Autowired
+    private TradeDetailsLoader tradeDetailsLoader;
+    @Autowired
+    private TradeKeysetPager tradeKeysetPager;
+    @Autowired
+    private CashflowEngine cashflowEngine;
+    @Autowired
+    private TradeEventPublisher tradeEventPublisher;
+    @Autowired
+    private TradeChangeFeed tradeChangeFeed;
+    @Autowired
+    private TradeLifecycleMetrics tradeLifecycleMetrics;
+    @Autowired
+    private RsqlSpecificationCache<Trade> rsqlSpecificationCache;
+    @Autowired
+    private TradeSearchResultCache tradeSearchResultCache;
    
    
    
@@ -106,9 +134,15 @@ public class TradeService {
     }
 
 
+    // Loads trades, legs and cashflows with all the reference data TradeMapper.toDto reads, so mapping the result
+    // never falls back to lazy loading: one query for the trades, then one for legs and one for cashflows per
+    // chunk of trades (see TradeDetailsLoader), instead of a select per association per trade, leg and cashflow
+    @Transactional(readOnly = true)
     public List<Trade> getAllTrades() {
         logger.info("Retrieving all trades");
-        return tradeRepository.findAll();
+        List<Trade> trades = tradeRepository.findAllWithReferenceData();
+        tradeDetailsLoader.loadLegsAndCashflows(trades);
+        return trades;
     }
 
     public Optional<Trade> getTradeById(Long tradeId) {
@@ -118,77 +152,88 @@ public class TradeService {
 
     }
 
+    // The version of a trade that was in force at asOf, empty if the trade did not exist yet
+    public Optional<Trade> getTradeAsOf(Long tradeId, LocalDateTime asOf) {
+        logger.debug("Retrieving trade {} as of {}", tradeId, asOf);
+        return tradeRepository.findVersionAsOf(tradeId, asOf);
+    }
+
 
     @Transactional
     @PreAuthorize("hasAnyRole('TRADER', 'TRADER_SALES', 'SALES', 'SUPERUSER', 'ADMIN')")
     public Trade createTrade(TradeDTO tradeDTO) {
-        //validate user privileges before creating trade
-        String loginId= getLoggedInUsername();
-        if (!validateUserPrivileges(loginId, "BOOK_TRADE", tradeDTO)) {
-            throw new AccessDeniedException("User does not have privilege to create or book a trade");
-        }
-
-        logger.info("Creating new trade with ID: {}", tradeDTO.getTradeId());
-
-        // Generate trade ID if not provided
-        if (tradeDTO.getTradeId() == null) {
-            // Generate sequential trade ID starting from 10000
-            Long generatedTradeId = generateNextTradeId();
-            tradeDTO.setTradeId(generatedTradeId);
-            logger.info("Generated trade ID: {}", generatedTradeId);
-        }
-
-
-        // Validate general trade creation rules
-        validateTradeCreation(tradeDTO);
-
-
-            // Validate trade-specific business rules
-        ValidationResult validation = validateTradeBusinessRules(tradeDTO);
-        if (!validation.isValid()) {
-            throw new RuntimeException("Trade validation failed: " + String.join(", ", validation.getErrors()));
-        }
-
-        
-         validateSettlementInstructions(tradeDTO.getSettlementInstructions());
+        try (TradeLifecycleMetrics.Booking booking = tradeLifecycleMetrics.begin("create")) {
+            //validate user privileges before creating trade
+            String loginId= getLoggedInUsername();
+            if (!booking.stage("privileges", () -> validateUserPrivileges(loginId, "BOOK_TRADE", tradeDTO))) {
+                throw new AccessDeniedException("User does not have privilege to create or book a trade");
+            }
 
-        // Create trade entity
-        Trade trade = mapDTOToEntity(tradeDTO);
-        trade.setVersion(1);
-        trade.setActive(true);
-        trade.setCreatedDate(LocalDateTime.now());
-        trade.setLastTouchTimestamp(LocalDateTime.now());
+            logger.info("Creating new trade with ID: {}", tradeDTO.getTradeId());
 
-        // Set default trade status to NEW if not provided
-        if (tradeDTO.getTradeStatus() == null) {
-            tradeDTO.setTradeStatus("NEW");
-        }
+            // Generate trade ID if not provided
+            if (tradeDTO.getTradeId() == null) {
+                // Generate trade ID (sequence based, starting from 10000)
+                Long generatedTradeId = booking.stage("trade_id", this::generateNextTradeId);
+                tradeDTO.setTradeId(generatedTradeId);
+                logger.info("Generated trade ID: {}", generatedTradeId);
+            }
 
+            booking.stage("validation", () -> {
+                // Validate general trade creation rules
+                validateTradeCreation(tradeDTO, booking);
 
-        // Populate reference data
-        populateReferenceDataByName(trade, tradeDTO);
+                // Validate trade-specific business rules
+                ValidationResult validation = validateTradeBusinessRules(tradeDTO);
+                if (!validation.isValid()) {
+                    validation.getRules().forEach(booking::rejected);
+                    throw new RuntimeException("Trade validation failed: " + String.join(", ", validation.getErrors()));
+                }
 
-        // Ensure we have essential reference data
-        validateReferenceData(trade);
+                validateSettlementInstructions(tradeDTO.getSettlementInstructions(), booking);
+            });
 
+            // Create trade entity
+            Trade trade = mapDTOToEntity(tradeDTO);
+            openVersion(trade, 1, versionTimestamp());
 
-        Trade savedTrade = tradeRepository.save(trade);
+            // Set default trade status to NEW if not provided
+            if (tradeDTO.getTradeStatus() == null) {
+                tradeDTO.setTradeStatus("NEW");
+            }
 
-        // Create trade legs and cashflows
-        createTradeLegsWithCashflows(tradeDTO, savedTrade);
+            booking.stage("reference_data", () -> {
+                // Populate reference data
+                populateReferenceDataByName(trade, tradeDTO);
+                booking.trade(trade);
+
+                // Ensure we have essential reference data
+                validateReferenceData(trade, booking);
+            });
+
+            Trade savedTrade = booking.stage("trade_insert", () -> tradeRepository.save(trade));
+
+            // Create trade legs and cashflows
+            List<TradeLeg> savedLegs = createTradeLegsWithCashflows(tradeDTO, savedTrade, booking);
+            tradeSummaryAggregateStore.recordTrade(savedTrade, savedLegs);
+            tradeSearchResultCache.tradesChanged();
+
+            // Save settlement instructions if provided
+            logger.info("Settlement instructions value: '{}'", tradeDTO.getSettlementInstructions());
+            if (tradeDTO.getSettlementInstructions() != null && !tradeDTO.getSettlementInstructions().trim().isEmpty()) {
+                logger.info("Saving settlement instructions for trade {}: {}", savedTrade.getTradeId(), tradeDTO.getSettlementInstructions());
+                booking.stage("settlement_instructions", () ->
+                        additionalInfoService.saveSettlementInstructions(savedTrade.getTradeId(), tradeDTO.getSettlementInstructions()));
+                logger.info("Settlement instructions saved successfully for trade {}", savedTrade.getTradeId());
+            } else {
+                logger.warn("Settlement instructions not saved - value is null or empty");
+            }
 
-        // Save settlement instructions if provided
-        logger.info("Settlement instructions value: '{}'", tradeDTO.getSettlementInstructions());
-        if (tradeDTO.getSettlementInstructions() != null && !tradeDTO.getSettlementInstructions().trim().isEmpty()) {
-            logger.info("Saving settlement instructions for trade {}: {}", savedTrade.getTradeId(), tradeDTO.getSettlementInstructions());
-            additionalInfoService.saveSettlementInstructions(savedTrade.getTradeId(), tradeDTO.getSettlementInstructions());
-            logger.info("Settlement instructions saved successfully for trade {}", savedTrade.getTradeId());
-        } else {
-            logger.warn("Settlement instructions not saved - value is null or empty");
+            booking.stage("publish", () -> tradeEventPublisher.publish(TradeEventDTO.Type.CREATED, savedTrade));
+            booking.succeeded();
+            logger.info("Successfully created trade with ID: {}", savedTrade.getTradeId());
+            return savedTrade;
         }
-
-        logger.info("Successfully created trade with ID: {}", savedTrade.getTradeId());
-        return savedTrade;
     }
 
     // NEW METHOD: For controller compatibility
@@ -349,127 +394,248 @@ public class TradeService {
     @Transactional
     @PreAuthorize("hasAnyRole('TRADER', 'TRADER_SALES', 'SALES', 'SUPERUSER', 'MIDDLE_OFFICE', 'MO')")
     public Trade amendTrade(Long tradeId, TradeDTO tradeDTO) {
-        //validate user privileges before amending trade
-        String loginId= getLoggedInUsername();
-        if(!validateUserPrivileges(loginId, "AMEND_TRADE", tradeDTO)){
-            throw new AccessDeniedException("User does not have privilege to amend trade");
-        }
+        try (TradeLifecycleMetrics.Booking booking = tradeLifecycleMetrics.begin("amend")) {
+            //validate user privileges before amending trade
+            String loginId= getLoggedInUsername();
+            if(!booking.stage("privileges", () -> validateUserPrivileges(loginId, "AMEND_TRADE", tradeDTO))){
+                throw new AccessDeniedException("User does not have privilege to amend trade");
+            }
 
-        logger.info("Amending trade with ID: {}", tradeId);
+            logger.info("Amending trade with ID: {}", tradeId);
 
-        Optional<Trade> existingTradeOpt = getTradeById(tradeId);
-        if (existingTradeOpt.isEmpty()) {
-            throw new RuntimeException("Trade not found: " + tradeId);
-        }
+            Optional<Trade> existingTradeOpt = booking.stage("load", () -> getTradeById(tradeId));
+            if (existingTradeOpt.isEmpty()) {
+                throw new RuntimeException("Trade not found: " + tradeId);
+            }
 
-        Trade existingTrade = existingTradeOpt.get();
+            Trade existingTrade = existingTradeOpt.get();
+            booking.trade(existingTrade);
 
-        tradeDTO.setTradeId(tradeId); // Ensure tradeId is set in DTO
-        existingTrade.setTradeId(tradeId); // Ensure tradeId is set in entity
+            tradeDTO.setTradeId(tradeId); // Ensure tradeId is set in DTO
+            existingTrade.setTradeId(tradeId); // Ensure tradeId is set in entity
 
-        // Validate settlement instructions
-        validateSettlementInstructions(tradeDTO.getSettlementInstructions());
+            // Validate settlement instructions
+            booking.stage("validation", () -> validateSettlementInstructions(tradeDTO.getSettlementInstructions(), booking));
 
-        // Deactivate existing trade
-        existingTrade.setActive(false);
-        existingTrade.setDeactivatedDate(LocalDateTime.now());
-        tradeRepository.save(existingTrade);
+            // Deactivate existing trade and create the new version, taking over at the same instant
+            LocalDateTime now = versionTimestamp();
+            booking.stage("version_close", () -> closeVersion(existingTrade, now));
 
-        // Create new version
-        Trade amendedTrade = mapDTOToEntity(tradeDTO);
-        amendedTrade.setTradeId(tradeId);
-        amendedTrade.setVersion(existingTrade.getVersion() + 1);
-        amendedTrade.setActive(true);
-        amendedTrade.setCreatedDate(LocalDateTime.now());
-        amendedTrade.setLastTouchTimestamp(LocalDateTime.now());
+            Trade amendedTrade = mapDTOToEntity(tradeDTO);
+            amendedTrade.setTradeId(tradeId);
+            openVersion(amendedTrade, existingTrade.getVersion() + 1, now);
 
-        // Populate reference data
-        populateReferenceDataByName(amendedTrade, tradeDTO);
+            booking.stage("reference_data", () -> {
+                // Populate reference data
+                populateReferenceDataByName(amendedTrade, tradeDTO);
+                booking.trade(amendedTrade);
 
-        // Set status to AMENDED
-        TradeStatus amendedStatus = tradeStatusRepository.findByTradeStatus("AMENDED")
-                .orElseThrow(() -> new RuntimeException("AMENDED status not found"));
-        amendedTrade.setTradeStatus(amendedStatus);
+                // Set status to AMENDED
+                TradeStatus amendedStatus = tradeStatusRepository.findByTradeStatus("AMENDED")
+                        .orElseThrow(() -> new RuntimeException("AMENDED status not found"));
+                amendedTrade.setTradeStatus(amendedStatus);
+            });
 
-        Trade savedTrade = tradeRepository.save(amendedTrade);
+            Trade savedTrade = booking.stage("trade_insert", () -> tradeRepository.save(amendedTrade));
 
-        // Create new trade legs and cashflows
-        createTradeLegsWithCashflows(tradeDTO, savedTrade);
+            // Create new trade legs and cashflows
+            List<TradeLeg> savedLegs = createTradeLegsWithCashflows(tradeDTO, savedTrade, booking);
 
-        // Save settlement instructions if provided
-        if (tradeDTO.getSettlementInstructions() != null && !tradeDTO.getSettlementInstructions().trim().isEmpty()) {
-            additionalInfoService.saveSettlementInstructions(savedTrade.getTradeId(), tradeDTO.getSettlementInstructions());
-            logger.debug("Saved settlement instructions for amended trade {}", savedTrade.getTradeId());
-        }
+            // The new version replaces the old one in the summary aggregates
+            tradeSummaryAggregateStore.recordTrade(savedTrade, savedLegs);
+            tradeSearchResultCache.tradesChanged();
 
-        logger.info("Successfully amended trade with ID: {}", savedTrade.getTradeId());
-        return savedTrade;
+            // Save settlement instructions if provided
+            if (tradeDTO.getSettlementInstructions() != null && !tradeDTO.getSettlementInstructions().trim().isEmpty()) {
+                booking.stage("settlement_instructions", () ->
+                        additionalInfoService.saveSettlementInstructions(savedTrade.getTradeId(), tradeDTO.getSettlementInstructions()));
+                logger.debug("Saved settlement instructions for amended trade {}", savedTrade.getTradeId());
+            }
+
+            booking.stage("publish", () -> tradeEventPublisher.publish(TradeEventDTO.Type.AMENDED, savedTrade));
+            booking.succeeded();
+            logger.info("Successfully amended trade with ID: {}", savedTrade.getTradeId());
+            return savedTrade;
+        }
     }
 
     @Transactional
     @PreAuthorize("hasAnyRole('TRADER', 'TRADER_SALES', 'SALES', 'SUPERUSER')")
     public Trade terminateTrade(Long tradeId) {
-        String loginId= getLoggedInUsername();
-        if(!validateUserPrivileges(loginId, "AMEND_TRADE", null)){
-            throw new AccessDeniedException("User does not have privilege to terminate trade");
-        }
-        logger.info("Terminating trade with ID: {}", tradeId);
-
-        Optional<Trade> tradeOpt = getTradeById(tradeId);
-        if (tradeOpt.isEmpty()) {
-            throw new RuntimeException("Trade not found: " + tradeId);
-        }
-
-        Trade trade = tradeOpt.get();
-        TradeStatus terminatedStatus = tradeStatusRepository.findByTradeStatus("TERMINATED")
-                .orElseThrow(() -> new RuntimeException("TERMINATED status not found"));
+        try (TradeLifecycleMetrics.Booking booking = tradeLifecycleMetrics.begin("terminate")) {
+            String loginId= getLoggedInUsername();
+            if(!booking.stage("privileges", () -> validateUserPrivileges(loginId, "AMEND_TRADE", null))){
+                throw new AccessDeniedException("User does not have privilege to terminate trade");
+            }
+            logger.info("Terminating trade with ID: {}", tradeId);
 
-        trade.setTradeStatus(terminatedStatus);
-        trade.setLastTouchTimestamp(LocalDateTime.now());
+            Optional<Trade> tradeOpt = booking.stage("load", () -> getTradeById(tradeId));
+            if (tradeOpt.isEmpty()) {
+                throw new RuntimeException("Trade not found: " + tradeId);
+            }
 
-        return tradeRepository.save(trade);
+            Trade trade = tradeOpt.get();
+            booking.trade(trade);
+            TradeStatus terminatedStatus = booking.stage("reference_data", () -> tradeStatusRepository.findByTradeStatus("TERMINATED")
+                    .orElseThrow(() -> new RuntimeException("TERMINATED status not found")));
+
+            Trade savedTrade = supersedeWithStatus(trade, terminatedStatus, booking);
+            tradeSummaryAggregateStore.recordTrade(savedTrade, savedTrade.getTradeLegs());
+            tradeSearchResultCache.tradesChanged();
+            booking.stage("publish", () -> tradeEventPublisher.publish(TradeEventDTO.Type.TERMINATED, savedTrade));
+            booking.succeeded();
+            return savedTrade;
+        }
     }
 
     @Transactional
     @PreAuthorize("hasAnyRole('TRADER', 'TRADER_SALES', 'SALES', 'SUPERUSER')")
     public Trade cancelTrade(Long tradeId) {
-        String loginId= getLoggedInUsername();
-        if(!validateUserPrivileges(loginId, "AMEND_TRADE", null)){
-            throw new AccessDeniedException("User does not have privilege to cancel trade");
-        }
-        logger.info("Cancelling trade with ID: {}", tradeId);
+        try (TradeLifecycleMetrics.Booking booking = tradeLifecycleMetrics.begin("cancel")) {
+            String loginId= getLoggedInUsername();
+            if(!booking.stage("privileges", () -> validateUserPrivileges(loginId, "AMEND_TRADE", null))){
+                throw new AccessDeniedException("User does not have privilege to cancel trade");
+            }
+            logger.info("Cancelling trade with ID: {}", tradeId);
 
-        Optional<Trade> tradeOpt = getTradeById(tradeId);
-        if (tradeOpt.isEmpty()) {
-            throw new RuntimeException("Trade not found: " + tradeId);
+            Optional<Trade> tradeOpt = booking.stage("load", () -> getTradeById(tradeId));
+            if (tradeOpt.isEmpty()) {
+                throw new RuntimeException("Trade not found: " + tradeId);
+            }
+
+            Trade trade = tradeOpt.get();
+            booking.trade(trade);
+            TradeStatus cancelledStatus = booking.stage("reference_data", () -> tradeStatusRepository.findByTradeStatus("CANCELLED")
+                    .orElseThrow(() -> new RuntimeException("CANCELLED status not found")));
+
+            Trade savedTrade = supersedeWithStatus(trade, cancelledStatus, booking);
+            tradeSummaryAggregateStore.recordTrade(savedTrade, savedTrade.getTradeLegs());
+            tradeSearchResultCache.tradesChanged();
+            booking.stage("publish", () -> tradeEventPublisher.publish(TradeEventDTO.Type.CANCELLED, savedTrade));
+            booking.succeeded();
+            return savedTrade;
         }
+    }
+
+    // Trade versions cover [createdDate, deactivatedDate), and as business dates [validityStartDate, validityEndDate).
+    // A replaced version is closed at the instant its successor opens, so exactly one version is in force at any time
+    // Truncated to the microsecond precision of the timestamp columns, so the boundary held in memory is the one stored
+    private static LocalDateTime versionTimestamp() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
 
-        Trade trade = tradeOpt.get();
-        TradeStatus cancelledStatus = tradeStatusRepository.findByTradeStatus("CANCELLED")
-                .orElseThrow(() -> new RuntimeException("CANCELLED status not found"));
+    private void closeVersion(Trade trade, LocalDateTime now) {
+        trade.setActive(false);
+        trade.setDeactivatedDate(now);
+        trade.setValidityEndDate(now.toLocalDate());
+        tradeRepository.save(trade);
+    }
 
-        trade.setTradeStatus(cancelledStatus);
-        trade.setLastTouchTimestamp(LocalDateTime.now());
+    private void openVersion(Trade trade, int version, LocalDateTime now) {
+        trade.setVersion(version);
+        trade.setActive(true);
+        trade.setCreatedDate(now);
+        trade.setLastTouchTimestamp(now);
+        trade.setValidityStartDate(now.toLocalDate());
+        trade.setValidityEndDate(null);
+        trade.setDeactivatedDate(null);
+    }
 
-        return tradeRepository.save(trade);
+    // Cancel and terminate only change the status, but still write a new version so that the trade as it stood
+    // before can be read back as of an earlier time. Legs and cashflows, including applied fixings, are copied
+    private Trade supersedeWithStatus(Trade current, TradeStatus status, TradeLifecycleMetrics.Booking booking) {
+        LocalDateTime now = versionTimestamp();
+        Trade next = copyTrade(current);
+        booking.stage("version_close", () -> closeVersion(current, now));
+        openVersion(next, current.getVersion() + 1, now);
+        next.setTradeStatus(status);
+        return booking.stage("trade_insert", () -> tradeRepository.save(next));
     }
 
-    private void validateTradeCreation(TradeDTO tradeDTO) {
+    private Trade copyTrade(Trade source) {
+        Trade copy = new Trade();
+        copy.setTradeId(source.getTradeId());
+        copy.setBook(source.getBook());
+        copy.setCounterparty(source.getCounterparty());
+        copy.setTraderUser(source.getTraderUser());
+        copy.setTradeInputterUser(source.getTradeInputterUser());
+        copy.setTradeType(source.getTradeType());
+        copy.setTradeSubType(source.getTradeSubType());
+        copy.setUtiCode(source.getUtiCode());
+        copy.setTradeDate(source.getTradeDate());
+        copy.setTradeStartDate(source.getTradeStartDate());
+        copy.setTradeMaturityDate(source.getTradeMaturityDate());
+        copy.setTradeExecutionDate(source.getTradeExecutionDate());
+        copy.setAdditionalFieldsId(source.getAdditionalFieldsId());
+
+        List<TradeLeg> legs = new ArrayList<>();
+        if (source.getTradeLegs() != null) {
+            for (TradeLeg sourceLeg : source.getTradeLegs()) {
+                legs.add(copyLeg(sourceLeg, copy));
+            }
+        }
+        copy.setTradeLegs(legs);
+        return copy;
+    }
+
+    private TradeLeg copyLeg(TradeLeg source, Trade trade) {
+        TradeLeg leg = new TradeLeg();
+        leg.setTrade(trade);
+        leg.setNotional(source.getNotional());
+        leg.setRate(source.getRate());
+        leg.setDayCount(source.getDayCount());
+        leg.setCurrency(source.getCurrency());
+        leg.setLegRateType(source.getLegRateType());
+        leg.setIndex(source.getIndex());
+        leg.setHolidayCalendar(source.getHolidayCalendar());
+        leg.setCalculationPeriodSchedule(source.getCalculationPeriodSchedule());
+        leg.setPaymentBusinessDayConvention(source.getPaymentBusinessDayConvention());
+        leg.setFixingBusinessDayConvention(source.getFixingBusinessDayConvention());
+        leg.setPayReceiveFlag(source.getPayReceiveFlag());
+        leg.setActive(true);
+        leg.setCreatedDate(LocalDateTime.now());
+
+        List<Cashflow> cashflows = new ArrayList<>();
+        if (source.getCashflows() != null) {
+            for (Cashflow sourceCashflow : source.getCashflows()) {
+                Cashflow cashflow = new Cashflow();
+                cashflow.setTradeLeg(leg);
+                cashflow.setPaymentValue(sourceCashflow.getPaymentValue());
+                cashflow.setValueDate(sourceCashflow.getValueDate());
+                cashflow.setRate(sourceCashflow.getRate());
+                cashflow.setAccrualStartDate(sourceCashflow.getAccrualStartDate());
+                cashflow.setAccrualEndDate(sourceCashflow.getAccrualEndDate());
+                cashflow.setFixingDate(sourceCashflow.getFixingDate());
+                cashflow.setPayRec(sourceCashflow.getPayRec());
+                cashflow.setPaymentType(sourceCashflow.getPaymentType());
+                cashflow.setPaymentBusinessDayConvention(sourceCashflow.getPaymentBusinessDayConvention());
+                cashflow.setActive(true);
+                cashflow.setCreatedDate(LocalDateTime.now());
+                cashflow.setValidityStartDate(sourceCashflow.getValidityStartDate());
+                cashflow.setValidityEndDate(sourceCashflow.getValidityEndDate());
+                cashflows.add(cashflow);
+            }
+        }
+        leg.setCashflows(cashflows);
+        return leg;
+    }
+
+    private void validateTradeCreation(TradeDTO tradeDTO, TradeLifecycleMetrics.Booking booking) {
         // Validate dates - Fixed to use consistent field names
         if (tradeDTO.getTradeStartDate() != null && tradeDTO.getTradeDate() != null) {
             if (tradeDTO.getTradeStartDate().isBefore(tradeDTO.getTradeDate())) {
-                throw new RuntimeException("Start date cannot be before trade date");
+                throw booking.rejected("start_before_trade_date", "Start date cannot be before trade date");
             }
         }
         if (tradeDTO.getTradeMaturityDate() != null && tradeDTO.getTradeStartDate() != null) {
             if (tradeDTO.getTradeMaturityDate().isBefore(tradeDTO.getTradeStartDate())) {
-                throw new RuntimeException("Maturity date cannot be before start date");
+                throw booking.rejected("maturity_before_start", "Maturity date cannot be before start date");
             }
         }
 
         // Validate trade has exactly 2 legs
         if (tradeDTO.getTradeLegs() == null || tradeDTO.getTradeLegs().size() != 2) {
-            throw new RuntimeException("Trade must have exactly 2 legs");
+            throw booking.rejected("leg_count", "Trade must have exactly 2 legs");
         }
     }
 
@@ -488,7 +654,8 @@ public class TradeService {
 
    
 
-    private void createTradeLegsWithCashflows(TradeDTO tradeDTO, Trade savedTrade) {
+    private List<TradeLeg> createTradeLegsWithCashflows(TradeDTO tradeDTO, Trade savedTrade, TradeLifecycleMetrics.Booking booking) {
+        List<TradeLeg> savedLegs = new ArrayList<>();
         for (int i = 0; i < tradeDTO.getTradeLegs().size(); i++) {
             var legDTO = tradeDTO.getTradeLegs().get(i);
 
@@ -496,19 +663,24 @@ public class TradeService {
             tradeLeg.setTrade(savedTrade);
             tradeLeg.setNotional(legDTO.getNotional());
             tradeLeg.setRate(legDTO.getRate());
+            tradeLeg.setDayCount(legDTO.getDayCount());
             tradeLeg.setActive(true);
             tradeLeg.setCreatedDate(LocalDateTime.now());
 
-            // Populate reference data for leg
-            populateLegReferenceData(tradeLeg, legDTO);
-
-            TradeLeg savedLeg = tradeLegRepository.save(tradeLeg);
+            TradeLeg savedLeg = booking.stage("legs", () -> {
+                // Populate reference data for leg
+                populateLegReferenceData(tradeLeg, legDTO);
+                return tradeLegRepository.save(tradeLeg);
+            });
+            savedLegs.add(savedLeg);
 
             // Generate cashflows for this leg
             if (tradeDTO.getTradeStartDate() != null && tradeDTO.getTradeMaturityDate() != null) {
-                generateCashflows(savedLeg, tradeDTO.getTradeStartDate(), tradeDTO.getTradeMaturityDate());
+                booking.cashflowsGenerated(booking.stage("cashflows", () ->
+                        generateCashflows(savedLeg, tradeDTO.getTradeStartDate(), tradeDTO.getTradeMaturityDate())));
             }
         }
+        return savedLegs;
     }
 
     private void populateLegReferenceData(TradeLeg leg, TradeLegDTO legDTO) {
@@ -588,28 +760,27 @@ public class TradeService {
     /**
      * FIXED: Generate cashflows based on schedule and maturity date
      */
-    private void generateCashflows(TradeLeg leg, LocalDate startDate, LocalDate maturityDate) {
+    private int generateCashflows(TradeLeg leg, LocalDate startDate, LocalDate maturityDate) {
         logger.info("Generating cashflows for leg {} from {} to {}", leg.getLegId(), startDate, maturityDate);
 
-        // Use default schedule if not set
-        String schedule = "3M"; // Default to quarterly
-        if (leg.getCalculationPeriodSchedule() != null) {
-            schedule = leg.getCalculationPeriodSchedule().getSchedule();
-        }
-
-        int monthsInterval = parseSchedule(schedule);
-        List<LocalDate> paymentDates = calculatePaymentDates(startDate, maturityDate, monthsInterval);
+        // Same engine as the POST /api/cashflows/generate preview, so booked cashflows match what was previewed
+        LegTerms terms = legTerms(leg);
+        boolean floating = CashflowEngine.isFloating(terms.legType());
+        List<GeneratedCashflow> generated = cashflowEngine.generate(terms, startDate, maturityDate);
 
-        for (LocalDate paymentDate : paymentDates) {
+        for (GeneratedCashflow generatedCashflow : generated) {
             Cashflow cashflow = new Cashflow();
             cashflow.setTradeLeg(leg); // Fixed field name
-            cashflow.setValueDate(paymentDate);
-            cashflow.setRate(leg.getRate());
-
-            // Calculate value based on leg type
-            BigDecimal cashflowValue = calculateCashflowValue(leg, monthsInterval);
-            cashflow.setPaymentValue(cashflowValue);
-
+            cashflow.setValueDate(generatedCashflow.valueDate());
+            cashflow.setAccrualStartDate(generatedCashflow.accrualStart());
+            cashflow.setAccrualEndDate(generatedCashflow.accrualEnd());
+            if (floating) {
+                // Rate and amount are set by FloatingRateResetJob once the index has fixed
+                cashflow.setFixingDate(generatedCashflow.fixingDate());
+            } else {
+                cashflow.setRate(leg.getRate());
+            }
+            cashflow.setPaymentValue(generatedCashflow.paymentValue());
             cashflow.setPayRec(leg.getPayReceiveFlag());
             cashflow.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
             cashflow.setCreatedDate(LocalDateTime.now());
@@ -618,96 +789,42 @@ public class TradeService {
             cashflowRepository.save(cashflow);
         }
 
-        logger.info("Generated {} cashflows for leg {}", paymentDates.size(), leg.getLegId());
+        logger.info("Generated {} cashflows for leg {}", generated.size(), leg.getLegId());
+        return generated.size();
     }
 
-    private int parseSchedule(String schedule) {
-        if (schedule == null || schedule.trim().isEmpty()) {
-            return 3; // Default to quarterly
-        }
-
-        schedule = schedule.trim();
-
-        // Handle common schedule names
-        switch (schedule.toLowerCase()) {
-            case "monthly":
-                return 1;
-            case "quarterly":
-                return 3;
-            case "semi-annually":
-            case "semiannually":
-            case "half-yearly":
-                return 6;
-            case "annually":
-            case "yearly":
-                return 12;
-            default:
-                // Parse "1M", "3M", "12M" format
-                if (schedule.endsWith("M") || schedule.endsWith("m")) {
-                    try {
-                        return Integer.parseInt(schedule.substring(0, schedule.length() - 1));
-                    } catch (NumberFormatException e) {
-                        throw new RuntimeException("Invalid schedule format: " + schedule);
-                    }
-                }
-                throw new RuntimeException("Invalid schedule format: " + schedule + ". Supported formats: Monthly, Quarterly, Semi-annually, Annually, or 1M, 3M, 6M, 12M");
-        }
+    private static LegTerms legTerms(TradeLeg leg) {
+        return new LegTerms(
+                leg.getLegRateType() != null ? leg.getLegRateType().getType() : null,
+                leg.getNotional(),
+                leg.getRate(),
+                leg.getCalculationPeriodSchedule() != null ? leg.getCalculationPeriodSchedule().getSchedule() : null,
+                leg.getHolidayCalendar() != null ? leg.getHolidayCalendar().getHolidayCalendar() : null,
+                leg.getPaymentBusinessDayConvention() != null ? leg.getPaymentBusinessDayConvention().getBdc() : null,
+                leg.getDayCount());
     }
 
-    private List<LocalDate> calculatePaymentDates(LocalDate startDate, LocalDate maturityDate, int monthsInterval) {
-        List<LocalDate> dates = new ArrayList<>();
-        LocalDate currentDate = startDate.plusMonths(monthsInterval);
-
-        while (!currentDate.isAfter(maturityDate)) {
-            dates.add(currentDate);
-            currentDate = currentDate.plusMonths(monthsInterval);
-        }
-
-        return dates;
-    }
-
-    // FIXED: Calculate cashflow value based on leg type
+    // Cashflow of one regular period of monthsInterval months (30/360, rate stored as a percentage)
     // NOTE: I changed the visibility to package-private from private for testing purposes
     // This still maintains encapsulation within the service package and not exposed publicly, so external clients cannot access it.
     BigDecimal calculateCashflowValue(TradeLeg leg, int monthsInterval) {
         if (leg.getLegRateType() == null || leg.getNotional() == null) {
             return BigDecimal.ZERO;
         }
-
-        String legType = leg.getLegRateType().getType();
-
-        if ("Fixed".equals(legType)) {
-            BigDecimal notional = leg.getNotional();
-
-            // Bug fix 1: convert the percentage rate to decimal
-            BigDecimal ratePercentage = BigDecimal.valueOf(leg.getRate());
-            BigDecimal rate = ratePercentage.divide(BigDecimal.valueOf(100), 6, RoundingMode.HALF_UP); //scale of 6 for precision. Scale means number of digits after decimal point.
-
-
-            BigDecimal months = BigDecimal.valueOf(monthsInterval); 
-
-
-            // Bug fix 2: Use proper decimal rate in calculation
-            return notional.multiply(rate).multiply(months).divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
-
-        } else if ("Floating".equals(legType)) {
-            // For floating legs, there is no rate fixed in advance, so we return zero here. In real scenarios, this would be based on index rates at fixing dates.
-            return BigDecimal.ZERO;
-        }
-
-        return BigDecimal.ZERO;
+        return CashflowEngine.accrual(leg.getLegRateType().getType(), leg.getNotional(), leg.getRate(),
+                30L * monthsInterval, DayCount.THIRTY_360.basis());
     }
 
-    private void validateReferenceData(Trade trade) {
+    private void validateReferenceData(Trade trade, TradeLifecycleMetrics.Booking booking) {
         // Validate essential reference data is populated
         if (trade.getBook() == null) {
-            throw new RuntimeException("Book not found or not set");
+            throw booking.rejected("book_not_found", "Book not found or not set");
         }
         if (trade.getCounterparty() == null) {
-            throw new RuntimeException("Counterparty not found or not set");
+            throw booking.rejected("counterparty_not_found", "Counterparty not found or not set");
         }
         if (trade.getTradeStatus() == null) {
-            throw new RuntimeException("Trade status not found or not set");
+            throw booking.rejected("trade_status_not_found", "Trade status not found or not set");
         }
 
         logger.debug("Reference data validation passed for trade");
@@ -715,8 +832,8 @@ public class TradeService {
 
     // NEW METHOD: Generate the next trade ID (sequential)
     private Long generateNextTradeId() {
-        // For simplicity, using a static variable. In real scenario, this should be atomic and thread-safe.
-        return 10000L + tradeRepository.count();
+        // Block-reserved from the trade_id_seq database sequence, unique across threads and application instances
+        return tradeIdAllocator.nextTradeId();
     }
 
 
@@ -752,14 +869,10 @@ public class TradeService {
                                     int page, // zero-based page index. This specifies which page of results to retrieve.
                                     int size, // page size i.e number of records per page
                                     String sortBy, // field to sort by
-                                    String direction) { // sort direction (ASC or DESC)
+                                    String direction, // sort direction (ASC or DESC)
+                                    LocalDateTime asOf) { // only the versions in force at this time; every version when null
 
-        Specification<Trade> spec = Specification
-                .where(TradeSpecifications.hasCounterparty(counterparty))
-                .and(TradeSpecifications.hasBook(book))
-                .and(TradeSpecifications.hasTrader(trader))
-                .and(TradeSpecifications.hasStatus(status))
-                .and(TradeSpecifications.dateBetween(from, to));
+        Specification<Trade> spec = filterSpecification(counterparty, book, trader, status, from, to, asOf);
 
         Sort sort = Sort.by(Sort.Direction.fromString(direction), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -767,17 +880,61 @@ public class TradeService {
         return tradeRepository.findAll(spec, pageable);
     }
 
+    // Keyset (cursor) variant of searchTrades: continues after the cursor of the previous page instead of
+    // skipping page * size rows, and only counts the matches when includeTotal is set
+    public KeysetPage<Trade> searchTradesKeyset(String counterparty,
+                                                String book,
+                                                Long trader,
+                                                String status,
+                                                LocalDate from,
+                                                LocalDate to,
+                                                int size,
+                                                String sortBy,
+                                                String direction,
+                                                String cursor,
+                                                boolean includeTotal,
+                                                LocalDateTime asOf) {
+        Specification<Trade> spec = filterSpecification(counterparty, book, trader, status, from, to, asOf);
+        return tradeKeysetPager.findPage(spec, sortBy, Sort.Direction.fromString(direction), size, cursor, includeTotal);
+    }
+
+    // Active trades touched since the watermark, see TradeChangeFeed
+    public ChangesPage<Trade> getTradeChanges(String since, int limit) {
+        return tradeChangeFeed.changesSince(since, limit);
+    }
+
+    private Specification<Trade> filterSpecification(String counterparty, String book, Long trader, String status,
+                                                     LocalDate from, LocalDate to, LocalDateTime asOf) {
+        return Specification
+                .where(TradeSpecifications.hasCounterparty(counterparty))
+                .and(TradeSpecifications.hasBook(book))
+                .and(TradeSpecifications.hasTrader(trader))
+                .and(TradeSpecifications.hasStatus(status))
+                .and(TradeSpecifications.dateBetween(from, to))
+                .and(TradeSpecifications.inForceAt(asOf));
+    }
+
 
     // FOLA ADDED: NEW METHOD FOR RSQL SEARCH
     // Uses RsqlSpecificationBuilder and RsqlVisitor to parse RSQL queries into JPA Specifications
     // Supports complex queries with AND (;), OR (,), and various comparison operators
     // Example: "counterparty.name==MegaFund;tradeDate=ge=2025-01-01"
+    // Parsed queries are cached (RsqlSpecificationCache); with rsql.cache.results-enabled the matching ids are too
     public Page<Trade> searchByRsql(String query, Pageable pageable) {
-        RsqlSpecificationBuilder<Trade> builder = new RsqlSpecificationBuilder<>();
-        Specification<Trade> spec = builder.parse(query);
+        Specification<Trade> spec = rsqlSpecificationCache.parse(query);
+        if (tradeSearchResultCache.isEnabled()) {
+            return tradeSearchResultCache.findPage(query, spec, pageable);
+        }
         return tradeRepository.findAll(spec, pageable);
     }
 
+    // Keyset (cursor) variant of searchByRsql, see searchTradesKeyset
+    public KeysetPage<Trade> searchByRsqlKeyset(String query, int size, String sortBy, Sort.Direction direction,
+                                                String cursor, boolean includeTotal) {
+        Specification<Trade> spec = rsqlSpecificationCache.parse(query);
+        return tradeKeysetPager.findPage(spec, sortBy, direction, size, cursor, includeTotal);
+    }
+
 
     // FOLA ADDED: Validation method for dates validation, trade legs validation, and entity existence checks
     public ValidationResult validateTradeBusinessRules(TradeDTO tradeDTO) {
@@ -785,30 +942,30 @@ public class TradeService {
 
         // ✅ Date Validation
         if (tradeDTO.getTradeDate() == null) { // checking by trade date because if there is no trade date (agreement date), there cannot be an execution date, hence we will not be able to perform date validations
-            result.addError("Trade date is required");
+            result.addError("trade_date_required", "Trade date is required");
         } else {
             if (tradeDTO.getTradeStartDate() != null && tradeDTO.getTradeStartDate().isBefore(tradeDTO.getTradeDate())) {
-                result.addError("Start date cannot be before trade date");
+                result.addError("start_before_trade_date", "Start date cannot be before trade date");
             }
             if (tradeDTO.getTradeMaturityDate() != null && ((tradeDTO.getTradeMaturityDate().isBefore(tradeDTO.getTradeStartDate())) || (tradeDTO.getTradeMaturityDate().isBefore(tradeDTO.getTradeDate())))) {
-                result.addError("Maturity date cannot be before start date or trade date");
+                result.addError("maturity_before_start", "Maturity date cannot be before start date or trade date");
             }
             if (tradeDTO.getTradeDate().isBefore(LocalDate.now().minusDays(30))) {
-                result.addError("Trade date cannot be more than 30 days in the past"); // A trade date too far in the past is considered stale.
+                result.addError("trade_date_stale", "Trade date cannot be more than 30 days in the past"); // A trade date too far in the past is considered stale.
             }
         }
 
         // ✅ Leg Consistency
         if (tradeDTO.getTradeLegs() == null || tradeDTO.getTradeLegs().size() != 2) {
-            result.addError("Trade must have exactly 2 legs");
+            result.addError("leg_count", "Trade must have exactly 2 legs");
         } else {
             ValidationResult legResult = validateTradeLegConsistency(tradeDTO.getTradeLegs());
-            if (!legResult.isValid()) result.getErrors().addAll(legResult.getErrors());
+            if (!legResult.isValid()) result.addAll(legResult);
         }
 
         // ✅ Entity Existence Checks
-        if (tradeDTO.getBookName() == null) result.addError("Book is required");
-        if (tradeDTO.getCounterpartyName() == null) result.addError("Counterparty is required");
+        if (tradeDTO.getBookName() == null) result.addError("book_required", "Book is required");
+        if (tradeDTO.getCounterpartyName() == null) result.addError("counterparty_required", "Counterparty is required");
 
         return result;
      }
@@ -819,7 +976,7 @@ public class TradeService {
         ValidationResult result = new ValidationResult();
 
         if (legs.size() != 2) {
-            result.addError("Trade must have exactly 2 legs");
+            result.addError("leg_count", "Trade must have exactly 2 legs");
             return result;
         }
 
@@ -842,20 +999,20 @@ public class TradeService {
         // If one leg is "Pay" the other must be "Receive"
         if (leg1.getPayReceiveFlag() != null && leg2.getPayReceiveFlag() != null &&
             leg1.getPayReceiveFlag().equalsIgnoreCase(leg2.getPayReceiveFlag())) {
-            result.addError("Legs must have opposite pay/receive flags");
+            result.addError("pay_receive_not_opposite", "Legs must have opposite pay/receive flags");
         }
 
         // ✅ Floating leg must have an index. An index is required for floating legs to determine the reference rate.
         if ("Floating".equalsIgnoreCase(leg1.getLegType()) && leg1.getIndexName() == null)
-            result.addError("Floating leg must have an index specified");
+            result.addError("floating_leg_index", "Floating leg must have an index specified");
         if ("Floating".equalsIgnoreCase(leg2.getLegType()) && leg2.getIndexName() == null)
-            result.addError("Floating leg must have an index specified");
+            result.addError("floating_leg_index", "Floating leg must have an index specified");
 
         // ✅ Fixed leg must have a rate. A rate is required for fixed legs to determine the payment amount.
         if ("Fixed".equalsIgnoreCase(leg1.getLegType()) && leg1.getRate() == 0.0)
-            result.addError("Fixed leg must have a valid rate");
+            result.addError("fixed_leg_rate", "Fixed leg must have a valid rate");
         if ("Fixed".equalsIgnoreCase(leg2.getLegType()) && leg2.getRate() == 0.0)
-            result.addError("Fixed leg must have a valid rate");
+            result.addError("fixed_leg_rate", "Fixed leg must have a valid rate");
 
         return result;
     }
@@ -866,8 +1023,8 @@ public class TradeService {
     // Roles: TRADER, SALES, MIDDLE_OFFICE, SUPPORT, ADMIN, SUPERUSER
     // Operations: CREATE, AMEND, TERMINATE, CANCEL, DELETE, VIEW
     // This method checks if the logged-in user with a given role can perform a specific operation on a trade e.g a Support user should not be able to CREATE a trade
-    // So instead of hardcoding the role, we fetch the user from the application user database table using their loginId and get their role dynamically from the user profile table
-    // Then we check if the user's role allows them to perform the requested operation based on predefined rules on the user_privilege table
+    // So instead of hardcoding the role, the user's role comes from the user profile table and their privileges from the user_privilege table
+    // Both are precomputed per loginId by EntitlementCache, which is rebuilt whenever users, profiles or privileges change
     // If the user does not have the required privileges, we log the unauthorized attempt and return false
     // If the user has the required privileges, we return true allowing the operation to proceed
 
@@ -880,54 +1037,8 @@ public class TradeService {
             return false;
         }
 
-        // Normalize operation name
-        operation = operation.toUpperCase();
-
-        // Retrieve user record
-        var user = applicationUserRepository.findByLoginId(userId).orElse(null);
-        if (user == null || !user.isActive()) {
-            logger.warn("User not found or inactive: {}", userId);
-            return false;
-        }
-
-        // Retrieve user profile (role)
-        var userProfile = userProfileRepository.findById(user.getUserProfile().getId()).orElse(null);
-        if (userProfile == null) {
-            logger.warn("User {} does not have a profile assigned", userId);
-            return false;
-        }
-
-        String userType = userProfile.getUserType().toUpperCase();
-
-        // SUPERUSER: always allowed to perform any operation
-        if (userType.equals("SUPERUSER")) {
-            logger.info("SUPERUSER detected - full access granted for {}", userId);
-            return true;
-        }
-
-        // Get all privileges assigned to this user from user_privilege
-        List<UserPrivilege> userPrivileges = userPrivilegeRepository.findByUserId(user.getId());
-        if (userPrivileges == null || userPrivileges.isEmpty()) {
-            logger.warn("User {} has no privileges assigned", userId);
-            return false;
-        }
-
-        // Extract privilege IDs
-        List<Long> privilegeIds = userPrivileges.stream()
-                .map(UserPrivilege::getPrivilegeId)
-                .toList();
-
-        // Retrieve privilege names from the privilege table
-        List<String> privilegeNames = privilegeRepository.findAllById(privilegeIds).stream()
-                .map(Privilege::getName)
-                .map(String::toUpperCase)
-                .toList();
-
-        // Check if operation exists in user's privileges
-        boolean hasPrivilege = privilegeNames.contains(operation);
-
-        logger.info("User {} of type {} requesting operation {} -> {}", userId, userType, operation, hasPrivilege);
-        return hasPrivilege;
+        // Resolved from the precomputed privilege matrix instead of querying user, profile and privileges per call
+        return entitlementCache.hasPrivilege(userId, operation);
     }
 
 
@@ -957,386 +1068,146 @@ public class TradeService {
     }
 
     // FOLA ADDED: New method to get overall trade summary analytics
+    // The summary is served from pre-aggregated buckets kept up to date by the trade lifecycle methods
+    // (see TradeSummaryAggregateStore), so the cost no longer grows with the size of the trade table.
+    // Net exposure = sum of all trade values (PAY negative, RECEIVE positive), gross exposure = sum of absolute values.
     public TradeSummaryDTO getTradeSummary() {
-        List<Trade> trades = tradeRepository.findAll();
-
-        // Total number of trades
-        long totalTrades = trades.size();
-
-        // Calculate trades by status
-        var tradesByStatus = trades.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getTradeStatus() != null ? t.getTradeStatus().getTradeStatus() : "UNKNOWN",
-                        Collectors.counting()
-                ));
-
-        
-       
-        // Calculate trades by currency (count each trade for every currency it uses)
-        //Trades don't have a direct currency field, so we derive it from trade legs
-        var tradesByCurrency = trades.stream()
-                .filter(t -> !t.getTradeLegs().isEmpty())
-                .flatMap(t -> t.getTradeLegs().stream()
-                        .map(leg -> leg.getCurrency() != null ? 
-                                leg.getCurrency().getCurrency() : "UNKNOWN")
-                        .distinct() // Remove duplicates within the same trade
-                        .map(currency -> new AbstractMap.SimpleEntry<>(currency, 1L)))
-                .collect(Collectors.groupingBy(
-                        Map.Entry::getKey,
-                        Collectors.summingLong(Map.Entry::getValue)
-                ));
-
-
-        // Calculate notional by currency
-        var notionalByCurrency = trades.stream()
-                .flatMap(t -> t.getTradeLegs().stream())
-                .collect(Collectors.groupingBy(
-                        leg -> leg.getCurrency() != null ? leg.getCurrency().getCurrency() : "UNKNOWN",
-                        Collectors.reducing(BigDecimal.ZERO, TradeLeg::getNotional, BigDecimal::add)
-                ));
-
-        // Calculate notional by trade type
-        //This will filter out trades without a trade type to avoid null pointer exceptions
-        // group by trade type and sum notionals across all legs of trades for that type
-       var notionalByType = trades.stream()
-        .filter(t -> t.getTradeType() != null)
-        .collect(Collectors.toMap(
-                t -> t.getTradeType().getTradeType(),
-                t -> t.getTradeLegs().stream()
-                      .map(TradeLeg::getNotional)
-                      .reduce(BigDecimal.ZERO, BigDecimal::add),
-                BigDecimal::add // Merge function for duplicate keys
-        ));
-
-
-        // Calculate notional by counterparty
-        //This will filter out trades without a counterparty to avoid null pointer exceptions
-        // group by counterparty name and sum notionals across all legs of trades for that counterparty
-       var notionalByCounterparty = trades.stream()
-        .filter(t -> t.getCounterparty() != null)
-        .collect(Collectors.toMap(
-                t -> t.getCounterparty().getName(),
-                t -> t.getTradeLegs().stream()
-                      .map(TradeLeg::getNotional)
-                      .reduce(BigDecimal.ZERO, BigDecimal::add),
-                BigDecimal::add // Merge function for duplicate keys
-        ));
-
-
-        var tradesByCounterparty = trades.stream()
-                .filter(t -> t.getCounterparty() != null)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCounterparty().getName(),
-                        Collectors.counting()
-                ));
-
-        var tradesByType = trades.stream()
-                .filter(t -> t.getTradeType() != null)
-                .collect(Collectors.groupingBy(
-                        t -> t.getTradeType().getTradeType(),
-                        Collectors.counting()
-                ));
-
-        
-        var tradesBySubType = trades.stream()
-                .filter(t -> t.getTradeSubType() != null)
-                .collect(Collectors.groupingBy(
-                        t -> t.getTradeSubType().getTradeSubType(),
-                        Collectors.counting()
-                ));
-
-
-
-        // Risk exposure calculation (simplified as total notional across all trades)
-        // Calculating risks based on net and gross exposure by counterparty, currency, and book
-        // Net exposure = sum of all trade values (positive and negative)
-        // Gross exposure = sum of absolute values (no netting off)
-        //PAY is negative (just like an expense; money going out), RECEIVE is positive (like income, money coming in)
-        // Risk calculations helps with limit monitoring and credit risk assessment
-        var netExposureByCounterparty = calculateNetExposureByCounterparty(trades);
-        var grossExposureByCounterparty = calculateGrossExposureByCounterparty(trades);
-        var netExposureByCurrency = calculateNetExposureByCurrency(trades);
-        var grossExposureByCurrency = calculateGrossExposureByCurrency(trades);
-        var netExposureByBook = calculateNetExposureByBook(trades);
-        var grossExposureByBook = calculateGrossExposureByBook(trades);
-        
-        BigDecimal totalNetExposure = netExposureByCounterparty.values().stream()
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalGrossExposure = grossExposureByCounterparty.values().stream()
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        //return new TradeSummaryDTO(totalTrades, tradesByStatus, tradesByCurrency, notionalByCurrency, notionalByType, notionalByCounterparty, tradesByCounterparty, tradesByType, tradesBySubType, risk);
-        return TradeSummaryDTO.builder()
-                .totalTrades(totalTrades)
-                .tradesByStatus(tradesByStatus)
-                .tradesByCurrency(tradesByCurrency)
-                .notionalByCurrency(notionalByCurrency)
-                .notionalByType(notionalByType)
-                .notionalByCounterparty(notionalByCounterparty)
-                .tradesByCounterparty(tradesByCounterparty)
-                .tradesByType(tradesByType)
-                .tradesBySubType(tradesBySubType)
-                .netExposureByCounterparty(netExposureByCounterparty)
-                .grossExposureByCounterparty(grossExposureByCounterparty)
-                .netExposureByCurrency(netExposureByCurrency)
-                .grossExposureByCurrency(grossExposureByCurrency)
-                .netExposureByBook(netExposureByBook)
-                .grossExposureByBook(grossExposureByBook)
-                .totalNetExposure(totalNetExposure)
-                .totalGrossExposure(totalGrossExposure)
-                .build();
+        return tradeSummaryAggregateStore.snapshot();
     }
 
-    // Net exposure = sum of all trade values (positive and negative)
-    private Map<String, BigDecimal> calculateNetExposureByCounterparty(List<Trade> trades) {
-        return trades.stream()
-                .filter(t -> t.getCounterparty() != null)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCounterparty().getName(),
-                        Collectors.reducing(BigDecimal.ZERO,
-                                this::calculateTradeNetValue,
-                                BigDecimal::add)
-                ));
-    }
-
-    // Gross exposure = sum of absolute values
-    private Map<String, BigDecimal> calculateGrossExposureByCounterparty(List<Trade> trades) {
-        return trades.stream()
-                .filter(t -> t.getCounterparty() != null)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCounterparty().getName(),
-                        Collectors.reducing(BigDecimal.ZERO,
-                                t -> calculateTradeNetValue(t).abs(),
-                                BigDecimal::add)
-                ));
-    }
-
-    private Map<String, BigDecimal> calculateNetExposureByCurrency(List<Trade> trades) {
-        return trades.stream()
-                .flatMap(t -> t.getTradeLegs().stream())
-                .filter(leg -> leg.getCurrency() != null)
-                .collect(Collectors.groupingBy(
-                        leg -> leg.getCurrency().getCurrency(),
-                        Collectors.reducing(BigDecimal.ZERO,
-                                this::calculateLegValue,
-                                BigDecimal::add)
-                ));
-    }
-
-    private Map<String, BigDecimal> calculateGrossExposureByCurrency(List<Trade> trades) {
-        return trades.stream()
-                .flatMap(t -> t.getTradeLegs().stream())
-                .filter(leg -> leg.getCurrency() != null)
-                .collect(Collectors.groupingBy(
-                        leg -> leg.getCurrency().getCurrency(),
-                        Collectors.reducing(BigDecimal.ZERO,
-                                leg -> calculateLegValue(leg).abs(),
-                                BigDecimal::add)
-                ));
-    }
-
-    private Map<String, BigDecimal> calculateNetExposureByBook(List<Trade> trades) {
-        return trades.stream()
-                .filter(t -> t.getBook() != null)
-                .collect(Collectors.groupingBy(
-                        t -> t.getBook().getBookName(),
-                        Collectors.reducing(BigDecimal.ZERO,
-                                this::calculateTradeNetValue,
-                                BigDecimal::add)
-                ));
-    }
-
-    private Map<String, BigDecimal> calculateGrossExposureByBook(List<Trade> trades) {
-        return trades.stream()
-                .filter(t -> t.getBook() != null)
-                .collect(Collectors.groupingBy(
-                        t -> t.getBook().getBookName(),
-                        Collectors.reducing(BigDecimal.ZERO,
-                                t -> calculateTradeNetValue(t).abs(),
-                                BigDecimal::add)
-                ));
-    }
-
-    // Helper method to calculate trade's net value (sum of all legs with proper signs)
-    private BigDecimal calculateTradeNetValue(Trade trade) {
-        return trade.getTradeLegs().stream()
-                .map(this::calculateLegValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-
-    // Helper method to calculate individual leg value (considering buy/sell direction)
-    private BigDecimal calculateLegValue(TradeLeg leg) {
-        BigDecimal notional = leg.getNotional() != null ? leg.getNotional() : BigDecimal.ZERO;
-        
-        // For swaps: pay leg is negative, receive leg is positive
-        if (leg.getPayReceiveFlag() != null) {
-            String direction = leg.getPayReceiveFlag().getPayRec();
-            if ("PAY".equalsIgnoreCase(direction)) {
-                return notional.negate();
-            } else if ("RECEIVE".equalsIgnoreCase(direction)) {
-                return notional;
+    // Ad-hoc aggregation of the active trades, served from the same in-memory columns as the summary.
+    // groupBy and the filter keys are TradeDimension names; throws IllegalArgumentException for unknown ones
+    public List<TradeGroupDTO> aggregateTrades(List<String> groupBy, Map<String, String> filters,
+                                               LocalDate fromDate, LocalDate toDate) {
+        if (groupBy == null || groupBy.isEmpty()) {
+            throw new IllegalArgumentException("At least one dimension to group by is required");
+        }
+        List<TradeDimension> dimensions = groupBy.stream().map(TradeDimension::fromName).distinct().toList();
+        Map<TradeDimension, String> dimensionFilters = new HashMap<>();
+        filters.forEach((name, value) -> {
+            if (value != null && !value.isBlank()) {
+                dimensionFilters.put(TradeDimension.fromName(name), value);
             }
+        });
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("fromDate must not be after toDate");
         }
-        
-        return notional; // Default to positive if no direction specified
+
+        return tradeSummaryAggregateStore.groupBy(dimensions, dimensionFilters, fromDate, toDate).stream()
+                .map(group -> {
+                    Map<String, String> key = new LinkedHashMap<>();
+                    for (int i = 0; i < dimensions.size(); i++) {
+                        Object value = group.key().get(i);
+                        key.put(dimensions.get(i).name(), value != null ? value.toString() : null);
+                    }
+                    return TradeGroupDTO.builder()
+                            .key(key)
+                            .tradeCount(group.tradeCount())
+                            .notional(group.notional())
+                            .netExposure(group.netExposure())
+                            .grossExposure(group.grossExposure())
+                            .build();
+                })
+                .toList();
     }
 
 
 
     // FOLA ADDED: New method to get daily trade summary/ analytics
+    // Only today's and yesterday's active trades are read, already grouped by the in-memory trade columns
+    // (see TradeSummaryAggregateStore.dailyAggregates), and every metric is filled in a single pass.
     public DailySummaryDTO getDailySummary() {
         LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
 
-        List<Trade> todaysTrades = tradeRepository.findAll().stream()
-                .filter(t -> t.getTradeDate() != null && t.getTradeDate().isEqual(today))
-                .collect(Collectors.toList());
-
-        long todaysTradeCount = todaysTrades.size();
-
-        BigDecimal todaysTotalNotional = todaysTrades.stream()
-                .flatMap(t -> t.getTradeLegs().stream())
-                .map(TradeLeg::getNotional)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<DailyTradeAggregate> aggregates = tradeSummaryAggregateStore.dailyAggregates(yesterday, today);
 
-        BigDecimal todaysAverageNotional = todaysTradeCount > 0
-                ? todaysTotalNotional.divide(BigDecimal.valueOf(todaysTradeCount), 2, java.math.RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
-
-        long todaysNewTrades = todaysTrades.stream()
-                .filter(t -> t.getTradeStatus() != null && "NEW".equalsIgnoreCase(t.getTradeStatus().getTradeStatus()))
-                .count();
+        String username = getLoggedInUsername();
+        if (username == null) {
+            logger.warn("No authenticated user found for user-specific metrics");
+        }
 
-        long todaysAmendedTrades = todaysTrades.stream()
-                .filter(t -> t.getTradeStatus() != null && "AMENDED".equalsIgnoreCase(t.getTradeStatus().getTradeStatus()))
-                .count();
+        long todaysTradeCount = 0;
+        BigDecimal todaysTotalNotional = BigDecimal.ZERO;
+        long todaysNewTrades = 0;
+        long todaysAmendedTrades = 0;
+        long todaysTerminatedTrades = 0;
+        long yesterdayTradeCount = 0;
+        BigDecimal yesterdayTotalNotional = BigDecimal.ZERO;
+
+        Map<String, Long> todaysTradesByLoggedInTrader = new HashMap<>();
+        Map<String, BigDecimal> todaysNotionalByLoggedInTrader = new HashMap<>();
+        Map<String, Long> tradesByTrader = new HashMap<>();
+        Map<String, BigDecimal> notionalByTrader = new HashMap<>();
+        Map<String, Long> tradesByInputter = new HashMap<>();
+        Map<String, Long> tradesByBook = new HashMap<>();
+        Map<String, BigDecimal> notionalByBook = new HashMap<>();
+        Map<String, Map<String, Long>> statusByBook = new HashMap<>();
+
+        for (DailyTradeAggregate row : aggregates) {
+            long count = row.tradeCount() != null ? row.tradeCount() : 0L;
+            BigDecimal notional = row.totalNotional() != null ? row.totalNotional() : BigDecimal.ZERO;
+
+            if (yesterday.isEqual(row.tradeDate())) {
+                yesterdayTradeCount += count;
+                yesterdayTotalNotional = yesterdayTotalNotional.add(notional);
+                continue;
+            }
 
-        long todaysTerminatedTrades = todaysTrades.stream()
-                .filter(t -> t.getTradeStatus() != null && "TERMINATED".equalsIgnoreCase(t.getTradeStatus().getTradeStatus()))
-                .count();
+            todaysTradeCount += count;
+            todaysTotalNotional = todaysTotalNotional.add(notional);
 
+            String status = row.tradeStatus();
+            if ("NEW".equalsIgnoreCase(status)) {
+                todaysNewTrades += count;
+            } else if ("AMENDED".equalsIgnoreCase(status)) {
+                todaysAmendedTrades += count;
+            } else if ("TERMINATED".equalsIgnoreCase(status)) {
+                todaysTerminatedTrades += count;
+            }
 
-        // Yesterday's summary for comparison
-        LocalDate yesterday = today.minusDays(1);
-        
-        List<Trade> listOfYesterdayTrades = tradeRepository.findAll().stream()
-                .filter(t -> t.getTradeDate() != null && t.getTradeDate().isEqual(yesterday))
-                .collect(Collectors.toList());
+            //USER SPECIFIC PERFORMANCE METRICS
+            if (row.traderLoginId() != null) {
+                if (row.traderLoginId().equals(username)) {
+                    todaysTradesByLoggedInTrader.merge(username, count, Long::sum);
+                    todaysNotionalByLoggedInTrader.merge(username, notional, BigDecimal::add);
+                }
+                String traderName = row.traderFirstName() + " " + row.traderLastName();
+                tradesByTrader.merge(traderName, count, Long::sum);
+                notionalByTrader.merge(traderName, notional, BigDecimal::add);
+            }
+            if (row.inputterFirstName() != null || row.inputterLastName() != null) {
+                tradesByInputter.merge(row.inputterFirstName() + " " + row.inputterLastName(), count, Long::sum);
+            }
 
-        long yesterdayTradeCount = listOfYesterdayTrades.size();
+            //TRADE SUMMARIES BY BOOK
+            if (row.bookName() != null) {
+                tradesByBook.merge(row.bookName(), count, Long::sum);
+                notionalByBook.merge(row.bookName(), notional, BigDecimal::add);
+                if (status != null) {
+                    statusByBook.computeIfAbsent(row.bookName(), k -> new HashMap<>())
+                            .merge(status, count, Long::sum);
+                }
+            }
+        }
 
-        BigDecimal yesterdayTotalNotional = listOfYesterdayTrades.stream()
-                .flatMap(t -> t.getTradeLegs().stream())
-                .map(TradeLeg::getNotional)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (username != null) {
+            logger.info("User {} made {} trades today", username, todaysTradesByLoggedInTrader.getOrDefault(username, 0L));
+        }
 
+        BigDecimal todaysAverageNotional = todaysTradeCount > 0
+                ? todaysTotalNotional.divide(BigDecimal.valueOf(todaysTradeCount), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
         BigDecimal yesterdayAverageNotional = yesterdayTradeCount > 0
-                ? yesterdayTotalNotional.divide(BigDecimal.valueOf(yesterdayTradeCount), 2, java.math.RoundingMode.HALF_UP)
+                ? yesterdayTotalNotional.divide(BigDecimal.valueOf(yesterdayTradeCount), 2, RoundingMode.HALF_UP)
                 : BigDecimal.ZERO;
 
-       
         // Calculate day-over-day change percentage (current-previous)/previous * 100
         long difference = todaysTradeCount - yesterdayTradeCount;
         BigDecimal dayOverDayChange = yesterdayTradeCount > 0
                 ? BigDecimal.valueOf(((double) difference / yesterdayTradeCount) * 100)
                 : BigDecimal.ZERO;
 
-
-
-
-        //USER SPECIFIC PERFORMANCE METRICS
-        // Get logged-in user's username and filter today's trades for that user
-        String username = getLoggedInUsername();
-
-        Map<String, Long> todaysTradesByLoggedInTrader = new java.util.HashMap<>();
-        if (username != null) {
-            todaysTradesByLoggedInTrader = todaysTrades.stream()
-                    .filter(t -> t.getTraderUser() != null &&
-                            t.getTraderUser().getLoginId().equals(username))
-                    .collect(Collectors.groupingBy(
-                            t -> t.getTraderUser().getLoginId(),
-                            Collectors.counting()
-                    ));
-
-            long userTodaysTradeCount = todaysTradesByLoggedInTrader.values().stream().mapToLong(Long::longValue).sum();
-            // You can add more user-specific metrics here as needed
-            logger.info("User {} made {} trades today", username, userTodaysTradeCount);
-        } else {
-            logger.warn("No authenticated user found for user-specific metrics");
-        }
-
-
-        //calculate notional for today's trades by the logged-in user
-        String loggedInUsername = getLoggedInUsername();
-        Map<String, BigDecimal> todaysNotionalByLoggedInTrader = todaysTrades.stream()
-                .filter(t -> t.getTraderUser() != null && t.getTraderUser().getLoginId().equals(loggedInUsername))
-                .collect(Collectors.groupingBy(
-                        t -> t.getTraderUser().getLoginId(),
-                        Collectors.reducing(BigDecimal.ZERO,
-                            t -> t.getTradeLegs().stream()
-                                    .map(TradeLeg::getNotional)
-                                    .reduce(BigDecimal.ZERO, BigDecimal::add),
-                            BigDecimal::add)
-            ));
-
-        //Get today's trades by all Trader
-        Map<String, Long> tradesByTrader = todaysTrades.stream()
-            .filter(t -> t.getTraderUser() != null)
-            .collect(Collectors.groupingBy(
-                    t -> t.getTraderUser().getFirstName() + " " + t.getTraderUser().getLastName(),
-                    Collectors.counting()
-            ));
-
-        //Get today's notional by all traders
-        Map<String, BigDecimal> notionalByTrader = todaysTrades.stream()
-            .filter(t -> t.getTraderUser() != null)
-            .collect(Collectors.groupingBy(
-                    t -> t.getTraderUser().getFirstName() + " " + t.getTraderUser().getLastName(),
-                    Collectors.reducing(BigDecimal.ZERO,
-                            t -> t.getTradeLegs().stream()
-                                    .map(TradeLeg::getNotional)
-                                    .reduce(BigDecimal.ZERO, BigDecimal::add),
-                            BigDecimal::add)
-            ));
-
-        //Get today's trades by all Inputter
-        Map<String, Long> tradesByInputter = todaysTrades.stream()
-            .filter(t -> t.getTradeInputterUser() != null)
-            .collect(Collectors.groupingBy(
-                    t -> t.getTradeInputterUser().getFirstName() + " " + t.getTradeInputterUser().getLastName(),
-                    Collectors.counting()
-            ));
-
-
-        //TRADE SUMMARIES BY BOOK
-        Map<String, Long> tradesByBook = todaysTrades.stream()
-            .filter(t -> t.getBook() != null)
-            .collect(Collectors.groupingBy(
-                    t -> t.getBook().getBookName(),
-                    Collectors.counting()
-            ));
-        
-        Map<String, BigDecimal> notionalByBook = todaysTrades.stream()
-                .filter(t -> t.getBook() != null)
-                .collect(Collectors.groupingBy(
-                        t -> t.getBook().getBookName(),
-                        Collectors.reducing(BigDecimal.ZERO,
-                                t -> t.getTradeLegs().stream()
-                                        .map(TradeLeg::getNotional)
-                                        .reduce(BigDecimal.ZERO, BigDecimal::add),
-                                BigDecimal::add)
-                ));
-        
-        Map<String, Map<String, Long>> statusByBook = todaysTrades.stream()
-                .filter(t -> t.getBook() != null && t.getTradeStatus() != null)
-                .collect(Collectors.groupingBy(
-                        t -> t.getBook().getBookName(),
-                        Collectors.groupingBy(
-                                t -> t.getTradeStatus().getTradeStatus(),
-                                Collectors.counting()
-                        )
-                ));
-
         // Populate the DailySummaryDTO with the calculated values
         return DailySummaryDTO.builder()
                 .todaysTradeCount(todaysTradeCount)
@@ -1374,6 +1245,12 @@ public class TradeService {
         // Delegate to AdditionalInfoService for versioned storage
         additionalInfoService.saveSettlementInstructions(tradeId, instructions);
 
+        // Touch the trade so the change feed picks the new instructions up
+        trade.setLastTouchTimestamp(LocalDateTime.now());
+        tradeRepository.save(trade);
+        tradeSearchResultCache.tradesChanged();
+        tradeEventPublisher.publish(TradeEventDTO.Type.SETTLEMENT_INSTRUCTIONS_UPDATED, trade);
+
         // Log action for audit trail
         logger.info("User " + userId + " updated settlement instructions for Trade ID " + tradeId);
     }
@@ -1381,8 +1258,15 @@ public class TradeService {
     // FOLA ADDED: New method to search trades by settlement instructions content (partial match)
     // This method queries the AdditionalInfoService to find trade IDs with matching instructions
      public List<Trade> searchBySettlementInstructions(String instructions) {
+        return searchBySettlementInstructions(instructions, false);
+    }
+
+    // allWords: match instructions containing every word of the text in any order, rather than the text as a whole
+    public List<Trade> searchBySettlementInstructions(String instructions, boolean allWords) {
         logger.info("Searching trades by settlement instructions: {}", instructions);
-        List<Long> tradeIds = additionalInfoService.findTradesBySettlementInstructions(instructions);
+        List<Long> tradeIds = allWords
+                ? additionalInfoService.findTradesBySettlementInstructionWords(instructions)
+                : additionalInfoService.findTradesBySettlementInstructions(instructions);
         logger.info("Found {} trade IDs from settlement instructions search: {}", tradeIds.size(), tradeIds);
         List<Trade> trades = tradeRepository.findByTradeIdInAndActiveTrue(tradeIds);
         logger.info("Retrieved {} trades matching the settlement instructions", trades.size());
@@ -1396,7 +1280,7 @@ public class TradeService {
      * Validates settlement instruction text before saving.
      * Ensures the text meets business and security requirements.
      */
-    private void validateSettlementInstructions(String instructions) {
+    private void validateSettlementInstructions(String instructions, TradeLifecycleMetrics.Booking booking) {
         // Optional field — skip if not provided
         if (instructions == null || instructions.isBlank()) return;
 
@@ -1404,12 +1288,12 @@ public class TradeService {
 
         // Length validation
         if (trimmed.length() < 10 || trimmed.length() > 500) {
-            throw new RuntimeException("Settlement instructions must be between 10 and 500 characters");
+            throw booking.rejected("settlement_instructions_length", "Settlement instructions must be between 10 and 500 characters");
         }
 
         // Content validation — reject special characters that might cause injection or formatting issues
         if (!trimmed.matches("^[a-zA-Z0-9.,;:()\\-\\s]+$")) {
-            throw new RuntimeException("Settlement instructions contain invalid characters");
+            throw booking.rejected("settlement_instructions_characters", "Settlement instructions contain invalid characters");
         }
     }
 
@@ -1,8 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.config.CacheConfig;
 import com.technicalchallenge.model.TradeStatus;
 import com.technicalchallenge.repository.TradeStatusRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -28,11 +30,13 @@ public class TradeStatusService {
         return tradeStatusRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.TRADE_STATUS_BY_NAME, CacheConfig.TRADE_STATUS_BY_ID}, allEntries = true)
     public TradeStatus save(TradeStatus tradeStatus) {
         logger.info("Saving trade status: {}", tradeStatus);
         return tradeStatusRepository.save(tradeStatus);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.TRADE_STATUS_BY_NAME, CacheConfig.TRADE_STATUS_BY_ID}, allEntries = true)
     public void deleteById(Long id) {
         logger.warn("Deleting trade status with id: {}", id);
         tradeStatusRepository.deleteById(id);
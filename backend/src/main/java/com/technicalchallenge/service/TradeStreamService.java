@@ -0,0 +1,267 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.TradeEventDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Fans trade lifecycle events out to open blotters (GET /api/trades/stream).
+// Every subscriber has a filter and a bounded queue. Publishing only offers the event to the matching queues,
+// so it never waits on a client; a small sender pool drains the queues onto the connections. A client that
+// falls more than trades.stream.buffer-size events behind loses its queue and gets a single "resync" event
+// instead, telling it to reload the blotter. Nothing here reads the database.
+@Service
+public class TradeStreamService {
+    private static final Logger logger = LoggerFactory.getLogger(TradeStreamService.class);
+
+    static final String TRADE_EVENT = "trade";
+    static final String RESYNC_EVENT = "resync";
+
+    @Value("${trades.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${trades.stream.sender-threads:2}")
+    private int senderThreads;
+
+    @Value("${trades.stream.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${trades.stream.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService sender;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    void start() {
+        sender = Executors.newFixedThreadPool(Math.max(1, senderThreads), daemon("trade-stream-sender"));
+        heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("trade-stream-heartbeat"));
+        heartbeat.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+        subscriptions.forEach(Subscription::close);
+        sender.shutdown();
+    }
+
+    // Opens an SSE connection receiving the events that match the filter
+    public SseEmitter open(Filter filter) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        Subscription subscription = subscribe(filter, new EmitterSink(emitter));
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(e -> unsubscribe(subscription));
+        return emitter;
+    }
+
+    Subscription subscribe(Filter filter, Sink sink) {
+        Subscription subscription = new Subscription(filter, sink, bufferSize);
+        subscriptions.add(subscription);
+        logger.debug("Trade stream subscribed ({} open): {}", subscriptions.size(), filter);
+        return subscription;
+    }
+
+    void unsubscribe(Subscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            subscription.close();
+            logger.debug("Trade stream closed ({} open)", subscriptions.size());
+        }
+    }
+
+    public void broadcast(TradeEventDTO event) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.filter.matches(event)) {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    private void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            subscription.heartbeatDue = true;
+            subscription.scheduleDrain();
+        }
+    }
+
+    // Empty sets match everything; values are compared case-insensitively. A trader matches on login id or name.
+    public record Filter(Set<String> books, Set<String> traders, Set<String> counterparties) {
+
+        public static Filter of(Collection<String> books, Collection<String> traders, Collection<String> counterparties) {
+            return new Filter(normalise(books), normalise(traders), normalise(counterparties));
+        }
+
+        boolean matches(TradeEventDTO event) {
+            return matches(books, event.getBookName())
+                    && (matches(traders, event.getTraderLoginId()) || matches(traders, event.getTraderUserName()))
+                    && matches(counterparties, event.getCounterpartyName());
+        }
+
+        private static boolean matches(Set<String> accepted, String value) {
+            return accepted.isEmpty() || (value != null && accepted.contains(value.toUpperCase(Locale.ROOT)));
+        }
+
+        private static Set<String> normalise(Collection<String> values) {
+            if (values == null) {
+                return Set.of();
+            }
+            return values.stream()
+                    .filter(value -> value != null && !value.isBlank())
+                    .map(value -> value.trim().toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+
+    // Where a subscription's events go; an IOException or IllegalStateException drops the subscriber
+    interface Sink {
+        void send(TradeEventDTO event) throws IOException;
+
+        void resync() throws IOException;
+
+        void heartbeat() throws IOException;
+
+        void close();
+    }
+
+    final class Subscription {
+        private final Filter filter;
+        private final Sink sink;
+        private final ArrayBlockingQueue<TradeEventDTO> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+
+        private Subscription(Filter filter, Sink sink, int capacity) {
+            this.filter = filter;
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        }
+
+        private void offer(TradeEventDTO event) {
+            if (!queue.offer(event)) {
+                // Too far behind to catch up event by event: drop the backlog and have the client reload
+                overflowed = true;
+                queue.clear();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false); // sender shut down
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                boolean sent = false;
+                while (!closed) {
+                    if (overflowed) {
+                        overflowed = false;
+                        sink.resync();
+                        sent = true;
+                    }
+                    TradeEventDTO event = queue.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    sink.send(event);
+                    sent = true;
+                }
+                if (heartbeatDue && !closed) {
+                    heartbeatDue = false;
+                    if (!sent) {
+                        sink.heartbeat();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping trade stream subscriber: {}", e.getMessage());
+                unsubscribe(this);
+            } finally {
+                draining.set(false);
+            }
+            // An event offered after the last poll but before draining was reset would otherwise wait for the next one
+            if (!queue.isEmpty() || overflowed) {
+                scheduleDrain();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            queue.clear();
+            sink.close();
+        }
+    }
+
+    private static final class EmitterSink implements Sink {
+        private final SseEmitter emitter;
+
+        private EmitterSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(TradeEventDTO event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.getSequence()))
+                    .name(TRADE_EVENT)
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void resync() throws IOException {
+            emitter.send(SseEmitter.event().name(RESYNC_EVENT).data("buffer overflow"));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
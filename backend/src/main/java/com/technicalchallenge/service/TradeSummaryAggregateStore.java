@@ -0,0 +1,239 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.analytics.TradeColumnStore;
+import com.technicalchallenge.analytics.TradeDimension;
+import com.technicalchallenge.analytics.TradeGroup;
+import com.technicalchallenge.analytics.TradeRow;
+import com.technicalchallenge.analytics.TradeUser;
+import com.technicalchallenge.dto.DailyTradeAggregate;
+import com.technicalchallenge.dto.TradeSummaryDTO;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.repository.TradeRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// In-memory, columnar copy of the active trade population behind /api/trades/summary, /daily-summary and
+// /analytics. Each active trade (keyed by its business tradeId) is one row of a TradeColumnStore holding its
+// reference data as dictionary codes, leg notionals as scaled longs and its trade date as an epoch day. The
+// lifecycle methods in TradeService replace that row when a trade is created, amended, cancelled or terminated,
+// so every aggregation is a loop over primitive arrays and never touches the trade table.
+@Service
+public class TradeSummaryAggregateStore {
+    private static final Logger logger = LoggerFactory.getLogger(TradeSummaryAggregateStore.class);
+
+    static final String UNKNOWN = "UNKNOWN";
+
+    private static final List<TradeDimension> DAILY_DIMENSIONS = List.of(TradeDimension.TRADE_DATE,
+            TradeDimension.STATUS, TradeDimension.BOOK, TradeDimension.TRADER, TradeDimension.INPUTTER);
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    private TradeColumnStore columns = new TradeColumnStore();
+
+    // Built on demand and dropped whenever a trade changes
+    private TradeSummaryDTO summary;
+
+    /**
+     * Records the current state of a trade. The row is captured immediately (while the
+     * persistence context is still open) and applied once the surrounding transaction commits,
+     * so a rolled back booking never shows up in the summary.
+     */
+    public void recordTrade(Trade trade, List<TradeLeg> legs) {
+        if (trade == null || trade.getTradeId() == null) {
+            return;
+        }
+        TradeRow row = toRow(trade, legs);
+        AfterCommit.run(() -> apply(row));
+    }
+
+    /**
+     * Reloads every active trade from the database, streamed as flat (trade, leg) rows rather than entities.
+     * Used once at startup; afterwards the store is kept up to date incrementally. The lock is held across the
+     * read, so a booking committed meanwhile waits in apply and lands after the reload whichever side of the
+     * read it fell on, rather than being overwritten by the swap.
+     */
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        TradeColumnStore loaded = new TradeColumnStore();
+        try (Stream<Object[]> rows = tradeRepository.streamActiveTradeColumns()) {
+            TradeRowAssembler assembler = new TradeRowAssembler(loaded);
+            rows.forEach(assembler::add);
+            assembler.finish();
+        }
+
+        columns = loaded;
+        summary = null;
+        logger.info("Trade analytics store rebuilt from {} active trades / {} legs ({} KB of columns) in {} ms",
+                loaded.size(), loaded.legCount(), loaded.columnBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    synchronized void apply(TradeRow row) {
+        columns.put(row);
+        summary = null;
+    }
+
+    public synchronized TradeSummaryDTO snapshot() {
+        if (summary == null) {
+            summary = summarise();
+        }
+        return summary;
+    }
+
+    // Rows of the daily summary for active trades dated fromDate to toDate, one per (date, status, book,
+    // trader, inputter), with the trade count and summed leg notional of each. Only the rows of those days are
+    // read (see TradeColumnStore.groupBy), however much history the store holds
+    public synchronized List<DailyTradeAggregate> dailyAggregates(LocalDate fromDate, LocalDate toDate) {
+        List<DailyTradeAggregate> rows = new ArrayList<>();
+        for (TradeGroup group : columns.groupBy(DAILY_DIMENSIONS, Map.of(), fromDate, toDate)) {
+            TradeUser trader = (TradeUser) group.key().get(3);
+            TradeUser inputter = (TradeUser) group.key().get(4);
+            rows.add(new DailyTradeAggregate(
+                    (LocalDate) group.key().get(0),
+                    (String) group.key().get(1),
+                    (String) group.key().get(2),
+                    trader != null ? trader.loginId() : null,
+                    trader != null ? trader.firstName() : null,
+                    trader != null ? trader.lastName() : null,
+                    inputter != null ? inputter.firstName() : null,
+                    inputter != null ? inputter.lastName() : null,
+                    group.tradeCount(),
+                    group.notional()));
+        }
+        return rows;
+    }
+
+    // See TradeColumnStore.groupBy
+    public synchronized List<TradeGroup> groupBy(List<TradeDimension> dimensions, Map<TradeDimension, String> filters,
+                                                 LocalDate fromDate, LocalDate toDate) {
+        return columns.groupBy(dimensions, filters, fromDate, toDate);
+    }
+
+    // Trades without a status or leg currency are counted under UNKNOWN; other missing references are left out
+    private TradeSummaryDTO summarise() {
+        List<TradeGroup> byStatus = group(TradeDimension.STATUS);
+        List<TradeGroup> byCurrency = group(TradeDimension.CURRENCY);
+        List<TradeGroup> byType = group(TradeDimension.TRADE_TYPE);
+        List<TradeGroup> byCounterparty = group(TradeDimension.COUNTERPARTY);
+        List<TradeGroup> byBook = group(TradeDimension.BOOK);
+
+        Map<String, BigDecimal> netExposureByCounterparty = values(byCounterparty, TradeGroup::netExposure, false);
+        Map<String, BigDecimal> grossExposureByCounterparty = values(byCounterparty, TradeGroup::grossExposure, false);
+
+        return TradeSummaryDTO.builder()
+                .totalTrades(columns.size())
+                .tradesByStatus(values(byStatus, TradeGroup::tradeCount, true))
+                .tradesByCurrency(values(byCurrency, TradeGroup::tradeCount, true))
+                .notionalByCurrency(values(byCurrency, TradeGroup::notional, true))
+                .notionalByType(values(byType, TradeGroup::notional, false))
+                .notionalByCounterparty(values(byCounterparty, TradeGroup::notional, false))
+                .tradesByCounterparty(values(byCounterparty, TradeGroup::tradeCount, false))
+                .tradesByType(values(byType, TradeGroup::tradeCount, false))
+                .tradesBySubType(values(group(TradeDimension.TRADE_SUB_TYPE), TradeGroup::tradeCount, false))
+                .netExposureByCounterparty(netExposureByCounterparty)
+                .grossExposureByCounterparty(grossExposureByCounterparty)
+                .netExposureByCurrency(values(byCurrency, TradeGroup::netExposure, false))
+                // every leg counts in full towards the gross exposure of its currency
+                .grossExposureByCurrency(values(byCurrency, TradeGroup::notional, false))
+                .netExposureByBook(values(byBook, TradeGroup::netExposure, false))
+                .grossExposureByBook(values(byBook, TradeGroup::grossExposure, false))
+                .totalNetExposure(netExposureByCounterparty.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add))
+                .totalGrossExposure(grossExposureByCounterparty.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add))
+                .build();
+    }
+
+    private List<TradeGroup> group(TradeDimension dimension) {
+        return columns.groupBy(List.of(dimension), Map.of(), null, null);
+    }
+
+    private static <V> Map<String, V> values(List<TradeGroup> groups, Function<TradeGroup, V> value, boolean includeUnknown) {
+        Map<String, V> result = new HashMap<>();
+        for (TradeGroup group : groups) {
+            Object key = group.key().get(0);
+            if (key != null || includeUnknown) {
+                result.put(key != null ? key.toString() : UNKNOWN, value.apply(group));
+            }
+        }
+        return result;
+    }
+
+    static TradeRow toRow(Trade trade, List<TradeLeg> legs) {
+        List<TradeRow.Leg> legRows = new ArrayList<>();
+        for (TradeLeg leg : legs != null ? legs : Collections.<TradeLeg>emptyList()) {
+            if (leg != null) {
+                legRows.add(new TradeRow.Leg(
+                        leg.getCurrency() != null ? leg.getCurrency().getCurrency() : null,
+                        leg.getPayReceiveFlag() != null ? leg.getPayReceiveFlag().getPayRec() : null,
+                        leg.getNotional()));
+            }
+        }
+        return new TradeRow(
+                trade.getTradeId(),
+                trade.getTradeStatus() != null ? trade.getTradeStatus().getTradeStatus() : null,
+                trade.getBook() != null ? trade.getBook().getBookName() : null,
+                trade.getCounterparty() != null ? trade.getCounterparty().getName() : null,
+                trade.getTradeType() != null ? trade.getTradeType().getTradeType() : null,
+                trade.getTradeSubType() != null ? trade.getTradeSubType().getTradeSubType() : null,
+                user(trade.getTraderUser()),
+                user(trade.getTradeInputterUser()),
+                trade.getTradeDate(),
+                legRows);
+    }
+
+    private static TradeUser user(ApplicationUser user) {
+        return user != null ? new TradeUser(user.getLoginId(), user.getFirstName(), user.getLastName()) : null;
+    }
+
+    // Folds the rows of TradeRepository.streamActiveTradeColumns, one per leg and ordered by trade, into TradeRows
+    private static final class TradeRowAssembler {
+        private final TradeColumnStore target;
+        private Object[] current;
+        private final List<TradeRow.Leg> legs = new ArrayList<>();
+
+        TradeRowAssembler(TradeColumnStore target) {
+            this.target = target;
+        }
+
+        void add(Object[] row) {
+            if (current != null && !current[0].equals(row[0])) {
+                finish();
+            }
+            current = row;
+            // a trade without legs still comes back once, with null leg columns
+            if (row[13] != null || row[14] != null || row[15] != null) {
+                legs.add(new TradeRow.Leg((String) row[13], (String) row[14], (BigDecimal) row[15]));
+            }
+        }
+
+        void finish() {
+            if (current == null) {
+                return;
+            }
+            Object[] row = current;
+            target.put(new TradeRow((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                    (String) row[4], (String) row[5],
+                    row[6] != null ? new TradeUser((String) row[6], (String) row[7], (String) row[8]) : null,
+                    row[9] != null ? new TradeUser((String) row[9], (String) row[10], (String) row[11]) : null,
+                    (LocalDate) row[12], legs));
+            legs.clear();
+            current = null;
+        }
+    }
+}
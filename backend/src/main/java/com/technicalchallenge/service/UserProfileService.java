@@ -12,6 +12,8 @@ import java.util.Optional;
 public class UserProfileService {
     @Autowired
     private UserProfileRepository userProfileRepository;
+    @Autowired
+    private EntitlementCache entitlementCache;
 
     public List<UserProfile> getAllUserProfiles() {
         return userProfileRepository.findAll();
@@ -22,19 +24,24 @@ public class UserProfileService {
     }
 
     public UserProfile saveUserProfile(UserProfile userProfile) {
-        return userProfileRepository.save(userProfile);
+        UserProfile saved = userProfileRepository.save(userProfile);
+        entitlementCache.invalidate();
+        return saved;
     }
 
     public Optional<UserProfile> updateUserProfile(Long id, UserProfile updatedProfile) {
         return userProfileRepository.findById(id).map(existingProfile -> {
             existingProfile.setUserType(updatedProfile.getUserType());
-            return userProfileRepository.save(existingProfile);
+            UserProfile saved = userProfileRepository.save(existingProfile);
+            entitlementCache.invalidate();
+            return saved;
         });
     }
 
     public boolean deleteUserProfile(Long id) {
         if (userProfileRepository.existsById(id)) {
             userProfileRepository.deleteById(id);
+            entitlementCache.invalidate();
             return true;
         }
         return false;
@@ -4,6 +4,7 @@ import com.technicalchallenge.model.Trade;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 
 //This is a helper class to build dynamic queries for filtering trades based on various optional criteria.
@@ -67,4 +68,15 @@ public class TradeSpecifications {
             return cb.conjunction();
         };
     }
+
+    // Versions in force at a point in time: created at or before it and not yet replaced by a later version.
+    // Without asOf every version matches, as before
+    public static Specification<Trade> inForceAt(LocalDateTime asOf) {
+        return (root, query, cb) -> {
+            if (asOf == null) return cb.conjunction();
+            return cb.and(
+                    cb.lessThanOrEqualTo(root.get("createdDate"), asOf),
+                    cb.or(cb.isNull(root.get("deactivatedDate")), cb.greaterThan(root.get("deactivatedDate"), asOf)));
+        };
+    }
 }
@@ -0,0 +1,29 @@
+package com.technicalchallenge.synthetic;
+
+import com.technicalchallenge.BackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Command line entry point: runs the backend with the "synthetic" profile, so Flyway migrates the target database
+// and SyntheticDataRunner fills it, then exits. The web server is still started (SecurityConfig needs the MVC
+// context) but on a free port, so it does not clash with a running backend. Takes the usual --property=value arguments,
+// e.g. from the packaged jar:
+//
+//   java -cp backend-1.0-SNAPSHOT.jar -Dloader.main=com.technicalchallenge.synthetic.SyntheticDataCli \
+//        org.springframework.boot.loader.PropertiesLauncher \
+//        --spring.datasource.url="jdbc:h2:file:./data/scaledb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH" \
+//        --synthetic.trades=1000000
+public final class SyntheticDataCli {
+
+    private SyntheticDataCli() {
+    }
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("synthetic")
+                .properties("server.port=0")
+                .run(args);
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,23 @@
+package com.technicalchallenge.synthetic;
+
+import com.technicalchallenge.cashflow.CashflowEngine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// Only active with the "synthetic" profile (see application-synthetic.properties and SyntheticDataRunner)
+@Configuration
+@Profile("synthetic")
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+public class SyntheticDataConfig {
+
+    @Bean
+    public SyntheticTradeGenerator syntheticTradeGenerator(JdbcTemplate jdbcTemplate,
+                                                           PlatformTransactionManager transactionManager,
+                                                           CashflowEngine cashflowEngine) {
+        return new SyntheticTradeGenerator(jdbcTemplate, transactionManager, cashflowEngine);
+    }
+}
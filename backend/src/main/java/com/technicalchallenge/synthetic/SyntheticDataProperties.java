@@ -0,0 +1,48 @@
+package com.technicalchallenge.synthetic;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Shape of the book SyntheticTradeGenerator writes, bound from the synthetic.* properties
+// (see application-synthetic.properties). The same seed and settings always produce the same trades.
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "synthetic")
+public class SyntheticDataProperties {
+
+    // Business trades to create; each gets between 1 and maxVersions versions
+    private int trades = 10_000;
+
+    private long seed = 42;
+
+    // Books SYN-BOOK-001.. and counterparties SYN-CPTY-001.. the trades are spread over, created when missing
+    private int books = 10;
+    private int counterparties = 50;
+
+    // Leg currencies and calculation period schedules, by name; created when missing
+    private List<String> currencies = new ArrayList<>(List.of("USD", "EUR", "GBP"));
+    private List<String> schedules = new ArrayList<>(List.of("Quarterly", "Semi-annually", "Annually"));
+
+    // Versions per trade: 1 is a new trade, every further version an amendment; the last version of an amended
+    // trade is sometimes a cancellation or termination instead
+    private int maxVersions = 3;
+
+    // Maturities are a whole number of years after the start date, 1 to maxTenorYears
+    private int maxTenorYears = 5;
+
+    // Whether every leg also gets its cashflows (generated by CashflowEngine, as a booking would)
+    private boolean cashflows = true;
+
+    // Trade dates are business days from firstTradeDate over this many calendar days
+    private LocalDate firstTradeDate = LocalDate.of(2024, 1, 2);
+    private int tradingDays = 365;
+
+    // Trades written per JDBC batch and transaction, and batches written at the same time (0 = one per processor)
+    private int batchSize = 1_000;
+    private int parallelism = 4;
+}
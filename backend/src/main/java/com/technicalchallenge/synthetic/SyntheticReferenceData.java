@@ -0,0 +1,129 @@
+package com.technicalchallenge.synthetic;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.List;
+
+// Ids of the reference data synthetic trades point at. Books, counterparties, currencies and schedules are created
+// by name when missing; the rest (statuses, leg types, calendars, ...) has to be there already from the seed
+// migration. Per-currency arrays line up with currencies().
+record SyntheticReferenceData(long[] books,
+                              long[] counterparties,
+                              long[] traders,
+                              List<String> currencies,
+                              long[] currencyIds,
+                              String[] calendars,
+                              long[] calendarIds,
+                              long[] indexIds,
+                              List<String> schedules,
+                              long[] scheduleIds,
+                              long statusNew,
+                              long statusAmended,
+                              long statusCancelled,
+                              long statusTerminated,
+                              long statusLive,
+                              long swap,
+                              long irSwap,
+                              long fixed,
+                              long floating,
+                              long pay,
+                              long receive,
+                              long modifiedFollowing) {
+
+    static final String BOOK_PREFIX = "SYN-BOOK-";
+    static final String COUNTERPARTY_PREFIX = "SYN-CPTY-";
+
+    static SyntheticReferenceData load(JdbcTemplate jdbcTemplate, SyntheticDataProperties properties) {
+        Long costCenter = jdbcTemplate.queryForObject("SELECT MIN(id) FROM cost_center", Long.class);
+        long[] books = new long[properties.getBooks()];
+        for (int i = 0; i < books.length; i++) {
+            String name = String.format("%s%03d", BOOK_PREFIX, i + 1);
+            books[i] = findOrCreate(jdbcTemplate, "book", "book_name", name,
+                    "INSERT INTO book (book_name, active, version, cost_center_id) VALUES (?, true, 1, ?)", name, costCenter);
+        }
+
+        long[] counterparties = new long[properties.getCounterparties()];
+        for (int i = 0; i < counterparties.length; i++) {
+            String name = String.format("%s%03d", COUNTERPARTY_PREFIX, i + 1);
+            counterparties[i] = findOrCreate(jdbcTemplate, "counterparty", "name", name,
+                    "INSERT INTO counterparty (name, address, phone_number, internal_code, created_date, last_modified_date, active) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, true)",
+                    name, (i + 1) + " Synthetic St", "000-000-0000", 9000L + i + 1,
+                    Date.valueOf(properties.getFirstTradeDate()), Date.valueOf(properties.getFirstTradeDate()));
+        }
+
+        List<Long> traderIds = jdbcTemplate.queryForList("SELECT u.id FROM application_user u "
+                + "JOIN user_profile p ON p.id = u.user_profile_id WHERE u.active = true AND p.user_type = 'TRADER_SALES' "
+                + "ORDER BY u.id", Long.class);
+        if (traderIds.isEmpty()) {
+            throw new IllegalStateException("No active TRADER_SALES user to book synthetic trades under");
+        }
+
+        List<String> currencies = List.copyOf(properties.getCurrencies());
+        long[] currencyIds = new long[currencies.size()];
+        String[] calendars = new String[currencies.size()];
+        long[] calendarIds = new long[currencies.size()];
+        long[] indexIds = new long[currencies.size()];
+        long libor = existing(jdbcTemplate, "index_table", "index", "LIBOR");
+        long euribor = find(jdbcTemplate, "index_table", "index", "EURIBOR", libor);
+        long ny = existing(jdbcTemplate, "holiday_calendar", "holiday_calendar", "NY");
+        long lon = find(jdbcTemplate, "holiday_calendar", "holiday_calendar", "LON", ny);
+        for (int i = 0; i < currencies.size(); i++) {
+            String currency = currencies.get(i);
+            currencyIds[i] = findOrCreate(jdbcTemplate, "currency", "currency", currency,
+                    "INSERT INTO currency (currency) VALUES (?)", currency);
+            // USD (and anything else) on the New York calendar and LIBOR, EUR and GBP in London
+            boolean london = currency.equals("EUR") || currency.equals("GBP");
+            calendars[i] = london && lon != ny ? "LON" : "NY";
+            calendarIds[i] = london ? lon : ny;
+            indexIds[i] = currency.equals("EUR") ? euribor : libor;
+        }
+
+        List<String> schedules = List.copyOf(properties.getSchedules());
+        long[] scheduleIds = new long[schedules.size()];
+        for (int i = 0; i < schedules.size(); i++) {
+            scheduleIds[i] = findOrCreate(jdbcTemplate, "schedule", "schedule", schedules.get(i),
+                    "INSERT INTO schedule (schedule) VALUES (?)", schedules.get(i));
+        }
+
+        return new SyntheticReferenceData(books, counterparties, traderIds.stream().mapToLong(Long::longValue).toArray(),
+                currencies, currencyIds, calendars, calendarIds, indexIds, schedules, scheduleIds,
+                existing(jdbcTemplate, "trade_status", "trade_status", "NEW"),
+                existing(jdbcTemplate, "trade_status", "trade_status", "AMENDED"),
+                existing(jdbcTemplate, "trade_status", "trade_status", "CANCELLED"),
+                existing(jdbcTemplate, "trade_status", "trade_status", "TERMINATED"),
+                existing(jdbcTemplate, "trade_status", "trade_status", "LIVE"),
+                existing(jdbcTemplate, "trade_type", "trade_type", "Swap"),
+                existing(jdbcTemplate, "trade_sub_type", "trade_sub_type", "IR Swap"),
+                existing(jdbcTemplate, "leg_type", "type", "Fixed"),
+                existing(jdbcTemplate, "leg_type", "type", "Floating"),
+                existing(jdbcTemplate, "pay_rec", "pay_rec", "Pay"),
+                existing(jdbcTemplate, "pay_rec", "pay_rec", "Receive"),
+                existing(jdbcTemplate, "business_day_convention", "bdc", "Modified Following"));
+    }
+
+    private static long findOrCreate(JdbcTemplate jdbcTemplate, String table, String column, String value,
+                                     String insert, Object... insertArgs) {
+        long id = find(jdbcTemplate, table, column, value, -1);
+        if (id >= 0) {
+            return id;
+        }
+        jdbcTemplate.update(insert, insertArgs);
+        return existing(jdbcTemplate, table, column, value);
+    }
+
+    private static long existing(JdbcTemplate jdbcTemplate, String table, String column, String value) {
+        long id = find(jdbcTemplate, table, column, value, -1);
+        if (id < 0) {
+            throw new IllegalStateException(table + " '" + value + "' not found; synthetic trades need the seed reference data");
+        }
+        return id;
+    }
+
+    private static long find(JdbcTemplate jdbcTemplate, String table, String column, String value, long otherwise) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT MIN(id) FROM " + table + " WHERE " + column + " = ?", Long.class, value);
+        return ids.isEmpty() || ids.get(0) == null ? otherwise : ids.get(0);
+    }
+}
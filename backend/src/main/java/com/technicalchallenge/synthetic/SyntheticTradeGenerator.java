@@ -0,0 +1,316 @@
+package com.technicalchallenge.synthetic;
+
+import com.technicalchallenge.cashflow.CashflowEngine;
+import com.technicalchallenge.cashflow.GeneratedCashflow;
+import com.technicalchallenge.cashflow.LegTerms;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Writes a large, deterministic book of interest rate swaps straight into the trade, trade_leg and cashflow
+// tables, for benchmarks, soak tests and query plan checks at realistic volumes.
+//
+// Every trade is built from its own random generator, seeded from the configured seed and the trade's index, and
+// its row ids are a fixed function of that index, so the output does not depend on how the work is split between
+// threads. Trades are written in chunks of synthetic.batch-size, each chunk as three JDBC batches (versions, legs,
+// cashflows) in its own transaction, several chunks at a time. Versions, validity intervals, legs and cashflows
+// look like those TradeService writes when booking, amending, cancelling and terminating. The id sequences
+// (and trade_id_seq, if it exists) are moved past the generated rows afterwards, so the application carries on
+// booking normally.
+public class SyntheticTradeGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticTradeGenerator.class);
+
+    // Kept between the generated ids and the sequences: Hibernate reserves ids from trade_seq, trade_leg_seq and
+    // cashflow_seq in blocks of 50
+    static final long ID_HEADROOM = 100;
+
+    // See TradeIdAllocator
+    private static final String TRADE_ID_SEQUENCE = "trade_id_seq";
+
+    private static final int LEGS_PER_TRADE = 2;
+    private static final String PAYMENT_BDC = "Modified Following";
+
+    private static final String INSERT_TRADE = "INSERT INTO trade (id, trade_id, version, book_id, counterparty_id, "
+            + "trader_user_id, inputter_user_id, trade_type_id, trade_sub_type_id, trade_status_id, trade_date, "
+            + "trade_start_date, trade_maturity_date, trade_execution_date, uti_code, last_touch_timestamp, "
+            + "validity_start_date, validity_end_date, active, created_date, deactivated_date) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LEG = "INSERT INTO trade_leg (leg_id, notional, rate, trade_id, currency_id, "
+            + "leg_rate_type_id, index_id, holiday_calendar_id, calculation_period_schedule_id, "
+            + "payment_business_day_convention_id, fixing_business_day_convention_id, pay_rec_id, active, created_date) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CASHFLOW = "INSERT INTO cashflow (id, payment_value, value_date, rate, leg_id, "
+            + "pay_rec_id, payment_type_id, payment_business_day_convention_id, accrual_start_date, accrual_end_date, "
+            + "fixing_date, active, created_date, validity_start_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CashflowEngine cashflowEngine;
+
+    public SyntheticTradeGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   CashflowEngine cashflowEngine) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cashflowEngine = cashflowEngine;
+    }
+
+    public record Result(int trades, long tradeVersions, long legs, long cashflows, long firstTradeId, long elapsedMillis) {
+    }
+
+    // Throws IllegalArgumentException for invalid settings and IllegalStateException when the reference data the
+    // trades need is missing or a chunk fails. Chunks written before a failure stay in the database.
+    public Result generate(SyntheticDataProperties properties) {
+        validate(properties);
+        long start = System.nanoTime();
+
+        SyntheticReferenceData reference = SyntheticReferenceData.load(jdbcTemplate, properties);
+        Layout layout = allocateIds(properties);
+        int chunks = (properties.getTrades() + properties.getBatchSize() - 1) / properties.getBatchSize();
+        int parallelism = Math.max(1, Math.min(chunks, properties.getParallelism() > 0
+                ? properties.getParallelism() : Runtime.getRuntime().availableProcessors()));
+        logger.info("Generating {} synthetic trades (up to {} versions, cashflows {}) in {} chunks on {} threads",
+                properties.getTrades(), properties.getMaxVersions(), properties.isCashflows() ? "on" : "off",
+                chunks, parallelism);
+
+        AtomicInteger chunksDone = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        long[] totals = new long[3];
+        try {
+            List<Future<long[]>> results = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int from = chunk * properties.getBatchSize();
+                int to = Math.min(properties.getTrades(), from + properties.getBatchSize());
+                results.add(executor.submit(() -> {
+                    long[] counts = transactionTemplate.execute(status ->
+                            writeChunk(from, to, properties, reference, layout));
+                    int done = chunksDone.incrementAndGet();
+                    if (done % Math.max(1, chunks / 10) == 0) {
+                        logger.info("Synthetic trades: {} of {} chunks written", done, chunks);
+                    }
+                    return counts;
+                }));
+            }
+            for (Future<long[]> result : results) {
+                long[] counts = result.get();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += counts[i];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating synthetic trades", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Generating synthetic trades failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        advanceSequences(properties, layout);
+        Result result = new Result(properties.getTrades(), totals[0], totals[1], totals[2], layout.firstTradeId(),
+                (System.nanoTime() - start) / 1_000_000);
+        logger.info("Generated {} synthetic trades: {} versions, {} legs, {} cashflows in {} ms", result.trades(),
+                result.tradeVersions(), result.legs(), result.cashflows(), result.elapsedMillis());
+        return result;
+    }
+
+    private static void validate(SyntheticDataProperties properties) {
+        if (properties.getTrades() < 0) {
+            throw new IllegalArgumentException("synthetic.trades must not be negative");
+        }
+        if (properties.getMaxVersions() < 1 || properties.getMaxTenorYears() < 1 || properties.getTradingDays() < 1
+                || properties.getBatchSize() < 1 || properties.getBooks() < 1 || properties.getCounterparties() < 1) {
+            throw new IllegalArgumentException("synthetic.max-versions, max-tenor-years, trading-days, batch-size, "
+                    + "books and counterparties must be at least 1");
+        }
+        if (properties.getCurrencies().isEmpty() || properties.getSchedules().isEmpty()) {
+            throw new IllegalArgumentException("synthetic.currencies and synthetic.schedules must not be empty");
+        }
+        if (properties.getFirstTradeDate() == null) {
+            throw new IllegalArgumentException("synthetic.first-trade-date is required");
+        }
+        // Rejects unknown schedule names before anything is written
+        properties.getSchedules().forEach(CashflowEngine::frequencyInMonths);
+    }
+
+    // Each trade owns maxVersions row ids, each version LEGS_PER_TRADE leg ids and each leg cashflowsPerLeg
+    // cashflow ids, all starting above both the existing rows and the sequences
+    private Layout allocateIds(SyntheticDataProperties properties) {
+        long firstRowId = firstFreeId("trade", "id", "trade_seq");
+        long firstLegId = firstFreeId("trade_leg", "leg_id", "trade_leg_seq");
+        long firstCashflowId = firstFreeId("cashflow", "id", "cashflow_seq");
+        long firstTradeId = firstFreeTradeId();
+        // A period never comes out shorter than a month, plus a possible final stub
+        int cashflowsPerLeg = 12 * properties.getMaxTenorYears() + 2;
+        return new Layout(firstRowId, firstLegId, firstCashflowId, firstTradeId, properties.getMaxVersions(), cashflowsPerLeg);
+    }
+
+    private long firstFreeId(String table, String column, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + column + ") FROM " + table, Long.class);
+        Long next = jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+        return Math.max(maxId != null ? maxId + 1 : 1, (next != null ? next : 0) + ID_HEADROOM);
+    }
+
+    // Above every stored trade id and every block a running node may already have reserved from trade_id_seq;
+    // the nextval drawn here is a block of our own, so no headroom is needed
+    private long firstFreeTradeId() {
+        Long maxTradeId = jdbcTemplate.queryForObject("SELECT MAX(trade_id) FROM trade", Long.class);
+        Long next = jdbcTemplate.queryForObject("SELECT nextval('" + TRADE_ID_SEQUENCE + "')", Long.class);
+        return Math.max(maxTradeId != null ? maxTradeId + 1 : 1, next != null ? next : 1);
+    }
+
+    private void advanceSequences(SyntheticDataProperties properties, Layout layout) {
+        long versions = (long) properties.getTrades() * layout.maxVersions();
+        long legs = versions * LEGS_PER_TRADE;
+        restart("trade_seq", layout.firstRowId() + versions + ID_HEADROOM);
+        restart("trade_leg_seq", layout.firstLegId() + legs + ID_HEADROOM);
+        restart("cashflow_seq", layout.firstCashflowId() + legs * layout.cashflowsPerLeg() + ID_HEADROOM);
+        // Only ever forward: firstTradeId is at or past the value drawn above
+        restart(TRADE_ID_SEQUENCE, layout.firstTradeId() + properties.getTrades());
+    }
+
+    private void restart(String sequence, long value) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + value);
+    }
+
+    // Returns the versions, legs and cashflows written for trades [from, to)
+    private long[] writeChunk(int from, int to, SyntheticDataProperties properties, SyntheticReferenceData reference,
+                              Layout layout) {
+        List<Object[]> trades = new ArrayList<>();
+        List<Object[]> legs = new ArrayList<>();
+        List<Object[]> cashflows = new ArrayList<>();
+        for (int index = from; index < to; index++) {
+            addTrade(index, properties, reference, layout, trades, legs, cashflows);
+        }
+        batchInsert(INSERT_TRADE, trades);
+        batchInsert(INSERT_LEG, legs);
+        batchInsert(INSERT_CASHFLOW, cashflows);
+        return new long[]{trades.size(), legs.size(), cashflows.size()};
+    }
+
+    private void addTrade(int index, SyntheticDataProperties properties, SyntheticReferenceData reference, Layout layout,
+                          List<Object[]> trades, List<Object[]> legs, List<Object[]> cashflows) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() ^ (index * 0x9E3779B97F4A7C15L));
+        long tradeId = layout.firstTradeId() + index;
+        int versions = 1 + random.nextInt(layout.maxVersions());
+
+        LocalDate tradeDate = businessDay(properties.getFirstTradeDate().plusDays(random.nextInt(properties.getTradingDays())));
+        LocalDate startDate = businessDay(tradeDate.plusDays(2));
+        LocalDate maturityDate = startDate.plusYears(1 + random.nextInt(properties.getMaxTenorYears()));
+        long book = reference.books()[random.nextInt(reference.books().length)];
+        long counterparty = reference.counterparties()[random.nextInt(reference.counterparties().length)];
+        long trader = reference.traders()[random.nextInt(reference.traders().length)];
+        int currency = random.nextInt(reference.currencies().size());
+        int fixedSchedule = random.nextInt(reference.schedules().size());
+        int floatingSchedule = random.nextInt(reference.schedules().size());
+        boolean payFixed = random.nextBoolean();
+        double fixedRate = (50 + random.nextInt(450)) / 100.0; // 0.50% to 4.99%
+        BigDecimal notional = millions(1 + random.nextInt(100));
+        LocalDateTime created = tradeDate.atTime(8, 0).plusSeconds(random.nextInt(10 * 3600));
+
+        for (int version = 1; version <= versions; version++) {
+            boolean last = version == versions;
+            LocalDateTime deactivated = last ? null : created.plusDays(1 + random.nextInt(30)).plusSeconds(random.nextInt(3600));
+            long status;
+            if (versions == 1) {
+                status = random.nextBoolean() ? reference.statusNew() : reference.statusLive();
+            } else if (version == 1) {
+                status = reference.statusNew();
+            } else if (last && random.nextInt(10) == 0) {
+                status = reference.statusCancelled();
+            } else if (last && random.nextInt(9) == 0) {
+                status = reference.statusTerminated();
+            } else {
+                status = reference.statusAmended();
+                // An amendment books new legs, here on a different notional
+                notional = millions(Math.max(1, notional.intValue() / 1_000_000 + random.nextInt(21) - 10));
+            }
+
+            long versionOrdinal = (long) index * layout.maxVersions() + version - 1;
+            long rowId = layout.firstRowId() + versionOrdinal;
+            trades.add(new Object[]{rowId, tradeId, version, book, counterparty, trader, trader, reference.swap(),
+                    reference.irSwap(), status, Date.valueOf(tradeDate), Date.valueOf(startDate),
+                    Date.valueOf(maturityDate), Date.valueOf(tradeDate), "SYN-" + tradeId, Timestamp.valueOf(created),
+                    Date.valueOf(created.toLocalDate()), deactivated != null ? Date.valueOf(deactivated.toLocalDate()) : null,
+                    last, Timestamp.valueOf(created), deactivated != null ? Timestamp.valueOf(deactivated) : null});
+
+            for (int leg = 0; leg < LEGS_PER_TRADE; leg++) {
+                boolean fixed = leg == 0;
+                long legOrdinal = versionOrdinal * LEGS_PER_TRADE + leg;
+                long legId = layout.firstLegId() + legOrdinal;
+                int schedule = fixed ? fixedSchedule : floatingSchedule;
+                long payRec = fixed == payFixed ? reference.pay() : reference.receive();
+                long legType = fixed ? reference.fixed() : reference.floating();
+                long calendar = reference.calendarIds()[currency];
+                legs.add(new Object[]{legId, notional, fixed ? fixedRate : 0.0, rowId, reference.currencyIds()[currency],
+                        legType, fixed ? null : reference.indexIds()[currency], calendar, reference.scheduleIds()[schedule],
+                        reference.modifiedFollowing(), reference.modifiedFollowing(), payRec, true, Timestamp.valueOf(created)});
+
+                if (!properties.isCashflows()) {
+                    continue;
+                }
+                LegTerms terms = new LegTerms(fixed ? "Fixed" : "Floating", notional, fixed ? fixedRate : null,
+                        reference.schedules().get(schedule), reference.calendars()[currency], PAYMENT_BDC, null);
+                List<GeneratedCashflow> generated = cashflowEngine.generate(terms, startDate, maturityDate);
+                if (generated.size() > layout.cashflowsPerLeg()) {
+                    throw new IllegalStateException("Leg " + legId + " has " + generated.size() + " cashflows, more than the "
+                            + layout.cashflowsPerLeg() + " ids reserved per leg");
+                }
+                for (int k = 0; k < generated.size(); k++) {
+                    GeneratedCashflow cashflow = generated.get(k);
+                    cashflows.add(new Object[]{layout.firstCashflowId() + legOrdinal * layout.cashflowsPerLeg() + k,
+                            cashflow.paymentValue(), Date.valueOf(cashflow.valueDate()), fixed ? fixedRate : null, legId,
+                            payRec, legType, reference.modifiedFollowing(), Date.valueOf(cashflow.accrualStart()),
+                            Date.valueOf(cashflow.accrualEnd()), fixed ? null : Date.valueOf(cashflow.fixingDate()), true,
+                            Timestamp.valueOf(created), Date.valueOf(created.toLocalDate())});
+                }
+            }
+            created = deactivated;
+        }
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows, rows.size(), SyntheticTradeGenerator::bind);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Object[] row) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            statement.setObject(i + 1, row[i]);
+        }
+    }
+
+    private static LocalDate businessDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY ? date.plusDays(2) : day == DayOfWeek.SUNDAY ? date.plusDays(1) : date;
+    }
+
+    private static BigDecimal millions(int millions) {
+        return BigDecimal.valueOf(1_000_000L * millions).setScale(2);
+    }
+
+    private record Layout(long firstRowId, long firstLegId, long firstCashflowId, long firstTradeId,
+                          int maxVersions, int cashflowsPerLeg) {
+    }
+}
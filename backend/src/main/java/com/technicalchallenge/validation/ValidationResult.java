@@ -13,6 +13,8 @@ import java.util.List;
 public class ValidationResult {
     private boolean valid;
     private final List<String> errors = new ArrayList<>();
+    // Short, fixed name of the rule behind each error (e.g. "leg_count"), used to count failures by rule
+    private final List<String> rules = new ArrayList<>();
 
     // Constructor initializes the result as valid with no errors
     public ValidationResult() {
@@ -24,15 +26,31 @@ public class ValidationResult {
     }
     // Method to add an error message and mark the result as invalid
     public void addError(String error) {
+        addError("other", error);
+    }
+
+    public void addError(String rule, String error) {
         this.valid = false;
         this.errors.add(error);
+        this.rules.add(rule);
+    }
+
+    // Adds the errors of another result to this one
+    public void addAll(ValidationResult other) {
+        for (int i = 0; i < other.errors.size(); i++) {
+            addError(other.rules.get(i), other.errors.get(i));
+        }
     }
 
-    // Getter for errors list. 
+    // Getter for errors list.
     public List<String> getErrors() {
         return errors;
     }
 
+    public List<String> getRules() {
+        return rules;
+    }
+
     @Override
     public String toString() {
         return "ValidationResult{" +
@@ -0,0 +1,41 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Business trade ids (TradeIdAllocator) are reserved from trade_id_seq in blocks: each nextval is the first id of a
+// block of INCREMENT BY ids owned by the node that drew it. The block size is the sequence's increment, so change it
+// with ALTER SEQUENCE ... INCREMENT BY in a later migration; every node uses the new size from its next reservation.
+//
+// Databases from before this migration may hold trades, and the application used to create the sequence itself, so
+// the sequence restarts above the highest trade id and never behind blocks that have already been drawn. H2 and
+// PostgreSQL only share a literal RESTART WITH, hence a Java migration: the start is worked out here and written in
+public class V10__trade_id_sequence extends BaseJavaMigration {
+
+    static final long FIRST_TRADE_ID = 10000;
+    static final int BLOCK_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS trade_id_seq START WITH " + FIRST_TRADE_ID
+                    + " INCREMENT BY " + BLOCK_SIZE);
+            // The block drawn here is never handed out, so restarting at it loses nothing
+            long next = Math.max(
+                    queryLong(statement, "SELECT COALESCE(MAX(trade_id) + 1, " + FIRST_TRADE_ID + ") FROM trade"),
+                    queryLong(statement, "SELECT nextval('trade_id_seq')"));
+            statement.execute("ALTER SEQUENCE trade_id_seq RESTART WITH " + next + " INCREMENT BY " + BLOCK_SIZE);
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
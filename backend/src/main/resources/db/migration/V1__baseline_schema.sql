@@ -0,0 +1,244 @@
+-- Baseline schema: the tables, sequences and constraints Hibernate used to create with ddl-auto=create-drop.
+-- From here on the schema only changes through new migrations; Hibernate validates the mappings against it.
+
+-- Pooled id sequences (allocationSize 50), starting above the seeded ids
+CREATE SEQUENCE cashflow_seq START WITH 100000 INCREMENT BY 50;
+CREATE SEQUENCE trade_leg_seq START WITH 100000 INCREMENT BY 50;
+CREATE SEQUENCE trade_seq START WITH 100000 INCREMENT BY 50;
+
+CREATE TABLE additional_info (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    active BOOLEAN NOT NULL,
+    version INTEGER NOT NULL,
+    created_date TIMESTAMP(6) NOT NULL,
+    deactivated_date TIMESTAMP(6),
+    entity_id BIGINT NOT NULL,
+    last_modified_date TIMESTAMP(6),
+    entity_type VARCHAR(255) NOT NULL,
+    field_name VARCHAR(255) NOT NULL,
+    field_type VARCHAR(255) NOT NULL,
+    field_value TEXT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE application_user (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    active BOOLEAN NOT NULL,
+    version INTEGER NOT NULL,
+    last_modified_timestamp TIMESTAMP(6),
+    user_profile_id BIGINT,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    login_id VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE book (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    active BOOLEAN NOT NULL,
+    version INTEGER NOT NULL,
+    cost_center_id BIGINT,
+    book_name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE business_day_convention (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    bdc VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE cashflow (
+    id BIGINT NOT NULL,
+    active BOOLEAN,
+    payment_value NUMERIC(38,2),
+    rate FLOAT(53),
+    validity_end_date DATE,
+    validity_start_date DATE,
+    value_date DATE,
+    created_date TIMESTAMP(6),
+    leg_id BIGINT,
+    pay_rec_id BIGINT,
+    payment_business_day_convention_id BIGINT,
+    payment_type_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE cost_center (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    subdesk_id BIGINT,
+    cost_center_name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE counterparty (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    active BOOLEAN NOT NULL,
+    created_date DATE,
+    last_modified_date DATE,
+    internal_code BIGINT,
+    address VARCHAR(255),
+    name VARCHAR(255),
+    phone_number VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE currency (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    currency VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE desk (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    desk_name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE holiday_calendar (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    holiday_calendar VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE index_table (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    index VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE leg_type (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    type VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE pay_rec (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    pay_rec VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE privilege (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE schedule (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    schedule VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE sub_desk (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    desk_id BIGINT,
+    subdesk_name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE trade (
+    id BIGINT NOT NULL,
+    active BOOLEAN,
+    trade_date DATE,
+    trade_execution_date DATE,
+    trade_maturity_date DATE,
+    trade_start_date DATE,
+    validity_end_date DATE,
+    validity_start_date DATE,
+    version INTEGER,
+    additional_fields_id BIGINT,
+    book_id BIGINT,
+    counterparty_id BIGINT,
+    created_date TIMESTAMP(6),
+    deactivated_date TIMESTAMP(6),
+    inputter_user_id BIGINT,
+    last_touch_timestamp TIMESTAMP(6),
+    trade_id BIGINT,
+    trade_status_id BIGINT,
+    trade_sub_type_id BIGINT,
+    trade_type_id BIGINT,
+    trader_user_id BIGINT,
+    uti_code VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE trade_leg (
+    leg_id BIGINT NOT NULL,
+    active BOOLEAN,
+    notional NUMERIC(38,2),
+    rate FLOAT(53),
+    calculation_period_schedule_id BIGINT,
+    created_date TIMESTAMP(6),
+    currency_id BIGINT,
+    deactivated_date TIMESTAMP(6),
+    fixing_business_day_convention_id BIGINT,
+    holiday_calendar_id BIGINT,
+    index_id BIGINT,
+    leg_rate_type_id BIGINT,
+    pay_rec_id BIGINT,
+    payment_business_day_convention_id BIGINT,
+    trade_id BIGINT,
+    PRIMARY KEY (leg_id)
+);
+
+CREATE TABLE trade_status (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    trade_status VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE trade_sub_type (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    trade_sub_type VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE trade_type (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    trade_type VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE user_privilege (
+    privilege_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (privilege_id, user_id)
+);
+
+CREATE TABLE user_profile (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_type VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+-- Trade date lookups used by the daily summary and the keyset blotter
+CREATE INDEX idx_trade_trade_date_active ON trade (trade_date, active);
+CREATE INDEX idx_trade_trade_date_id ON trade (trade_date, id);
+
+ALTER TABLE application_user ADD CONSTRAINT fk_application_user_user_profile FOREIGN KEY (user_profile_id) REFERENCES user_profile (id);
+ALTER TABLE book ADD CONSTRAINT fk_book_cost_center FOREIGN KEY (cost_center_id) REFERENCES cost_center (id);
+ALTER TABLE cashflow ADD CONSTRAINT fk_cashflow_pay_rec FOREIGN KEY (pay_rec_id) REFERENCES pay_rec (id);
+ALTER TABLE cashflow ADD CONSTRAINT fk_cashflow_payment_business_day_convention FOREIGN KEY (payment_business_day_convention_id) REFERENCES business_day_convention (id);
+ALTER TABLE cashflow ADD CONSTRAINT fk_cashflow_payment_type FOREIGN KEY (payment_type_id) REFERENCES leg_type (id);
+ALTER TABLE cashflow ADD CONSTRAINT fk_cashflow_leg FOREIGN KEY (leg_id) REFERENCES trade_leg (leg_id);
+ALTER TABLE cost_center ADD CONSTRAINT fk_cost_center_subdesk FOREIGN KEY (subdesk_id) REFERENCES sub_desk (id);
+ALTER TABLE sub_desk ADD CONSTRAINT fk_sub_desk_desk FOREIGN KEY (desk_id) REFERENCES desk (id);
+ALTER TABLE trade ADD CONSTRAINT fk_trade_book FOREIGN KEY (book_id) REFERENCES book (id);
+ALTER TABLE trade ADD CONSTRAINT fk_trade_counterparty FOREIGN KEY (counterparty_id) REFERENCES counterparty (id);
+ALTER TABLE trade ADD CONSTRAINT fk_trade_inputter_user FOREIGN KEY (inputter_user_id) REFERENCES application_user (id);
+ALTER TABLE trade ADD CONSTRAINT fk_trade_trade_status FOREIGN KEY (trade_status_id) REFERENCES trade_status (id);
+ALTER TABLE trade ADD CONSTRAINT fk_trade_trade_sub_type FOREIGN KEY (trade_sub_type_id) REFERENCES trade_sub_type (id);
+ALTER TABLE trade ADD CONSTRAINT fk_trade_trade_type FOREIGN KEY (trade_type_id) REFERENCES trade_type (id);
+ALTER TABLE trade ADD CONSTRAINT fk_trade_trader_user FOREIGN KEY (trader_user_id) REFERENCES application_user (id);
+ALTER TABLE trade_leg ADD CONSTRAINT fk_trade_leg_calculation_period_schedule FOREIGN KEY (calculation_period_schedule_id) REFERENCES schedule (id);
+ALTER TABLE trade_leg ADD CONSTRAINT fk_trade_leg_currency FOREIGN KEY (currency_id) REFERENCES currency (id);
+ALTER TABLE trade_leg ADD CONSTRAINT fk_trade_leg_fixing_business_day_convention FOREIGN KEY (fixing_business_day_convention_id) REFERENCES business_day_convention (id);
+ALTER TABLE trade_leg ADD CONSTRAINT fk_trade_leg_holiday_calendar FOREIGN KEY (holiday_calendar_id) REFERENCES holiday_calendar (id);
+ALTER TABLE trade_leg ADD CONSTRAINT fk_trade_leg_index FOREIGN KEY (index_id) REFERENCES index_table (id);
+ALTER TABLE trade_leg ADD CONSTRAINT fk_trade_leg_leg_rate_type FOREIGN KEY (leg_rate_type_id) REFERENCES leg_type (id);
+ALTER TABLE trade_leg ADD CONSTRAINT fk_trade_leg_pay_rec FOREIGN KEY (pay_rec_id) REFERENCES pay_rec (id);
+ALTER TABLE trade_leg ADD CONSTRAINT fk_trade_leg_payment_business_day_convention FOREIGN KEY (payment_business_day_convention_id) REFERENCES business_day_convention (id);
+ALTER TABLE trade_leg ADD CONSTRAINT fk_trade_leg_trade FOREIGN KEY (trade_id) REFERENCES trade (id);
@@ -1,3 +1,5 @@
+-- Reference data, users and sample trades (formerly data.sql, which re-seeded the schema on every start)
+
 -- Reference Data
 INSERT INTO desk (id, desk_name) VALUES (1000, 'FX'), (1001, 'Rates'), (1002, 'Credit');
 INSERT INTO sub_desk (id, subdesk_name, desk_id) VALUES (1000, 'FX Spot', 1000), (1001, 'FX Options', 1000), (1002, 'Rates Swaps', 1001);
@@ -61,3 +63,25 @@ INSERT INTO cashflow (id, payment_value, value_date, rate, leg_id, pay_rec_id, p
 INSERT INTO additional_info (id, entity_type, entity_id, field_name, field_value, field_type, active, version, created_date, last_modified_date, deactivated_date) VALUES
   (1000, 'TRADE', 100001, 'SETTLEMENT_INSTRUCTIONS', 'Pay via Bank ABC, Account: 12345-67890, SWIFT: ABCGB2LXXX, Reference: TRADE-100001', 'STRING', true, 1, '2024-06-01T10:30:00', '2024-06-01T10:30:00', null),
   (1001, 'TRADE', 100002, 'SETTLEMENT_INSTRUCTIONS', 'Pay via HSBC London, Account: 98765-43210, SWIFT: HSBCGB2LXXX, Reference: TRADE-100002', 'STRING', true, 1, '2024-06-02T11:15:00', '2024-06-02T11:15:00', null);
+
+-- The rows above carry explicit ids, which do not move the identity columns on. Start them after the seeded
+-- ids so rows created through the application never collide with the seed
+ALTER TABLE desk ALTER COLUMN id RESTART WITH 1003;
+ALTER TABLE sub_desk ALTER COLUMN id RESTART WITH 1003;
+ALTER TABLE cost_center ALTER COLUMN id RESTART WITH 1002;
+ALTER TABLE book ALTER COLUMN id RESTART WITH 1002;
+ALTER TABLE trade_type ALTER COLUMN id RESTART WITH 1003;
+ALTER TABLE trade_sub_type ALTER COLUMN id RESTART WITH 1004;
+ALTER TABLE trade_status ALTER COLUMN id RESTART WITH 1006;
+ALTER TABLE currency ALTER COLUMN id RESTART WITH 1003;
+ALTER TABLE leg_type ALTER COLUMN id RESTART WITH 1002;
+ALTER TABLE index_table ALTER COLUMN id RESTART WITH 1002;
+ALTER TABLE holiday_calendar ALTER COLUMN id RESTART WITH 1002;
+ALTER TABLE schedule ALTER COLUMN id RESTART WITH 1002;
+ALTER TABLE business_day_convention ALTER COLUMN id RESTART WITH 1002;
+ALTER TABLE pay_rec ALTER COLUMN id RESTART WITH 1002;
+ALTER TABLE user_profile ALTER COLUMN id RESTART WITH 1005;
+ALTER TABLE application_user ALTER COLUMN id RESTART WITH 1007;
+ALTER TABLE privilege ALTER COLUMN id RESTART WITH 1007;
+ALTER TABLE counterparty ALTER COLUMN id RESTART WITH 1002;
+ALTER TABLE additional_info ALTER COLUMN id RESTART WITH 1002;
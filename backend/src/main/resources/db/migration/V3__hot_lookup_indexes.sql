@@ -0,0 +1,20 @@
+-- Indexes for the hot lookups. HotQueryPlanTest EXPLAINs the queries below and fails if any of them
+-- goes back to a full scan of trade, trade_leg, cashflow, additional_info or application_user.
+
+-- Current version of a trade: findByTradeIdAndActiveTrue, findLatestActiveVersionByTradeId, findMaxVersionByTradeId
+CREATE INDEX idx_trade_trade_id_active ON trade (trade_id, active);
+
+-- Blotter filters (TradeSpecifications): value date range, and book / counterparty / status joins
+CREATE INDEX idx_trade_trade_start_date ON trade (trade_start_date);
+CREATE INDEX idx_trade_book_active ON trade (book_id, active);
+CREATE INDEX idx_trade_counterparty_active ON trade (counterparty_id, active);
+CREATE INDEX idx_trade_trade_status_active ON trade (trade_status_id, active);
+
+-- Settlement instructions and other additional fields of a trade, single and bulk (entity_id IN ...)
+CREATE INDEX idx_additional_info_entity_field_active ON additional_info (entity_type, entity_id, field_name, active);
+
+-- Legs and cashflows of a set of trades. Postgres does not index foreign key columns on its own
+CREATE INDEX idx_trade_leg_trade_id ON trade_leg (trade_id);
+CREATE INDEX idx_cashflow_leg_id ON cashflow (leg_id);
+
+-- application_user.login_id (findByLoginId) is already covered by its unique constraint
@@ -0,0 +1,77 @@
+-- Holiday dates per holiday calendar. BusinessCalendarService loads them once into bitsets, so cashflow
+-- generation never queries this table per date. Weekends are implied and not stored.
+CREATE TABLE holiday_date (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    holiday_calendar_id BIGINT NOT NULL,
+    holiday_date DATE NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE holiday_date ADD CONSTRAINT fk_holiday_date_holiday_calendar FOREIGN KEY (holiday_calendar_id) REFERENCES holiday_calendar (id);
+ALTER TABLE holiday_date ADD CONSTRAINT uk_holiday_date_calendar_date UNIQUE (holiday_calendar_id, holiday_date);
+
+-- NY: Federal Reserve holidays
+INSERT INTO holiday_date (id, holiday_calendar_id, holiday_date, description) VALUES
+    (1000, 1000, DATE '2024-01-01', 'New Year''s Day'),
+    (1001, 1000, DATE '2024-01-15', 'Martin Luther King Jr. Day'),
+    (1002, 1000, DATE '2024-02-19', 'Presidents Day'),
+    (1003, 1000, DATE '2024-05-27', 'Memorial Day'),
+    (1004, 1000, DATE '2024-06-19', 'Juneteenth'),
+    (1005, 1000, DATE '2024-07-04', 'Independence Day'),
+    (1006, 1000, DATE '2024-09-02', 'Labor Day'),
+    (1007, 1000, DATE '2024-10-14', 'Columbus Day'),
+    (1008, 1000, DATE '2024-11-11', 'Veterans Day'),
+    (1009, 1000, DATE '2024-11-28', 'Thanksgiving Day'),
+    (1010, 1000, DATE '2024-12-25', 'Christmas Day'),
+    (1011, 1000, DATE '2025-01-01', 'New Year''s Day'),
+    (1012, 1000, DATE '2025-01-20', 'Martin Luther King Jr. Day'),
+    (1013, 1000, DATE '2025-02-17', 'Presidents Day'),
+    (1014, 1000, DATE '2025-05-26', 'Memorial Day'),
+    (1015, 1000, DATE '2025-06-19', 'Juneteenth'),
+    (1016, 1000, DATE '2025-07-04', 'Independence Day'),
+    (1017, 1000, DATE '2025-09-01', 'Labor Day'),
+    (1018, 1000, DATE '2025-10-13', 'Columbus Day'),
+    (1019, 1000, DATE '2025-11-11', 'Veterans Day'),
+    (1020, 1000, DATE '2025-11-27', 'Thanksgiving Day'),
+    (1021, 1000, DATE '2025-12-25', 'Christmas Day'),
+    (1022, 1000, DATE '2026-01-01', 'New Year''s Day'),
+    (1023, 1000, DATE '2026-01-19', 'Martin Luther King Jr. Day'),
+    (1024, 1000, DATE '2026-02-16', 'Presidents Day'),
+    (1025, 1000, DATE '2026-05-25', 'Memorial Day'),
+    (1026, 1000, DATE '2026-06-19', 'Juneteenth'),
+    (1027, 1000, DATE '2026-07-03', 'Independence Day (observed)'),
+    (1028, 1000, DATE '2026-09-07', 'Labor Day'),
+    (1029, 1000, DATE '2026-10-12', 'Columbus Day'),
+    (1030, 1000, DATE '2026-11-11', 'Veterans Day'),
+    (1031, 1000, DATE '2026-11-26', 'Thanksgiving Day'),
+    (1032, 1000, DATE '2026-12-25', 'Christmas Day');
+
+-- LON: England and Wales bank holidays
+INSERT INTO holiday_date (id, holiday_calendar_id, holiday_date, description) VALUES
+    (1100, 1001, DATE '2024-01-01', 'New Year''s Day'),
+    (1101, 1001, DATE '2024-03-29', 'Good Friday'),
+    (1102, 1001, DATE '2024-04-01', 'Easter Monday'),
+    (1103, 1001, DATE '2024-05-06', 'Early May bank holiday'),
+    (1104, 1001, DATE '2024-05-27', 'Spring bank holiday'),
+    (1105, 1001, DATE '2024-08-26', 'Summer bank holiday'),
+    (1106, 1001, DATE '2024-12-25', 'Christmas Day'),
+    (1107, 1001, DATE '2024-12-26', 'Boxing Day'),
+    (1108, 1001, DATE '2025-01-01', 'New Year''s Day'),
+    (1109, 1001, DATE '2025-04-18', 'Good Friday'),
+    (1110, 1001, DATE '2025-04-21', 'Easter Monday'),
+    (1111, 1001, DATE '2025-05-05', 'Early May bank holiday'),
+    (1112, 1001, DATE '2025-05-26', 'Spring bank holiday'),
+    (1113, 1001, DATE '2025-08-25', 'Summer bank holiday'),
+    (1114, 1001, DATE '2025-12-25', 'Christmas Day'),
+    (1115, 1001, DATE '2025-12-26', 'Boxing Day'),
+    (1116, 1001, DATE '2026-01-01', 'New Year''s Day'),
+    (1117, 1001, DATE '2026-04-03', 'Good Friday'),
+    (1118, 1001, DATE '2026-04-06', 'Easter Monday'),
+    (1119, 1001, DATE '2026-05-04', 'Early May bank holiday'),
+    (1120, 1001, DATE '2026-05-25', 'Spring bank holiday'),
+    (1121, 1001, DATE '2026-08-31', 'Summer bank holiday'),
+    (1122, 1001, DATE '2026-12-25', 'Christmas Day'),
+    (1123, 1001, DATE '2026-12-28', 'Boxing Day (substitute day)');
+
+ALTER TABLE holiday_date ALTER COLUMN id RESTART WITH 1200;
@@ -0,0 +1,3 @@
+-- Day count used for fixed leg accruals (CashflowEngine). Existing legs keep NULL, which means 30/360:
+-- the months / 12 accrual their cashflows were generated with.
+ALTER TABLE trade_leg ADD COLUMN day_count VARCHAR(20);
@@ -0,0 +1,20 @@
+-- Published fixings per floating rate index (rates in percent, like trade_leg.rate)
+CREATE TABLE index_fixing (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    index_id BIGINT NOT NULL,
+    fixing_date DATE NOT NULL,
+    rate FLOAT(53) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE index_fixing ADD CONSTRAINT fk_index_fixing_index FOREIGN KEY (index_id) REFERENCES index_table (id);
+ALTER TABLE index_fixing ADD CONSTRAINT uk_index_fixing_index_date UNIQUE (index_id, fixing_date);
+
+-- Calculation period and fixing date of each cashflow, so floating cashflows can be reset without
+-- regenerating the schedule. Only cashflows of floating legs have a fixing date; they stay unset
+-- (rate NULL) until FloatingRateResetJob applies the fixing.
+ALTER TABLE cashflow ADD COLUMN accrual_start_date DATE;
+ALTER TABLE cashflow ADD COLUMN accrual_end_date DATE;
+ALTER TABLE cashflow ADD COLUMN fixing_date DATE;
+
+CREATE INDEX idx_cashflow_fixing_date ON cashflow (fixing_date);
@@ -0,0 +1,2 @@
+-- Change feed (GET /api/trades/changes): trades are read in (last_touch_timestamp, id) order from a watermark
+CREATE INDEX idx_trade_last_touch_id ON trade (last_touch_timestamp, id);
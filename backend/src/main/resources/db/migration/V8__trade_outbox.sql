@@ -0,0 +1,17 @@
+-- Transactional outbox and trade lifecycle event log. A row is written in the same transaction as the trade change
+-- it describes (TradeEventPublisher) and delivered to the downstream sinks by OutboxRelay, which stamps
+-- published_at. Delivered rows are kept as the event log of each trade.
+CREATE TABLE trade_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    trade_id BIGINT NOT NULL,
+    trade_version INTEGER,
+    event_type VARCHAR(64) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    published_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+-- The relay reads the undelivered rows in id order; the event log reads one trade's rows
+CREATE INDEX idx_trade_outbox_published_id ON trade_outbox (published_at, id);
+CREATE INDEX idx_trade_outbox_trade_id ON trade_outbox (trade_id, id);
@@ -0,0 +1,19 @@
+-- Every trade version covers the half-open interval [created_date, deactivated_date): the version that replaces it
+-- starts at the instant it was deactivated, and the current version has no deactivated_date. validity_start_date and
+-- validity_end_date are the same interval as business dates.
+
+-- Rows written before the intervals were maintained: close each superseded version at the creation of the next one,
+-- so the versions of a trade neither overlap nor leave a gap
+UPDATE trade SET created_date = last_touch_timestamp WHERE created_date IS NULL;
+
+UPDATE trade t SET deactivated_date = (
+        SELECT MIN(n.created_date) FROM trade n WHERE n.trade_id = t.trade_id AND n.version > t.version)
+WHERE EXISTS (SELECT 1 FROM trade n WHERE n.trade_id = t.trade_id AND n.version > t.version);
+
+UPDATE trade SET validity_start_date = CAST(created_date AS DATE) WHERE validity_start_date IS NULL;
+UPDATE trade SET validity_end_date = CAST(deactivated_date AS DATE) WHERE deactivated_date IS NOT NULL;
+
+-- As-of lookups (GET /api/trades/{id}?asOf=, GET /api/trades/filter?asOf=): the version of a trade, or every trade of a
+-- book, in force at a point in time is a range seek on created_date with deactivated_date checked from the index
+CREATE INDEX idx_trade_trade_id_validity ON trade (trade_id, created_date, deactivated_date);
+CREATE INDEX idx_trade_book_validity ON trade (book_id, created_date, deactivated_date);
@@ -0,0 +1,172 @@
+package com.technicalchallenge.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradeColumnStoreTest {
+
+    private static final LocalDate TRADE_DATE = LocalDate.of(2025, 3, 14);
+    private static final TradeUser SIMON = new TradeUser("simon", "Simon", "King");
+    private static final TradeUser ASHLEY = new TradeUser("ashley", "Ashley", "Lee");
+
+    @Test
+    @DisplayName("Trade-level group-bys count trades and sum notional, net and absolute net per trade")
+    void testGroupBy_TradeLevel() {
+        TradeColumnStore store = new TradeColumnStore();
+        store.put(trade(1, "NEW", "FX-BOOK-1", SIMON, TRADE_DATE, leg("USD", "PAY", "1000000"), leg("EUR", "RECEIVE", "900000")));
+        store.put(trade(2, "NEW", "FX-BOOK-1", ASHLEY, TRADE_DATE, leg("USD", "RECEIVE", "250000")));
+        store.put(trade(3, "LIVE", "RATES-BOOK-1", SIMON, TRADE_DATE.plusDays(1)));
+
+        List<TradeGroup> byBook = store.groupBy(List.of(TradeDimension.BOOK), Map.of(), null, null);
+
+        assertEquals(List.of(
+                new TradeGroup(List.of("FX-BOOK-1"), 2, money("2150000"), money("150000"), money("350000")),
+                new TradeGroup(List.of("RATES-BOOK-1"), 1, money("0"), money("0"), money("0"))), byBook);
+
+        List<TradeGroup> byDateAndTrader = store.groupBy(List.of(TradeDimension.TRADE_DATE, TradeDimension.TRADER),
+                Map.of(), null, null);
+        assertEquals(List.of(List.of(TRADE_DATE, ASHLEY), List.of(TRADE_DATE, SIMON), List.of(TRADE_DATE.plusDays(1), SIMON)),
+                byDateAndTrader.stream().map(TradeGroup::key).toList());
+    }
+
+    @Test
+    @DisplayName("Leg-level group-bys split a trade across its legs and net the legs that share a group")
+    void testGroupBy_LegLevel() {
+        TradeColumnStore store = new TradeColumnStore();
+        store.put(trade(1, "NEW", "FX-BOOK-1", SIMON, TRADE_DATE, leg("USD", "PAY", "1000000"), leg("USD", "RECEIVE", "400000")));
+        store.put(trade(2, "NEW", "FX-BOOK-1", SIMON, TRADE_DATE, leg("EUR", "RECEIVE", "500000"), leg(null, "PAY", "10")));
+
+        List<TradeGroup> byCurrency = store.groupBy(List.of(TradeDimension.CURRENCY), Map.of(), null, null);
+
+        assertEquals(3, byCurrency.size());
+        assertEquals(new TradeGroup(List.of("EUR"), 1, money("500000"), money("500000"), money("500000")), byCurrency.get(0));
+        assertEquals(new TradeGroup(List.of("USD"), 1, money("1400000"), money("-600000"), money("600000")), byCurrency.get(1));
+        assertNull(byCurrency.get(2).key().get(0));
+
+        List<TradeGroup> usdByBook = store.groupBy(List.of(TradeDimension.BOOK), Map.of(TradeDimension.CURRENCY, "USD"), null, null);
+        assertEquals(List.of(new TradeGroup(List.of("FX-BOOK-1"), 1, money("1400000"), money("-600000"), money("600000"))), usdByBook);
+    }
+
+    @Test
+    @DisplayName("Filters match dimension values, trader logins and trade date ranges; unknown values match nothing")
+    void testGroupBy_Filters() {
+        TradeColumnStore store = new TradeColumnStore();
+        store.put(trade(1, "NEW", "FX-BOOK-1", SIMON, TRADE_DATE, leg("USD", "PAY", "100")));
+        store.put(trade(2, "LIVE", "FX-BOOK-1", ASHLEY, TRADE_DATE.minusDays(3), leg("USD", "PAY", "200")));
+        store.put(trade(3, "LIVE", "FX-BOOK-1", SIMON, null, leg("USD", "PAY", "300")));
+        List<TradeDimension> byStatus = List.of(TradeDimension.STATUS);
+
+        assertEquals(1, store.groupBy(byStatus, Map.of(TradeDimension.TRADER, "ashley"), null, null).get(0).tradeCount());
+        assertEquals(List.of(List.of("LIVE"), List.of("NEW")),
+                store.groupBy(byStatus, Map.of(), TRADE_DATE.minusDays(5), TRADE_DATE).stream().map(TradeGroup::key).toList());
+        assertEquals(List.of(List.of("NEW")),
+                store.groupBy(byStatus, Map.of(), TRADE_DATE, null).stream().map(TradeGroup::key).toList());
+        assertTrue(store.groupBy(byStatus, Map.of(TradeDimension.BOOK, "NO-SUCH-BOOK"), null, null).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> store.groupBy(byStatus, Map.of(TradeDimension.TRADE_DATE, "2025-03-14"), null, null));
+    }
+
+    @Test
+    @DisplayName("A trade put again replaces its earlier row, also once the columns have been compacted")
+    void testPut_ReplacesAndCompacts() {
+        TradeColumnStore store = new TradeColumnStore();
+        for (int version = 0; version < 5_000; version++) {
+            for (long tradeId = 1; tradeId <= 3; tradeId++) {
+                store.put(trade(tradeId, version % 2 == 0 ? "NEW" : "AMENDED", "BOOK-" + tradeId, SIMON, TRADE_DATE,
+                        leg("USD", "PAY", String.valueOf(version)), leg("EUR", "RECEIVE", "1")));
+            }
+        }
+        store.remove(3);
+
+        assertEquals(2, store.size());
+        assertEquals(4, store.legCount());
+        assertEquals(List.of(new TradeGroup(List.of("AMENDED"), 2, money("10000"), money("-9996"), money("9996"))),
+                store.groupBy(List.of(TradeDimension.STATUS), Map.of(), null, null));
+    }
+
+    @Test
+    @DisplayName("Date ranges follow trades moved to another date, also once the columns have been compacted")
+    void testGroupBy_DateRangeAfterRedatingAndCompaction() {
+        TradeColumnStore store = new TradeColumnStore();
+        for (long tradeId = 0; tradeId < 3_000; tradeId++) {
+            store.put(trade(tradeId, "NEW", "BOOK-1", SIMON, TRADE_DATE.minusDays(tradeId % 30), leg("USD", "PAY", "1")));
+        }
+        // every trade dated in the last week moves a year back; the dead rows outnumber the live ones, so the
+        // columns are compacted along the way
+        for (int round = 0; round < 2; round++) {
+            for (long tradeId = 0; tradeId < 3_000; tradeId++) {
+                LocalDate tradeDate = tradeId % 30 < 7 ? TRADE_DATE.minusYears(1) : TRADE_DATE.minusDays(tradeId % 30);
+                store.put(trade(tradeId, "LIVE", "BOOK-1", SIMON, tradeDate, leg("USD", "PAY", "1")));
+            }
+        }
+        List<TradeDimension> byStatus = List.of(TradeDimension.STATUS);
+
+        assertTrue(store.groupBy(byStatus, Map.of(), TRADE_DATE.minusDays(6), TRADE_DATE).isEmpty());
+        assertEquals(List.of(new TradeGroup(List.of("LIVE"), 700, money("700"), money("-700"), money("700"))),
+                store.groupBy(byStatus, Map.of(), TRADE_DATE.minusYears(1), TRADE_DATE.minusYears(1)));
+        assertEquals(List.of(new TradeGroup(List.of("LIVE"), 200, money("200"), money("-200"), money("200"))),
+                store.groupBy(byStatus, Map.of(), TRADE_DATE.minusDays(8), TRADE_DATE.minusDays(7)));
+        assertEquals(3_000, store.groupBy(byStatus, Map.of(), null, TRADE_DATE).get(0).tradeCount());
+        assertTrue(store.groupBy(byStatus, Map.of(), TRADE_DATE, TRADE_DATE.minusDays(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Dimensions with more combinations than the dense limit are grouped through a hash map")
+    void testGroupBy_SparseKeys() {
+        TradeColumnStore store = new TradeColumnStore();
+        for (long tradeId = 0; tradeId < 1_000; tradeId++) {
+            store.put(new TradeRow(tradeId, "NEW", "BOOK-" + tradeId, "CPTY-" + tradeId, null, null, SIMON, SIMON,
+                    TRADE_DATE, List.of(leg("USD", "RECEIVE", "1"))));
+        }
+
+        List<TradeGroup> groups = store.groupBy(List.of(TradeDimension.BOOK, TradeDimension.COUNTERPARTY), Map.of(), null, null);
+
+        assertEquals(1_000, groups.size());
+        assertEquals(List.of("BOOK-0", "CPTY-0"), groups.get(0).key());
+        assertEquals(money("1"), groups.get(999).notional());
+    }
+
+    @Test
+    @DisplayName("Grouping a population by book and currency adds up every trade and nets each same-currency swap to zero")
+    void testGroupBy_Population() {
+        String[] currencies = {"USD", "EUR", "GBP", "JPY"};
+        TradeColumnStore store = new TradeColumnStore();
+        for (long tradeId = 0; tradeId < 2_000; tradeId++) {
+            BigDecimal notional = BigDecimal.valueOf(tradeId + 1);
+            String currency = currencies[(int) (tradeId % currencies.length)];
+            store.put(new TradeRow(tradeId, "NEW", "BOOK-" + tradeId % 10, "CPTY-" + tradeId % 7, "Swap", "IR Swap",
+                    SIMON, ASHLEY, TRADE_DATE,
+                    List.of(new TradeRow.Leg(currency, "PAY", notional), new TradeRow.Leg(currency, "RECEIVE", notional))));
+        }
+
+        List<TradeGroup> groups = store.groupBy(List.of(TradeDimension.BOOK, TradeDimension.CURRENCY), Map.of(), null, null);
+
+        assertEquals(20, groups.size());
+        assertTrue(groups.stream().allMatch(group -> group.tradeCount() == 100));
+        assertEquals(money("4002000"), groups.stream().map(TradeGroup::notional).reduce(BigDecimal.ZERO, BigDecimal::add));
+        assertTrue(groups.stream().allMatch(group -> group.netExposure().signum() == 0));
+        // BOOK-0 in USD holds trade ids 0, 20, ... 1980, two legs of (id + 1) each
+        assertEquals(new TradeGroup(List.of("BOOK-0", "USD"), 100, money("198200"), money("0"), money("0")),
+                groups.stream().filter(group -> group.key().equals(List.of("BOOK-0", "USD"))).findFirst().orElseThrow());
+    }
+
+    private static TradeRow trade(long tradeId, String status, String book, TradeUser trader, LocalDate tradeDate,
+                                  TradeRow.Leg... legs) {
+        return new TradeRow(tradeId, status, book, "Goldman Sachs", "Swap", "IR Swap", trader, ASHLEY, tradeDate, List.of(legs));
+    }
+
+    private static TradeRow.Leg leg(String currency, String payReceive, String notional) {
+        return new TradeRow.Leg(currency, payReceive, new BigDecimal(notional));
+    }
+
+    private static BigDecimal money(String amount) {
+        return new BigDecimal(amount).setScale(TradeColumnStore.NOTIONAL_SCALE);
+    }
+}
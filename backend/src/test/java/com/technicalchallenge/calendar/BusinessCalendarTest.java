@@ -0,0 +1,84 @@
+package com.technicalchallenge.calendar;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessCalendarTest {
+
+    // 2025: Good Friday 18 April, Easter Monday 21 April; 31 May is a Saturday
+    private final BusinessCalendar lon = BusinessCalendar.of("LON", List.of(
+            LocalDate.of(2025, 4, 18), LocalDate.of(2025, 4, 21), LocalDate.of(2025, 12, 25), LocalDate.of(2025, 12, 26)));
+    private final BusinessCalendar ny = BusinessCalendar.of("NY", List.of(
+            LocalDate.of(2025, 7, 4), LocalDate.of(2025, 12, 25), LocalDate.of(2026, 1, 1)));
+
+    @Test
+    @DisplayName("Weekends and holidays are non-business days, inside and outside the loaded years")
+    void testIsBusinessDay() {
+        assertFalse(lon.isBusinessDay(LocalDate.of(2025, 4, 18)));
+        assertFalse(lon.isBusinessDay(LocalDate.of(2025, 4, 19)));
+        assertTrue(lon.isBusinessDay(LocalDate.of(2025, 4, 22)));
+        assertTrue(lon.isBusinessDay(LocalDate.of(2025, 7, 4)));
+        assertFalse(lon.isBusinessDay(LocalDate.of(2030, 6, 1)), "Saturday outside the loaded years");
+        assertTrue(lon.isBusinessDay(LocalDate.of(1999, 12, 31)));
+
+        BusinessCalendar weekends = BusinessCalendar.weekendsOnly("NONE");
+        for (LocalDate date = LocalDate.of(2024, 12, 1); date.isBefore(LocalDate.of(2025, 2, 1)); date = date.plusDays(1)) {
+            boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+            assertEquals(!weekend, weekends.isBusinessDay(date), date.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Following, Modified Following and Preceding roll off holidays and respect month ends")
+    void testAdjust() {
+        LocalDate goodFriday = LocalDate.of(2025, 4, 18);
+        assertEquals(LocalDate.of(2025, 4, 22), lon.adjust(goodFriday, RollConvention.FOLLOWING));
+        assertEquals(LocalDate.of(2025, 4, 17), lon.adjust(goodFriday, RollConvention.PRECEDING));
+        assertEquals(goodFriday, lon.adjust(goodFriday, RollConvention.UNADJUSTED));
+
+        LocalDate saturdayMonthEnd = LocalDate.of(2025, 5, 31);
+        assertEquals(LocalDate.of(2025, 6, 2), lon.adjust(saturdayMonthEnd, RollConvention.FOLLOWING));
+        assertEquals(LocalDate.of(2025, 5, 30), lon.adjust(saturdayMonthEnd, RollConvention.MODIFIED_FOLLOWING));
+
+        LocalDate sundayMonthStart = LocalDate.of(2025, 6, 1);
+        assertEquals(LocalDate.of(2025, 5, 30), lon.adjust(sundayMonthStart, RollConvention.PRECEDING));
+        assertEquals(LocalDate.of(2025, 6, 2), lon.adjust(sundayMonthStart, RollConvention.MODIFIED_PRECEDING));
+
+        assertEquals(RollConvention.MODIFIED_FOLLOWING, RollConvention.fromName("Modified Following"));
+        assertEquals(RollConvention.MODIFIED_FOLLOWING, RollConvention.fromName(null));
+        assertThrows(IllegalArgumentException.class, () -> RollConvention.fromName("End of Month"));
+    }
+
+    @Test
+    @DisplayName("Business days are counted forwards and backwards over weekends and holidays")
+    void testAddBusinessDays() {
+        assertEquals(LocalDate.of(2025, 4, 23), lon.addBusinessDays(LocalDate.of(2025, 4, 16), 3));
+        assertEquals(LocalDate.of(2025, 4, 16), lon.addBusinessDays(LocalDate.of(2025, 4, 23), -3));
+        assertEquals(LocalDate.of(2025, 4, 19), lon.addBusinessDays(LocalDate.of(2025, 4, 19), 0));
+        assertEquals(LocalDate.of(2025, 12, 29), lon.addBusinessDays(LocalDate.of(2025, 12, 24), 1));
+    }
+
+    @Test
+    @DisplayName("A joint calendar closes on the holidays of either calendar, including across different year ranges")
+    void testJoin() {
+        BusinessCalendar joint = lon.join(ny);
+
+        assertEquals("LON+NY", joint.getName());
+        assertFalse(joint.isBusinessDay(LocalDate.of(2025, 4, 21)));
+        assertFalse(joint.isBusinessDay(LocalDate.of(2025, 7, 4)));
+        assertFalse(joint.isBusinessDay(LocalDate.of(2026, 1, 1)), "NY only loads 2026");
+        assertTrue(joint.isBusinessDay(LocalDate.of(2026, 1, 2)));
+        assertEquals(LocalDate.of(2025, 12, 29), joint.adjust(LocalDate.of(2025, 12, 25), RollConvention.FOLLOWING));
+
+        for (LocalDate date = LocalDate.of(2024, 12, 1); date.isBefore(LocalDate.of(2027, 2, 1)); date = date.plusDays(1)) {
+            assertEquals(lon.isBusinessDay(date) && ny.isBusinessDay(date), joint.isBusinessDay(date), date.toString());
+        }
+        assertFalse(lon.join(BusinessCalendar.weekendsOnly("TGT")).isBusinessDay(LocalDate.of(2025, 4, 18)));
+    }
+}
@@ -0,0 +1,141 @@
+package com.technicalchallenge.cashflow;
+
+import com.technicalchallenge.calendar.BusinessCalendar;
+import com.technicalchallenge.service.BusinessCalendarService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CashflowEngineTest {
+
+    private final BusinessCalendar ny = BusinessCalendar.of("NY", List.of(LocalDate.of(2025, 7, 4)));
+
+    private BusinessCalendarService businessCalendarService;
+    private CashflowEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        businessCalendarService = mock(BusinessCalendarService.class);
+        when(businessCalendarService.getCalendar(any())).thenReturn(BusinessCalendar.weekendsOnly("NONE"));
+        when(businessCalendarService.getCalendar("NY")).thenReturn(ny);
+        engine = new CashflowEngine(businessCalendarService);
+    }
+
+    @Test
+    @DisplayName("Schedule names and tenors map to months; anything else is rejected")
+    void testFrequencyInMonths() {
+        assertEquals(1, CashflowEngine.frequencyInMonths("Monthly"));
+        assertEquals(3, CashflowEngine.frequencyInMonths("quarterly"));
+        assertEquals(6, CashflowEngine.frequencyInMonths("Semi-annually"));
+        assertEquals(12, CashflowEngine.frequencyInMonths("Annually"));
+        assertEquals(3, CashflowEngine.frequencyInMonths("3M"));
+        assertEquals(12, CashflowEngine.frequencyInMonths("1Y"));
+        assertEquals(3, CashflowEngine.frequencyInMonths(null));
+        assertThrows(IllegalArgumentException.class, () -> CashflowEngine.frequencyInMonths("Monthly-ish 3"));
+        assertThrows(IllegalArgumentException.class, () -> CashflowEngine.frequencyInMonths("0M"));
+    }
+
+    @Test
+    @DisplayName("Periods roll off the start date without month-end drift and end on maturity")
+    void testSchedule_RegularPeriods() {
+        List<CashflowPeriod> periods = engine.schedule(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 5, 31), "Monthly", null, "Unadjusted");
+
+        assertEquals(List.of(LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 31), LocalDate.of(2025, 4, 30), LocalDate.of(2025, 5, 31)),
+                periods.stream().map(CashflowPeriod::accrualEnd).toList());
+        assertEquals(LocalDate.of(2025, 2, 28), periods.get(1).accrualStart());
+    }
+
+    @Test
+    @DisplayName("A final stub of a week or more is paid separately, a shorter one is folded into the last period")
+    void testSchedule_Stubs() {
+        List<CashflowPeriod> shortStub = engine.schedule(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 7, 31), "Quarterly", null, null);
+        assertEquals(3, shortStub.size());
+        assertEquals(LocalDate.of(2025, 7, 15), shortStub.get(2).accrualStart());
+
+        List<CashflowPeriod> longStub = engine.schedule(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 7, 18), "Quarterly", null, null);
+        assertEquals(2, longStub.size());
+        assertEquals(LocalDate.of(2025, 4, 15), longStub.get(1).accrualStart());
+        assertEquals(LocalDate.of(2025, 7, 18), longStub.get(1).accrualEnd());
+
+        assertTrue(engine.schedule(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 1, 15), "Quarterly", null, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Payment dates are rolled with the leg's calendar and convention; accrual dates are not")
+    void testSchedule_PaymentDatesAdjusted() {
+        List<CashflowPeriod> periods = engine.schedule(LocalDate.of(2025, 4, 4), LocalDate.of(2025, 10, 4), "Quarterly", "NY", "Following");
+
+        assertEquals(LocalDate.of(2025, 7, 4), periods.get(0).accrualEnd());
+        assertEquals(LocalDate.of(2025, 7, 7), periods.get(0).paymentDate());
+        assertEquals(LocalDate.of(2025, 10, 6), periods.get(1).paymentDate()); // Saturday
+    }
+
+    @Test
+    @DisplayName("Each period fixes two business days before its (adjusted) accrual start")
+    void testSchedule_FixingDates() {
+        List<CashflowPeriod> periods = engine.schedule(LocalDate.of(2025, 4, 8), LocalDate.of(2025, 10, 8), "Quarterly", "NY", "Following");
+
+        assertEquals(LocalDate.of(2025, 4, 4), periods.get(0).fixingDate()); // Tuesday start, over the weekend
+        assertEquals(LocalDate.of(2025, 7, 3), periods.get(1).fixingDate()); // 8 Jul, skipping the 4 Jul holiday
+    }
+
+    @Test
+    @DisplayName("Identical schedules are built once and shared")
+    void testSchedule_Memoized() {
+        LocalDate start = LocalDate.of(2025, 1, 15);
+        LocalDate maturity = LocalDate.of(2030, 1, 15);
+
+        List<CashflowPeriod> first = engine.schedule(start, maturity, "Quarterly", "NY", "Modified Following");
+        List<CashflowPeriod> second = engine.schedule(start, maturity, "3M", "NY", "modified following");
+        List<CashflowPeriod> otherCalendar = engine.schedule(start, maturity, "Quarterly", "LON", "Modified Following");
+
+        assertSame(first, second);
+        assertNotSame(first, otherCalendar);
+        assertEquals(1, engine.scheduleCacheStats().hitCount());
+        assertThrows(UnsupportedOperationException.class, () -> first.remove(0));
+    }
+
+    @Test
+    @DisplayName("Fixed legs accrue notional x rate% x day count fraction; floating legs are zero until fixed")
+    void testGenerate_Amounts() {
+        LocalDate start = LocalDate.of(2025, 1, 15);
+        LocalDate maturity = LocalDate.of(2025, 7, 15);
+        BigDecimal notional = new BigDecimal("10000000");
+
+        List<GeneratedCashflow> thirty360 = engine.generate(new LegTerms("Fixed", notional, 3.5, "Quarterly", null, null, null), start, maturity);
+        assertEquals(new BigDecimal("87500.00"), thirty360.get(0).paymentValue());
+
+        // 15 Jan - 15 Apr is 90 days
+        List<GeneratedCashflow> act360 = engine.generate(new LegTerms("Fixed", notional, 3.5, "Quarterly", null, null, "ACT/360"), start, maturity);
+        assertEquals(new BigDecimal("87500.00"), act360.get(0).paymentValue());
+        List<GeneratedCashflow> act365 = engine.generate(new LegTerms("Fixed", notional, 3.5, "Quarterly", null, null, "ACT/365F"), start, maturity);
+        assertEquals(new BigDecimal("86301.37"), act365.get(0).paymentValue());
+
+        List<GeneratedCashflow> floating = engine.generate(new LegTerms("Floating", notional, null, "Quarterly", null, null, null), start, maturity);
+        assertEquals(2, floating.size());
+        assertEquals(BigDecimal.ZERO, floating.get(1).paymentValue());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.generate(new LegTerms("Fixed", notional, 3.5, "Quarterly", null, null, "ACT/ACT"), start, maturity));
+    }
+
+    @Test
+    @DisplayName("30/360 counts every month as 30 days and caps day 31")
+    void testDayCount() {
+        assertEquals(28, DayCount.THIRTY_360.days(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 28)));
+        assertEquals(90, DayCount.THIRTY_360.days(LocalDate.of(2025, 3, 31), LocalDate.of(2025, 6, 30)));
+        assertEquals(59, DayCount.ACT_360.days(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 1)));
+        assertEquals(1.0, DayCount.ACT_365F.yearFraction(LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1)));
+        assertEquals(DayCount.THIRTY_360, DayCount.fromName(null));
+        assertEquals(DayCount.ACT_365F, DayCount.fromName("act/365f"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.technicalchallenge.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.repository.CurrencyRepository;
+import com.technicalchallenge.service.CurrencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.AopTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(CacheConfigTest.TestConfig.class)
+class CacheConfigTest {
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class TestConfig {
+        @Bean
+        CurrencyRepository currencyRepository() {
+            return mock(CurrencyRepository.class);
+        }
+
+        @Bean
+        CurrencyService currencyService() {
+            return new CurrencyService();
+        }
+    }
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private CurrencyRepository repositoryMock;
+
+    @BeforeEach
+    void setUp() {
+        repositoryMock = AopTestUtils.getUltimateTargetObject(currencyRepository);
+        reset(repositoryMock);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    @DisplayName("Name lookups are served from the cache after the first read")
+    void testFindByName_ReadThrough() {
+        when(repositoryMock.findByCurrency("USD")).thenReturn(Optional.of(currency(1000L, "USD")));
+        CacheStats before = currencyNameCacheStats();
+
+        assertEquals("USD", currencyRepository.findByCurrency("USD").orElseThrow().getCurrency());
+        assertEquals("USD", currencyRepository.findByCurrency("USD").orElseThrow().getCurrency());
+
+        verify(repositoryMock, times(1)).findByCurrency("USD");
+        CacheStats stats = currencyNameCacheStats().minus(before);
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    @DisplayName("Unknown names are not cached")
+    void testFindByName_MissNotCached() {
+        when(repositoryMock.findByCurrency("XXX")).thenReturn(Optional.empty());
+
+        assertTrue(currencyRepository.findByCurrency("XXX").isEmpty());
+        assertTrue(currencyRepository.findByCurrency("XXX").isEmpty());
+
+        verify(repositoryMock, times(2)).findByCurrency("XXX");
+    }
+
+    @Test
+    @DisplayName("Saving through the service evicts the name and id caches")
+    void testSave_EvictsCaches() {
+        when(repositoryMock.findByCurrency("USD")).thenReturn(Optional.of(currency(1000L, "USD")));
+        when(repositoryMock.findById(1000L)).thenReturn(Optional.of(currency(1000L, "USD")));
+        when(repositoryMock.save(any(Currency.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        currencyRepository.findByCurrency("USD");
+        currencyRepository.findById(1000L);
+        currencyService.save(currency(1000L, "USD"));
+        currencyRepository.findByCurrency("USD");
+        currencyRepository.findById(1000L);
+
+        verify(repositoryMock, times(2)).findByCurrency("USD");
+        verify(repositoryMock, times(2)).findById(1000L);
+    }
+
+    private CacheStats currencyNameCacheStats() {
+        return ((CaffeineCache) cacheManager.getCache(CacheConfig.CURRENCY_BY_NAME)).getNativeCache().stats();
+    }
+
+    private Currency currency(Long id, String code) {
+        Currency currency = new Currency();
+        currency.setId(id);
+        currency.setCurrency(code);
+        return currency;
+    }
+}
@@ -0,0 +1,80 @@
+package com.technicalchallenge.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlywayConfigTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private Flyway flyway;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:flywayconfig;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("An empty database is migrated, and a migrated one is migrated again")
+    void testMigratesFlywayDatabases() {
+        new FlywayConfig().flywayMigrationStrategy().migrate(flyway);
+        new FlywayConfig().flywayMigrationStrategy().migrate(flyway);
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trade", Integer.class));
+    }
+
+    @Test
+    @DisplayName("V10 starts trade_id_seq above the trades already stored")
+    void testTradeIdSequenceStartsAboveStoredTrades() {
+        migrateTo("9");
+        jdbcTemplate.update("UPDATE trade SET trade_id = 700000 WHERE trade_id = (SELECT MAX(trade_id) FROM trade)");
+
+        flyway.migrate();
+
+        assertEquals(700001L, jdbcTemplate.queryForObject("SELECT nextval('trade_id_seq')", Long.class));
+    }
+
+    @Test
+    @DisplayName("V10 never moves a sequence the application already drew from back behind its blocks")
+    void testTradeIdSequenceKeepsDrawnBlocks() {
+        migrateTo("9");
+        jdbcTemplate.execute("CREATE SEQUENCE trade_id_seq START WITH 500000 INCREMENT BY 1");
+        jdbcTemplate.queryForObject("SELECT nextval('trade_id_seq')", Long.class);
+
+        flyway.migrate();
+
+        assertEquals(500001L, jdbcTemplate.queryForObject("SELECT nextval('trade_id_seq')", Long.class));
+        assertEquals(500051L, jdbcTemplate.queryForObject("SELECT nextval('trade_id_seq')", Long.class));
+    }
+
+    @Test
+    @DisplayName("A database with a Hibernate-generated schema stops startup with a clear message")
+    void testRejectsHibernateSchema() {
+        jdbcTemplate.execute("CREATE TABLE trade (id BIGINT PRIMARY KEY, trade_id BIGINT)");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new FlywayConfig().flywayMigrationStrategy().migrate(flyway));
+
+        assertTrue(e.getMessage().contains("created by an older build"));
+        assertTrue(e.getMessage().contains("./data"));
+    }
+
+    private void migrateTo(String version) {
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").target(version).load().migrate();
+    }
+}
@@ -2,12 +2,15 @@ package com.technicalchallenge.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.technicalchallenge.calendar.BusinessCalendar;
+import com.technicalchallenge.cashflow.CashflowEngine;
 import com.technicalchallenge.dto.CashflowDTO;
 import com.technicalchallenge.dto.CashflowGenerationRequest;
 import com.technicalchallenge.mapper.CashflowMapper;
 import com.technicalchallenge.model.Cashflow;
 import com.technicalchallenge.model.PayRec;
 import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.service.BusinessCalendarService;
 import com.technicalchallenge.service.CashflowService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +19,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -39,6 +43,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 @ExtendWith(SpringExtension.class)
 @AutoConfigureMockMvc(addFilters = false)
 @WebMvcTest(CashflowController.class)
+@Import(CashflowEngine.class)
 public class CashflowControllerTest {
 
     @Autowired
@@ -50,6 +55,9 @@ public class CashflowControllerTest {
     @MockBean
     private CashflowMapper cashflowMapper;
 
+    @MockBean
+    private BusinessCalendarService businessCalendarService;
+
     private ObjectMapper objectMapper;
     private CashflowDTO cashflowDTO;
     private Cashflow cashflow;
@@ -60,6 +68,7 @@ public class CashflowControllerTest {
     void setUp() {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
+        when(businessCalendarService.getCalendar(any())).thenReturn(BusinessCalendar.weekendsOnly("NONE"));
 
         // Set up related entities
         tradeLeg = new TradeLeg();
@@ -229,6 +238,55 @@ public class CashflowControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testGenerateCashflows_ValueDatesAdjustedToJointCalendar() throws Exception {
+        // Given - quarterly dates land on Good Friday (LON) and the observed Independence Day (NY)
+        CashflowGenerationRequest request = new CashflowGenerationRequest();
+        request.setTradeStartDate(LocalDate.of(2026, 1, 3));
+        request.setTradeMaturityDate(LocalDate.of(2026, 7, 3));
+
+        CashflowGenerationRequest.TradeLegDTO legDTO = new CashflowGenerationRequest.TradeLegDTO();
+        legDTO.setNotional(BigDecimal.valueOf(1000000.0));
+        legDTO.setLegType("Fixed");
+        legDTO.setRate(5.0);
+        legDTO.setDayCount("ACT/360");
+        legDTO.setCalculationPeriodSchedule("Quarterly");
+        legDTO.setPaymentBusinessDayConvention("Modified Following");
+        legDTO.setHolidayCalendar("LON+NY");
+        request.setLegs(Arrays.asList(legDTO));
+
+        BusinessCalendar lon = BusinessCalendar.of("LON", List.of(LocalDate.of(2026, 4, 3), LocalDate.of(2026, 4, 6)));
+        BusinessCalendar ny = BusinessCalendar.of("NY", List.of(LocalDate.of(2026, 7, 3)));
+        when(businessCalendarService.getCalendar("LON+NY")).thenReturn(lon.join(ny));
+
+        // When/Then - accrual still runs on the unadjusted quarter (90 days to 3 April)
+        mockMvc.perform(post("/api/cashflows/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].valueDate", is("2026-04-07")))
+                .andExpect(jsonPath("$[0].paymentValue", is(12500.0)))
+                .andExpect(jsonPath("$[1].valueDate", is("2026-07-06")));
+    }
+
+    @Test
+    void testGenerateCashflows_InvalidSchedule() throws Exception {
+        CashflowGenerationRequest request = new CashflowGenerationRequest();
+        request.setTradeStartDate(LocalDate.now());
+        request.setTradeMaturityDate(LocalDate.now().plusYears(1));
+        CashflowGenerationRequest.TradeLegDTO legDTO = new CashflowGenerationRequest.TradeLegDTO();
+        legDTO.setNotional(BigDecimal.valueOf(1000000.0));
+        legDTO.setLegType("Fixed");
+        legDTO.setCalculationPeriodSchedule("Fortnightly");
+        request.setLegs(Arrays.asList(legDTO));
+
+        mockMvc.perform(post("/api/cashflows/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGenerateCashflowsWithNoLegs() throws Exception {
         // Given
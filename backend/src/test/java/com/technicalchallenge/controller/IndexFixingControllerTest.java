@@ -0,0 +1,93 @@
+package com.technicalchallenge.controller;
+
+import com.technicalchallenge.dto.FixingResetResult;
+import com.technicalchallenge.dto.IndexFixingDTO;
+import com.technicalchallenge.service.FloatingRateResetJob;
+import com.technicalchallenge.service.IndexFixingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc(addFilters = false)
+@WebMvcTest(IndexFixingController.class)
+@WithMockUser(username = "simon", roles = "MIDDLE_OFFICE")
+public class IndexFixingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IndexFixingService indexFixingService;
+
+    @MockBean
+    private FloatingRateResetJob floatingRateResetJob;
+
+    @Test
+    void testGetFixings() throws Exception {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 31);
+        when(indexFixingService.getFixings("LIBOR", from, to))
+                .thenReturn(List.of(new IndexFixingDTO("LIBOR", LocalDate.of(2025, 1, 2), 5.31)));
+
+        mockMvc.perform(get("/api/fixings/LIBOR").param("from", "2025-01-01").param("to", "2025-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].fixingDate").value("2025-01-02"))
+                .andExpect(jsonPath("$[0].rate").value(5.31));
+    }
+
+    @Test
+    void testSaveFixings() throws Exception {
+        when(indexFixingService.saveFixings(anyList())).thenReturn(2);
+
+        mockMvc.perform(post("/api/fixings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"index\":\"LIBOR\",\"fixingDate\":\"2025-01-02\",\"rate\":5.31},"
+                                + "{\"index\":\"LIBOR\",\"fixingDate\":\"2025-01-03\",\"rate\":5.32}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saved").value(2));
+    }
+
+    @Test
+    void testImportFixings_BadLine() throws Exception {
+        when(indexFixingService.importCsv(anyString())).thenThrow(new IllegalArgumentException("Line 2: expected index,fixingDate,rate"));
+
+        mockMvc.perform(post("/api/fixings/import")
+                        .contentType("text/csv")
+                        .content("index,fixingDate,rate\nLIBOR;2025-01-02;5.31\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testResetFloatingCashflows() throws Exception {
+        LocalDate asOf = LocalDate.of(2025, 1, 10);
+        when(floatingRateResetJob.reset(asOf)).thenReturn(new FixingResetResult(asOf, 12, 10, Map.of("EURIBOR", 2L), 5));
+
+        mockMvc.perform(post("/api/fixings/reset").param("asOf", "2025-01-10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reset").value(10))
+                .andExpect(jsonPath("$.missingFixingsByIndex.EURIBOR").value(2));
+
+        verify(floatingRateResetJob).reset(asOf);
+    }
+}
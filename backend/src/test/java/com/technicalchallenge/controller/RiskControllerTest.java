@@ -0,0 +1,58 @@
+package com.technicalchallenge.controller;
+
+import com.technicalchallenge.dto.RiskExposureSummary;
+import com.technicalchallenge.service.RiskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc(addFilters = false)
+@WebMvcTest(RiskController.class)
+@WithMockUser(username = "simon", roles = "TRADER")
+public class RiskControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RiskService riskService;
+
+    @Test
+    void testGetRiskSummary() throws Exception {
+        LocalDate valuationDate = LocalDate.of(2024, 6, 1);
+        RiskExposureSummary summary = RiskExposureSummary.builder()
+                .valuationDate(valuationDate)
+                .reportingCurrency("USD")
+                .tradeCount(2)
+                .npv(new BigDecimal("-270345.12"))
+                .dv01(new BigDecimal("12.34"))
+                .dv01ByCurrency(Map.of("USD", new BigDecimal("12.34")))
+                .build();
+        when(riskService.getRiskSummary(valuationDate)).thenReturn(summary);
+
+        mockMvc.perform(get("/api/risk/summary").param("valuationDate", "2024-06-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tradeCount").value(2))
+                .andExpect(jsonPath("$.npv").value(-270345.12))
+                .andExpect(jsonPath("$.dv01ByCurrency.USD").value(12.34));
+
+        verify(riskService).getRiskSummary(valuationDate);
+    }
+}
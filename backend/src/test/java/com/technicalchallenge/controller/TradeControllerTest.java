@@ -3,13 +3,17 @@ package com.technicalchallenge.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.technicalchallenge.dto.DailySummaryDTO;
+import com.technicalchallenge.dto.TradeBatchResponseDTO;
+import com.technicalchallenge.dto.TradeBatchResultDTO;
 import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeGroupDTO;
 import com.technicalchallenge.dto.TradeSummaryDTO;
 import com.technicalchallenge.mapper.TradeMapper;
 import com.technicalchallenge.model.ApplicationUser;
 import com.technicalchallenge.model.Trade;
 import com.technicalchallenge.repository.ApplicationUserRepository;
 import com.technicalchallenge.security.CustomUserDetailsService;
+import com.technicalchallenge.service.TradeExportService;
 import com.technicalchallenge.service.TradeService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -34,13 +38,17 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -86,6 +94,12 @@ public class TradeControllerTest {
     @MockBean
     private com.technicalchallenge.mapper.TradeLegMapper tradeLegMapper;
 
+    @MockBean
+    private com.technicalchallenge.service.TradeBatchService tradeBatchService;
+
+    @MockBean
+    private com.technicalchallenge.service.TradeExportService tradeExportService;
+
     private ObjectMapper objectMapper;
 
     private TradeDTO tradeDTO;
@@ -160,6 +174,26 @@ public class TradeControllerTest {
         verify(tradeService).getTradeById(1001L);
     }
 
+    @Test
+    void testGetTradeById_AsOf() throws Exception {
+        // Given
+        LocalDateTime asOf = LocalDateTime.of(2024, 6, 15, 12, 0);
+        when(tradeService.getTradeAsOf(1001L, asOf)).thenReturn(Optional.of(trade));
+        when(tradeMapper.toDto(trade)).thenReturn(tradeDTO);
+        when(additionalInfoService.getSettlementInstructionsAsOf(1001L, asOf)).thenReturn(Optional.of("Pay via Bank ABC"));
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/1001")
+                        .param("asOf", "2024-06-15T12:00:00")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tradeId", is(1001)))
+                .andExpect(jsonPath("$.settlementInstructions", is("Pay via Bank ABC")));
+
+        verify(tradeService, never()).getTradeById(any());
+        verify(additionalInfoService, never()).getSettlementInstructions(any(Long.class));
+    }
+
     @Test
     void testGetTradeByIdNotFound() throws Exception {
         // Given
@@ -231,6 +265,69 @@ public class TradeControllerTest {
         verify(tradeService, never()).saveTrade(any(TradeDTO.class));
     }
 
+    @Test
+    void testCreateTradesBatch() throws Exception {
+        // Given
+        TradeBatchResponseDTO response = TradeBatchResponseDTO.builder()
+                .totalTrades(2)
+                .bookedTrades(1)
+                .failedTrades(1)
+                .results(List.of(
+                        TradeBatchResultDTO.builder().index(0).tradeId(1001L).success(true).build(),
+                        TradeBatchResultDTO.builder().index(1).success(false).errorMessage("Trade must have exactly 2 legs").build()))
+                .build();
+        when(tradeBatchService.bookTrades(anyList())).thenReturn(response);
+
+        // When/Then
+        mockMvc.perform(post("/api/trades/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(tradeDTO, new TradeDTO()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookedTrades", is(1)))
+                .andExpect(jsonPath("$.results", hasSize(2)))
+                .andExpect(jsonPath("$.results[1].errorMessage", is("Trade must have exactly 2 legs")));
+        verify(tradeBatchService).bookTrades(anyList());
+    }
+
+    @Test
+    void testCreateTradesBatchEmpty() throws Exception {
+        mockMvc.perform(post("/api/trades/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+        verify(tradeBatchService, never()).bookTrades(anyList());
+    }
+
+    @Test
+    void testExportTradesCsv() throws Exception {
+        // Given
+        when(tradeExportService.exportTrades(eq("tradeStatus.tradeStatus==LIVE"), eq(TradeExportService.ExportFormat.CSV), any()))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(2, java.io.OutputStream.class).write("id,tradeId\r\n1000,100001\r\n".getBytes());
+                    return 1L;
+                });
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/export")
+                        .param("format", "csv")
+                        .param("query", "tradeStatus.tradeStatus==LIVE"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"trades.csv\""))
+                .andExpect(content().string("id,tradeId\r\n1000,100001\r\n"));
+    }
+
+    @Test
+    void testExportTradesRejectsBadFormatAndQuery() throws Exception {
+        mockMvc.perform(get("/api/trades/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        when(tradeExportService.exportTrades(eq("nope=="), eq(TradeExportService.ExportFormat.NDJSON), any()))
+                .thenThrow(new IllegalArgumentException("Unknown property: nope"));
+        mockMvc.perform(get("/api/trades/export").param("query", "nope=="))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testUpdateTrade() throws Exception {
         // Given
@@ -357,7 +454,7 @@ public class TradeControllerTest {
         org.springframework.data.domain.Page<Trade> tradePage = 
                 new org.springframework.data.domain.PageImpl<>(List.of(trade));
         
-        when(tradeService.searchTrades(counterparty, book, trader, status, from, to, page, size, sortBy, direction))
+        when(tradeService.searchTrades(counterparty, book, trader, status, from, to, page, size, sortBy, direction, null))
                 .thenReturn(tradePage);
         when(tradeMapper.toDto(any(Trade.class))).thenReturn(tradeDTO);
         
@@ -375,7 +472,69 @@ public class TradeControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
         
-        verify(tradeService).searchTrades(counterparty, book, trader, status, from, to, page, size, sortBy, direction);
+        verify(tradeService).searchTrades(counterparty, book, trader, status, from, to, page, size, sortBy, direction, null);
+    }
+
+    @Test
+    void testFilterTrades_Keyset() throws Exception {
+        // Given
+        when(tradeService.searchTradesKeyset(null, "FX-BOOK-1", null, null, null, null, 10, "tradeDate", "DESC", "abc", false, null))
+                .thenReturn(new com.technicalchallenge.dto.KeysetPage<>(List.of(trade), 10, "def", true, null));
+        when(tradeMapper.toDto(any(Trade.class))).thenReturn(tradeDTO);
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/filter")
+                        .param("book", "FX-BOOK-1")
+                        .param("cursor", "abc")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(tradeService, never()).searchTrades(any(), any(), any(), any(), any(), any(), anyInt(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void testFilterTrades_KeysetInvalidSort() throws Exception {
+        // Given
+        when(tradeService.searchTradesKeyset(any(), any(), any(), any(), any(), any(), anyInt(), eq("bookName"), any(), any(), anyBoolean(), any()))
+                .thenThrow(new IllegalArgumentException("Keyset pagination can only sort by one of [id]"));
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/filter")
+                        .param("keyset", "true")
+                        .param("sortBy", "bookName")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetTradeChanges() throws Exception {
+        // Given
+        when(tradeService.getTradeChanges("abc", 100))
+                .thenReturn(new com.technicalchallenge.dto.ChangesPage<>(List.of(trade), "def", false));
+        when(tradeMapper.toDto(any(Trade.class))).thenReturn(tradeDTO);
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/changes")
+                        .param("since", "abc")
+                        .param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.watermark").value("def"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void testGetTradeChanges_InvalidWatermark() throws Exception {
+        // Given
+        when(tradeService.getTradeChanges(eq("yesterday"), anyInt()))
+                .thenThrow(new IllegalArgumentException("since must be a watermark from a previous response or an ISO date-time"));
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/changes").param("since", "yesterday"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -476,6 +635,43 @@ public class TradeControllerTest {
         verify(tradeService).getDailySummary();
     }
 
+    @Test
+    @DisplayName("Groups trades by the requested dimensions, passing the filters through")
+    void testAggregateTrades() throws Exception {
+        // Given
+        TradeGroupDTO group = TradeGroupDTO.builder()
+                .key(Map.of("BOOK", "FX-BOOK-1"))
+                .tradeCount(2)
+                .notional(new BigDecimal("2150000.00"))
+                .build();
+        when(tradeService.aggregateTrades(eq(List.of("book", "currency")), any(), eq(LocalDate.of(2025, 1, 1)), isNull()))
+                .thenReturn(List.of(group));
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/analytics")
+                        .param("groupBy", "book,currency")
+                        .param("status", "LIVE")
+                        .param("fromDate", "2025-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].key.BOOK", is("FX-BOOK-1")))
+                .andExpect(jsonPath("$[0].tradeCount", is(2)));
+
+        verify(tradeService).aggregateTrades(eq(List.of("book", "currency")),
+                argThat(filters -> "LIVE".equals(filters.get("STATUS")) && filters.get("BOOK") == null),
+                eq(LocalDate.of(2025, 1, 1)), isNull());
+    }
+
+    @Test
+    @DisplayName("An unknown dimension is a bad request")
+    void testAggregateTrades_UnknownDimension() throws Exception {
+        when(tradeService.aggregateTrades(any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Unknown dimension: desk"));
+
+        mockMvc.perform(get("/api/trades/analytics").param("groupBy", "desk"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Unknown dimension: desk"));
+    }
+
     @Test
     @DisplayName("Searches trades by settlement instructions")
     void testSearchBySettlementInstructions() throws Exception {
@@ -496,6 +692,26 @@ public class TradeControllerTest {
         verify(tradeService).searchBySettlementInstructions(instructions);
     }
 
+    @Test
+    @DisplayName("Searches trades by every word of the settlement instructions when allWords is set")
+    void testSearchBySettlementInstructions_AllWords() throws Exception {
+        // Given
+        String instructions = "ABC bank";
+
+        when(tradeService.searchBySettlementInstructions(instructions, true)).thenReturn(List.of(trade));
+        when(tradeMapper.toDto(any(Trade.class))).thenReturn(tradeDTO);
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/search/settlement-instructions")
+                        .param("instructions", instructions)
+                        .param("allWords", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(tradeService).searchBySettlementInstructions(instructions, true);
+    }
+
     @Test
     @DisplayName("Updates settlement instructions for a trade")
     void testUpdateSettlementInstructions() throws Exception {
@@ -0,0 +1,50 @@
+package com.technicalchallenge.controller;
+
+import com.technicalchallenge.service.TradeStreamService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc(addFilters = false)
+@WebMvcTest(TradeStreamController.class)
+@WithMockUser(username = "simon", roles = "TRADER")
+public class TradeStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TradeStreamService tradeStreamService;
+
+    @Test
+    void testStreamTrades_Filters() throws Exception {
+        when(tradeStreamService.open(any())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/trades/stream")
+                        .param("book", "FX-BOOK-1", "RATES-BOOK-1")
+                        .param("trader", "simon"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(tradeStreamService).open(new TradeStreamService.Filter(
+                Set.of("FX-BOOK-1", "RATES-BOOK-1"), Set.of("SIMON"), Set.of()));
+    }
+}
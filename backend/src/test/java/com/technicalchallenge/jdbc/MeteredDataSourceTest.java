@@ -0,0 +1,65 @@
+package com.technicalchallenge.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredDataSourceTest {
+
+    private SingleConnectionDataSource target;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        target = new SingleConnectionDataSource("jdbc:h2:mem:metereddatasource", true);
+        jdbcTemplate = new JdbcTemplate(new MeteredDataSource(target));
+        new JdbcTemplate(target).execute("CREATE TABLE item (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatistics.stop();
+        target.destroy();
+    }
+
+    @Test
+    @DisplayName("Statements, batches and fetched rows are counted while collecting")
+    void testCountsStatementsAndRows() {
+        SqlStatistics statistics = SqlStatistics.start();
+
+        jdbcTemplate.batchUpdate("INSERT INTO item VALUES (?, ?)", List.of(
+                new Object[]{1, "one"}, new Object[]{2, "two"}, new Object[]{3, "three"}));
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.queryForObject("SELECT name FROM item WHERE id = ?", String.class, id);
+        }
+        assertEquals(3, jdbcTemplate.queryForList("SELECT name FROM item").size());
+        jdbcTemplate.execute("UPDATE item SET name = 'uno' WHERE id = 1");
+
+        // one batch, three lookups, one list, one plain statement
+        assertEquals(6, statistics.getStatements());
+        assertEquals(6, statistics.getRows());
+        assertTrue(statistics.getNanos() > 0);
+        assertEquals(3, statistics.getMostRepeated().getValue());
+        assertEquals("SELECT name FROM item WHERE id = ?", statistics.getMostRepeated().getKey());
+        assertTrue(statistics.toServerTiming().matches("sql;dur=\\d+\\.\\d{3};desc=\"6 statements, 6 rows\""));
+    }
+
+    @Test
+    @DisplayName("Connections taken with nothing collecting are not wrapped")
+    void testNotCollecting() throws Exception {
+        SqlStatistics statistics = SqlStatistics.start();
+        SqlStatistics.stop();
+
+        jdbcTemplate.queryForList("SELECT name FROM item");
+
+        assertEquals(0, statistics.getStatements());
+        assertSame(target.getConnection(), new MeteredDataSource(target).getConnection());
+    }
+}
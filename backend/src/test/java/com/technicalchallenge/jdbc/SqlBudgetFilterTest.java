@@ -0,0 +1,89 @@
+package com.technicalchallenge.jdbc;
+
+import com.technicalchallenge.config.SqlBudgetProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlBudgetFilterTest {
+
+    private SingleConnectionDataSource target;
+    private JdbcTemplate jdbcTemplate;
+    private SqlBudgetProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private SqlBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        target = new SingleConnectionDataSource("jdbc:h2:mem:sqlbudgetfilter", true);
+        jdbcTemplate = new JdbcTemplate(new MeteredDataSource(target));
+        properties = new SqlBudgetProperties();
+        properties.setMaxStatements(5);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new SqlBudgetFilter(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.destroy();
+    }
+
+    @Test
+    @DisplayName("Statements run by the handler go out as Server-Timing and per-endpoint metrics")
+    void testServerTimingAndMetrics() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("/api/trades/{id}"), response, handler(3));
+
+        assertTrue(response.getHeader("Server-Timing").matches("sql;dur=[\\d.]+;desc=\"3 statements, 3 rows\""));
+        assertEquals("ok", response.getContentAsString());
+        assertEquals(3.0, meterRegistry.get("sql.request.statements").tag("uri", "/api/trades/{id}").summary().totalAmount());
+        assertEquals(3.0, meterRegistry.get("sql.request.rows").tag("method", "GET").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("sql.request.time").timer().count());
+        assertNull(SqlStatistics.current());
+    }
+
+    @Test
+    @DisplayName("Over budget is logged by default and fails the request with action=fail")
+    void testBudget() throws Exception {
+        filter.doFilter(request("/api/trades"), new MockHttpServletResponse(), handler(6));
+        assertEquals(1.0, meterRegistry.get("sql.request.budget.exceeded").counter().count());
+
+        properties.setAction(SqlBudgetProperties.Action.FAIL);
+        SqlBudgetExceededException exceeded = assertThrows(SqlBudgetExceededException.class,
+                () -> filter.doFilter(request("/api/trades"), new MockHttpServletResponse(), handler(6)));
+        assertTrue(exceeded.getMessage().startsWith("GET /api/trades ran 6 SQL statements (budget 5"));
+        assertTrue(exceeded.getMessage().endsWith("most repeated: 6x SELECT 1"));
+
+        // an endpoint budget overrides the default
+        properties.getEndpoints().put("/api/trades", 10);
+        filter.doFilter(request("/api/trades"), new MockHttpServletResponse(), handler(6));
+        assertEquals(2.0, meterRegistry.get("sql.request.budget.exceeded").counter().count());
+    }
+
+    private static MockHttpServletRequest request(String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    // Runs statements single-row queries, then writes the body
+    private FilterChain handler(int statements) {
+        return (request, response) -> {
+            for (int i = 0; i < statements; i++) {
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            }
+            response.getWriter().write("ok");
+        };
+    }
+}
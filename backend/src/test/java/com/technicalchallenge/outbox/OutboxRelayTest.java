@@ -0,0 +1,197 @@
+package com.technicalchallenge.outbox;
+
+import com.technicalchallenge.dto.OutboxStatusDTO;
+import com.technicalchallenge.dto.TradeEventDTO;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeDataJpaTest;
+import com.technicalchallenge.repository.TradeOutboxRepository;
+import com.technicalchallenge.repository.TradeRepository;
+import com.technicalchallenge.service.TradeEventPublisher;
+import com.technicalchallenge.service.TradeStreamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.Order;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The relay reads and marks the outbox in its own transactions, so these tests run without the usual test
+// transaction and clean up after themselves. Seeded trade 1000 is trade 100001, trade 1001 is 100002.
+@TradeDataJpaTest
+@Import({TradeEventPublisher.class, TradeStreamService.class, OutboxRelay.class, FileOutboxSink.class,
+        JacksonAutoConfiguration.class, OutboxRelayTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "outbox.relay.batch-size=2"
+})
+class OutboxRelayTest {
+
+    private static final Path EVENT_FILE = tempDir().resolve("trade-events.jsonl");
+
+    @DynamicPropertySource
+    static void fileSink(DynamicPropertyRegistry registry) {
+        registry.add("outbox.sinks.file.path", EVENT_FILE::toString);
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        @Order(0)
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    // Keeps everything it accepts; fails every batch while failing is set
+    static class RecordingSink implements OutboxSink {
+        final List<OutboxMessage> received = new ArrayList<>();
+        volatile boolean failing;
+
+        @Override
+        public String getName() {
+            return "recording";
+        }
+
+        @Override
+        public void deliver(List<OutboxMessage> batch) throws IOException {
+            if (failing) {
+                throw new IOException("downstream unavailable");
+            }
+            received.addAll(batch);
+        }
+    }
+
+    @Autowired
+    private TradeEventPublisher tradeEventPublisher;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private RecordingSink recordingSink;
+
+    @Autowired
+    private TradeOutboxRepository tradeOutboxRepository;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        tradeOutboxRepository.deleteAll();
+        recordingSink.received.clear();
+        recordingSink.failing = false;
+        Files.deleteIfExists(EVENT_FILE);
+    }
+
+    @Test
+    @DisplayName("Events are written with the trade change, relayed in order in batches and marked published")
+    void testRelay_DeliversInOrder() throws IOException {
+        publish(false, TradeEventDTO.Type.AMENDED, 1000L);
+        publish(false, TradeEventDTO.Type.AMENDED, 1001L);
+        publish(false, TradeEventDTO.Type.CANCELLED, 1000L);
+        assertEquals(3, tradeOutboxRepository.countByPublishedAtIsNull());
+        double delivered = meterRegistry.get("trade.outbox.delivered").counter().count();
+        long batches = meterRegistry.get("trade.outbox.batch").timer().count();
+
+        assertEquals(3, outboxRelay.relay());
+
+        List<OutboxMessage> received = recordingSink.received;
+        assertEquals(List.of(100001L, 100002L, 100001L), received.stream().map(OutboxMessage::tradeId).toList());
+        assertEquals(List.of("AMENDED", "AMENDED", "CANCELLED"), received.stream().map(OutboxMessage::type).toList());
+        assertTrue(received.get(0).id() < received.get(1).id() && received.get(1).id() < received.get(2).id());
+        assertTrue(received.get(2).payload().contains("\"bookName\":\"FX-BOOK-1\""), received.get(2).payload());
+        assertFalse(received.get(2).payload().contains("sequence"), "Stream sequence is not part of the payload");
+
+        List<String> lines = Files.readAllLines(EVENT_FILE);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).contains("\"payload\":{\"type\":\"AMENDED\",\"tradeId\":100002"), lines.get(1));
+
+        OutboxStatusDTO status = outboxRelay.getStatus();
+        assertEquals(0, status.getBacklog());
+        assertEquals(List.of("recording", "file"), status.getSinks());
+        assertEquals(delivered + 3, meterRegistry.get("trade.outbox.delivered").counter().count());
+        assertEquals(batches + 2, meterRegistry.get("trade.outbox.batch").timer().count()); // batches of 2 and 1
+        assertEquals(0, outboxRelay.relay());
+    }
+
+    @Test
+    @DisplayName("A rolled back change leaves nothing in the outbox")
+    void testPublish_RolledBack() {
+        publish(true, TradeEventDTO.Type.CANCELLED, 1000L);
+
+        assertEquals(0, tradeOutboxRepository.count());
+    }
+
+    @Test
+    @DisplayName("A failed batch stays unpublished and is delivered again, still in order, on the next run")
+    void testRelay_RetriesAfterFailure() throws IOException {
+        publish(false, TradeEventDTO.Type.AMENDED, 1000L);
+        publish(false, TradeEventDTO.Type.TERMINATED, 1000L);
+        recordingSink.failing = true;
+        double failures = meterRegistry.get("trade.outbox.failures").counter().count();
+
+        assertEquals(0, outboxRelay.relay());
+        assertEquals(2, tradeOutboxRepository.countByPublishedAtIsNull());
+        assertEquals("recording: downstream unavailable", outboxRelay.getStatus().getLastError());
+        assertFalse(Files.exists(EVENT_FILE), "Later sinks are not offered a batch an earlier one rejected");
+
+        recordingSink.failing = false;
+        assertEquals(2, outboxRelay.relay());
+
+        assertEquals(List.of("AMENDED", "TERMINATED"), recordingSink.received.stream().map(OutboxMessage::type).toList());
+        assertEquals(0, tradeOutboxRepository.countByPublishedAtIsNull());
+        assertEquals(failures + 1, meterRegistry.get("trade.outbox.failures").counter().count());
+        assertEquals(2, tradeOutboxRepository.findByTradeIdOrderByIdAsc(100001L).size());
+    }
+
+    private void publish(boolean rollback, TradeEventDTO.Type type, long tradePk) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Trade trade = tradeRepository.findById(tradePk).orElseThrow();
+            tradeEventPublisher.publish(type, trade);
+            if (rollback) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private static Path tempDir() {
+        try {
+            return Files.createTempDirectory("outbox");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.technicalchallenge.pricing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioPricerTest {
+
+    private static final double ONE_BP = 1.0;
+
+    private ForkJoinPool pool;
+    private PortfolioPricer pricer;
+
+    private final ZeroCurve usd = ZeroCurve.parse("USD", "1Y:0.05,5Y:0.04,6M:0.052");
+    private final ZeroCurve eur = ZeroCurve.parse("EUR", "1Y:0.03");
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        pricer = new PortfolioPricer(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Curve pillars are parsed from tenors, interpolated linearly and extrapolated flat")
+    void testZeroCurve() {
+        assertEquals(0.052, usd.zeroRate(0.1), 1e-12);
+        assertEquals(0.052, usd.zeroRate(0.5), 1e-12);
+        assertEquals(0.045, usd.zeroRate(3.0), 1e-12);
+        assertEquals(0.04, usd.zeroRate(30.0), 1e-12);
+        assertEquals(Math.exp(-0.045 * 3.0), usd.discountFactor(3.0), 1e-12);
+        assertEquals(0.25, ZeroCurve.tenorInYears("3M"), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> ZeroCurve.parse("USD", "1Y"));
+        assertThrows(IllegalArgumentException.class, () -> ZeroCurve.parse("USD", "1Q:0.05"));
+    }
+
+    @Test
+    @DisplayName("A trade's NPV and DV01 come from discounting its signed cashflows off a bumped and unbumped curve")
+    void testValue_SingleTrade() {
+        CashflowBook book = CashflowBook.builder()
+                .add(1L, "FX-BOOK-1", "USD", 1_000_000, 3.0)
+                .add(1L, "FX-BOOK-1", "EUR", -500_000, 1.0)
+                .build();
+
+        PortfolioValuation valuation = pricer.value(book, Map.of("USD", usd, "EUR", eur), Map.of("USD", 1.0, "EUR", 1.1), ONE_BP);
+
+        double usdPv = 1_000_000 * Math.exp(-0.045 * 3.0);
+        double eurPv = -500_000 * Math.exp(-0.03);
+        assertEquals(usdPv + eurPv * 1.1, valuation.getNpv(0), 1e-6);
+        assertEquals(usdPv - eurPv * 1.1, valuation.getGrossPv(0), 1e-6);
+        double usdDv01 = 1_000_000 * (Math.exp(-0.0451 * 3.0) - Math.exp(-0.045 * 3.0));
+        double eurDv01 = -500_000 * (Math.exp(-0.0301) - Math.exp(-0.03));
+        assertEquals(usdDv01 + eurDv01 * 1.1, valuation.getDv01(0), 1e-6);
+        assertTrue(valuation.getDv01(0) < 0, "Receiving fixed loses value when rates rise");
+        assertEquals(usdPv, valuation.getNpvByCurrency(book.getCurrencies().indexOf("USD")), 1e-6);
+        assertEquals(eurDv01, valuation.getDv01ByCurrency(book.getCurrencies().indexOf("EUR")), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Cashflows in a currency without a curve are left out and counted as unpriced")
+    void testValue_MissingCurve() {
+        CashflowBook book = CashflowBook.builder()
+                .add(1L, "FX-BOOK-1", "USD", 100, 1.0)
+                .add(2L, "FX-BOOK-1", "JPY", 10_000, 1.0)
+                .add(2L, "FX-BOOK-1", "JPY", 10_000, 2.0)
+                .build();
+
+        PortfolioValuation valuation = pricer.value(book, Map.of("USD", usd), Map.of("USD", 1.0), ONE_BP);
+
+        assertEquals(2, book.getTradeCount());
+        assertEquals(0.0, valuation.getNpv(1));
+        assertEquals(2, valuation.getUnpricedCashflows(book.getCurrencies().indexOf("JPY")));
+        assertEquals(0, valuation.getUnpricedCashflows(book.getCurrencies().indexOf("USD")));
+    }
+
+    @Test
+    @DisplayName("A 100k swap book is valued in parallel with the same result as a single thread")
+    void testValue_LargeBookParallelMatchesSequential() {
+        CashflowBook book = swapBook(100_000, 10);
+        Map<String, ZeroCurve> curves = Map.of("USD", usd, "EUR", eur);
+        Map<String, Double> fx = Map.of("USD", 1.0, "EUR", 1.1);
+
+        PortfolioValuation parallel = pricer.value(book, curves, fx, ONE_BP);
+        ForkJoinPool single = new ForkJoinPool(1);
+        PortfolioValuation sequential;
+        try {
+            sequential = new PortfolioPricer(single).value(book, curves, fx, ONE_BP);
+        } finally {
+            single.shutdown();
+        }
+
+        for (int trade = 0; trade < book.getTradeCount(); trade += 997) {
+            assertEquals(sequential.getNpv(trade), parallel.getNpv(trade));
+            assertEquals(sequential.getDv01(trade), parallel.getDv01(trade));
+        }
+        for (int c = 0; c < book.getCurrencies().size(); c++) {
+            assertEquals(sequential.getNpvByCurrency(c), parallel.getNpvByCurrency(c), 1e-6 * Math.abs(sequential.getNpvByCurrency(c)));
+        }
+    }
+
+    // Semi-annual fixed against floating swaps: per leg `periods` coupons and opposite directions
+    private static CashflowBook swapBook(int swaps, int periods) {
+        Random random = new Random(42);
+        CashflowBook.Builder builder = CashflowBook.builder();
+        for (int swap = 0; swap < swaps; swap++) {
+            String currency = swap % 4 == 0 ? "EUR" : "USD";
+            double notional = 1_000_000 * (1 + random.nextInt(50));
+            double direction = random.nextBoolean() ? 1 : -1;
+            for (int p = 1; p <= periods; p++) {
+                double t = p * 0.5;
+                builder.add(swap, "BOOK-" + (swap % 8), currency, direction * notional * 0.045 * 0.5, t);
+                builder.add(swap, "BOOK-" + (swap % 8), currency, -direction * notional * 0.05 * 0.5, t);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,204 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.specifications.TradeSpecifications;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Query plan regression test for the hot lookups. Runs each repository call against the migrated schema,
+// captures the SQL Hibernate actually sends and EXPLAINs it, failing if a large table is read with a full
+// scan instead of an index. Small reference tables (book, trade_status, ...) may still be scanned.
+@TradeDataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.use_sql_comments=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.technicalchallenge.repository.HotQueryPlanTest$SqlCapture"
+})
+class HotQueryPlanTest {
+
+    private static final int TRADES = 500;
+
+    // H2 marks a full scan as /* public.<table>.tableScan */ in the plan
+    private static final Pattern LARGE_TABLE_SCAN =
+            Pattern.compile("public\\.(trade|trade_leg|cashflow|additional_info|application_user)\\.tableScan");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private TradeLegRepository tradeLegRepository;
+
+    @Autowired
+    private AdditionalInfoRepository additionalInfoRepository;
+
+    @Autowired
+    private ApplicationUserRepository applicationUserRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Enough rows that a scan is never the cheapest plan for a selective lookup
+        List<Object[]> trades = new ArrayList<>();
+        List<Object[]> legs = new ArrayList<>();
+        List<Object[]> cashflows = new ArrayList<>();
+        List<Object[]> additionalInfo = new ArrayList<>();
+        for (int i = 0; i < TRADES; i++) {
+            long id = 900000L + i;
+            LocalDate date = LocalDate.of(2024, 1, 1).plusDays(i % 365);
+            trades.add(new Object[] {id, 600000L + i, 1000L + i % 2, 1000L + i % 2, 1000L + i % 6, date, date.plusDays(2), i % 10 != 0});
+            for (int l = 0; l < 2; l++) {
+                long legId = id * 2 + l;
+                legs.add(new Object[] {legId, id});
+                cashflows.add(new Object[] {legId, legId});
+            }
+            additionalInfo.add(new Object[] {600000L + i, "Settle trade " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO trade (id, trade_id, version, book_id, counterparty_id, trade_status_id, "
+                + "trade_date, trade_start_date, active) VALUES (?, ?, 1, ?, ?, ?, ?, ?, ?)", trades);
+        jdbcTemplate.batchUpdate("INSERT INTO trade_leg (leg_id, trade_id, active) VALUES (?, ?, true)", legs);
+        jdbcTemplate.batchUpdate("INSERT INTO cashflow (id, leg_id, active) VALUES (?, ?, true)", cashflows);
+        jdbcTemplate.batchUpdate("INSERT INTO additional_info (entity_type, entity_id, field_name, field_value, field_type, "
+                + "active, version, created_date) VALUES ('TRADE', ?, 'SETTLEMENT_INSTRUCTIONS', ?, 'STRING', true, 1, CURRENT_TIMESTAMP)",
+                additionalInfo);
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("The schema comes from the Flyway migrations and matches the entity mappings")
+    void testSchemaIsMigrated() {
+        // The context only starts if Hibernate's ddl-auto=validate accepted the migrated schema
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL AND \"success\" ORDER BY \"installed_rank\"", String.class);
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10"), versions);
+    }
+
+    @Test
+    @DisplayName("Current version of a trade is looked up through (trade_id, active)")
+    void testTradeIdLookups() {
+        assertPlan(() -> tradeRepository.findByTradeIdAndActiveTrue(600001L), "idx_trade_trade_id_active");
+        assertPlan(() -> tradeRepository.findLatestActiveVersionByTradeId(600001L), "idx_trade_trade_id_active");
+        assertPlan(() -> tradeRepository.findMaxVersionByTradeId(600001L), "idx_trade_trade_id_active");
+    }
+
+    @Test
+    @DisplayName("Settlement instructions are looked up through (entity_type, entity_id, field_name, active)")
+    void testAdditionalInfoLookups() {
+        assertPlan(() -> additionalInfoRepository.findActiveByEntityTypeAndEntityIdAndFieldName(
+                "TRADE", 600001L, "SETTLEMENT_INSTRUCTIONS"), "idx_additional_info_entity_field_active");
+        assertPlan(() -> additionalInfoRepository.findActiveByEntityTypeAndFieldNameAndEntityIdIn(
+                "TRADE", "SETTLEMENT_INSTRUCTIONS", List.of(600001L, 600002L, 600003L)), "idx_additional_info_entity_field_active");
+    }
+
+    @Test
+    @DisplayName("Login lookups use the unique login_id index")
+    void testLoginLookup() {
+        assertPlan(() -> applicationUserRepository.findByLoginId("simon"), null);
+    }
+
+    @Test
+    @DisplayName("Blotter filters never scan the trade table")
+    void testBlotterFilters() {
+        assertPlan(() -> tradeRepository.findAll(TradeSpecifications.dateBetween(
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 7))), "idx_trade_trade_start_date");
+        assertPlan(() -> tradeRepository.findAll(TradeSpecifications.hasBook("FX-BOOK-1")), null);
+        assertPlan(() -> tradeRepository.findAll(TradeSpecifications.hasCounterparty("BigBank")), null);
+        assertPlan(() -> tradeRepository.findAll(TradeSpecifications.hasStatus("LIVE")), null);
+    }
+
+    @Test
+    @DisplayName("Legs and cashflows are read through indexes")
+    void testReadPath() {
+        List<Long> tradeIds = List.of(900001L, 900002L);
+        List<Long> legIds = List.of(1800002L, 1800003L);
+
+        assertPlan(() -> tradeRepository.fetchLegsWithReferenceData(tradeIds), null);
+        assertPlan(() -> tradeLegRepository.fetchCashflowsWithReferenceData(legIds), null);
+    }
+
+    @Test
+    @DisplayName("The change feed seeks on (last_touch_timestamp, id)")
+    void testChangeFeed() {
+        LocalDateTime since = LocalDateTime.of(2024, 3, 1, 0, 0);
+        assertPlan(() -> tradeRepository.findTouchedAfter(since, 0L, since.plusDays(1), PageRequest.of(0, 100)),
+                "idx_trade_last_touch_id");
+    }
+
+    @Test
+    @DisplayName("As-of reads seek on the validity interval of a trade or a book")
+    void testAsOfLookups() {
+        LocalDateTime asOf = LocalDateTime.of(2024, 3, 1, 0, 0);
+        assertPlan(() -> tradeRepository.findVersionAsOf(600001L, asOf), "idx_trade_trade_id_validity");
+        assertPlan(() -> tradeRepository.findAll(TradeSpecifications.hasBook("FX-BOOK-1")
+                .and(TradeSpecifications.inForceAt(asOf))), "idx_trade_book_validity");
+        assertPlan(() -> additionalInfoRepository.findByEntityTypeAndEntityIdAndFieldNameAsOf(
+                "TRADE", 600001L, "SETTLEMENT_INSTRUCTIONS", asOf), "idx_additional_info_entity_field_active");
+    }
+
+    // Runs the call, then EXPLAINs every SELECT it issued
+    private void assertPlan(Runnable call, String expectedIndex) {
+        entityManager.clear();
+        SqlCapture.STATEMENTS.clear();
+        call.run();
+        List<String> selects = SqlCapture.STATEMENTS.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .toList();
+        assertFalse(selects.isEmpty(), "No query was captured");
+
+        List<String> plans = selects.stream().map(this::explain).toList();
+        for (String plan : plans) {
+            assertFalse(LARGE_TABLE_SCAN.matcher(plan).find(), "Full table scan in plan:\n" + plan);
+        }
+        if (expectedIndex != null) {
+            assertTrue(plans.stream().anyMatch(plan -> plan.contains(expectedIndex)),
+                    "Expected " + expectedIndex + " in plans:\n" + String.join("\n\n", plans));
+        }
+    }
+
+    // H2 can explain a statement with unbound parameters, so the captured SQL is used as is
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.BusinessDayConvention;
+import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.model.HolidayCalendar;
+import com.technicalchallenge.model.LegType;
+import com.technicalchallenge.model.PayRec;
+import com.technicalchallenge.model.Schedule;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.model.TradeStatus;
+import com.technicalchallenge.model.TradeSubType;
+import com.technicalchallenge.model.TradeType;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Persists trades for @TradeDataJpaTest classes on the seeded reference data (V2 migration, ids from 1000):
+// a version 1, active NEW trade in FX-BOOK-1 dated today, with the first counterparty, trade type and sub type and
+// the seeded MO user as trader and inputter. Legs pay a fixed 1,000,000 USD, monthly on the NY calendar, and
+// their cashflows take the leg's pay/receive flag, leg type and business day convention
+public class TradeFixtures {
+
+    private static final long SEED_ID = 1000L;
+    private static final long TRADER_ID = 1003L;
+
+    private final TestEntityManager entityManager;
+
+    public TradeFixtures(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public TradeBuilder trade(long tradeId) {
+        return new TradeBuilder(tradeId);
+    }
+
+    public Cashflow cashflow(TradeLeg leg, LocalDate valueDate) {
+        Cashflow cashflow = newCashflow(leg, valueDate);
+        entityManager.persist(cashflow);
+        return cashflow;
+    }
+
+    private Cashflow newCashflow(TradeLeg leg, LocalDate valueDate) {
+        Cashflow cashflow = new Cashflow();
+        cashflow.setTradeLeg(leg);
+        cashflow.setPaymentValue(new BigDecimal("12500"));
+        cashflow.setValueDate(valueDate);
+        cashflow.setPayRec(leg.getPayReceiveFlag());
+        cashflow.setPaymentType(leg.getLegRateType());
+        cashflow.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
+        return cashflow;
+    }
+
+    public class TradeBuilder {
+
+        private final Trade trade = new Trade();
+        private int legs;
+        private int cashflowsPerLeg;
+
+        private TradeBuilder(long tradeId) {
+            ApplicationUser trader = entityManager.find(ApplicationUser.class, TRADER_ID);
+            trade.setTradeId(tradeId);
+            trade.setVersion(1);
+            trade.setTradeDate(LocalDate.now());
+            trade.setBook(entityManager.find(Book.class, SEED_ID));
+            trade.setCounterparty(entityManager.find(Counterparty.class, SEED_ID));
+            trade.setTraderUser(trader);
+            trade.setTradeInputterUser(trader);
+            trade.setTradeType(entityManager.find(TradeType.class, SEED_ID));
+            trade.setTradeSubType(entityManager.find(TradeSubType.class, SEED_ID));
+            trade.setTradeStatus(entityManager.find(TradeStatus.class, SEED_ID));
+        }
+
+        public TradeBuilder tradeDate(LocalDate tradeDate) {
+            trade.setTradeDate(tradeDate);
+            return this;
+        }
+
+        public TradeBuilder tradeStartDate(LocalDate tradeStartDate) {
+            trade.setTradeStartDate(tradeStartDate);
+            return this;
+        }
+
+        public TradeBuilder lastTouched(LocalDateTime lastTouchTimestamp) {
+            trade.setLastTouchTimestamp(lastTouchTimestamp);
+            return this;
+        }
+
+        public TradeBuilder active(boolean active) {
+            trade.setActive(active);
+            return this;
+        }
+
+        public TradeBuilder legs(int legs) {
+            this.legs = legs;
+            return this;
+        }
+
+        // Monthly from today, on every leg
+        public TradeBuilder cashflowsPerLeg(int cashflowsPerLeg) {
+            this.cashflowsPerLeg = cashflowsPerLeg;
+            return this;
+        }
+
+        // Legs and cashflows are persisted with the trade, through its cascade
+        public Trade persist() {
+            List<TradeLeg> tradeLegs = new ArrayList<>();
+            for (int l = 0; l < legs; l++) {
+                TradeLeg leg = leg();
+                List<Cashflow> cashflows = new ArrayList<>();
+                for (int c = 0; c < cashflowsPerLeg; c++) {
+                    cashflows.add(newCashflow(leg, LocalDate.now().plusMonths(c + 1)));
+                }
+                leg.setCashflows(cashflows);
+                tradeLegs.add(leg);
+            }
+            trade.setTradeLegs(tradeLegs);
+            entityManager.persist(trade);
+            return trade;
+        }
+
+        private TradeLeg leg() {
+            BusinessDayConvention bdc = entityManager.find(BusinessDayConvention.class, SEED_ID);
+            TradeLeg leg = new TradeLeg();
+            leg.setTrade(trade);
+            leg.setNotional(new BigDecimal("1000000"));
+            leg.setCurrency(entityManager.find(Currency.class, SEED_ID));
+            leg.setLegRateType(entityManager.find(LegType.class, SEED_ID));
+            leg.setHolidayCalendar(entityManager.find(HolidayCalendar.class, SEED_ID));
+            leg.setCalculationPeriodSchedule(entityManager.find(Schedule.class, SEED_ID));
+            leg.setPaymentBusinessDayConvention(bdc);
+            leg.setFixingBusinessDayConvention(bdc);
+            leg.setPayReceiveFlag(entityManager.find(PayRec.class, SEED_ID));
+            return leg;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.cashflow.CashflowEngine;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.rsql.RsqlSpecificationCache;
+import com.technicalchallenge.service.AdditionalInfoService;
+import com.technicalchallenge.service.EntitlementCache;
+import com.technicalchallenge.service.TradeChangeFeed;
+import com.technicalchallenge.service.TradeDetailsLoader;
+import com.technicalchallenge.service.TradeEventPublisher;
+import com.technicalchallenge.service.TradeKeysetPager;
+import com.technicalchallenge.service.TradeLifecycleMetrics;
+import com.technicalchallenge.service.TradeIdAllocator;
+import com.technicalchallenge.service.TradeSearchResultCache;
+import com.technicalchallenge.service.TradeService;
+import com.technicalchallenge.service.TradeSummaryAggregateStore;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks that loading and mapping every trade for GET /api/trades runs a fixed number of statements,
+// however many trades, legs and cashflows there are.
+@TradeDataJpaTest
+@Import({TradeService.class, TradeDetailsLoader.class, TradeMapper.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TradeReadPathQueryCountTest {
+
+    // trades + legs + cashflows
+    private static final long EXPECTED_STATEMENTS = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeMapper tradeMapper;
+
+    @MockBean
+    private AdditionalInfoService additionalInfoService;
+
+    @MockBean
+    private EntitlementCache entitlementCache;
+
+    @MockBean
+    private TradeSummaryAggregateStore tradeSummaryAggregateStore;
+
+    @MockBean
+    private TradeIdAllocator tradeIdAllocator;
+
+    @MockBean
+    private TradeKeysetPager tradeKeysetPager;
+
+    @MockBean
+    private CashflowEngine cashflowEngine;
+
+    @MockBean
+    private TradeEventPublisher tradeEventPublisher;
+
+    @MockBean
+    private TradeChangeFeed tradeChangeFeed;
+
+    @MockBean
+    private TradeLifecycleMetrics tradeLifecycleMetrics;
+
+    @MockBean
+    private RsqlSpecificationCache<Trade> rsqlSpecificationCache;
+
+    @MockBean
+    private TradeSearchResultCache tradeSearchResultCache;
+
+    @MockBean
+    private org.modelmapper.ModelMapper modelMapper;
+
+    private long nextTradeId = 700000L;
+
+    @Test
+    @DisplayName("Statement count stays constant as trades, legs and cashflows grow")
+    void testGetAllTrades_BoundedStatements() {
+        persistTrades(5);
+        long fewTradesStatements = loadAndMapAll(5 + 2); // plus the two seeded trades
+
+        persistTrades(45);
+        long manyTradesStatements = loadAndMapAll(50 + 2);
+
+        assertEquals(EXPECTED_STATEMENTS, fewTradesStatements);
+        assertEquals(EXPECTED_STATEMENTS, manyTradesStatements);
+    }
+
+    private long loadAndMapAll(int expectedTrades) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<TradeDTO> dtos = tradeService.getAllTrades().stream().map(tradeMapper::toDto).toList();
+
+        assertEquals(expectedTrades, dtos.size());
+        TradeDTO latest = dtos.get(dtos.size() - 1);
+        assertEquals("FX-BOOK-1", latest.getBookName());
+        assertEquals(2, latest.getTradeLegs().size());
+        assertEquals(3, latest.getTradeLegs().get(0).getCashflows().size());
+        assertNotNull(latest.getTradeLegs().get(0).getCashflows().get(0).getPayRec());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void persistTrades(int count) {
+        TradeFixtures fixtures = new TradeFixtures(entityManager);
+        for (int i = 0; i < count; i++) {
+            fixtures.trade(nextTradeId++).legs(2).cashflowsPerLeg(3).persist();
+        }
+    }
+}
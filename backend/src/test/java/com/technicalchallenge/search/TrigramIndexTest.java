@@ -0,0 +1,98 @@
+package com.technicalchallenge.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private static final String[] BANKS = {"Bank ABC", "HSBC London", "Barclays", "JPMorgan NY", "Deutsche Bank", "BNP Paribas"};
+
+    @Test
+    @DisplayName("Substrings match anywhere in the text, ignoring case")
+    void testSearch_Substring() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(100001L, "Pay via Bank ABC, account 12345");
+        index.put(100002L, "Pay via HSBC London, sort code 40-11-62");
+        index.put(100003L, "Settle through CLS");
+
+        assertEquals(List.of(100001L), index.search("bank abc"));
+        assertEquals(List.of(100001L, 100002L), index.search("PAY VIA"));
+        assertEquals(List.of(100002L), index.search("40-11"));
+        assertEquals(List.of(), index.search("abc london"));
+        assertEquals(List.of(), index.search(" "));
+    }
+
+    @Test
+    @DisplayName("Several terms must all occur, in any order; terms under three characters are checked directly")
+    void testSearch_AllTerms() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "Pay via Bank ABC");
+        index.put(2L, "ABC clearing, pay on value date");
+        index.put(3L, "Bank of NY");
+
+        assertEquals(List.of(1L, 2L), index.search(List.of("abc", "pay")));
+        assertEquals(List.of(1L), index.search(List.of("abc", "bank")));
+        assertEquals(List.of(3L), index.search(List.of("ny")));
+        assertEquals(List.of(1L, 2L, 3L), index.search(List.of("a")));
+        assertEquals(List.of(), index.search(List.of("abc", "zz")));
+    }
+
+    @Test
+    @DisplayName("Replaced and removed texts stop matching, also after the index compacts itself")
+    void testPut_ReplaceAndRemove() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "Pay via Bank ABC");
+        index.put(1L, "Pay via HSBC London");
+        index.put(2L, "Pay via Bank ABC");
+        index.put(2L, null);
+
+        assertEquals(List.of(), index.search("bank abc"));
+        assertEquals(List.of(1L), index.search("hsbc"));
+        assertEquals(1, index.size());
+
+        for (int round = 0; round < 3000; round++) {
+            index.put(1L, "Pay via HSBC London, ref " + round);
+        }
+        assertEquals(List.of(1L), index.search("ref 2999"));
+        assertEquals(List.of(), index.search("ref 2998"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Loading replaces everything that was indexed before")
+    void testReplaceAll() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "Pay via Bank ABC");
+        index.replaceAll(Map.of(2L, "Pay via HSBC London", 3L, " "));
+
+        assertEquals(List.of(), index.search("abc"));
+        assertEquals(List.of(2L), index.search("pay"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Exact account and trade reference lookups work over 200k instructions")
+    void testSearch_LargeIndex() {
+        Random random = new Random(42);
+        Map<Long, String> instructions = new HashMap<>();
+        for (long tradeId = 0; tradeId < 200_000; tradeId++) {
+            instructions.put(tradeId, "Pay via " + BANKS[random.nextInt(BANKS.length)]
+                    + ", account " + (10_000_000 + random.nextInt(90_000_000)) + ", ref TRD-" + tradeId);
+        }
+        TrigramIndex index = new TrigramIndex();
+        index.replaceAll(instructions);
+        assertEquals(200_000, index.size());
+
+        String target = instructions.get(123_456L);
+        String account = target.substring(target.indexOf("account ") + 8, target.indexOf(", ref"));
+        assertTrue(index.search(account).contains(123_456L));
+        assertEquals(List.of(123_456L), index.search(List.of("trd-123456", account)));
+    }
+}
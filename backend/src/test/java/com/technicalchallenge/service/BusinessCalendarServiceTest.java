@@ -0,0 +1,67 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.calendar.BusinessCalendar;
+import com.technicalchallenge.calendar.RollConvention;
+import com.technicalchallenge.model.HolidayCalendar;
+import com.technicalchallenge.model.HolidayDate;
+import com.technicalchallenge.repository.TradeDataJpaTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against the holidays seeded by the V4 migration
+@TradeDataJpaTest
+@Import(BusinessCalendarService.class)
+class BusinessCalendarServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BusinessCalendarService businessCalendarService;
+
+    @Test
+    @DisplayName("Seeded NY and LON holidays are loaded and can be combined into a joint calendar")
+    void testGetCalendar_SeededCalendars() {
+        BusinessCalendar ny = businessCalendarService.getCalendar("NY");
+        BusinessCalendar lon = businessCalendarService.getCalendar("LON");
+        BusinessCalendar joint = businessCalendarService.getCalendar("LON+NY");
+
+        assertFalse(ny.isBusinessDay(LocalDate.of(2025, 7, 4)));
+        assertTrue(lon.isBusinessDay(LocalDate.of(2025, 7, 4)));
+        assertFalse(lon.isBusinessDay(LocalDate.of(2025, 8, 25)));
+        assertFalse(joint.isBusinessDay(LocalDate.of(2025, 7, 4)));
+        assertFalse(joint.isBusinessDay(LocalDate.of(2025, 8, 25)));
+        assertSame(joint, businessCalendarService.getCalendar("LON+NY"), "Joint calendars are built once");
+
+        // Thanksgiving 2025 is a Thursday; Modified Following lands on the Friday
+        assertEquals(LocalDate.of(2025, 11, 28),
+                joint.adjust(LocalDate.of(2025, 11, 27), RollConvention.MODIFIED_FOLLOWING));
+    }
+
+    @Test
+    @DisplayName("Unknown or missing calendars only close on weekends, and added holidays appear after a reload")
+    void testGetCalendar_UnknownAndReload() {
+        LocalDate monday = LocalDate.of(2025, 3, 17);
+        assertTrue(businessCalendarService.getCalendar(null).isBusinessDay(monday));
+        assertTrue(businessCalendarService.getCalendar("TKY").isBusinessDay(monday));
+        assertFalse(businessCalendarService.getCalendar("TKY").isBusinessDay(LocalDate.of(2025, 3, 16)));
+
+        HolidayDate stPatricksDay = new HolidayDate();
+        stPatricksDay.setHolidayCalendar(entityManager.find(HolidayCalendar.class, 1001L));
+        stPatricksDay.setHolidayDate(monday);
+        entityManager.persistAndFlush(stPatricksDay);
+        assertTrue(businessCalendarService.getCalendar("LON").isBusinessDay(monday));
+
+        businessCalendarService.reload();
+
+        assertFalse(businessCalendarService.getCalendar("LON").isBusinessDay(monday));
+        assertFalse(businessCalendarService.getCalendar("LON+NY").isBusinessDay(monday));
+    }
+}
@@ -0,0 +1,117 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Privilege;
+import com.technicalchallenge.model.UserPrivilege;
+import com.technicalchallenge.model.UserProfile;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import com.technicalchallenge.repository.PrivilegeRepository;
+import com.technicalchallenge.repository.UserPrivilegeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EntitlementCacheTest {
+
+    @Mock
+    private ApplicationUserRepository applicationUserRepository;
+
+    @Mock
+    private UserPrivilegeRepository userPrivilegeRepository;
+
+    @Mock
+    private PrivilegeRepository privilegeRepository;
+
+    @InjectMocks
+    private EntitlementCache entitlementCache;
+
+    private final List<UserPrivilege> grants = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(privilegeRepository.findAll()).thenReturn(List.of(
+                privilege(1000L, "BOOK_TRADE"), privilege(1001L, "AMEND_TRADE"), privilege(1002L, "READ_TRADE")));
+        when(applicationUserRepository.findAll()).thenReturn(List.of(
+                user(1L, "trader", "TRADER_SALES", true),
+                user(2L, "support", "SUPPORT", true),
+                user(3L, "admin", "SUPERUSER", true),
+                user(4L, "leaver", "TRADER_SALES", false)));
+        grants.add(new UserPrivilege(1L, 1000L));
+        grants.add(new UserPrivilege(1L, 1002L));
+        grants.add(new UserPrivilege(2L, 1002L));
+        grants.add(new UserPrivilege(4L, 1000L));
+        when(userPrivilegeRepository.findAll()).thenAnswer(invocation -> List.copyOf(grants));
+    }
+
+    @Test
+    @DisplayName("Granted privileges are allowed and everything else is denied")
+    void testHasPrivilege_GrantedAndDenied() {
+        assertTrue(entitlementCache.hasPrivilege("trader", "BOOK_TRADE"));
+        assertTrue(entitlementCache.hasPrivilege("trader", "read_trade"));
+        assertFalse(entitlementCache.hasPrivilege("trader", "AMEND_TRADE"));
+        assertFalse(entitlementCache.hasPrivilege("support", "BOOK_TRADE"));
+        assertFalse(entitlementCache.hasPrivilege("trader", "UNKNOWN_PRIVILEGE"));
+    }
+
+    @Test
+    @DisplayName("Superusers get every operation, inactive and unknown users get none")
+    void testHasPrivilege_SuperuserInactiveAndUnknown() {
+        assertTrue(entitlementCache.hasPrivilege("admin", "CREATE_TRADE"));
+        assertFalse(entitlementCache.hasPrivilege("leaver", "BOOK_TRADE"));
+        assertFalse(entitlementCache.hasPrivilege("nobody", "BOOK_TRADE"));
+        assertFalse(entitlementCache.hasPrivilege(null, "BOOK_TRADE"));
+    }
+
+    @Test
+    @DisplayName("Checks after the first load never go back to the database")
+    void testHasPrivilege_LoadsOnce() {
+        for (int i = 0; i < 1000; i++) {
+            entitlementCache.hasPrivilege("trader", "BOOK_TRADE");
+        }
+
+        verify(applicationUserRepository, times(1)).findAll();
+        verify(userPrivilegeRepository, times(1)).findAll();
+        verify(privilegeRepository, times(1)).findAll();
+        verify(applicationUserRepository, never()).findByLoginId(anyString());
+    }
+
+    @Test
+    @DisplayName("invalidate rebuilds the matrix so new grants are visible immediately")
+    void testInvalidate_PicksUpNewGrant() {
+        assertFalse(entitlementCache.hasPrivilege("support", "AMEND_TRADE"));
+
+        grants.add(new UserPrivilege(2L, 1001L));
+        entitlementCache.invalidate();
+
+        assertTrue(entitlementCache.hasPrivilege("support", "AMEND_TRADE"));
+    }
+
+    private Privilege privilege(Long id, String name) {
+        Privilege privilege = new Privilege();
+        privilege.setId(id);
+        privilege.setName(name);
+        return privilege;
+    }
+
+    private ApplicationUser user(Long id, String loginId, String userType, boolean active) {
+        UserProfile profile = new UserProfile();
+        profile.setUserType(userType);
+        ApplicationUser user = new ApplicationUser();
+        user.setId(id);
+        user.setLoginId(loginId);
+        user.setActive(active);
+        user.setUserProfile(profile);
+        return user;
+    }
+}
@@ -0,0 +1,139 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.FixingResetResult;
+import com.technicalchallenge.dto.IndexFixingDTO;
+import com.technicalchallenge.repository.TradeDataJpaTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The job writes from its own threads and transactions, so these tests run without the usual test
+// transaction and clean up after themselves. Seeded leg 1001 is a floating LIBOR leg on 1,000,000 (30/360).
+@TradeDataJpaTest
+@Import({FloatingRateResetJob.class, IndexFixingService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "fixings.reset.chunk-size=1000"
+})
+class FloatingRateResetJobTest {
+
+    private static final long FLOATING_LEG = 1001L;
+    private static final long FIRST_TEST_CASHFLOW = 500_000L;
+
+    @Autowired
+    private FloatingRateResetJob floatingRateResetJob;
+
+    @Autowired
+    private IndexFixingService indexFixingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM cashflow WHERE id >= ?", FIRST_TEST_CASHFLOW);
+        jdbcTemplate.update("DELETE FROM index_fixing");
+        indexFixingService.reload();
+    }
+
+    @Test
+    @DisplayName("Fixings loaded as JSON and CSV are upserted by index and date and served from the cache")
+    void testSaveAndImportFixings() {
+        indexFixingService.saveFixings(List.of(new IndexFixingDTO("LIBOR", LocalDate.of(2025, 1, 2), 3.9)));
+        indexFixingService.importCsv("index,fixingDate,rate\nLIBOR,2025-01-03,4.2\n\nLIBOR,2025-01-02,4.0\nEURIBOR,2025-01-02,2.8\n");
+
+        List<IndexFixingDTO> libor = indexFixingService.getFixings("LIBOR", null, null);
+        assertEquals(2, libor.size());
+        assertEquals(4.0, libor.get(0).getRate());
+        assertEquals(LocalDate.of(2025, 1, 3), libor.get(1).getFixingDate());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM index_fixing", Integer.class));
+        assertEquals(1, indexFixingService.getFixings("EURIBOR", LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 2)).size());
+
+        assertThrows(IllegalArgumentException.class, () -> indexFixingService.importCsv("LIBOR,02/01/2025,4.0"));
+        assertThrows(IllegalArgumentException.class, () -> indexFixingService.importCsv("SOFR,2025-01-02,4.3"));
+    }
+
+    @Test
+    @DisplayName("Due floating cashflows take the fixing (or the last one within a week) and are only reset once")
+    void testReset() {
+        indexFixingService.importCsv("LIBOR,2025-01-02,4.0\nLIBOR,2025-01-03,4.2");
+        insertCashflow(FIRST_TEST_CASHFLOW, "2025-01-02", "2025-01-06", "2025-04-06");
+        insertCashflow(FIRST_TEST_CASHFLOW + 1, "2025-01-04", "2025-01-06", "2025-04-06"); // Saturday: Friday's fixing
+        insertCashflow(FIRST_TEST_CASHFLOW + 2, "2024-12-20", "2024-12-23", "2025-03-23"); // before the first fixing
+        insertCashflow(FIRST_TEST_CASHFLOW + 3, "2025-04-03", "2025-04-07", "2025-07-07"); // not due yet
+
+        LocalDate asOf = LocalDate.of(2025, 1, 10);
+        FixingResetResult result = floatingRateResetJob.reset(asOf);
+
+        assertEquals(3, result.getCandidates());
+        assertEquals(2, result.getReset());
+        assertEquals(Map.of("LIBOR", 1L), result.getMissingFixingsByIndex());
+        assertEquals(new BigDecimal("10000.00"), paymentValue(FIRST_TEST_CASHFLOW));
+        assertEquals(new BigDecimal("10500.00"), paymentValue(FIRST_TEST_CASHFLOW + 1));
+        assertEquals(4.2, jdbcTemplate.queryForObject("SELECT rate FROM cashflow WHERE id = ?", Double.class, FIRST_TEST_CASHFLOW + 1));
+        assertNull(jdbcTemplate.queryForObject("SELECT rate FROM cashflow WHERE id = ?", Double.class, FIRST_TEST_CASHFLOW + 3));
+
+        FixingResetResult again = floatingRateResetJob.reset(asOf);
+        assertEquals(1, again.getCandidates());
+        assertEquals(0, again.getReset());
+    }
+
+    @Test
+    @DisplayName("50k floating cashflows are reset in parallel JDBC batches")
+    void testReset_LargeBook() {
+        int cashflows = 50_000;
+        LocalDate firstFixing = LocalDate.of(2020, 1, 1);
+        StringBuilder csv = new StringBuilder();
+        for (int day = 0; day < 1_000; day++) {
+            csv.append("LIBOR,").append(firstFixing.plusDays(day)).append(',').append(3.0 + day / 1000.0).append('\n');
+        }
+        indexFixingService.importCsv(csv.toString());
+
+        List<Object[]> rows = new ArrayList<>(cashflows);
+        for (int i = 0; i < cashflows; i++) {
+            LocalDate fixing = firstFixing.plusDays(i % 1_000);
+            rows.add(new Object[] {FIRST_TEST_CASHFLOW + i, Date.valueOf(fixing), Date.valueOf(fixing.plusDays(2)),
+                    Date.valueOf(fixing.plusDays(2).plusMonths(3))});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        FixingResetResult result = floatingRateResetJob.reset(firstFixing.plusDays(1_000));
+
+        assertEquals(cashflows, result.getCandidates());
+        assertEquals(cashflows, result.getReset());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cashflow WHERE id >= ? AND (rate IS NULL OR payment_value IS NULL)", Integer.class, FIRST_TEST_CASHFLOW));
+        // cashflow i fixes on day i % 1000, whose fixing is 3.0 + day / 1000
+        assertEquals(3.5, jdbcTemplate.queryForObject(
+                "SELECT rate FROM cashflow WHERE id = ?", Double.class, FIRST_TEST_CASHFLOW + 1_500), 1e-12);
+        assertEquals(3.999, jdbcTemplate.queryForObject(
+                "SELECT rate FROM cashflow WHERE id = ?", Double.class, FIRST_TEST_CASHFLOW + cashflows - 1), 1e-12);
+    }
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cashflow (id, leg_id, fixing_date, accrual_start_date, accrual_end_date, value_date, pay_rec_id, active) "
+            + "VALUES (?, " + FLOATING_LEG + ", ?, ?, ?, NULL, 1001, TRUE)";
+
+    private void insertCashflow(long id, String fixingDate, String accrualStart, String accrualEnd) {
+        jdbcTemplate.update(INSERT_SQL, id, Date.valueOf(fixingDate), Date.valueOf(accrualStart), Date.valueOf(accrualEnd));
+    }
+
+    private BigDecimal paymentValue(long id) {
+        return jdbcTemplate.queryForObject("SELECT payment_value FROM cashflow WHERE id = ?", BigDecimal.class, id);
+    }
+}
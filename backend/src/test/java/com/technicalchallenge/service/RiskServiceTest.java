@@ -0,0 +1,93 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.config.PricingConfig;
+import com.technicalchallenge.dto.RiskExposureSummary;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.pricing.PortfolioPricer;
+import com.technicalchallenge.repository.TradeDataJpaTest;
+import com.technicalchallenge.repository.TradeFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Values the seeded trades against flat test curves, so the expected figures can be worked out by hand:
+// trade 100001 (FX-BOOK-1) pays 12,500 USD on 2024-09-01 and 2024-12-01,
+// trade 100002 (RATES-BOOK-1) pays 225,000 EUR on 2024-06-04.
+@TradeDataJpaTest
+@Import({RiskService.class, PortfolioPricer.class, PricingConfig.class})
+@TestPropertySource(properties = {
+        "risk.curves.USD=1Y:0.05",
+        "risk.curves.EUR=1Y:0.03",
+        "risk.fx-rates.EUR=1.1"
+})
+class RiskServiceTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2024, 6, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RiskService riskService;
+
+    @Test
+    @DisplayName("Remaining cashflows of active trades are discounted per currency and rolled up by book")
+    void testGetRiskSummary_SeededTrades() {
+        RiskExposureSummary summary = riskService.getRiskSummary(VALUATION_DATE);
+
+        double usdNpv = -12_500 * df(0.05, 92) - 12_500 * df(0.05, 183);
+        double eurNpv = -225_000 * df(0.03, 3);
+        double usdDv01 = -12_500 * (df(0.0501, 92) - df(0.05, 92)) - 12_500 * (df(0.0501, 183) - df(0.05, 183));
+        double eurDv01 = -225_000 * (df(0.0301, 3) - df(0.03, 3));
+
+        assertEquals(2, summary.getTradeCount());
+        assertEquals(3, summary.getCashflowCount());
+        assertEquals("USD", summary.getReportingCurrency());
+        assertEquals(money(usdNpv), summary.getNpvByCurrency().get("USD"));
+        assertEquals(money(eurNpv), summary.getNpvByCurrency().get("EUR"));
+        assertEquals(money(usdNpv + eurNpv * 1.1), summary.getNpv());
+        assertEquals(money(-(usdNpv + eurNpv * 1.1)), summary.getPv());
+        assertEquals(money(usdDv01 + eurDv01 * 1.1), summary.getDv01());
+        assertEquals(money(usdNpv), summary.getNpvByBook().get("FX-BOOK-1"));
+        assertEquals(money(eurDv01 * 1.1), summary.getDv01ByBook().get("RATES-BOOK-1"));
+        assertTrue(summary.getDv01().signum() > 0, "Paying fixed gains when rates rise");
+        assertTrue(summary.getUnpricedCashflowsByCurrency().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Paid cashflows, inactive trades and currencies without a curve are excluded")
+    void testGetRiskSummary_Exclusions() {
+        Trade inactive = entityManager.find(Trade.class, 1001L);
+        inactive.setActive(false);
+        new TradeFixtures(entityManager).cashflow(entityManager.find(TradeLeg.class, 1000L), LocalDate.of(2025, 6, 1));
+        entityManager.flush();
+
+        RiskExposureSummary afterFirstCoupon = riskService.getRiskSummary(LocalDate.of(2024, 9, 2));
+
+        assertEquals(1, afterFirstCoupon.getTradeCount());
+        assertEquals(2, afterFirstCoupon.getCashflowCount()); // the December coupon and the added one
+        assertFalse(afterFirstCoupon.getNpvByCurrency().containsKey("EUR"));
+
+        RiskExposureSummary afterEverything = riskService.getRiskSummary(LocalDate.of(2030, 1, 1));
+        assertEquals(0, afterEverything.getTradeCount());
+        assertEquals(BigDecimal.ZERO.setScale(2), afterEverything.getNpv());
+    }
+
+    private static double df(double rate, int days) {
+        return Math.exp(-rate * days / 365.0);
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,82 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.repository.TradeDataJpaTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Updates only reach the index once their transaction commits, so these tests run without the usual test
+// transaction and put the seeded instructions back afterwards. Trade 100001 pays via Bank ABC, 100002 via HSBC.
+@TradeDataJpaTest
+@Import({AdditionalInfoService.class, SettlementInstructionIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SettlementInstructionIndexTest {
+
+    @Autowired
+    private AdditionalInfoService additionalInfoService;
+
+    @Autowired
+    private SettlementInstructionIndex settlementInstructionIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ModelMapper modelMapper;
+
+    private String seededInstructions;
+
+    @AfterEach
+    void restoreSeededInstructions() {
+        if (seededInstructions != null) {
+            additionalInfoService.saveSettlementInstructions(100001L, seededInstructions);
+        }
+    }
+
+    @Test
+    @DisplayName("The seeded instructions are searchable by phrase and by words in any order")
+    void testSearch_SeededInstructions() {
+        settlementInstructionIndex.rebuild();
+
+        assertEquals(2, settlementInstructionIndex.size());
+        assertEquals(List.of(100001L), additionalInfoService.findTradesBySettlementInstructions("bank abc"));
+        assertEquals(List.of(), additionalInfoService.findTradesBySettlementInstructions("abc bank"));
+        assertEquals(List.of(100001L), additionalInfoService.findTradesBySettlementInstructionWords("abc  BANK"));
+        assertEquals(List.of(100002L), additionalInfoService.findTradesBySettlementInstructionWords("london hsbc"));
+    }
+
+    @Test
+    @DisplayName("Saved instructions replace the old ones in the index once committed; rolled back ones never appear")
+    void testSaveSettlementInstructions_UpdatesIndexOnCommit() {
+        seededInstructions = additionalInfoService.getSettlementInstructions(100001L).orElseThrow();
+        settlementInstructionIndex.rebuild();
+
+        additionalInfoService.saveSettlementInstructions(100001L, "Settle via Euroclear 98765");
+
+        assertEquals(List.of(100001L), additionalInfoService.findTradesBySettlementInstructions("euroclear"));
+        assertEquals(List.of(), additionalInfoService.findTradesBySettlementInstructions("bank abc"));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            additionalInfoService.saveSettlementInstructions(100002L, "Settle via Clearstream");
+            status.setRollbackOnly();
+        });
+        assertEquals(List.of(), additionalInfoService.findTradesBySettlementInstructions("clearstream"));
+        assertEquals(List.of(100002L), additionalInfoService.findTradesBySettlementInstructions("hsbc"));
+
+        // a rebuild from the database agrees with the incrementally maintained index
+        settlementInstructionIndex.rebuild();
+        assertEquals(List.of(100001L), additionalInfoService.findTradesBySettlementInstructions("euroclear"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.TradeBatchResponseDTO;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.model.Trade;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TradeBatchServiceTest {
+
+    @Mock
+    private TradeService tradeService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private TradeBatchService tradeBatchService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tradeBatchService, "chunkSize", 2);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Trades are booked in one transaction per chunk")
+    void testBookTrades_AllSucceed() {
+        List<TradeDTO> trades = List.of(tradeDTO(null), tradeDTO(null), tradeDTO(null));
+        when(tradeService.createTrade(any(TradeDTO.class))).thenReturn(trade(10001L), trade(10002L), trade(10003L));
+
+        TradeBatchResponseDTO response = tradeBatchService.bookTrades(trades);
+
+        assertEquals(3, response.getTotalTrades());
+        assertEquals(3, response.getBookedTrades());
+        assertEquals(0, response.getFailedTrades());
+        assertEquals(10003L, response.getResults().get(2).getTradeId());
+        // 3 trades with a chunk size of 2 -> 2 transactions
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    @DisplayName("A failing trade rolls back its chunk and only that trade is rejected on retry")
+    void testBookTrades_FailedChunkFallsBackToSingleTrades() {
+        TradeDTO good = tradeDTO(null);
+        TradeDTO bad = tradeDTO(null);
+        List<TradeDTO> trades = List.of(good, bad);
+
+        when(tradeService.createTrade(good)).thenAnswer(invocation -> {
+            good.setTradeId(10001L); // createTrade assigns the generated id onto the DTO
+            return trade(10001L);
+        });
+        when(tradeService.createTrade(bad)).thenThrow(new RuntimeException("Trade must have exactly 2 legs"));
+
+        TradeBatchResponseDTO response = tradeBatchService.bookTrades(trades);
+
+        assertEquals(1, response.getBookedTrades());
+        assertEquals(1, response.getFailedTrades());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertFalse(response.getResults().get(1).isSuccess());
+        assertEquals("Trade must have exactly 2 legs", response.getResults().get(1).getErrorMessage());
+
+        // Chunk rolled back, then the good trade committed alone and the bad one rolled back alone
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(tradeService, times(2)).createTrade(good);
+    }
+
+    private TradeDTO tradeDTO(Long tradeId) {
+        TradeDTO dto = new TradeDTO();
+        dto.setTradeId(tradeId);
+        return dto;
+    }
+
+    private Trade trade(Long tradeId) {
+        Trade trade = new Trade();
+        trade.setTradeId(tradeId);
+        return trade;
+    }
+}
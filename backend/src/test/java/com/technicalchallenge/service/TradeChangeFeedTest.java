@@ -0,0 +1,111 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.ChangesPage;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeDataJpaTest;
+import com.technicalchallenge.repository.TradeFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TradeDataJpaTest
+@Import({TradeChangeFeed.class, TradeDetailsLoader.class})
+@TestPropertySource(properties = {
+        "trades.changes.settle-millis=0"
+})
+class TradeChangeFeedTest {
+
+    // After the seeded trades (touched in June 2024)
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TradeChangeFeed tradeChangeFeed;
+
+    private final List<Long> touchedOrder = new ArrayList<>();
+
+    private TradeFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TradeFixtures(entityManager);
+        for (int i = 0; i < 12; i++) {
+            // Pairs of trades touched in the same instant, so batches end between equal timestamps
+            Trade trade = trade(900000L + i, BASE.plusSeconds(i / 2), true);
+            touchedOrder.add(trade.getId());
+        }
+        trade(900100L, BASE.plusSeconds(3), false); // superseded version
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Following the watermark visits every active change once, in touch order, and then stays put")
+    void testChangesSince_FollowsWatermark() {
+        String watermark = LocalDateTime.of(2025, 1, 1, 0, 0).toString();
+        List<Long> visited = new ArrayList<>();
+        ChangesPage<Trade> batch;
+        do {
+            batch = tradeChangeFeed.changesSince(watermark, 5);
+            batch.content().forEach(trade -> visited.add(trade.getId()));
+            watermark = batch.watermark();
+        } while (batch.hasMore());
+
+        assertEquals(touchedOrder, visited);
+
+        ChangesPage<Trade> nothingNew = tradeChangeFeed.changesSince(watermark, 5);
+        assertTrue(nothingNew.content().isEmpty());
+        assertEquals(watermark, nothingNew.watermark());
+    }
+
+    @Test
+    @DisplayName("A timestamp only returns trades touched strictly after it; no since means a full sync")
+    void testChangesSince_TimestampAndFullSync() {
+        ChangesPage<Trade> afterFourth = tradeChangeFeed.changesSince(BASE.plusSeconds(4).toString(), 100);
+        assertEquals(touchedOrder.subList(10, 12), afterFourth.content().stream().map(Trade::getId).toList());
+
+        ChangesPage<Trade> everything = tradeChangeFeed.changesSince(null, 100);
+        assertEquals(2 + touchedOrder.size(), everything.content().size()); // the seeded trades first
+        assertEquals(touchedOrder.get(11), everything.content().get(everything.content().size() - 1).getId());
+    }
+
+    @Test
+    @DisplayName("Trades touched within the settle window wait for the next poll")
+    void testChangesSince_HoldsBackRecentTouches() {
+        Trade recent = trade(900200L, LocalDateTime.now(), true);
+        entityManager.flush();
+
+        ReflectionTestUtils.setField(tradeChangeFeed, "settleMillis", 60_000L);
+        ChangesPage<Trade> settled = tradeChangeFeed.changesSince(BASE.toString(), 100);
+        assertEquals(touchedOrder.subList(2, 12), settled.content().stream().map(Trade::getId).toList());
+        String watermark = settled.watermark();
+        assertTrue(tradeChangeFeed.changesSince(watermark, 100).content().isEmpty());
+
+        ReflectionTestUtils.setField(tradeChangeFeed, "settleMillis", 0L);
+        assertEquals(List.of(recent.getId()), tradeChangeFeed.changesSince(watermark, 100).content().stream().map(Trade::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Anything that is neither a watermark nor a timestamp is rejected")
+    void testChangesSince_InvalidWatermark() {
+        assertThrows(IllegalArgumentException.class, () -> tradeChangeFeed.changesSince("yesterday", 10));
+    }
+
+    private Trade trade(long tradeId, LocalDateTime touched, boolean active) {
+        return fixtures.trade(tradeId).tradeDate(LocalDate.of(2025, 3, 1)).lastTouched(touched).active(active).persist();
+    }
+}
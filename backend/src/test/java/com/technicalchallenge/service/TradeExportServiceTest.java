@@ -0,0 +1,112 @@
+package com.technicalchallenge.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.repository.TradeDataJpaTest;
+import com.technicalchallenge.repository.TradeFixtures;
+import com.technicalchallenge.service.TradeExportService.ExportFormat;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+// Exports against a real database with a small chunk size, so several chunks are streamed and cleared
+@TradeDataJpaTest
+@Import({TradeExportService.class, TradeDetailsLoader.class, TradeMapper.class, JacksonAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "trade.export.chunk-size=7"
+})
+class TradeExportServiceTest {
+
+    private static final int EXPORTED_TRADES = 25;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TradeExportService tradeExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private AdditionalInfoService additionalInfoService;
+
+    @MockBean
+    private org.modelmapper.ModelMapper modelMapper;
+
+    @BeforeEach
+    void setUp() {
+        TradeFixtures fixtures = new TradeFixtures(entityManager);
+        for (int i = 0; i < EXPORTED_TRADES; i++) {
+            fixtures.trade(800000L + i).legs(2).persist();
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        when(additionalInfoService.getSettlementInstructions(anyCollection()))
+                .thenReturn(Map.of(800003L, "Settle via JPM, ref \"A1\""));
+    }
+
+    @Test
+    @DisplayName("NDJSON export writes one parseable trade per line across several chunks")
+    void testExportTrades_Ndjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = tradeExportService.exportTrades("tradeId=ge=800000", ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(EXPORTED_TRADES, exported);
+        assertEquals(EXPORTED_TRADES, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(800000L, first.get("tradeId").asLong());
+        assertEquals("FX-BOOK-1", first.get("bookName").asText());
+        assertEquals(2, first.get("tradeLegs").size());
+        assertEquals("Settle via JPM, ref \"A1\"", objectMapper.readTree(lines.get(3)).get("settlementInstructions").asText());
+
+        // Each chunk is detached once written
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("CSV export writes a header and one escaped row per trade leg")
+    void testExportTrades_Csv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        tradeExportService.exportTrades("tradeId=ge=800000", ExportFormat.CSV, out);
+
+        List<String> rows = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(1 + EXPORTED_TRADES * 2, rows.size());
+        assertTrue(rows.get(0).startsWith("id,tradeId,version,tradeDate"));
+        assertTrue(rows.stream().anyMatch(row -> row.contains(",\"Settle via JPM, ref \"\"A1\"\"\",")));
+    }
+
+    @Test
+    @DisplayName("Without a query every trade is exported, and an invalid selector fails before any output")
+    void testExportTrades_NoFilterAndInvalidQuery() throws Exception {
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        long exported = tradeExportService.exportTrades(null, ExportFormat.NDJSON, all);
+        assertEquals(EXPORTED_TRADES + 2, exported); // plus the two seeded trades
+
+        ByteArrayOutputStream invalid = new ByteArrayOutputStream();
+        assertThrows(IllegalArgumentException.class,
+                () -> tradeExportService.exportTrades("noSuchField==1", ExportFormat.CSV, invalid));
+        assertEquals(0, invalid.size());
+    }
+}
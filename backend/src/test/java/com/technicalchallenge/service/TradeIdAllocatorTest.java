@@ -0,0 +1,128 @@
+package com.technicalchallenge.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the allocator against a real (in-memory H2) sequence so block reservation is exercised end to end
+class TradeIdAllocatorTest {
+
+    private static final int THREADS = 64;
+    private static final int IDS_PER_THREAD = 500;
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:tradeid;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("CREATE TABLE trade (id BIGINT PRIMARY KEY, trade_id BIGINT)");
+        jdbcTemplate.update("INSERT INTO trade (id, trade_id) VALUES (1000, 100001), (1001, 100002)");
+        // As migration V10 leaves it for the seeded trades
+        jdbcTemplate.execute("CREATE SEQUENCE trade_id_seq START WITH 100003 INCREMENT BY 50");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Ids start above the highest existing trade id")
+    void testNextTradeId_StartsAboveExistingTrades() {
+        TradeIdAllocator allocator = new TradeIdAllocator(jdbcTemplate, transactionManager);
+
+        long first = allocator.nextTradeId();
+        long second = allocator.nextTradeId();
+
+        assertEquals(100003L, first);
+        assertEquals(100004L, second);
+    }
+
+    @Test
+    @DisplayName("Ids are unique under 64 concurrent booking threads")
+    void testNextTradeId_UniqueUnderConcurrency() throws Exception {
+        TradeIdAllocator allocator = new TradeIdAllocator(jdbcTemplate, transactionManager);
+
+        Set<Long> ids = allocateConcurrently(List.of(allocator));
+
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id > 100002L));
+    }
+
+    @Test
+    @DisplayName("Ids are unique across several application instances sharing the sequence")
+    void testNextTradeId_UniqueAcrossInstances() throws Exception {
+        jdbcTemplate.execute("ALTER SEQUENCE trade_id_seq INCREMENT BY 20");
+        List<TradeIdAllocator> nodes = List.of(
+                new TradeIdAllocator(jdbcTemplate, transactionManager),
+                new TradeIdAllocator(jdbcTemplate, transactionManager),
+                new TradeIdAllocator(jdbcTemplate, transactionManager));
+
+        Set<Long> ids = allocateConcurrently(nodes);
+
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+    }
+
+    @Test
+    @DisplayName("Blocks follow the increment of the sequence, also when it changes")
+    void testNextTradeId_BlockSizeFromSequence() {
+        TradeIdAllocator node = new TradeIdAllocator(jdbcTemplate, transactionManager);
+        TradeIdAllocator other = new TradeIdAllocator(jdbcTemplate, transactionManager);
+
+        assertEquals(100003L, node.nextTradeId());
+        jdbcTemplate.execute("ALTER SEQUENCE trade_id_seq INCREMENT BY 5");
+
+        // the other node's first block is the 5 ids after the first node's block of 50, then it draws another
+        List<Long> otherIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            otherIds.add(other.nextTradeId());
+        }
+        assertEquals(List.of(100053L, 100054L, 100055L, 100056L, 100057L, 100058L), otherIds);
+        assertEquals(100004L, node.nextTradeId());
+    }
+
+    private Set<Long> allocateConcurrently(List<TradeIdAllocator> allocators) throws Exception {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                TradeIdAllocator allocator = allocators.get(t % allocators.size());
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        assertTrue(ids.add(allocator.nextTradeId()), "Duplicate trade id allocated");
+                    }
+                    return null;
+                }));
+            }
+            startSignal.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return ids;
+    }
+}
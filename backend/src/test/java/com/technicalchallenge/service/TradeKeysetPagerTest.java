@@ -0,0 +1,119 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.KeysetPage;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeDataJpaTest;
+import com.technicalchallenge.repository.TradeFixtures;
+import com.technicalchallenge.specifications.TradeSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TradeDataJpaTest
+@Import({TradeKeysetPager.class, TradeDetailsLoader.class})
+class TradeKeysetPagerTest {
+
+    private static final int TRADES = 53;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TradeKeysetPager tradeKeysetPager;
+
+    // Only the trades created here, so the seeded ones do not affect the expected order
+    private final Specification<Trade> ownTrades = (root, query, cb) -> cb.ge(root.get("tradeId"), 900000L);
+
+    @BeforeEach
+    void setUp() {
+        TradeFixtures fixtures = new TradeFixtures(entityManager);
+        for (int i = 0; i < TRADES; i++) {
+            fixtures.trade(900000L + i)
+                    // Only 5 distinct trade dates, so most pages end in the middle of a run of equal sort values
+                    .tradeDate(LocalDate.now().minusDays(i % 5))
+                    // Every fourth trade has no start date to exercise the trailing null block
+                    .tradeStartDate(i % 4 == 0 ? null : LocalDate.now().plusDays(i % 7))
+                    .persist();
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Walking every page by cursor visits each trade once in (tradeDate desc, id desc) order")
+    void testFindPage_WalksAllPagesInOrder() {
+        List<Trade> visited = walk("tradeDate", Sort.Direction.DESC, 10);
+
+        assertEquals(TRADES, visited.size());
+        assertEquals(TRADES, visited.stream().map(Trade::getId).distinct().count());
+        Comparator<Trade> expected = Comparator.comparing(Trade::getTradeDate).thenComparing(Trade::getId).reversed();
+        List<Trade> sorted = new ArrayList<>(visited);
+        sorted.sort(expected);
+        assertEquals(sorted.stream().map(Trade::getId).toList(), visited.stream().map(Trade::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Null sort values are placed last and still paged through without gaps")
+    void testFindPage_NullSortValuesLast() {
+        List<Trade> visited = walk("tradeStartDate", Sort.Direction.ASC, 6);
+
+        assertEquals(TRADES, visited.size());
+        assertEquals(TRADES, visited.stream().map(Trade::getId).distinct().count());
+        int firstNull = (int) visited.stream().takeWhile(t -> t.getTradeStartDate() != null).count();
+        assertTrue(visited.subList(firstNull, visited.size()).stream().allMatch(t -> t.getTradeStartDate() == null));
+    }
+
+    @Test
+    @DisplayName("Filters apply to every page and the total is only counted on request")
+    void testFindPage_FilterAndOptionalTotal() {
+        Specification<Trade> today = ownTrades.and(TradeSpecifications.hasBook("FX-BOOK-1"))
+                .and((root, query, cb) -> cb.equal(root.get("tradeDate"), LocalDate.now()));
+
+        KeysetPage<Trade> withoutTotal = tradeKeysetPager.findPage(today, "id", Sort.Direction.ASC, 4, null, false);
+        KeysetPage<Trade> withTotal = tradeKeysetPager.findPage(today, "id", Sort.Direction.ASC, 4, null, true);
+
+        assertNull(withoutTotal.totalElements());
+        assertEquals(11L, withTotal.totalElements()); // i % 5 == 0 for i in [0, 53)
+        assertTrue(withTotal.hasNext());
+        assertEquals(4, withTotal.content().size());
+    }
+
+    @Test
+    @DisplayName("Cursors are rejected when tampered with or reused with a different sort")
+    void testFindPage_InvalidCursor() {
+        KeysetPage<Trade> first = tradeKeysetPager.findPage(ownTrades, "tradeDate", Sort.Direction.DESC, 5, null, false);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> tradeKeysetPager.findPage(ownTrades, "tradeDate", Sort.Direction.ASC, 5, first.nextCursor(), false));
+        assertThrows(IllegalArgumentException.class,
+                () -> tradeKeysetPager.findPage(ownTrades, "tradeDate", Sort.Direction.DESC, 5, "not-a-cursor", false));
+        assertThrows(IllegalArgumentException.class,
+                () -> tradeKeysetPager.findPage(ownTrades, "counterparty.name", Sort.Direction.DESC, 5, null, false));
+    }
+
+    private List<Trade> walk(String sortBy, Sort.Direction direction, int size) {
+        List<Trade> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetPage<Trade> page = tradeKeysetPager.findPage(ownTrades, sortBy, direction, size, cursor, false);
+            visited.addAll(page.content());
+            assertEquals(page.hasNext(), page.nextCursor() != null);
+            cursor = page.nextCursor();
+            assertTrue(++pages <= TRADES, "pagination did not terminate");
+        } while (cursor != null);
+        return visited;
+    }
+}
@@ -0,0 +1,139 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.config.RsqlCacheConfig;
+import com.technicalchallenge.config.RsqlCacheProperties;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeDataJpaTest;
+import com.technicalchallenge.rsql.RsqlSpecificationCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Seeded trades 100001 (id 1000, traded 2024-06-01) and 100002 (id 1001, traded 2024-06-02). The tests run
+// without the usual test transaction so the epoch moves straight away, as it does after a commit.
+@TradeDataJpaTest
+@Import({TradeSearchResultCache.class, RsqlCacheConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "rsql.cache.results-enabled=true"
+})
+class TradeSearchResultCacheTest {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "tradeDate");
+
+    @Autowired
+    private TradeSearchResultCache cache;
+
+    @Autowired
+    private RsqlSpecificationCache<Trade> specifications;
+
+    @Autowired
+    private RsqlCacheProperties properties;
+
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private double hitsBefore;
+    private double missesBefore;
+
+    @BeforeEach
+    void setUp() {
+        // The cache bean is shared by the tests, so start each one from a new epoch
+        cache.tradesChanged();
+        hitsBefore = gets("hit");
+        missesBefore = gets("miss");
+    }
+
+    @AfterEach
+    void tearDown() {
+        properties.setMaxResultIds(10_000);
+        jdbcTemplate.update("UPDATE trade SET trade_date = '2024-06-01' WHERE id = 1000");
+    }
+
+    @Test
+    @DisplayName("Later pages of a repeated query come from the cached ids")
+    void testPagesThroughCachedIds() {
+        Page<Trade> first = search("tradeDate=ge=2024-01-01", PageRequest.of(0, 1, NEWEST_FIRST));
+        Page<Trade> second = search(" tradeDate=ge=2024-01-01 ", PageRequest.of(1, 1, NEWEST_FIRST));
+        Page<Trade> past = search("tradeDate=ge=2024-01-01", PageRequest.of(2, 1, NEWEST_FIRST));
+
+        assertEquals(List.of(100002L), tradeIds(first));
+        assertEquals(List.of(100001L), tradeIds(second));
+        assertTrue(past.getContent().isEmpty());
+        assertEquals(2, first.getTotalElements());
+        assertEquals(2, second.getTotalElements());
+        assertEquals(1, gets("miss") - missesBefore);
+        assertEquals(2, gets("hit") - hitsBefore);
+
+        // another sort order is another result
+        Page<Trade> oldestFirst = search("tradeDate=ge=2024-01-01", PageRequest.of(0, 1, NEWEST_FIRST.ascending()));
+        assertEquals(List.of(100001L), tradeIds(oldestFirst));
+        assertEquals(2, gets("miss") - missesBefore);
+    }
+
+    @Test
+    @DisplayName("A trade change is picked up once the epoch moves on")
+    void testEpochInvalidates() {
+        Pageable pageable = PageRequest.of(0, 10, NEWEST_FIRST);
+        assertEquals(List.of(100002L), tradeIds(search("tradeDate=ge=2024-06-02", pageable)));
+
+        // a write this instance was not told about is served stale until the TTL ...
+        jdbcTemplate.update("UPDATE trade SET trade_date = '2024-06-05' WHERE id = 1000");
+        assertEquals(List.of(100002L), tradeIds(search("tradeDate=ge=2024-06-02", pageable)));
+
+        // ... while one made through the lifecycle methods bumps the epoch
+        long epoch = cache.getEpoch();
+        cache.tradesChanged();
+        assertEquals(epoch + 1, cache.getEpoch());
+        assertEquals(List.of(100001L, 100002L), tradeIds(search("tradeDate=ge=2024-06-02", pageable)));
+    }
+
+    @Test
+    @DisplayName("Queries matching more than max-result-ids trades are paged in the database and not cached")
+    void testTooManyMatches() {
+        properties.setMaxResultIds(1);
+        Pageable pageable = PageRequest.of(0, 1, NEWEST_FIRST);
+
+        Page<Trade> page = search("tradeDate=ge=2024-01-01", pageable);
+        search("tradeDate=ge=2024-01-01", pageable);
+
+        assertEquals(List.of(100002L), tradeIds(page));
+        assertEquals(2, page.getTotalElements());
+        assertEquals(0, gets("hit") - hitsBefore);
+        assertEquals(2, gets("miss") - missesBefore);
+    }
+
+    private Page<Trade> search(String query, Pageable pageable) {
+        return cache.findPage(query, specifications.parse(query), pageable);
+    }
+
+    private static List<Long> tradeIds(Page<Trade> page) {
+        return page.getContent().stream().map(Trade::getTradeId).toList();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", TradeSearchResultCache.RSQL_RESULTS)
+                .tag("result", result).functionCounter().count();
+    }
+}
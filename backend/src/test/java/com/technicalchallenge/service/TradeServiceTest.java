@@ -1,7 +1,16 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.analytics.TradeDimension;
+import com.technicalchallenge.analytics.TradeGroup;
+import com.technicalchallenge.analytics.TradeUser;
+import com.technicalchallenge.calendar.BusinessCalendar;
+import com.technicalchallenge.cashflow.CashflowEngine;
+import com.technicalchallenge.config.RsqlCacheProperties;
 import com.technicalchallenge.dto.DailySummaryDTO;
+import com.technicalchallenge.dto.DailyTradeAggregate;
 import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeEventDTO;
+import com.technicalchallenge.dto.TradeGroupDTO;
 import com.technicalchallenge.dto.TradeLegDTO;
 import com.technicalchallenge.dto.TradeSummaryDTO;
 import com.technicalchallenge.model.AdditionalInfo;
@@ -31,14 +40,18 @@ import com.technicalchallenge.repository.TradeRepository;
 import com.technicalchallenge.repository.TradeStatusRepository;
 import com.technicalchallenge.repository.UserPrivilegeRepository;
 import com.technicalchallenge.repository.UserProfileRepository;
+import com.technicalchallenge.rsql.RsqlSpecificationCache;
 
 import com.technicalchallenge.validation.ValidationResult;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -48,13 +61,16 @@ import org.mockito.Mockito;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -120,6 +136,15 @@ class TradeServiceTest {
     @Mock
     private UserPrivilegeRepository userPrivilegeRepository;
 
+    @Mock
+    private EntitlementCache entitlementCache;
+
+    @Mock
+    private TradeDetailsLoader tradeDetailsLoader;
+
+    @Mock
+    private TradeKeysetPager tradeKeysetPager;
+
 
 
    // End of FOLA ADDED
@@ -133,10 +158,24 @@ class TradeServiceTest {
     @Mock
     private TradeMapper tradeMapper;
 
+    @Mock
+    private TradeSummaryAggregateStore tradeSummaryAggregateStore;
+
+    @Mock
+    private TradeIdAllocator tradeIdAllocator;
+
+    @Mock
+    private TradeEventPublisher tradeEventPublisher;
+
+    @Mock
+    private BusinessCalendarService businessCalendarService;
+
     @Spy // This will create a spy for the TradeService. A spy allows us to call real methods unless they are stubbed.
     @InjectMocks
     private TradeService tradeService;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private TradeDTO tradeDTO;
     private Trade trade;
 
@@ -205,6 +244,12 @@ class TradeServiceTest {
         tradeService = spy(tradeService); // Re-spy to ensure we have a fresh spy instance. Spy will call real methods unless stubbed.
         //doReturn(true).when(tradeService).validateUserPrivileges(anyString(), anyString(), any());
         lenient().doReturn(true).when(tradeService).validateUserPrivileges(any(), any(), any());
+        lenient().when(businessCalendarService.getCalendar(any())).thenReturn(BusinessCalendar.weekendsOnly("NONE"));
+        ReflectionTestUtils.setField(tradeService, "cashflowEngine", new CashflowEngine(businessCalendarService));
+        ReflectionTestUtils.setField(tradeService, "tradeLifecycleMetrics", new TradeLifecycleMetrics(meterRegistry));
+        ReflectionTestUtils.setField(tradeService, "rsqlSpecificationCache", new RsqlSpecificationCache<Trade>(100));
+        ReflectionTestUtils.setField(tradeService, "tradeSearchResultCache",
+                new TradeSearchResultCache(new RsqlCacheProperties(), meterRegistry));
 
     }
 
@@ -249,6 +294,9 @@ class TradeServiceTest {
         // This assertion is intentionally wrong - candidates need to fix it
         //FOLA ADDED: I changed the expected message to match the actual exception message thrown in the service
         assertTrue(exception.getMessage().contains("Start date cannot be before trade date"));
+        // counted against the rule, and the booking as a failure
+        assertEquals(1.0, meterRegistry.get("trade.validation.failures").tag("rule", "start_before_trade_date").counter().count());
+        assertEquals(1, meterRegistry.get("trade.lifecycle").tags("operation", "create", "outcome", "failure").timer().count());
 
     }
 
@@ -310,6 +358,9 @@ class TradeServiceTest {
         // Then
         assertNotNull(result);
         verify(tradeRepository, times(2)).save(any(Trade.class)); // Save old and new
+        // closing the old version and inserting the new one are timed as separate stages
+        assertEquals(1, meterRegistry.get("trade.lifecycle.stage").tags("operation", "amend", "stage", "version_close").timer().count());
+        assertEquals(1, meterRegistry.get("trade.lifecycle.stage").tags("operation", "amend", "stage", "trade_insert").timer().count());
     }
 
     @Test
@@ -361,7 +412,18 @@ class TradeServiceTest {
 
         // Then
         // I expect 12 cashflows per leg, 2 legs = 24 cashflows
-        verify(cashflowRepository, times(24)).save(any(Cashflow.class));
+        ArgumentCaptor<Cashflow> savedCashflows = ArgumentCaptor.forClass(Cashflow.class);
+        verify(cashflowRepository, times(24)).save(savedCashflows.capture());
+        // and every value date rolled off the weekend
+        assertTrue(savedCashflows.getAllValues().stream()
+                .allMatch(cashflow -> cashflow.getValueDate().getDayOfWeek().getValue() <= 5));
+        // one booking of 24 cashflows, with leg and cashflow time recorded once per booking
+        DistributionSummary cashflowsPerBooking = meterRegistry.get("trade.lifecycle.cashflows").summary();
+        assertEquals(1, cashflowsPerBooking.count());
+        assertEquals(24.0, cashflowsPerBooking.totalAmount());
+        assertEquals(1, meterRegistry.get("trade.lifecycle.stage").tags("operation", "create", "stage", "cashflows").timer().count());
+        assertEquals(1, meterRegistry.get("trade.lifecycle.stage").tags("operation", "create", "stage", "legs").timer().count());
+        assertEquals(1, meterRegistry.get("trade.lifecycle").tags("operation", "create", "outcome", "success").timer().count());
 
     }
 
@@ -472,7 +534,7 @@ class TradeServiceTest {
             .thenReturn(new PageImpl<>(List.of(trade)));
 
         // When
-        Page<Trade> result = tradeService.searchTrades(counterparty, book, trader, status, from, to, page, size, sortBy, direction);
+        Page<Trade> result = tradeService.searchTrades(counterparty, book, trader, status, from, to, page, size, sortBy, direction, null);
 
         // Then
         assertNotNull(result);
@@ -515,6 +577,23 @@ class TradeServiceTest {
     }
 
     
+    @Test
+    @DisplayName("Test searchByRsql - a repeated query reuses the parsed Specification")
+    @SuppressWarnings("unchecked")
+    void testSearchByRsql_ReusesParsedQuery() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(tradeRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(trade)));
+
+        tradeService.searchByRsql("counterparty.name==Goldman;tradeDate=ge=2025-01-01", pageable);
+        tradeService.searchByRsql(" counterparty.name==Goldman;tradeDate=ge=2025-01-01 ", pageable);
+        tradeService.searchByRsql("counterparty.name==MegaFund", pageable);
+
+        ArgumentCaptor<Specification<Trade>> specs = ArgumentCaptor.forClass(Specification.class);
+        verify(tradeRepository, times(3)).findAll(specs.capture(), eq(pageable));
+        assertSame(specs.getAllValues().get(0), specs.getAllValues().get(1));
+        assertNotSame(specs.getAllValues().get(0), specs.getAllValues().get(2));
+    }
+
     @Test
     @DisplayName("Test RSQL search with invalid query. This test should fail gracefully.")
     void testRsqlSearchInvalidQuery_shouldFail() {
@@ -667,13 +746,20 @@ class TradeServiceTest {
         Trade trade1 = createTestTradeForSummary("Goldman Sachs", "FX-BOOK-1", "NEW", "FX_SWAP");
         Trade trade2 = createTestTradeForSummary("JP Morgan", "RATES-BOOK-1", "CONFIRMED", "IRS");
         Trade trade3 = createTestTradeForSummary("Goldman Sachs", "FX-BOOK-1", "NEW", "FX_SWAP");
-        
-        // ✅ FIX: Use findAll() without arguments
-        when(tradeRepository.findAll()).thenReturn(List.of(trade1, trade2, trade3));
-        
+        trade1.setTradeId(10001L);
+        trade2.setTradeId(10002L);
+        trade3.setTradeId(10003L);
+
+        // The summary is served from the pre-aggregated store, fed the same way the lifecycle methods do
+        TradeSummaryAggregateStore summaryStore = new TradeSummaryAggregateStore();
+        for (Trade trade : List.of(trade1, trade2, trade3)) {
+            summaryStore.recordTrade(trade, trade.getTradeLegs());
+        }
+        ReflectionTestUtils.setField(tradeService, "tradeSummaryAggregateStore", summaryStore);
+
         // Act
         TradeSummaryDTO result = tradeService.getTradeSummary();
-        
+
         // Assert
         assertNotNull(result);
         assertEquals(3L, result.getTotalTrades());
@@ -685,8 +771,9 @@ class TradeServiceTest {
         // Check trades by counterparty
         assertEquals(2L, result.getTradesByCounterparty().get("Goldman Sachs"));
         assertEquals(1L, result.getTradesByCounterparty().get("JP Morgan"));
-        
-        verify(tradeRepository).findAll();
+
+        // No table scan is needed to build the summary
+        verify(tradeRepository, never()).findAll();
     }
 
 
@@ -837,7 +924,7 @@ class TradeServiceTest {
         
         List<Trade> trades = Arrays.asList(trade1, trade2);
         
-        when(tradeRepository.findAll()).thenReturn(trades);
+        when(tradeRepository.findAllWithReferenceData()).thenReturn(trades);
         
         // When
         List<Trade> result = tradeService.getAllTrades();
@@ -847,7 +934,9 @@ class TradeServiceTest {
         assertEquals(2, result.size());
         assertEquals(1001L, result.get(0).getTradeId());
         assertEquals(1002L, result.get(1).getTradeId());
-        verify(tradeRepository).findAll();
+        verify(tradeRepository).findAllWithReferenceData();
+        verify(tradeDetailsLoader, times(1)).loadLegsAndCashflows(trades);
+        verify(tradeRepository, never()).findAll();
     }
 
     @Test
@@ -857,6 +946,7 @@ class TradeServiceTest {
         Long tradeId = 1001L;
         Trade trade = createTestTradeForSummary("Goldman Sachs", "FX-BOOK-1", "NEW", "FX_SWAP");
         trade.setTradeId(tradeId);
+        trade.setVersion(1);
         trade.setActive(true);
         
         TradeStatus cancelledStatus = new TradeStatus();
@@ -865,7 +955,7 @@ class TradeServiceTest {
         
         when(tradeRepository.findByTradeIdAndActiveTrue(tradeId)).thenReturn(Optional.of(trade));
         when(tradeStatusRepository.findByTradeStatus("CANCELLED")).thenReturn(Optional.of(cancelledStatus));
-        when(tradeRepository.save(any(Trade.class))).thenReturn(trade);
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
         tradeService.deleteTrade(tradeId);
@@ -874,7 +964,8 @@ class TradeServiceTest {
         verify(tradeRepository).findByTradeIdAndActiveTrue(tradeId);
         verify(tradeStatusRepository).findByTradeStatus("CANCELLED");
         verify(tradeRepository).save(trade);
-        assertEquals(cancelledStatus, trade.getTradeStatus());
+        assertFalse(trade.getActive());
+        verify(tradeRepository).save(argThat(saved -> saved != trade && saved.getTradeStatus() == cancelledStatus));
     }
 
     @Test
@@ -884,6 +975,7 @@ class TradeServiceTest {
         Long tradeId = 1001L;
         Trade trade = createTestTradeForSummary("JP Morgan", "RATES-BOOK-1", "CONFIRMED", "IRS");
         trade.setTradeId(tradeId);
+        trade.setVersion(1);
         trade.setActive(true);
         
         TradeStatus terminatedStatus = new TradeStatus();
@@ -892,7 +984,7 @@ class TradeServiceTest {
         
         when(tradeRepository.findByTradeIdAndActiveTrue(tradeId)).thenReturn(Optional.of(trade));
         when(tradeStatusRepository.findByTradeStatus("TERMINATED")).thenReturn(Optional.of(terminatedStatus));
-        when(tradeRepository.save(any(Trade.class))).thenReturn(trade);
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
         Trade result = tradeService.terminateTrade(tradeId);
@@ -903,6 +995,10 @@ class TradeServiceTest {
         verify(tradeStatusRepository).findByTradeStatus("TERMINATED");
         verify(tradeRepository).save(trade);
         assertEquals(terminatedStatus, result.getTradeStatus());
+        assertEquals("JP Morgan", result.getCounterparty().getName());
+        assertEquals(trade.getTradeLegs().size(), result.getTradeLegs().size());
+        assertNotSame(trade.getTradeLegs().get(0), result.getTradeLegs().get(0));
+        verify(tradeEventPublisher).publish(TradeEventDTO.Type.TERMINATED, result);
     }
 
     @Test
@@ -912,6 +1008,7 @@ class TradeServiceTest {
         Long tradeId = 1001L;
         Trade trade = createTestTradeForSummary("Morgan Stanley", "CREDIT-BOOK-1", "CONFIRMED", "CDS");
         trade.setTradeId(tradeId);
+        trade.setVersion(1);
         trade.setActive(true);
         
         TradeStatus cancelledStatus = new TradeStatus();
@@ -920,17 +1017,28 @@ class TradeServiceTest {
         
         when(tradeRepository.findByTradeIdAndActiveTrue(tradeId)).thenReturn(Optional.of(trade));
         when(tradeStatusRepository.findByTradeStatus("CANCELLED")).thenReturn(Optional.of(cancelledStatus));
-        when(tradeRepository.save(any(Trade.class))).thenReturn(trade);
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
         Trade result = tradeService.cancelTrade(tradeId);
         
-        // Then
+        // Then: the cancelled status goes on a new version, which opens when the old one closes
         assertNotNull(result);
         verify(tradeRepository).findByTradeIdAndActiveTrue(tradeId);
         verify(tradeStatusRepository).findByTradeStatus("CANCELLED");
         verify(tradeRepository).save(trade);
         assertEquals(cancelledStatus, result.getTradeStatus());
+        assertEquals("CONFIRMED", trade.getTradeStatus().getTradeStatus());
+        assertEquals(2, result.getVersion());
+        assertEquals(tradeId, result.getTradeId());
+        assertTrue(result.getActive());
+        assertFalse(trade.getActive());
+        assertNotNull(trade.getDeactivatedDate());
+        assertEquals(trade.getDeactivatedDate(), result.getCreatedDate());
+        assertEquals(trade.getValidityEndDate(), result.getValidityStartDate());
+        assertEquals(1, meterRegistry.get("trade.lifecycle.stage").tags("operation", "cancel", "stage", "version_close").timer().count());
+        assertEquals(1, meterRegistry.get("trade.lifecycle.stage").tags("operation", "cancel", "stage", "trade_insert").timer().count());
+        verify(tradeEventPublisher).publish(TradeEventDTO.Type.CANCELLED, result);
     }
 
     @Test
@@ -963,29 +1071,62 @@ class TradeServiceTest {
         // Given
         LocalDate today = LocalDate.now();
         LocalDate yesterday = today.minusDays(1);
-        
-        Trade trade1 = createTestTradeForSummary("Goldman Sachs", "FX-BOOK-1", "NEW", "FX_SWAP");
-        trade1.setTradeDate(today);
-        
-        Trade trade2 = createTestTradeForSummary("JP Morgan", "RATES-BOOK-1", "CONFIRMED", "IRS");
-        trade2.setTradeDate(today);
-        
-        Trade trade3 = createTestTradeForSummary("Morgan Stanley", "CREDIT-BOOK-1", "AMENDED", "CDS");
-        trade3.setTradeDate(yesterday);
-        
-        List<Trade> allTrades = Arrays.asList(trade1, trade2, trade3);
-        
-        when(tradeRepository.findAll()).thenReturn(allTrades);
-        
+
+        // Rows as produced by the daily group-by: two trades today across two books, one yesterday
+        List<DailyTradeAggregate> aggregates = Arrays.asList(
+                new DailyTradeAggregate(today, "NEW", "FX-BOOK-1", "trader1", "Simon", "King", "Simon", "King",
+                        1L, new BigDecimal("500000")),
+                new DailyTradeAggregate(today, "CONFIRMED", "RATES-BOOK-1", "trader2", "Ashley", "Lee", "Simon", "King",
+                        1L, new BigDecimal("1500000")),
+                new DailyTradeAggregate(yesterday, "AMENDED", "CREDIT-BOOK-1", "trader1", "Simon", "King", "Simon", "King",
+                        1L, new BigDecimal("750000")));
+
+        when(tradeSummaryAggregateStore.dailyAggregates(yesterday, today)).thenReturn(aggregates);
+
         // When
         DailySummaryDTO result = tradeService.getDailySummary();
-        
+
         // Then
         assertNotNull(result);
         assertEquals(2, result.getTodaysTradeCount()); // Two trades today
         assertEquals(1, result.getYesterdayTradeCount()); // One trade yesterday
         assertEquals(1, result.getTodaysNewTrades()); // One NEW trade today
-        verify(tradeRepository, atLeastOnce()).findAll();
+        assertEquals(0, new BigDecimal("2000000").compareTo(result.getTodaysTotalNotional()));
+        assertEquals(0, new BigDecimal("1000000.00").compareTo(result.getTodaysAverageNotional()));
+        assertEquals(0, new BigDecimal("100").compareTo(result.getDayOverDayChangePercentage()));
+        assertEquals(2L, result.getTradesByInputter().get("Simon King"));
+        assertEquals(1L, result.getStatusByBook().get("RATES-BOOK-1").get("CONFIRMED"));
+        assertFalse(result.getTradesByBook().containsKey("CREDIT-BOOK-1"));
+
+        // Only the two-day window is read, from the in-memory columns rather than the trade table
+        verify(tradeSummaryAggregateStore).dailyAggregates(yesterday, today);
+        verify(tradeRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Test aggregateTrades - resolves dimension names and labels each group by dimension")
+    void testAggregateTrades() {
+        // Given
+        LocalDate today = LocalDate.now();
+        TradeUser simon = new TradeUser("simon", "Simon", "King");
+        when(tradeSummaryAggregateStore.groupBy(List.of(TradeDimension.TRADER, TradeDimension.TRADE_DATE),
+                Map.of(TradeDimension.STATUS, "LIVE"), null, null))
+                .thenReturn(List.of(new TradeGroup(Arrays.asList(simon, today), 3, new BigDecimal("300.00"),
+                        new BigDecimal("-100.00"), new BigDecimal("100.00"))));
+        Map<String, String> filters = new HashMap<>();
+        filters.put("status", "LIVE");
+        filters.put("book", null);
+
+        // When
+        List<TradeGroupDTO> groups = tradeService.aggregateTrades(List.of("trader", "trade-date"), filters, null, null);
+
+        // Then
+        assertEquals(1, groups.size());
+        assertEquals("Simon King", groups.get(0).getKey().get("TRADER"));
+        assertEquals(today.toString(), groups.get(0).getKey().get("TRADE_DATE"));
+        assertEquals(3, groups.get(0).getTradeCount());
+        assertThrows(IllegalArgumentException.class, () -> tradeService.aggregateTrades(List.of("desk"), Map.of(), null, null));
+        assertThrows(IllegalArgumentException.class, () -> tradeService.aggregateTrades(List.of(), Map.of(), null, null));
     }
 
     @Test
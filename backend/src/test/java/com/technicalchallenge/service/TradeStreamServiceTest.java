@@ -0,0 +1,173 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.TradeEventDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradeStreamServiceTest {
+
+    private TradeStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new TradeStreamService();
+        ReflectionTestUtils.setField(streamService, "bufferSize", 4);
+        ReflectionTestUtils.setField(streamService, "senderThreads", 2);
+        ReflectionTestUtils.setField(streamService, "heartbeatSeconds", 3600L);
+        ReflectionTestUtils.setField(streamService, "timeoutMinutes", 1L);
+        streamService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.stop();
+    }
+
+    @Test
+    @DisplayName("Subscribers only receive events for their books, traders and counterparties")
+    void testBroadcast_Filters() throws Exception {
+        RecordingSink all = new RecordingSink(3);
+        RecordingSink ratesBook = new RecordingSink(1);
+        RecordingSink simonAtBigBank = new RecordingSink(1);
+        streamService.subscribe(TradeStreamService.Filter.of(null, null, null), all);
+        streamService.subscribe(TradeStreamService.Filter.of(List.of("rates-book-1"), null, null), ratesBook);
+        streamService.subscribe(TradeStreamService.Filter.of(null, List.of("simon"), List.of("BigBank")), simonAtBigBank);
+
+        streamService.broadcast(event(1, "FX-BOOK-1", "simon", "BigBank"));
+        streamService.broadcast(event(2, "RATES-BOOK-1", "joey", "BigBank"));
+        streamService.broadcast(event(3, "FX-BOOK-1", "simon", "MegaFund"));
+
+        all.await();
+        ratesBook.await();
+        simonAtBigBank.await();
+        assertEquals(List.of(1L, 2L, 3L), all.sequences());
+        assertEquals(List.of(2L), ratesBook.sequences());
+        assertEquals(List.of(1L), simonAtBigBank.sequences());
+    }
+
+    @Test
+    @DisplayName("A subscriber that falls a full buffer behind gets one resync instead of the backlog, without slowing others")
+    void testBroadcast_SlowSubscriberOverflows() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink(1) {
+            @Override
+            public void send(TradeEventDTO event) throws IOException {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(event);
+            }
+        };
+        RecordingSink fast = new RecordingSink(20);
+        streamService.subscribe(TradeStreamService.Filter.of(null, null, null), slow);
+        streamService.subscribe(TradeStreamService.Filter.of(null, null, null), fast);
+
+        // Paced on the fast subscriber, which keeps up, while the slow one is stuck on its first send
+        for (long sequence = 1; sequence <= 20; sequence++) {
+            streamService.broadcast(event(sequence, "FX-BOOK-1", "simon", "BigBank"));
+            fast.awaitCount((int) sequence);
+        }
+        release.countDown();
+        slow.awaitResync();
+
+        assertEquals(20, fast.sequences().size());
+        assertEquals(0, fast.resyncs);
+        assertEquals(1, slow.resyncs);
+        assertTrue(slow.sequences().size() <= 1 + 4, "Slow subscriber got " + slow.sequences());
+    }
+
+    @Test
+    @DisplayName("A subscriber whose connection fails is dropped")
+    void testBroadcast_FailedSubscriberRemoved() throws Exception {
+        RecordingSink broken = new RecordingSink(0) {
+            @Override
+            public void send(TradeEventDTO event) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        streamService.subscribe(TradeStreamService.Filter.of(null, null, null), broken);
+        assertEquals(1, streamService.getSubscriberCount());
+
+        streamService.broadcast(event(1, "FX-BOOK-1", "simon", "BigBank"));
+
+        assertTrue(broken.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, streamService.getSubscriberCount());
+    }
+
+    private static TradeEventDTO event(long sequence, String book, String trader, String counterparty) {
+        return TradeEventDTO.builder()
+                .sequence(sequence)
+                .type(TradeEventDTO.Type.CREATED)
+                .tradeId(100000 + sequence)
+                .bookName(book)
+                .traderLoginId(trader)
+                .counterpartyName(counterparty)
+                .build();
+    }
+
+    private static class RecordingSink implements TradeStreamService.Sink {
+        private final List<TradeEventDTO> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+        private final CountDownLatch resynced = new CountDownLatch(1);
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile int resyncs;
+
+        RecordingSink(int expected) {
+            this.received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(TradeEventDTO event) throws IOException {
+            events.add(event);
+            received.countDown();
+        }
+
+        @Override
+        public void resync() {
+            resyncs++;
+            resynced.countDown();
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue(received.await(5, TimeUnit.SECONDS), "Received only " + events.size());
+        }
+
+        void awaitCount(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(count, events.size());
+        }
+
+        void awaitResync() throws InterruptedException {
+            assertTrue(resynced.await(5, TimeUnit.SECONDS), "No resync");
+        }
+
+        List<Long> sequences() {
+            return events.stream().map(TradeEventDTO::getSequence).toList();
+        }
+    }
+}
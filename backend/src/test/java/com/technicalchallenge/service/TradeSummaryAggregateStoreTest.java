@@ -0,0 +1,240 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.DailyTradeAggregate;
+import com.technicalchallenge.dto.TradeSummaryDTO;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.model.PayRec;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.model.TradeStatus;
+import com.technicalchallenge.repository.TradeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TradeSummaryAggregateStoreTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @InjectMocks
+    private TradeSummaryAggregateStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("New trades are added to every aggregate bucket")
+    void testRecordTrade_AddsContribution() {
+        Trade trade1 = createTrade(10001L, "Goldman Sachs", "FX-BOOK-1", "NEW",
+                createLeg("USD", "PAY", "1000000"), createLeg("EUR", "RECEIVE", "900000"));
+        Trade trade2 = createTrade(10002L, "JP Morgan", "RATES-BOOK-1", "NEW",
+                createLeg("USD", "RECEIVE", "250000"));
+
+        store.recordTrade(trade1, trade1.getTradeLegs());
+        store.recordTrade(trade2, trade2.getTradeLegs());
+        TradeSummaryDTO summary = store.snapshot();
+
+        assertEquals(2L, summary.getTotalTrades());
+        assertEquals(2L, summary.getTradesByStatus().get("NEW"));
+        assertEquals(2L, summary.getTradesByCurrency().get("USD"));
+        assertEquals(1L, summary.getTradesByCurrency().get("EUR"));
+        assertEquals(0, new BigDecimal("1250000").compareTo(summary.getNotionalByCurrency().get("USD")));
+        assertEquals(0, new BigDecimal("-100000").compareTo(summary.getNetExposureByCounterparty().get("Goldman Sachs")));
+        assertEquals(0, new BigDecimal("100000").compareTo(summary.getGrossExposureByCounterparty().get("Goldman Sachs")));
+        assertEquals(0, new BigDecimal("-750000").compareTo(summary.getNetExposureByCurrency().get("USD")));
+        assertEquals(0, new BigDecimal("150000").compareTo(summary.getTotalNetExposure()));
+        assertEquals(0, new BigDecimal("350000").compareTo(summary.getTotalGrossExposure()));
+    }
+
+    @Test
+    @DisplayName("A new version of a trade replaces the previous contribution")
+    void testRecordTrade_NewVersionReplacesOld() {
+        Trade original = createTrade(10001L, "Goldman Sachs", "FX-BOOK-1", "NEW", createLeg("USD", "PAY", "1000000"));
+        store.recordTrade(original, original.getTradeLegs());
+
+        Trade amended = createTrade(10001L, "JP Morgan", "FX-BOOK-1", "AMENDED", createLeg("GBP", "PAY", "500000"));
+        store.recordTrade(amended, amended.getTradeLegs());
+        TradeSummaryDTO summary = store.snapshot();
+
+        assertEquals(1L, summary.getTotalTrades());
+        assertEquals(1L, summary.getTradesByStatus().get("AMENDED"));
+        assertFalse(summary.getTradesByStatus().containsKey("NEW"));
+        assertFalse(summary.getTradesByCounterparty().containsKey("Goldman Sachs"));
+        assertFalse(summary.getNotionalByCurrency().containsKey("USD"));
+        assertEquals(0, new BigDecimal("-500000").compareTo(summary.getNetExposureByBook().get("FX-BOOK-1")));
+    }
+
+    @Test
+    @DisplayName("Contributions are only applied once the surrounding transaction commits")
+    void testRecordTrade_DeferredUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        Trade trade = createTrade(10001L, "Goldman Sachs", "FX-BOOK-1", "NEW", createLeg("USD", "PAY", "1000000"));
+
+        store.recordTrade(trade, trade.getTradeLegs());
+        assertEquals(0L, store.snapshot().getTotalTrades());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1L, store.snapshot().getTotalTrades());
+    }
+
+    @Test
+    @DisplayName("Rebuild replaces everything with the active trades streamed from the repository")
+    void testRebuild_LoadsActiveTrades() {
+        Trade stale = createTrade(10009L, "Barclays", "FX-BOOK-1", "NEW", createLeg("USD", "PAY", "1000000"));
+        store.recordTrade(stale, stale.getTradeLegs());
+
+        // one row per leg, ordered by trade; trade 10003 has no legs
+        when(tradeRepository.streamActiveTradeColumns()).thenReturn(Stream.of(
+                columns(10001L, "NEW", "Goldman Sachs", "USD", "PAY", "1000000"),
+                columns(10001L, "NEW", "Goldman Sachs", "EUR", "RECEIVE", "900000"),
+                columns(10002L, "CANCELLED", "JP Morgan", "EUR", "RECEIVE", "200000"),
+                columns(10003L, "NEW", "JP Morgan", null, null, null)));
+
+        store.rebuild();
+        TradeSummaryDTO summary = store.snapshot();
+
+        assertEquals(3L, summary.getTotalTrades());
+        assertEquals(1L, summary.getTradesByStatus().get("CANCELLED"));
+        assertEquals(2L, summary.getTradesByCurrency().get("EUR"));
+        assertEquals(0, new BigDecimal("-100000").compareTo(summary.getNetExposureByCounterparty().get("Goldman Sachs")));
+        assertEquals(2L, summary.getTradesByCounterparty().get("JP Morgan"));
+        assertFalse(summary.getTradesByCounterparty().containsKey("Barclays"));
+        verify(tradeRepository).streamActiveTradeColumns();
+    }
+
+    @Test
+    @DisplayName("A trade committed while the store is being rebuilt survives the swap to the reloaded columns")
+    void testRebuild_KeepsTradesCommittedDuringTheRead() throws InterruptedException {
+        Trade booked = createTrade(10005L, "Barclays", "FX-BOOK-1", "NEW", createLeg("USD", "PAY", "1000000"));
+        Thread booking = new Thread(() -> store.recordTrade(booked, booked.getTradeLegs()));
+        when(tradeRepository.streamActiveTradeColumns()).thenReturn(Stream.of(
+                columns(10001L, "NEW", "Goldman Sachs", "USD", "PAY", "1000000"),
+                columns(10002L, "NEW", "JP Morgan", "EUR", "RECEIVE", "200000")).peek(row -> {
+            if (booking.getState() == Thread.State.NEW) {
+                // the booking commits after the read has passed it, and is applied (or waits to be) mid-rebuild
+                booking.start();
+                while (booking.isAlive() && booking.getState() != Thread.State.BLOCKED) {
+                    Thread.onSpinWait();
+                }
+            }
+        }));
+
+        store.rebuild();
+        booking.join();
+        TradeSummaryDTO summary = store.snapshot();
+
+        assertEquals(3L, summary.getTotalTrades());
+        assertEquals(1L, summary.getTradesByCounterparty().get("Barclays"));
+    }
+
+    @Test
+    @DisplayName("The summary is cached until a trade changes")
+    void testSnapshot_CachedUntilNextChange() {
+        Trade trade = createTrade(10001L, "Goldman Sachs", "FX-BOOK-1", "NEW", createLeg("USD", "PAY", "1000000"));
+        store.recordTrade(trade, trade.getTradeLegs());
+
+        TradeSummaryDTO first = store.snapshot();
+        assertSame(first, store.snapshot());
+
+        Trade other = createTrade(10002L, "JP Morgan", "FX-BOOK-1", "NEW", createLeg("USD", "RECEIVE", "500000"));
+        store.recordTrade(other, other.getTradeLegs());
+        assertEquals(2L, store.snapshot().getTotalTrades());
+    }
+
+    @Test
+    @DisplayName("Daily aggregates group the trades in the date range like the database GROUP BY did")
+    void testDailyAggregates() {
+        LocalDate today = LocalDate.of(2025, 3, 14);
+        Trade first = createTrade(10001L, "Goldman Sachs", "FX-BOOK-1", "NEW",
+                createLeg("USD", "PAY", "1000000"), createLeg("EUR", "RECEIVE", "900000"));
+        Trade second = createTrade(10002L, "JP Morgan", "FX-BOOK-1", "NEW", createLeg("USD", "RECEIVE", "500000"));
+        Trade old = createTrade(10003L, "JP Morgan", "FX-BOOK-1", "NEW", createLeg("USD", "RECEIVE", "500000"));
+        first.setTradeDate(today);
+        second.setTradeDate(today);
+        old.setTradeDate(today.minusDays(2));
+        for (Trade trade : List.of(first, second, old)) {
+            trade.setTraderUser(user("simon", "Simon", "King"));
+            trade.setTradeInputterUser(user("ashley", "Ashley", "Lee"));
+            store.recordTrade(trade, trade.getTradeLegs());
+        }
+
+        List<DailyTradeAggregate> rows = store.dailyAggregates(today.minusDays(1), today);
+
+        assertEquals(List.of(new DailyTradeAggregate(today, "NEW", "FX-BOOK-1", "simon", "Simon", "King", "Ashley", "Lee",
+                2L, new BigDecimal("2400000.00"))), rows);
+    }
+
+    private Trade createTrade(Long tradeId, String counterpartyName, String bookName, String status, TradeLeg... legs) {
+        Trade trade = new Trade();
+        trade.setTradeId(tradeId);
+        trade.setActive(true);
+
+        Counterparty counterparty = new Counterparty();
+        counterparty.setName(counterpartyName);
+        trade.setCounterparty(counterparty);
+
+        Book book = new Book();
+        book.setBookName(bookName);
+        trade.setBook(book);
+
+        TradeStatus tradeStatus = new TradeStatus();
+        tradeStatus.setTradeStatus(status);
+        trade.setTradeStatus(tradeStatus);
+
+        trade.setTradeLegs(List.of(legs));
+        return trade;
+    }
+
+    private static Object[] columns(Long tradeId, String status, String counterparty, String currency,
+                                    String payRec, String notional) {
+        return new Object[]{tradeId, status, "FX-BOOK-1", counterparty, "Swap", "IR Swap",
+                "simon", "Simon", "King", "simon", "Simon", "King", LocalDate.of(2025, 3, 14),
+                currency, payRec, notional != null ? new BigDecimal(notional) : null};
+    }
+
+    private ApplicationUser user(String loginId, String firstName, String lastName) {
+        ApplicationUser user = new ApplicationUser();
+        user.setLoginId(loginId);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return user;
+    }
+
+    private TradeLeg createLeg(String currencyCode, String direction, String notional) {
+        TradeLeg leg = new TradeLeg();
+        leg.setNotional(new BigDecimal(notional));
+
+        Currency currency = new Currency();
+        currency.setCurrency(currencyCode);
+        leg.setCurrency(currency);
+
+        PayRec payRec = new PayRec();
+        payRec.setPayRec(direction);
+        leg.setPayReceiveFlag(payRec);
+        return leg;
+    }
+}
@@ -0,0 +1,147 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.cashflow.CashflowEngine;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeDataJpaTest;
+import com.technicalchallenge.repository.TradeRepository;
+import com.technicalchallenge.rsql.RsqlSpecificationCache;
+import com.technicalchallenge.specifications.TradeSpecifications;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+// Seeded trade 100001 (FX-BOOK-1) was booked at 2024-06-01T10:30 with status LIVE, two legs and two cashflows,
+// and settlement instructions recorded at the same time.
+@TradeDataJpaTest
+@Import({TradeService.class, AdditionalInfoService.class, TradeLifecycleMetrics.class, SimpleMeterRegistry.class})
+@WithMockUser(username = "simon")
+class TradeVersionHistoryTest {
+
+    private static final Long TRADE_ID = 100001L;
+    private static final LocalDateTime BEFORE_BOOKING = LocalDateTime.of(2024, 5, 31, 0, 0);
+    private static final LocalDateTime AFTER_BOOKING = LocalDateTime.of(2024, 6, 15, 0, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private AdditionalInfoService additionalInfoService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @MockBean
+    private EntitlementCache entitlementCache;
+
+    @MockBean
+    private TradeSummaryAggregateStore tradeSummaryAggregateStore;
+
+    @MockBean
+    private TradeIdAllocator tradeIdAllocator;
+
+    @MockBean
+    private TradeKeysetPager tradeKeysetPager;
+
+    @MockBean
+    private TradeDetailsLoader tradeDetailsLoader;
+
+    @MockBean
+    private CashflowEngine cashflowEngine;
+
+    @MockBean
+    private TradeEventPublisher tradeEventPublisher;
+
+    @MockBean
+    private TradeChangeFeed tradeChangeFeed;
+
+    @MockBean
+    private RsqlSpecificationCache<Trade> rsqlSpecificationCache;
+
+    @MockBean
+    private TradeSearchResultCache tradeSearchResultCache;
+
+    @MockBean
+    private SettlementInstructionIndex settlementInstructionIndex;
+
+    @MockBean
+    private org.modelmapper.ModelMapper modelMapper;
+
+    @BeforeEach
+    void setUp() {
+        when(entitlementCache.hasPrivilege(anyString(), anyString())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Cancelling writes a new version; the trade reads back as it stood at any earlier time")
+    void testCancel_KeepsPreviousVersion() {
+        Trade cancelled = tradeService.cancelTrade(TRADE_ID);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Trade> versions = tradeRepository.findByTradeIdOrderByVersionAsc(TRADE_ID);
+        assertEquals(2, versions.size());
+        Trade original = versions.get(0);
+        assertFalse(original.getActive());
+        assertEquals(original.getDeactivatedDate(), versions.get(1).getCreatedDate(), "No gap or overlap between versions");
+        assertEquals(original.getValidityEndDate(), versions.get(1).getValidityStartDate());
+
+        Trade asBooked = tradeService.getTradeAsOf(TRADE_ID, AFTER_BOOKING).orElseThrow();
+        assertEquals(1, asBooked.getVersion());
+        assertEquals("LIVE", asBooked.getTradeStatus().getTradeStatus());
+
+        Trade current = tradeService.getTradeAsOf(TRADE_ID, cancelled.getCreatedDate()).orElseThrow();
+        assertEquals(2, current.getVersion());
+        assertEquals("CANCELLED", current.getTradeStatus().getTradeStatus());
+        assertEquals(2, current.getTradeLegs().size());
+        assertEquals(2, current.getTradeLegs().stream().mapToInt(leg -> leg.getCashflows().size()).sum());
+
+        assertTrue(tradeService.getTradeAsOf(TRADE_ID, BEFORE_BOOKING).isEmpty());
+        assertEquals(current.getId(), tradeService.getTradeById(TRADE_ID).orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("A book is reconstructed at a point in time from the versions in force then")
+    void testBookAsOf() {
+        tradeService.terminateTrade(TRADE_ID);
+        entityManager.flush();
+
+        assertEquals(List.of(1), bookVersionsAsOf(AFTER_BOOKING));
+        assertEquals(List.of(2), bookVersionsAsOf(LocalDateTime.now()));
+        assertEquals(List.of(), bookVersionsAsOf(BEFORE_BOOKING));
+        assertEquals(2, tradeRepository.findAll(TradeSpecifications.hasBook("FX-BOOK-1")).size(), "Every version without asOf");
+    }
+
+    @Test
+    @DisplayName("Settlement instructions are read back as they stood at a point in time")
+    void testSettlementInstructionsAsOf() {
+        additionalInfoService.saveSettlementInstructions(TRADE_ID, "Pay via Bank XYZ, Account: 555");
+        entityManager.flush();
+
+        assertTrue(additionalInfoService.getSettlementInstructionsAsOf(TRADE_ID, AFTER_BOOKING).orElseThrow().startsWith("Pay via Bank ABC"));
+        assertEquals("Pay via Bank XYZ, Account: 555", additionalInfoService.getSettlementInstructionsAsOf(TRADE_ID, LocalDateTime.now()).orElseThrow());
+        assertTrue(additionalInfoService.getSettlementInstructionsAsOf(TRADE_ID, BEFORE_BOOKING).isEmpty());
+    }
+
+    private List<Integer> bookVersionsAsOf(LocalDateTime asOf) {
+        return tradeRepository.findAll(TradeSpecifications.hasBook("FX-BOOK-1").and(TradeSpecifications.inForceAt(asOf)))
+                .stream()
+                .map(Trade::getVersion)
+                .toList();
+    }
+}
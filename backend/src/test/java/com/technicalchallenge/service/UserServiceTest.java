@@ -18,6 +18,8 @@ public class UserServiceTest {
     private ApplicationUserRepository applicationUserRepository;
     @Mock
     private BCryptPasswordEncoder passwordEncoder;
+    @Mock
+    private EntitlementCache entitlementCache;
 
     @InjectMocks
     private ApplicationUserService applicationUserService;
@@ -49,6 +51,7 @@ public class UserServiceTest {
         doNothing().when(applicationUserRepository).deleteById(userId);
         applicationUserService.deleteUser(userId);
         verify(applicationUserRepository, times(1)).deleteById(userId);
+        verify(entitlementCache, times(1)).invalidate();
     }
 
     @Test
@@ -0,0 +1,145 @@
+package com.technicalchallenge.synthetic;
+
+import com.technicalchallenge.cashflow.CashflowEngine;
+import com.technicalchallenge.repository.TradeDataJpaTest;
+import com.technicalchallenge.service.BusinessCalendarService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The generator commits from its own threads, so these tests run without the usual test transaction and
+// delete the synthetic trades (everything above the seeded trade ids) afterwards.
+@TradeDataJpaTest
+@Import({CashflowEngine.class, BusinessCalendarService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyntheticTradeGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CashflowEngine cashflowEngine;
+
+    private SyntheticTradeGenerator generator;
+    private long seededMaxTradeId;
+
+    @BeforeEach
+    void setUp() {
+        generator = new SyntheticTradeGenerator(jdbcTemplate, transactionManager, cashflowEngine);
+        seededMaxTradeId = jdbcTemplate.queryForObject("SELECT MAX(trade_id) FROM trade", Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM cashflow WHERE leg_id IN (SELECT l.leg_id FROM trade_leg l "
+                + "JOIN trade t ON t.id = l.trade_id WHERE t.trade_id > ?)", seededMaxTradeId);
+        jdbcTemplate.update("DELETE FROM trade_leg WHERE trade_id IN (SELECT id FROM trade WHERE trade_id > ?)", seededMaxTradeId);
+        jdbcTemplate.update("DELETE FROM trade WHERE trade_id > ?", seededMaxTradeId);
+    }
+
+    @Test
+    @DisplayName("Every trade gets one active version, two legs per version and cashflows for each leg")
+    void testGenerate() {
+        SyntheticDataProperties properties = properties(2, 50);
+        // a block of trade ids a running node has reserved but not used up yet
+        long reserved = jdbcTemplate.queryForObject("SELECT nextval('trade_id_seq')", Long.class);
+
+        SyntheticTradeGenerator.Result result = generator.generate(properties);
+
+        assertEquals(200, result.trades());
+        assertTrue(result.firstTradeId() > seededMaxTradeId);
+        assertTrue(result.firstTradeId() >= reserved + 50);
+        assertEquals(result.tradeVersions(), count("SELECT COUNT(*) FROM trade WHERE trade_id > ?"));
+        assertEquals(result.tradeVersions() * 2, result.legs());
+        assertEquals(result.legs(), count("SELECT COUNT(*) FROM trade_leg l JOIN trade t ON t.id = l.trade_id WHERE t.trade_id > ?"));
+        assertEquals(result.cashflows(), count("SELECT COUNT(*) FROM cashflow c JOIN trade_leg l ON l.leg_id = c.leg_id "
+                + "JOIN trade t ON t.id = l.trade_id WHERE t.trade_id > ?"));
+        assertTrue(result.tradeVersions() > 200 && result.tradeVersions() <= 600);
+        assertTrue(result.cashflows() >= result.legs());
+
+        assertEquals(200, count("SELECT COUNT(*) FROM trade WHERE trade_id > ? AND active = true"));
+        assertEquals(200, count("SELECT COUNT(DISTINCT trade_id) FROM trade WHERE trade_id > ?"));
+        // versions run 1..n, and only the last one is open-ended
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT trade_id FROM trade WHERE trade_id > ? "
+                + "GROUP BY trade_id HAVING MAX(version) <> COUNT(*)) gaps"));
+        assertEquals(0, count("SELECT COUNT(*) FROM trade WHERE trade_id > ? AND active = (deactivated_date IS NOT NULL)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM cashflow c JOIN trade_leg l ON l.leg_id = c.leg_id "
+                + "JOIN trade t ON t.id = l.trade_id WHERE t.trade_id > ? "
+                + "AND (c.accrual_start_date < t.trade_start_date OR c.accrual_end_date > t.trade_maturity_date)"));
+
+        assertEquals(10, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book WHERE book_name LIKE 'SYN-BOOK-%'", Integer.class));
+        // the sequences carry on above the generated rows
+        assertTrue(jdbcTemplate.queryForObject("SELECT nextval('trade_id_seq')", Long.class)
+                >= result.firstTradeId() + result.trades());
+        assertTrue(jdbcTemplate.queryForObject("SELECT nextval('trade_seq')", Long.class)
+                > jdbcTemplate.queryForObject("SELECT MAX(id) FROM trade", Long.class));
+        assertTrue(jdbcTemplate.queryForObject("SELECT nextval('trade_leg_seq')", Long.class)
+                > jdbcTemplate.queryForObject("SELECT MAX(leg_id) FROM trade_leg", Long.class));
+        assertTrue(jdbcTemplate.queryForObject("SELECT nextval('cashflow_seq')", Long.class)
+                > jdbcTemplate.queryForObject("SELECT MAX(id) FROM cashflow", Long.class));
+    }
+
+    @Test
+    @DisplayName("The same seed writes the same trades however the work is split up")
+    void testGenerate_Deterministic() {
+        List<Map<String, Object>> first = snapshot(generator.generate(properties(1, 200)).firstTradeId());
+        tearDown();
+
+        long firstTradeId = generator.generate(properties(3, 7)).firstTradeId();
+        assertEquals(first, snapshot(firstTradeId));
+    }
+
+    @Test
+    @DisplayName("Invalid settings are rejected before anything is written")
+    void testGenerate_InvalidSettings() {
+        SyntheticDataProperties unknownSchedule = properties(1, 50);
+        unknownSchedule.setSchedules(List.of("Fortnightly-ish"));
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(unknownSchedule));
+
+        SyntheticDataProperties noVersions = properties(1, 50);
+        noVersions.setMaxVersions(0);
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(noVersions));
+
+        assertEquals(0, count("SELECT COUNT(*) FROM trade WHERE trade_id > ?"));
+    }
+
+    private SyntheticDataProperties properties(int parallelism, int batchSize) {
+        SyntheticDataProperties properties = new SyntheticDataProperties();
+        properties.setTrades(200);
+        properties.setMaxVersions(3);
+        properties.setMaxTenorYears(3);
+        properties.setParallelism(parallelism);
+        properties.setBatchSize(batchSize);
+        return properties;
+    }
+
+    // Trades, legs and cashflows with the trade id made relative to the first generated one
+    private List<Map<String, Object>> snapshot(long firstTradeId) {
+        return jdbcTemplate.queryForList("SELECT t.trade_id - ? AS trade, t.version, t.trade_status_id, t.book_id, "
+                + "t.counterparty_id, t.trade_date, t.trade_maturity_date, t.active, t.created_date, t.deactivated_date, "
+                + "l.leg_rate_type_id, l.notional, l.rate, l.pay_rec_id, l.currency_id, l.calculation_period_schedule_id, "
+                + "(SELECT COUNT(*) FROM cashflow c WHERE c.leg_id = l.leg_id) AS cashflows, "
+                + "(SELECT SUM(c.payment_value) FROM cashflow c WHERE c.leg_id = l.leg_id) AS payments "
+                + "FROM trade t JOIN trade_leg l ON l.trade_id = t.id WHERE t.trade_id >= ? "
+                + "ORDER BY t.trade_id, t.version, l.leg_rate_type_id", firstTradeId, firstTradeId);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class, seededMaxTradeId);
+    }
+}